@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devonfw.devcon.common.CommandResult;
+import com.devonfw.devcon.common.api.Command;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.api.data.BindingPlan;
+import com.devonfw.devcon.common.api.data.CommandParameter;
+import com.devonfw.devcon.common.api.data.ContextType;
+import com.devonfw.devcon.common.api.data.ProjectInfo;
+import com.devonfw.devcon.common.api.data.Sentence;
+import com.devonfw.devcon.common.impl.CommandManagerImpl;
+import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.devonfw.devcon.input.Input;
+import com.devonfw.devcon.output.Output;
+import com.google.common.base.Optional;
+
+/**
+ * The stages of executing a sentence: binding the given parameters to the defined ones
+ * ({@code BaseCmdImpl#getParametersWithInput} and the {@link BindingPlan} it is based on), invoking the module method by reflection ({@code CommandImpl#exec}) and
+ * the whole dispatch by {@link CommandManagerImpl#execCmdLine}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+
+  @SuppressWarnings("javadoc")
+  @Param({ "0", "500" })
+  public int syntheticModules;
+
+  private CommandManagerImpl commandManager;
+
+  private Command command;
+
+  private Sentence sentence;
+
+  private List<Pair<String, String>> params;
+
+  @SuppressWarnings("javadoc")
+  @Setup
+  public void setup() {
+
+    CommandRegistry registry = Fixtures.registry(this.syntheticModules);
+    Input input = Fixtures.noInput();
+    Output output = Fixtures.discardingOutput();
+    this.commandManager = new CommandManagerImpl(registry, input, output);
+
+    this.sentence = new Sentence();
+    this.sentence.setModuleName("foo");
+    this.sentence.setCommandName("multipleWordsNoContext");
+    this.sentence.addParam("first", "one");
+    this.sentence.addParam("second", "two");
+    this.sentence.addParam("third", "three");
+    this.sentence.addParam("FOURTH", "four");
+    this.params = this.sentence.getParams();
+
+    this.command = registry.getCommand("foo", "multipleWordsNoContext").get();
+    Optional<ProjectInfo> noProject = Optional.absent();
+    this.command.injectEnvironment(registry, input, output, new ContextPathInfo(), noProject);
+
+    if (this.command.getContext() != ContextType.NONE) {
+      throw new IllegalStateException("The benchmarked command must not need a context");
+    }
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public Triple<CommandResult, String, List<CommandParameter>> bindParameters() {
+
+    return this.command.getParametersWithInput(this.params);
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public BindingPlan.Binding bindPlan() {
+
+    return this.command.getBindingPlan().bind(this.params);
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public Object exec() throws Exception {
+
+    return this.command.exec("one", "two", "three", "four");
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public Object execList() throws Exception {
+
+    return this.command.exec(Arrays.asList("one", "two", "three", "four"));
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public Pair<CommandResult, Object> execCmdLine() {
+
+    return this.commandManager.execCmdLine(this.sentence);
+  }
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.PrintStream;
+
+import org.apache.commons.io.output.NullOutputStream;
+
+import com.devonfw.devcon.common.api.CommandModuleInfo;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.impl.BaseCommandRegistryImpl;
+import com.devonfw.devcon.common.impl.CommandModuleInfoImpl;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.common.utils.Constants;
+import com.devonfw.devcon.input.ConsoleInput;
+import com.devonfw.devcon.input.Input;
+import com.devonfw.devcon.modules.foo.Foo;
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.devonfw.devcon.output.Output;
+
+/**
+ * Fixtures shared by the benchmarks
+ */
+final class Fixtures {
+
+  private Fixtures() {
+  }
+
+  /**
+   * @return output discarding everything, so the console doesn´t distort the measurements
+   */
+  static Output discardingOutput() {
+
+    return new ConsoleOutput(new PrintStream(NullOutputStream.NULL_OUTPUT_STREAM));
+  }
+
+  /**
+   * @return input without any data (the benchmarked commands never prompt)
+   */
+  static Input noInput() {
+
+    return new ConsoleInput(new ByteArrayInputStream(new byte[0]), new PrintStream(NullOutputStream.NULL_OUTPUT_STREAM));
+  }
+
+  /**
+   * @param syntheticModules number of synthetic modules on top of the real ones
+   * @return the registry
+   */
+  static CommandRegistry registry(int syntheticModules) {
+
+    return (syntheticModules == 0) ? new CommandRegistryImpl(Constants.MODULES_LOCATION)
+        : new SyntheticRegistry(syntheticModules);
+  }
+
+  /**
+   * The real modules plus any number of synthetic ones, each with the commands of {@link Foo} (i.e. ten commands per
+   * module), as in a large installation with many Javascript or custom modules
+   */
+  static class SyntheticRegistry extends BaseCommandRegistryImpl {
+
+    SyntheticRegistry(int modules) {
+      super();
+      add(new CommandRegistryImpl(Constants.MODULES_LOCATION));
+      for (int i = 0; i < modules; i++) {
+        CommandModuleInfo module =
+            new CommandModuleInfoImpl("synthetic" + i, "Synthetic module " + i, i, true, Foo.class);
+        getModules().put(module.getName(), module);
+      }
+    }
+  }
+}
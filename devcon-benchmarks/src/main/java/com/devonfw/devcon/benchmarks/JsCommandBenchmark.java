@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devonfw.devcon.common.api.Command;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.api.data.ProjectInfo;
+import com.devonfw.devcon.common.impl.JavaScriptsCmdRegistryImpl;
+import com.devonfw.devcon.common.impl.GraalJsScriptBackend;
+import com.devonfw.devcon.common.impl.JsCmdImpl;
+import com.devonfw.devcon.common.impl.NashornScriptBackend;
+import com.devonfw.devcon.common.impl.ScriptBackend;
+import com.devonfw.devcon.common.impl.ScriptBackends;
+import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.google.common.base.Optional;
+
+/**
+ * Execution of a Javascript command ({@link JsCmdImpl}), the script being compiled once and cached, by each
+ * {@link ScriptBackend}: latency of one invocation through the command template (jstemplate.txt). Nashorn needs Java 8
+ * to 14, e.g. on later versions run only GraalJS with {@code -p backend=graaljs}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsCommandBenchmark {
+
+  private static final String[] MODULE_FILES = { "commands.json", "concat.js" };
+
+  @SuppressWarnings("javadoc")
+  @Param({ NashornScriptBackend.NAME, GraalJsScriptBackend.NAME })
+  public String backend;
+
+  private Path scripts;
+
+  private Command command;
+
+  @SuppressWarnings("javadoc")
+  @Setup
+  public void setup() throws Exception {
+
+    Optional<ScriptBackend> scripts = ScriptBackends.get(this.backend);
+    if (!scripts.isPresent()) {
+      throw new IllegalStateException("No " + this.backend + " Javascript engine on this JVM");
+    }
+
+    this.scripts = Files.createTempDirectory("devcon-bench");
+    Path module = Files.createDirectories(this.scripts.resolve("modules").resolve("bench"));
+    for (String file : MODULE_FILES) {
+      try (InputStream in = JsCommandBenchmark.class.getResourceAsStream("/js/bench/" + file)) {
+        Files.copy(in, module.resolve(file));
+      }
+    }
+
+    CommandRegistry registry = new JavaScriptsCmdRegistryImpl(this.scripts.resolve("modules"),
+        this.scripts.resolve("manifest.json"), JavaScriptsCmdRegistryImpl.DEFAULT_MAX_DEPTH);
+    JsCmdImpl cmd = (JsCmdImpl) registry.getCommand("bench", "concat").get();
+    cmd.setBackend(scripts.get());
+    this.command = cmd;
+    Optional<ProjectInfo> noProject = Optional.absent();
+    this.command.injectEnvironment(registry, Fixtures.noInput(), Fixtures.discardingOutput(), new ContextPathInfo(),
+        noProject);
+  }
+
+  @SuppressWarnings("javadoc")
+  @TearDown
+  public void teardown() throws IOException {
+
+    FileUtils.deleteDirectory(this.scripts.toFile());
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public Object exec() throws Exception {
+
+    return this.command.exec("one", "two");
+  }
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.cli.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.api.data.Sentence;
+import com.devonfw.devcon.common.impl.CommandManagerImpl;
+import com.devonfw.devcon.input.ConsoleInputManager;
+import com.devonfw.devcon.input.Input;
+import com.devonfw.devcon.output.Output;
+
+/**
+ * {@link ConsoleInputManager}: parsing a command line into a sentence, and the whole command line handling including
+ * the execution of the (trivial) command
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+  @SuppressWarnings("javadoc")
+  @Param({ "0", "500" })
+  public int syntheticModules;
+
+  @SuppressWarnings("javadoc")
+  @Param({ "foo greeting", "foo largeCustomFarewell -name Jason -surname Lytle" })
+  public String commandLine;
+
+  private ConsoleInputManager inputManager;
+
+  private String[] args;
+
+  @SuppressWarnings("javadoc")
+  @Setup
+  public void setup() {
+
+    CommandRegistry registry = Fixtures.registry(this.syntheticModules);
+    Input input = Fixtures.noInput();
+    Output output = Fixtures.discardingOutput();
+    this.inputManager =
+        new ConsoleInputManager(registry, input, output, new CommandManagerImpl(registry, input, output));
+    this.args = this.commandLine.split(" ");
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public Sentence toSentence() throws ParseException {
+
+    return this.inputManager.toSentence(this.args);
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public boolean parse() {
+
+    return this.inputManager.parse(this.args);
+  }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.common.utils.Constants;
+
+/**
+ * Construction of the command registry: from the command index (the normal case), by scanning the classpath (when
+ * there is no index) and with hundreds of (synthetic) modules
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+
+  /**
+   * Registry scanned again and again
+   */
+  @State(Scope.Thread)
+  public static class Scanned {
+
+    CommandRegistryImpl registry;
+
+    @SuppressWarnings("javadoc")
+    @Setup
+    public void setup() {
+
+      this.registry = new CommandRegistryImpl(Constants.MODULES_LOCATION);
+    }
+  }
+
+  /**
+   * Size of the synthetic registry
+   */
+  @State(Scope.Benchmark)
+  public static class Synthetic {
+
+    @SuppressWarnings("javadoc")
+    @Param({ "100", "500" })
+    public int syntheticModules;
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public CommandRegistry indexed() {
+
+    return new CommandRegistryImpl(Constants.MODULES_LOCATION);
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public CommandRegistry classpathScan(Scanned state) {
+
+    state.registry.registerModules(Constants.MODULES_LOCATION);
+    return state.registry;
+  }
+
+  @SuppressWarnings("javadoc")
+  @Benchmark
+  public CommandRegistry synthetic(Synthetic state) {
+
+    return Fixtures.registry(state.syntheticModules);
+  }
+}
@@ -0,0 +1,4 @@
+function(first, second){
+
+	return first + second;
+}
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.devonfw.devcon;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 
@@ -27,13 +28,16 @@ import com.devonfw.devcon.common.api.CommandRegistry;
 import com.devonfw.devcon.common.impl.CommandManagerImpl;
 import com.devonfw.devcon.common.impl.CommandRegistryImpl;
 import com.devonfw.devcon.common.impl.JavaScriptsCmdRegistryImpl;
+import com.devonfw.devcon.common.impl.ScriptBackends;
 import com.devonfw.devcon.common.utils.Constants;
+import com.devonfw.devcon.common.utils.JfrEvents;
+import com.devonfw.devcon.common.utils.Profiler;
 import com.devonfw.devcon.common.utils.Utils;
+import com.devonfw.devcon.daemon.DevconClient;
 import com.devonfw.devcon.input.ConsoleInput;
 import com.devonfw.devcon.input.ConsoleInputManager;
 import com.devonfw.devcon.input.Input;
 import com.devonfw.devcon.output.ConsoleOutput;
-import com.devonfw.devcon.output.Output;
 import com.github.zafarkhaja.semver.Version;
 import com.google.common.base.Optional;
 
@@ -81,7 +85,7 @@ public class Devcon {
       .getResource("resources/execjar.txt") != null;
 
   /**
-   * Obtain script engine; only on Java 1.8+ is Javascript supported (version "Nashorn")
+   * Obtain script engine; Nashorn is part of Java 1.8 to 14 (see {@link ScriptBackends} for newer versions)
    */
   public static final Optional<ScriptEngine> scriptEngine = Optional
       .fromNullable(new ScriptEngineManager().getEngineByName(Constants.SCRIPT_ENGINE_NAME));
@@ -96,28 +100,69 @@ public class Devcon {
    */
   public static void main(String[] args) {
 
+    // a running daemon executes the command without JVM startup and module discovery
+    Optional<Integer> exitCode = DevconClient.forwardIfRemote(args, System.in, System.out);
+    if (exitCode.isPresent()) {
+      if (exitCode.get() != 0) {
+        System.exit(exitCode.get());
+      }
+      return;
+    }
+
+    if (Profiler.requested(args)) {
+      Profiler.enable();
+    }
+    String recording = JfrEvents.requestedFile(args);
+    if (recording != null) {
+      if (!JfrEvents.startRecording(new File(recording))) {
+        System.out.println("[WARNING] Java Flight Recorder not available, " + recording + " is not written");
+      }
+    } else {
+      // recorded from outside (e.g. -XX:StartFlightRecording)
+      JfrEvents.installIfRecording();
+    }
+    Profiler.Span main = Profiler.start("main");
+
     System.out.println(DEVCON_BANNER);
 
-    Input input = new ConsoleInput(System.in, System.out);
-    Output output = new ConsoleOutput(System.out);
+    ConsoleOutput output = new ConsoleOutput(System.out, true);
+    Input input = new ConsoleInput(System.in, System.out, output);
     CommandRegistry registry = new CommandRegistryImpl(Constants.MODULES_LOCATION);
 
     Path scriptDir = Utils.getScriptDir();
 
-    if (scriptEngine.isPresent() && scriptDir.toFile().exists()) {
-      try {
-        JavaScriptsCmdRegistryImpl jsregistry = new JavaScriptsCmdRegistryImpl(scriptDir);
-        registry.add(jsregistry);
-
-      } catch (ParseException | IOException e) {
-        e.printStackTrace();
-        System.exit(-1);
+    if (scriptDir.toFile().exists()) {
+      if (!ScriptBackends.getDefaultName().isPresent()) {
+        System.out.println("[WARNING] No Javascript engine (Nashorn or GraalJS) available, the commands in " + scriptDir
+            + " are not loaded");
+      } else {
+        try (Profiler.Span span = Profiler.start("registry.scripts", scriptDir)) {
+          JavaScriptsCmdRegistryImpl jsregistry = new JavaScriptsCmdRegistryImpl(scriptDir);
+          registry.add(jsregistry);
+
+          // prepare a script engine while the command line is handled, if a script command is about to run
+          for (String arg : args) {
+            if (jsregistry.getCommandModule(arg).isPresent()) {
+              ScriptBackends.warmUpDefault(1);
+              break;
+            }
+          }
+
+        } catch (ParseException | IOException e) {
+          e.printStackTrace();
+          System.exit(-1);
+        }
       }
     }
 
     ConsoleInputManager inputmanager = new ConsoleInputManager(registry, input, output,
         new CommandManagerImpl(registry, input, output));
     inputmanager.parse(args);
+    output.flush();
+
+    main.end();
+    Profiler.report(System.out);
+    JfrEvents.stopRecording();
   }
 
 }
@@ -22,6 +22,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 
 import com.devonfw.devcon.common.CommandResult;
+import com.devonfw.devcon.common.api.data.BindingPlan;
 import com.devonfw.devcon.common.api.data.CommandParameter;
 import com.devonfw.devcon.common.api.data.ContextType;
 import com.devonfw.devcon.common.api.data.Info;
@@ -50,6 +51,11 @@ public interface Command extends Info, Comparable<Command> {
 
   Triple<CommandResult, String, List<CommandParameter>> getParametersWithInput(List<Pair<String, String>> list);
 
+  /**
+   * @return how given parameters are bound to the defined ones, computed once for the command
+   */
+  BindingPlan getBindingPlan();
+
   Object exec(String... arguments) throws InstantiationException, IllegalAccessException, IllegalArgumentException,
       InvocationTargetException;
 
@@ -16,6 +16,7 @@
 package com.devonfw.devcon.common.api;
 
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.base.Optional;
 
@@ -37,4 +38,15 @@ public interface CommandRegistry {
    */
   void add(CommandRegistry otherRegistry);
 
+  /**
+   * @return the names of the parameters of all commands, computed once until other modules are added
+   */
+  Set<String> getParameterNames();
+
+  /**
+   * @return the names of the parameters which only take true or false (a list input type of these values), so can be
+   *         given without a value
+   */
+  Set<String> getFlagParameterNames();
+
 }
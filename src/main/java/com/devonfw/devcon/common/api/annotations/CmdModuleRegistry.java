@@ -56,4 +56,12 @@ public @interface CmdModuleRegistry {
    */
   int sort() default -1;
 
+  /**
+   * Whether the module keeps no state of its own between command executions (besides the injected environment), so
+   * its instances can be reused
+   *
+   * @return stateless
+   */
+  boolean stateless() default false;
+
 }
@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.api.data;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.json.simple.JSONObject;
+
+import com.devonfw.devcon.common.CommandResult;
+import com.google.common.base.Optional;
+
+/**
+ * How the parameters given for a command are bound to its defined parameters, computed once when the command is
+ * registered: the (lower case, interned) parameter names by position, which of them are mandatory, and the positions of
+ * the implicit parameters ({@code path} for commands with a context, {@code proxyHost} and {@code proxyPort}) which are
+ * not passed to the command method. Immutable, so shared by all executions of the command.
+ */
+public final class BindingPlan {
+
+  private static final String PATH = "path";
+
+  private static final String PROXY_HOST = "proxyhost";
+
+  private static final String PROXY_PORT = "proxyport";
+
+  private final String[] names;
+
+  private final boolean[] mandatory;
+
+  private final boolean[] implicit;
+
+  private final boolean[] paths;
+
+  private final int arity;
+
+  private final int pathSlot;
+
+  private final int proxyHostSlot;
+
+  private final int proxyPortSlot;
+
+  /**
+   * @param defined the defined parameters of the command, including the implicit ones
+   * @param context context of the command
+   * @param proxyParams whether the command has the proxy parameters
+   */
+  public BindingPlan(List<CommandParameter> defined, ContextType context, boolean proxyParams) {
+
+    int size = defined.size();
+    this.names = new String[size];
+    this.mandatory = new boolean[size];
+    this.implicit = new boolean[size];
+    this.paths = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      CommandParameter param = defined.get(i);
+      this.names[i] = param.getName().toLowerCase().intern();
+      this.mandatory[i] = !param.isOptional();
+      this.paths[i] = (param.getInputType() != null) && (param.getInputType().getName() == InputTypeNames.PATH);
+    }
+
+    // the implicit parameters are the last ones (see BaseCmdImpl#patchParameters)
+    this.proxyPortSlot = proxyParams ? lastIndexOf(PROXY_PORT) : -1;
+    this.proxyHostSlot = proxyParams ? lastIndexOf(PROXY_HOST) : -1;
+    this.pathSlot = (context != ContextType.NONE) ? lastIndexOf(PATH) : -1;
+
+    int implicitCount = 0;
+    for (int slot : new int[] { this.pathSlot, this.proxyHostSlot, this.proxyPortSlot }) {
+      if (slot >= 0) {
+        this.implicit[slot] = true;
+        implicitCount++;
+      }
+    }
+    this.arity = size - implicitCount;
+  }
+
+  private int lastIndexOf(String name) {
+
+    for (int i = this.names.length - 1; i >= 0; i--) {
+      if (this.names[i] == name) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return lower case names of the defined parameters, by position
+   */
+  public List<String> getNames() {
+
+    return Arrays.asList(this.names);
+  }
+
+  /**
+   * @return number of arguments passed to the command method
+   */
+  public int getArity() {
+
+    return this.arity;
+  }
+
+  /**
+   * Binds the given parameters (names are case insensitive) to the defined ones
+   *
+   * @param given the parameters as given on the command line
+   * @return the binding
+   */
+  public Binding bind(List<Pair<String, String>> given) {
+
+    String[] values = new String[this.names.length];
+    List<String> unknown = null;
+
+    for (Pair<String, String> param : given) {
+      int slot = slotOf(param.getLeft());
+      if (slot >= 0) {
+        values[slot] = param.getRight();
+      } else {
+        if (unknown == null) {
+          unknown = new ArrayList<>();
+        }
+        String name = param.getLeft().toLowerCase();
+        if (!unknown.contains(name)) {
+          unknown.add(name);
+        }
+      }
+    }
+
+    for (int i = 0; i < this.names.length; i++) {
+      if (this.mandatory[i] && (values[i] == null)) {
+        return new Binding(CommandResult.MANDATORY_PARAMS_MISSING, this.names[i], null);
+      }
+    }
+    if (unknown != null) {
+      return new Binding(CommandResult.UNKNOWN_PARAMS, "Unknown parameters : " + unknown, null);
+    }
+    return new Binding(CommandResult.OK, CommandResult.OK_MSG, values);
+  }
+
+  private int slotOf(String name) {
+
+    for (int i = 0; i < this.names.length; i++) {
+      if (this.names[i].equalsIgnoreCase(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The given parameters bound to the defined ones
+   */
+  public final class Binding {
+
+    private final CommandResult result;
+
+    private final String message;
+
+    private final String[] values;
+
+    private Binding(CommandResult result, String message, String[] values) {
+      this.result = result;
+      this.message = message;
+      this.values = values;
+    }
+
+    /**
+     * @return {@link CommandResult#OK}, {@link CommandResult#MANDATORY_PARAMS_MISSING} or
+     *         {@link CommandResult#UNKNOWN_PARAMS}
+     */
+    public CommandResult getResult() {
+
+      return this.result;
+    }
+
+    /**
+     * @return the missing parameter or the message listing the unknown parameters
+     */
+    public String getMessage() {
+
+      return this.message;
+    }
+
+    /**
+     * @param slot position of a defined parameter
+     * @return the value given for it
+     */
+    public Optional<String> getValue(int slot) {
+
+      return Optional.fromNullable(this.values[slot]);
+    }
+
+    /**
+     * @return the given path, empty when not given (or the command has no context)
+     */
+    public String getPath() {
+
+      return given(BindingPlan.this.pathSlot);
+    }
+
+    /**
+     * @return the given proxy host, empty when not given
+     */
+    public String getProxyHost() {
+
+      return given(BindingPlan.this.proxyHostSlot);
+    }
+
+    /**
+     * @return the given proxy port, empty when not given
+     */
+    public String getProxyPort() {
+
+      return given(BindingPlan.this.proxyPortSlot);
+    }
+
+    private String given(int slot) {
+
+      return ((slot < 0) || (this.values[slot] == null)) ? "" : this.values[slot];
+    }
+
+    /**
+     * The arguments of the command method: the given values, missing ones taken from the project configuration
+     * (devon.json) or empty
+     *
+     * @param projectInfo the project of the command, if any
+     * @return the arguments
+     */
+    public String[] getArguments(Optional<ProjectInfo> projectInfo) {
+
+      return getArguments(projectInfo, null);
+    }
+
+    /**
+     * The arguments of the command method, as {@link #getArguments(Optional)}, with relative paths given for the
+     * parameters of type {@link InputTypeNames#PATH} resolved against the working directory
+     *
+     * @param projectInfo the project of the command, if any
+     * @param workingDirectory the working directory of the command (which may not be the one of the JVM), or
+     *        <code>null</code> to keep the paths as given
+     * @return the arguments
+     */
+    public String[] getArguments(Optional<ProjectInfo> projectInfo, Path workingDirectory) {
+
+      JSONObject config = projectInfo.isPresent() ? projectInfo.get().getConfig() : null;
+      String[] arguments = new String[BindingPlan.this.arity];
+      int pos = 0;
+      for (int i = 0; i < this.values.length; i++) {
+        if (BindingPlan.this.implicit[i]) {
+          continue;
+        }
+        String value = this.values[i];
+        if ((value == null) && (config != null) && config.containsKey(BindingPlan.this.names[i])) {
+          value = config.get(BindingPlan.this.names[i]).toString();
+        }
+        if ((value != null) && !value.isEmpty() && BindingPlan.this.paths[i] && (workingDirectory != null)) {
+          value = resolve(workingDirectory, value);
+        }
+        arguments[pos++] = (value == null) ? "" : value;
+      }
+      return arguments;
+    }
+
+    private String resolve(Path workingDirectory, String path) {
+
+      try {
+        return workingDirectory.resolve(path).toString();
+      } catch (InvalidPathException e) {
+        // left to the command to report
+        return path;
+      }
+    }
+  }
+}
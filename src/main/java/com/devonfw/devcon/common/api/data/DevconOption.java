@@ -28,11 +28,19 @@ public class DevconOption {
 
   private String description;
 
+  private boolean hasArg;
+
   public DevconOption(String opt, String longOpt, String description) {
 
+    this(opt, longOpt, description, false);
+  }
+
+  public DevconOption(String opt, String longOpt, String description, boolean hasArg) {
+
     this.opt = opt;
     this.longOpt = longOpt;
     this.description = description;
+    this.hasArg = hasArg;
   }
 
   /**
@@ -83,4 +91,20 @@ public class DevconOption {
     this.description = description;
   }
 
+  /**
+   * @return whether the option takes a value (the next argument)
+   */
+  public boolean hasArg() {
+
+    return this.hasArg;
+  }
+
+  /**
+   * @param hasArg new value of {@link #hasArg}.
+   */
+  public void setHasArg(boolean hasArg) {
+
+    this.hasArg = hasArg;
+  }
+
 }
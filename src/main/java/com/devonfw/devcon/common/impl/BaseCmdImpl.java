@@ -15,27 +15,37 @@
  ******************************************************************************/
 package com.devonfw.devcon.common.impl;
 
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonBoolean;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonLong;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonString;
+import static com.devonfw.devcon.common.utils.JsonValues.getTypedArray;
+import static com.devonfw.devcon.common.utils.JsonValues.getTypedObject;
+
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
 
 import com.devonfw.devcon.Devcon;
 import com.devonfw.devcon.common.CommandResult;
 import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.CommandModule;
 import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.api.data.BindingPlan;
 import com.devonfw.devcon.common.api.data.CommandParameter;
 import com.devonfw.devcon.common.api.data.ContextType;
 import com.devonfw.devcon.common.api.data.InputTypeNames;
 import com.devonfw.devcon.common.api.data.ParameterInputType;
 import com.devonfw.devcon.common.api.data.ProjectInfo;
+import com.devonfw.devcon.common.api.utils.JsonArrayConverter;
+import com.devonfw.devcon.common.api.utils.JsonObjectConverter;
+import com.devonfw.devcon.common.exception.InvalidConfigurationStateException;
 import com.devonfw.devcon.common.utils.ContextPathInfo;
 import com.devonfw.devcon.input.Input;
 import com.devonfw.devcon.output.Output;
@@ -58,19 +68,39 @@ public abstract class BaseCmdImpl implements Command {
 
   protected List<CommandParameter> definedParameters;
 
-  protected CommandRegistry registry;
+  protected ContextType context;
 
-  protected Optional<ProjectInfo> projectInfo;
+  protected boolean proxyParams;
 
-  protected Input input;
+  private BindingPlan bindingPlan;
 
-  protected Output output;
+  /**
+   * Commands are shared (e.g. by the sub-projects of a combined project or the parallel lines of a batch); the
+   * environment is injected right before a command is executed on the same thread, so it is kept per thread
+   */
+  private final ThreadLocal<Environment> environment = new ThreadLocal<>();
 
-  protected ContextType context;
+  private static class Environment {
 
-  protected boolean proxyParams;
+    private final CommandRegistry registry;
+
+    private final Input input;
+
+    private final Output output;
 
-  protected ContextPathInfo contextPathInfo;
+    private final ContextPathInfo contextPathInfo;
+
+    private final Optional<ProjectInfo> projectInfo;
+
+    Environment(CommandRegistry registry, Input input, Output output, ContextPathInfo contextPathInfo,
+        Optional<ProjectInfo> projectInfo) {
+      this.registry = registry;
+      this.input = input;
+      this.output = output;
+      this.contextPathInfo = contextPathInfo;
+      this.projectInfo = projectInfo;
+    }
+  }
 
   public BaseCmdImpl() {
 
@@ -81,11 +111,58 @@ public abstract class BaseCmdImpl implements Command {
   public void injectEnvironment(CommandRegistry registry, Input input, Output output, ContextPathInfo contextPathInfo,
       Optional<ProjectInfo> projectInfo) {
 
-    this.registry = registry;
-    this.projectInfo = projectInfo;
-    this.input = input;
-    this.output = output;
-    this.contextPathInfo = contextPathInfo;
+    this.environment.set(new Environment(registry, input, output, contextPathInfo, projectInfo));
+  }
+
+  /**
+   * Add parameters as defined in json (commands.json of Javascript modules or the command index)
+   *
+   * @param paramsJson raw json data defining the command´s parameters
+   */
+  void addParameters(JSONArray paramsJson) {
+
+    int pos = 0;
+
+    for (Object e : paramsJson) {
+
+      JSONObject obj = (JSONObject) e;
+
+      // name property is mandatory
+      if (!(obj.get("name") != null) && !obj.get("name").toString().isEmpty()) {
+        throw new InvalidConfigurationStateException("missing or invalid 'name' property in command: " + this.name);
+      }
+
+      String _name = obj.get("name").toString();
+      String _description = getJsonString(obj, "description", "");
+      boolean _optional = getJsonBoolean(obj, "optional", false);
+      int _sort = (int) getJsonLong(obj, "sort", -1);
+
+      ParameterInputType _inputType = getTypedObject(obj, "inputType", new ParameterInputType(InputTypeNames.GENERIC),
+          new JsonObjectConverter<ParameterInputType>() {
+            @Override
+            public ParameterInputType convert(JSONObject jsonobj) {
+
+              Object _name = jsonobj.get("name");
+              InputTypeNames name = InputTypeNames.valueOf(_name.toString().toUpperCase());
+              String[] values = getTypedArray(jsonobj, "values", String.class, new JsonArrayConverter<String>() {
+
+                @Override
+                public String convertElement(Object obj) {
+
+                  if (obj == null) {
+                    return "";
+                  } else {
+
+                    return obj.toString();
+                  }
+                }
+              });
+              return new ParameterInputType(name, values);
+            }
+          });
+
+      this.definedParameters.add(new CommandParameter(_name, _description, pos++, _optional, _inputType));
+    }
 
   }
 
@@ -106,6 +183,14 @@ public abstract class BaseCmdImpl implements Command {
       this.definedParameters
           .add(new CommandParameter("proxyPort", "Port parameter for optional Proxy configuration", length++, true));
     }
+
+    this.bindingPlan = new BindingPlan(this.definedParameters, this.context, this.proxyParams);
+  }
+
+  @Override
+  public BindingPlan getBindingPlan() {
+
+    return this.bindingPlan;
   }
 
   /**
@@ -114,13 +199,14 @@ public abstract class BaseCmdImpl implements Command {
   protected void injectEnvIfCommandModule(Object module) {
 
     // When Command Module, inject environment
-    if (module instanceof CommandModule) {
+    Environment env = this.environment.get();
+    if ((module instanceof CommandModule) && (env != null)) {
       CommandModule module_ = (CommandModule) module;
-      module_.setRegistry(this.registry);
-      module_.setProjectInfo(this.projectInfo);
-      module_.setInput(this.input);
-      module_.setOutput(this.output);
-      module_.setContextPathInfo(this.contextPathInfo);
+      module_.setRegistry(env.registry);
+      module_.setProjectInfo(env.projectInfo);
+      module_.setInput(env.input);
+      module_.setOutput(env.output);
+      module_.setContextPathInfo(env.contextPathInfo);
     }
   }
 
@@ -146,38 +232,24 @@ public abstract class BaseCmdImpl implements Command {
   public Triple<CommandResult, String, List<CommandParameter>> getParametersWithInput(
       List<Pair<String, String>> givenParameters) {
 
-    Map<String, String> given = new HashMap<>();
-    for (Pair<String, String> param : givenParameters) {
-      given.put(param.getLeft().toLowerCase(), param.getRight());
+    BindingPlan.Binding binding = this.bindingPlan.bind(givenParameters);
+    if (binding.getResult() != CommandResult.OK) {
+      List<CommandParameter> none = new ArrayList<>();
+      return Triple.of(binding.getResult(), binding.getMessage(), none);
     }
 
-    List<CommandParameter> parameters = new ArrayList<>();
-    List<CommandParameter> None = new ArrayList<>();
-
-    for (CommandParameter defined : getDefinedParameters()) {
-      CommandParameter val = new CommandParameter(defined.getName().toLowerCase(), defined.getDescription(),
-          defined.getPosition(), defined.isOptional());
-
-      // take value when given
-      if (given.containsKey(val.getName())) {
-        val.setValue(given.get(val.getName()));
-        given.remove(val.getName());
-      }
-
-      // error when mandatory and no value
-      if (!val.isOptional() && !val.getValue().isPresent()) {
-        return Triple.of(CommandResult.MANDATORY_PARAMS_MISSING, val.getName(), None);
+    List<String> names = this.bindingPlan.getNames();
+    List<CommandParameter> parameters = new ArrayList<>(names.size());
+    for (int i = 0; i < names.size(); i++) {
+      CommandParameter defined = this.definedParameters.get(i);
+      CommandParameter val = new CommandParameter(names.get(i), defined.getDescription(), defined.getPosition(),
+          defined.isOptional());
+      if (binding.getValue(i).isPresent()) {
+        val.setValue(binding.getValue(i).get());
       }
       parameters.add(val);
     }
-
-    // not existing parameters given
-    if (given.size() > 0) {
-      String msg = "Unknown parameters : " + given.keySet().toString();
-      return Triple.of(CommandResult.UNKNOWN_PARAMS, msg, None);
-    }
     return Triple.of(CommandResult.OK, CommandResult.OK_MSG, parameters);
-
   }
 
   /**
@@ -185,7 +257,8 @@ public abstract class BaseCmdImpl implements Command {
    */
   public Input getInput() {
 
-    return this.input;
+    Environment env = this.environment.get();
+    return (env != null) ? env.input : null;
   }
 
   /**
@@ -193,7 +266,8 @@ public abstract class BaseCmdImpl implements Command {
    */
   public Output getOutput() {
 
-    return this.output;
+    Environment env = this.environment.get();
+    return (env != null) ? env.output : null;
   }
 
   /**
@@ -201,7 +275,8 @@ public abstract class BaseCmdImpl implements Command {
    */
   public CommandRegistry getRegistry() {
 
-    return this.registry;
+    Environment env = this.environment.get();
+    return (env != null) ? env.registry : null;
   }
 
   @Override
@@ -221,7 +296,8 @@ public abstract class BaseCmdImpl implements Command {
    */
   public ContextPathInfo getContextPathInfo() {
 
-    return this.contextPathInfo;
+    Environment env = this.environment.get();
+    return (env != null) ? env.contextPathInfo : null;
   }
 
   /**
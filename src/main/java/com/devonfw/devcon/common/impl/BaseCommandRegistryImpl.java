@@ -16,12 +16,19 @@
 package com.devonfw.devcon.common.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.CommandModuleInfo;
 import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.api.data.CommandParameter;
+import com.devonfw.devcon.common.api.data.InputTypeNames;
+import com.devonfw.devcon.common.api.data.ParameterInputType;
 import com.google.common.base.Optional;
 
 /**
@@ -31,6 +38,10 @@ public class BaseCommandRegistryImpl implements CommandRegistry {
 
   protected HashMap<String, CommandModuleInfo> modules;
 
+  private volatile Set<String> parameterNames;
+
+  private volatile Set<String> flagParameterNames;
+
   public BaseCommandRegistryImpl() {
     this.modules = new HashMap<>();
   }
@@ -76,6 +87,8 @@ public class BaseCommandRegistryImpl implements CommandRegistry {
   protected void setModules(HashMap<String, CommandModuleInfo> modules) {
 
     this.modules = modules;
+    this.parameterNames = null;
+    this.flagParameterNames = null;
   }
 
   /**
@@ -86,6 +99,61 @@ public class BaseCommandRegistryImpl implements CommandRegistry {
 
     BaseCommandRegistryImpl other = (BaseCommandRegistryImpl) otherRegistry;
     getModules().putAll(other.getModules());
+    this.parameterNames = null;
+    this.flagParameterNames = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<String> getParameterNames() {
+
+    Set<String> names = this.parameterNames;
+    if (names == null) {
+      collectParameterNames();
+      names = this.parameterNames;
+    }
+    return names;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<String> getFlagParameterNames() {
+
+    Set<String> names = this.flagParameterNames;
+    if (names == null) {
+      collectParameterNames();
+      names = this.flagParameterNames;
+    }
+    return names;
+  }
+
+  private void collectParameterNames() {
+
+    Set<String> names = new HashSet<>();
+    Set<String> flags = new HashSet<>();
+    for (CommandModuleInfo module : this.modules.values()) {
+      for (Command command : module.getCommands()) {
+        for (CommandParameter param : command.getDefinedParameters()) {
+          names.add(param.getName());
+          if (isFlag(param)) {
+            flags.add(param.getName());
+          }
+        }
+      }
+    }
+    this.flagParameterNames = Collections.unmodifiableSet(flags);
+    this.parameterNames = Collections.unmodifiableSet(names);
+  }
+
+  private static boolean isFlag(CommandParameter param) {
+
+    ParameterInputType type = param.getInputType();
+    return (type != null) && (type.getName() == InputTypeNames.LIST)
+        && new HashSet<>(Arrays.asList(type.getValues())).equals(new HashSet<>(Arrays.asList("true", "false")));
   }
 
 }
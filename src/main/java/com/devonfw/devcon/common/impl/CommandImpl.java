@@ -16,16 +16,22 @@
 package com.devonfw.devcon.common.impl;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 
+import org.json.simple.JSONArray;
+
 import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.annotations.Parameter;
 import com.devonfw.devcon.common.api.annotations.Parameters;
 import com.devonfw.devcon.common.api.data.CommandParameter;
 import com.devonfw.devcon.common.api.data.ContextType;
+import com.devonfw.devcon.common.exception.InvalidConfigurationStateException;
 
 /**
  * Implementation of {@link Command}
@@ -34,10 +40,23 @@ import com.devonfw.devcon.common.api.data.ContextType;
  */
 public class CommandImpl extends BaseCmdImpl {
 
-  private Method method;
+  private volatile Method method;
+
+  /**
+   * (module, arguments) -> result of the command method, compiled on first execution
+   */
+  private volatile MethodHandle invoker;
+
+  private ModuleInstances instances;
 
   private Class<?> module;
 
+  private String moduleClassName;
+
+  private String methodName;
+
+  private int arity;
+
   public CommandImpl(String name, String description, int sortValue, ContextType context, boolean proxyParams,
       Method method, String moduleName, Class<?> module) {
 
@@ -55,6 +74,39 @@ public class CommandImpl extends BaseCmdImpl {
     patchParameters();
   }
 
+  /**
+   * The constructor used when loading from the command index. The module class and method are only resolved when the
+   * command is executed
+   *
+   * @param name Command name
+   * @param description Help text for Command
+   * @param sortValue Order in which the command is shown in the help command listing
+   * @param context Command execution context
+   * @param proxyParams Possible proxy data
+   * @param methodName name of the annotated method
+   * @param arity number of (String) arguments of the annotated method
+   * @param moduleName Name of the module containing the Command
+   * @param moduleClassName binary name of the module class
+   * @param paramsJson raw json data defining the command´s parameters
+   */
+  public CommandImpl(String name, String description, int sortValue, ContextType context, boolean proxyParams,
+      String methodName, int arity, String moduleName, String moduleClassName, JSONArray paramsJson) {
+
+    super();
+    this.name = name;
+    this.description = description;
+    this.sortValue = sortValue;
+    this.context = context;
+    this.proxyParams = proxyParams;
+    this.methodName = methodName;
+    this.arity = arity;
+    this.moduleName = moduleName;
+    this.moduleClassName = moduleClassName;
+
+    addParameters(paramsJson);
+    patchParameters();
+  }
+
   void addParameters(Method method) {
 
     int pos = 0;
@@ -77,30 +129,75 @@ public class CommandImpl extends BaseCmdImpl {
   public Object exec(String... arguments)
       throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
 
-    return this.exec(Arrays.asList(arguments));
+    MethodHandle invoker = getInvoker();
+    Object module = null;
+    try {
+      module = this.instances.acquire();
+      injectEnvIfCommandModule(module);
+      return (Object) invoker.invokeExact(module, (Object[]) arguments);
+    } catch (Throwable e) {
+      // thrown as is, not wrapped in an InvocationTargetException
+      throw CommandImpl.<RuntimeException> rethrow(e);
+    } finally {
+      if (module != null) {
+        this.instances.release(module);
+      }
+    }
   }
 
   @Override
   public Object exec(List<String> arguments)
       throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
 
-    Object module = this.module.newInstance();
-
-    injectEnvIfCommandModule(module);
-
-    return this.method.invoke(module, arguments.toArray());
+    return exec(arguments.toArray(new String[arguments.size()]));
   }
 
   @Override
   public Object exec()
       throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
 
-    Object module = this.module.newInstance();
+    return exec(new String[0]);
+  }
+
+  /**
+   * Throws any exception, also checked ones the signature does not declare (as the command method would have thrown
+   * it when called directly)
+   */
+  @SuppressWarnings("unchecked")
+  private static <T extends Throwable> T rethrow(Throwable e) throws T {
+
+    throw (T) e;
+  }
+
+  /**
+   * @return handle invoking the command method with the module instance and an array with exactly as many arguments as
+   *         the method has parameters
+   */
+  private MethodHandle getInvoker() {
+
+    if (this.invoker == null) {
+      compileInvoker();
+    }
+    return this.invoker;
+  }
 
-    injectEnvIfCommandModule(module);
+  private synchronized void compileInvoker() {
 
-    return this.method.invoke(module);
+    if (this.invoker != null) {
+      return;
+    }
 
+    Method method = getMethod();
+    int arity = method.getParameterTypes().length;
+    try {
+      // void methods return null
+      MethodHandle handle = MethodHandles.publicLookup().unreflect(method)
+          .asType(MethodType.genericMethodType(arity + 1)).asSpreader(Object[].class, arity);
+      this.instances = ModuleInstances.of(getModule());
+      this.invoker = handle;
+    } catch (IllegalAccessException e) {
+      throw new InvalidConfigurationStateException(e);
+    }
   }
 
   /**
@@ -108,6 +205,9 @@ public class CommandImpl extends BaseCmdImpl {
    */
   public Method getMethod() {
 
+    if (this.method == null) {
+      resolveMethod();
+    }
     return this.method;
   }
 
@@ -116,7 +216,31 @@ public class CommandImpl extends BaseCmdImpl {
    */
   protected Class<?> getModule() {
 
+    if (this.method == null) {
+      resolveMethod();
+    }
     return this.module;
   }
 
+  /**
+   * Load module class and method of a command obtained from the command index
+   */
+  private synchronized void resolveMethod() {
+
+    if (this.method != null) {
+      return;
+    }
+
+    try {
+      Class<?> moduleClass = Class.forName(this.moduleClassName, true, CommandImpl.class.getClassLoader());
+      Class<?>[] parameterTypes = new Class<?>[this.arity];
+      Arrays.fill(parameterTypes, String.class);
+
+      this.module = moduleClass;
+      this.method = moduleClass.getMethod(this.methodName, parameterTypes);
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      throw new InvalidConfigurationStateException(e);
+    }
+  }
+
 }
@@ -16,26 +16,23 @@
 package com.devonfw.devcon.common.impl;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.commons.lang3.tuple.Triple;
-import org.json.simple.JSONObject;
 
 import com.devonfw.devcon.common.CommandResult;
 import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.CommandManager;
 import com.devonfw.devcon.common.api.CommandModuleInfo;
 import com.devonfw.devcon.common.api.CommandRegistry;
-import com.devonfw.devcon.common.api.data.CommandParameter;
+import com.devonfw.devcon.common.api.data.BindingPlan;
 import com.devonfw.devcon.common.api.data.ContextType;
 import com.devonfw.devcon.common.api.data.ProjectInfo;
 import com.devonfw.devcon.common.api.data.Sentence;
 import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.devonfw.devcon.common.utils.JfrEvents;
+import com.devonfw.devcon.common.utils.Profiler;
 import com.devonfw.devcon.common.utils.Utils;
 import com.devonfw.devcon.input.Input;
 import com.devonfw.devcon.output.Output;
@@ -101,7 +98,7 @@ public class CommandManagerImpl implements CommandManager {
         Optional<ProjectInfo> projectInfo = Optional.absent();
         cmd.injectEnvironment(this.registry, this.input, this.output, this.contextPathInfo, projectInfo);
 
-        return execCmd(cmd, Arrays.asList(params));
+        return execCmd(cmd, params);
 
       } else
 
@@ -145,7 +142,15 @@ public class CommandManagerImpl implements CommandManager {
         if (command.isPresent()) {
 
           Command cmd = command.get();
-          return execCommand(cmd, sentence);
+          JfrEvents.Event event = JfrEvents.get().command(cmd.getModuleName(), cmd.getName());
+          String outcome = null;
+          try (Profiler.Span span = Profiler.start("command", cmd.getModuleName(), cmd.getName())) {
+            Pair<CommandResult, Object> result = execCommand(cmd, sentence);
+            outcome = result.getLeft().name();
+            return result;
+          } finally {
+            event.end(outcome, 0);
+          }
 
         } else {
           this.output.showError("The command " + sentence.getCommandName()
@@ -179,12 +184,19 @@ public class CommandManagerImpl implements CommandManager {
       return Pair.of(CommandResult.HELP_SHOWN, (Object) ("command: " + cmd.getName()));
     }
 
-    Triple<CommandResult, String, List<CommandParameter>> completedResult =
-        cmd.getParametersWithInput(sentence.getParams());
+    BindingPlan.Binding binding = null;
+    try (Profiler.Span span = Profiler.start("command.bind")) {
+      JfrEvents.Event event = JfrEvents.get().binding(cmd.getModuleName(), cmd.getName());
+      try {
+        binding = cmd.getBindingPlan().bind(sentence.getParams());
+      } finally {
+        event.end((binding != null) ? binding.getResult().name() : null, 0);
+      }
+    }
 
     // in case of missing mandatory or not existing parameters
-    CommandResult cmdRes = completedResult.getLeft();
-    String msg = completedResult.getMiddle();
+    CommandResult cmdRes = binding.getResult();
+    String msg = binding.getMessage();
     if (cmdRes == CommandResult.MANDATORY_PARAMS_MISSING) {
       this.output.showError("Mandatory parameter missing: " + msg);
       return Pair.of(cmdRes, (Object) msg);
@@ -193,164 +205,52 @@ public class CommandManagerImpl implements CommandManager {
       return Pair.of(cmdRes, (Object) msg);
     }
 
-    List<CommandParameter> givenParameters = completedResult.getRight();
-
     if (cmd.getProxyParams()) {
-
-      int proxyHostIndex = 0;
-      int proxyPortIndex = 0;
-
-      for (CommandParameter commandParameter : givenParameters) {
-        if (commandParameter.getName().toLowerCase().equals("proxyhost")) {
-          proxyHostIndex = commandParameter.getPosition();
-        }
-        if (commandParameter.getName().toLowerCase().equals("proxyport")) {
-          proxyPortIndex = commandParameter.getPosition();
-        }
-      }
-
-      // proxyHost
-      CommandParameter proxyHostParam = givenParameters.get(proxyHostIndex);
-      String proxyHost = (proxyHostParam.getValue().isPresent()) ? proxyHostParam.getValue().get() : "";
-
-      // proxyPort
-      CommandParameter proxyPortParam = givenParameters.get(proxyPortIndex);
-      String proxyPort = (proxyPortParam.getValue().isPresent()) ? proxyPortParam.getValue().get() : "";
-
+      String proxyHost = binding.getProxyHost();
+      String proxyPort = binding.getProxyPort();
       if (!proxyHost.isEmpty() && !proxyPort.isEmpty()) {
         Utils.setProxy(proxyHost, proxyPort);
       }
-
-      givenParameters.remove(proxyHostParam);
-      givenParameters.remove(proxyPortParam);
-
     }
 
     // if context needs to be given; add projectinfo from last parameter --path (optional)
-    // then remove it from the parameters to be passed to the command
     Optional<ProjectInfo> projectInfo;
-    if (cmd.getContext() == ContextType.NONE) {
-      projectInfo = Optional.absent();
-    } else if (cmd.getContext() == ContextType.COMBINEDPROJECT) {
-
-      int pathIndex = 0;
-      for (CommandParameter commandParameter : givenParameters) {
-        if (commandParameter.getName().toLowerCase().equals("path")) {
-          pathIndex = commandParameter.getPosition();
-        }
-      }
-
-      CommandParameter pathParam = givenParameters.get(pathIndex);
-      String path = (pathParam.getValue().isPresent()) ? pathParam.getValue().get() : "";
-      projectInfo = getContextPathInfo().getCombinedProjectRoot(path);
-      givenParameters.remove(pathParam);
-
-    } else {
-
-      int pathIndex = 0;
-      for (CommandParameter commandParameter : givenParameters) {
-        if (commandParameter.getName().toLowerCase().equals("path")) {
-          pathIndex = commandParameter.getPosition();
-        }
+    String[] arguments;
+    try (Profiler.Span span = Profiler.start("command.context")) {
+      if (cmd.getContext() == ContextType.NONE) {
+        projectInfo = Optional.absent();
+      } else if (cmd.getContext() == ContextType.COMBINEDPROJECT) {
+        projectInfo = getContextPathInfo().getCombinedProjectRoot(binding.getPath());
+      } else {
+        projectInfo = getContextPathInfo().getProjectRoot(binding.getPath());
       }
 
-      CommandParameter pathParam = givenParameters.get(pathIndex);
-      String path = (pathParam.getValue().isPresent()) ? pathParam.getValue().get() : "";
-      projectInfo = getContextPathInfo().getProjectRoot(path);
-      givenParameters.remove(pathParam);
+      // optionally load missing values from config files
+      // relative to the working directory of the client when running as daemon
+      arguments = binding.getArguments(projectInfo, getContextPathInfo().getCurrentWorkingDirectory());
     }
 
-    // optionally load missing values from config files
-    List<String> completedparameters = completeParameters(projectInfo, givenParameters);
-
     // load environment api for command
     cmd.injectEnvironment(this.registry, this.input, this.output, new ContextPathInfo(), projectInfo);
-    return execCmd(cmd, completedparameters);
+    return execCmd(cmd, arguments);
   }
 
   /**
    * @param cmd
-   * @param parameters
+   * @param arguments
    * @return
    */
-  private Pair<CommandResult, Object> execCmd(Command cmd, List<String> parameters) {
+  private Pair<CommandResult, Object> execCmd(Command cmd, String[] arguments) {
 
-    try {
-      Object result = cmd.exec(parameters);
+    try (Profiler.Span span = Profiler.start("command.invoke")) {
+      Object result = cmd.exec(arguments);
       return Pair.of(CommandResult.OK, result);
-    } catch (Throwable ex) {
+    } catch (InvocationTargetException ex) {
       // get original exception from java.lang.reflect.InvocationTargetException
-      Throwable cause = ex.getCause();
-      if (cause != null) {
-        return Pair.of(CommandResult.FAILURE, (Object) cause);
-      } else {
-        return Pair.of(CommandResult.FAILURE, (Object) ex);
-      }
-    }
-  }
-
-  /**
-   * Get Possible missing parameter values from Project file (if Context != None), otherwise set missing values to empty
-   * string (not null)
-   *
-   * @param projectInfo
-   * @param commandNeededParams
-   * @return
-   */
-  private List<String> completeParameters(Optional<ProjectInfo> projectInfo, List<CommandParameter> parameters) {
-
-    if (projectInfo.isPresent()) {
-      return completeParametersfrom(projectInfo.get(), parameters);
-    } else {
-      return completeParameters(parameters);
-    }
-  }
-
-  /**
-   * Get Possible missing parameter values from Project file
-   *
-   * @param projectInfo
-   * @param parameters
-   * @return
-   */
-  private List<String> completeParametersfrom(ProjectInfo projectInfo, List<CommandParameter> parameters) {
-
-    List<String> values = new ArrayList<>();
-    JSONObject config = projectInfo.getConfig();
-
-    for (CommandParameter param : parameters) {
-
-      String key = param.getName();
-      if (param.getValue().isPresent()) {
-        values.add(param.getValue().get());
-      } else {
-
-        if (config.containsKey(key)) {
-          values.add(config.get(key).toString());
-        } else {
-          values.add("");
-        }
-      }
-    }
-    return values;
-  }
-
-  /**
-   * @param parameters
-   * @return
-   */
-  private List<String> completeParameters(List<CommandParameter> parameters) {
-
-    List<String> values = new ArrayList<>();
-    for (CommandParameter param : parameters) {
-
-      if (param.getValue().isPresent()) {
-        values.add(param.getValue().get());
-      } else {
-        values.add("");
-      }
+      return Pair.of(CommandResult.FAILURE, (Object) ex.getCause());
+    } catch (Throwable ex) {
+      return Pair.of(CommandResult.FAILURE, (Object) ex);
     }
-    return values;
   }
 
   /**
@@ -395,18 +295,7 @@ public class CommandManagerImpl implements CommandManager {
   @Override
   public Set<String> getParameterNames() {
 
-    Set<String> options = new HashSet<>();
-    for (CommandModuleInfo module : this.registry.getCommandModules()) {
-      for (Command command : module.getCommands()) {
-        for (CommandParameter param : command.getDefinedParameters()) {
-          String name = param.getName();
-          if (!options.contains(name)) {
-            options.add(name);
-          }
-        }
-      }
-    }
-    return options;
+    return this.registry.getParameterNames();
   }
 
   /**
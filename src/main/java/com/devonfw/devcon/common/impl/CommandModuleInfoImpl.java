@@ -15,11 +15,21 @@
  ******************************************************************************/
 package com.devonfw.devcon.common.impl;
 
+import static com.devonfw.devcon.common.utils.JsonValues.getJSONArray;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonBoolean;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonLong;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonString;
+
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
 import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.CommandModuleInfo;
+import com.devonfw.devcon.common.api.data.ContextType;
+import com.devonfw.devcon.common.impl.index.CommandIndex;
 
 /**
  * Implementation of {@link CommandModuleInfo}
@@ -39,6 +49,27 @@ public class CommandModuleInfoImpl extends BaseCmdModuleInfoImpl {
     addCommands(name, moduleClass);
   }
 
+  /**
+   * The constructor used when loading from the command index; the module class is not loaded
+   *
+   * @param name module name
+   * @param description module description
+   * @param sortValue sort value
+   * @param isVisible whether the module is visible
+   * @param moduleClassName binary name of the module class
+   * @param indexedCmds Raw json array containing the indexed commands
+   */
+  public CommandModuleInfoImpl(String name, String description, int sortValue, boolean isVisible,
+      String moduleClassName, JSONArray indexedCmds) {
+
+    super();
+    this.name = name;
+    this.description = description;
+    this.sortValue = sortValue;
+    this.isVisible = isVisible;
+    addCommands(name, moduleClassName, indexedCmds);
+  }
+
   void addCommands(String moduleName, Class<?> moduleClass) {
 
     try {
@@ -61,4 +92,32 @@ public class CommandModuleInfoImpl extends BaseCmdModuleInfoImpl {
     }
   }
 
+  /**
+   * Add commands from the command index
+   *
+   * @param moduleName module Name
+   * @param moduleClassName binary name of the module class
+   * @param indexedCmds Raw json array containing commands
+   */
+  void addCommands(String moduleName, String moduleClassName, JSONArray indexedCmds) {
+
+    for (Object e : indexedCmds) {
+
+      JSONObject cmdJson = (JSONObject) e;
+
+      String name = getJsonString(cmdJson, CommandIndex.NAME, "");
+      String description = getJsonString(cmdJson, CommandIndex.DESCRIPTION, "");
+      int sortValue = (int) getJsonLong(cmdJson, CommandIndex.SORT, -1);
+      ContextType context = ContextType.valueOf(getJsonString(cmdJson, CommandIndex.CONTEXT, "NONE"));
+      boolean proxyParams = getJsonBoolean(cmdJson, CommandIndex.PROXY_PARAMS, false);
+      String methodName = getJsonString(cmdJson, CommandIndex.METHOD, "");
+      int arity = (int) getJsonLong(cmdJson, CommandIndex.ARITY, 0);
+      JSONArray paramsJson = getJSONArray(cmdJson, CommandIndex.PARAMETERS);
+
+      Command cmdImpl = new CommandImpl(name, description, sortValue, context, proxyParams, methodName, arity,
+          moduleName, moduleClassName, paramsJson);
+      this.commands.put(name, cmdImpl);
+    }
+  }
+
 }
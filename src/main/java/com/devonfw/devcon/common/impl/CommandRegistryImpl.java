@@ -15,8 +15,15 @@
  ******************************************************************************/
 package com.devonfw.devcon.common.impl;
 
+import static com.devonfw.devcon.common.utils.JsonValues.getJSONArray;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonBoolean;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonLong;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonString;
+
 import java.lang.annotation.Annotation;
 
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
 import org.reflections.Reflections;
 import org.reflections.scanners.MethodAnnotationsScanner;
 import org.reflections.scanners.SubTypesScanner;
@@ -26,26 +33,74 @@ import org.reflections.util.ClasspathHelper;
 import com.devonfw.devcon.common.api.CommandModuleInfo;
 import com.devonfw.devcon.common.api.CommandRegistry;
 import com.devonfw.devcon.common.api.annotations.CmdModuleRegistry;
+import com.devonfw.devcon.common.impl.index.CommandIndex;
+import com.devonfw.devcon.common.impl.index.CommandIndexProcessor;
 import com.devonfw.devcon.common.utils.Constants;
+import com.devonfw.devcon.common.utils.Profiler;
+import com.google.common.base.Optional;
 
 /**
- * Implementation of {@linkplain CommandRegistry}
+ * Implementation of {@linkplain CommandRegistry}. Modules are loaded from the {@link CommandIndex} generated at build
+ * time by {@link CommandIndexProcessor}; scanning the classpath is only done when no index is present (i.e. on
+ * development classpaths)
  *
  * @author ivanderk
  */
 public class CommandRegistryImpl extends BaseCommandRegistryImpl {
 
-  private Reflections reflections = new Reflections(ClasspathHelper.forPackage(Constants.MODULES_PACKAGE),
-      new SubTypesScanner(), new TypeAnnotationsScanner(), new MethodAnnotationsScanner());
-
   public CommandRegistryImpl(String pkgName) {
     super();
-    registerModules(pkgName);
+    try (Profiler.Span span = Profiler.start("registry.index", pkgName)) {
+      if (registerIndexedModules(pkgName)) {
+        return;
+      }
+    }
+    try (Profiler.Span span = Profiler.start("registry.scan", pkgName)) {
+      registerModules(pkgName);
+    }
+  }
+
+  /**
+   * Register the modules contained in the command index
+   *
+   * @param pkgName package (pattern) of the modules
+   * @return whether a command index was found
+   */
+  public boolean registerIndexedModules(String pkgName) {
+
+    Optional<JSONObject> index = CommandIndex.load(CommandRegistryImpl.class.getClassLoader());
+    if (!index.isPresent()) {
+      return false;
+    }
+
+    for (Object e : getJSONArray(index.get(), CommandIndex.MODULES)) {
+
+      JSONObject moduleJson = (JSONObject) e;
+      String className = getJsonString(moduleJson, CommandIndex.CLASS, "");
+      // same scope as the classpath scanning
+      if (!className.startsWith(Constants.MODULES_PACKAGE + ".")) {
+        continue;
+      }
+
+      String name = getJsonString(moduleJson, CommandIndex.NAME, "");
+      String description = getJsonString(moduleJson, CommandIndex.DESCRIPTION, "");
+      int sortValue = (int) getJsonLong(moduleJson, CommandIndex.SORT, -1);
+      boolean visible = getJsonBoolean(moduleJson, CommandIndex.VISIBLE, true);
+      JSONArray cmdsJson = getJSONArray(moduleJson, CommandIndex.COMMANDS);
+
+      CommandModuleInfo cmdmodule =
+          new CommandModuleInfoImpl(name, description, sortValue, visible, className, cmdsJson);
+      getModules().put(cmdmodule.getName(), cmdmodule);
+    }
+    return true;
   }
 
   public void registerModules(String pkgName) {
 
-    for (Class<?> moduleClass : this.reflections.getTypesAnnotatedWith(CmdModuleRegistry.class)) {
+    Reflections reflections = new Reflections(ClasspathHelper.forPackage(Constants.MODULES_PACKAGE),
+        new SubTypesScanner(), new TypeAnnotationsScanner(), new MethodAnnotationsScanner());
+
+    for (Class<?> moduleClass : reflections.getTypesAnnotatedWith(CmdModuleRegistry.class)) {
 
       Annotation annotation = moduleClass.getAnnotation(CmdModuleRegistry.class);
       CmdModuleRegistry moduleAnnotation = (CmdModuleRegistry) annotation;
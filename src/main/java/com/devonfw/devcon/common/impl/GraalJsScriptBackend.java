@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.script.ScriptException;
+
+import org.apache.commons.io.FileUtils;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+
+import com.google.common.base.Optional;
+
+/**
+ * {@link ScriptBackend} running the commands with GraalJS (polyglot API), for JDKs without Nashorn. All contexts share
+ * one {@link Engine}, so a script is parsed and compiled once for all of them. A context is only used by one thread at
+ * a time, they are pooled (see {@link ScriptPool}); the commands are wrapped in a function by the template, so their
+ * variables are not left in the (reused) context.
+ */
+public class GraalJsScriptBackend implements ScriptBackend {
+
+  /**
+   * Name of the backend
+   */
+  public static final String NAME = "graaljs";
+
+  private static final String LANGUAGE = "js";
+
+  private static final String WARM_UP_SCRIPT =
+      "Java.extend(Java.type('com.devonfw.devcon.common.impl.JsCommandModule'))";
+
+  private final Engine engine;
+
+  private final ContextPool contexts;
+
+  private final ConcurrentMap<File, CachedSource> sources = new ConcurrentHashMap<>();
+
+  private GraalJsScriptBackend(Engine engine, int size) {
+
+    this.engine = engine;
+    this.contexts = new ContextPool(size);
+  }
+
+  /**
+   * @param size maximum number of contexts (i.e. concurrent executions)
+   * @return the backend, absent if GraalJS is not available
+   */
+  public static Optional<GraalJsScriptBackend> create(int size) {
+
+    Engine engine;
+    try {
+      // no warning about running on a JVM without the Graal compiler, the commands are short
+      engine = Engine.newBuilder().option("engine.WarnInterpreterOnly", "false").build();
+    } catch (RuntimeException | LinkageError e) {
+      return Optional.absent();
+    }
+    if (!engine.getLanguages().containsKey(LANGUAGE)) {
+      engine.close();
+      return Optional.absent();
+    }
+    return Optional.of(new GraalJsScriptBackend(engine, size));
+  }
+
+  @Override
+  public String getName() {
+
+    return NAME;
+  }
+
+  @Override
+  public Execution load(File script) throws IOException, ScriptException, InterruptedException {
+
+    Source source = getSource(script.getAbsoluteFile());
+    final Context context = this.contexts.checkout();
+    try {
+      final JsCommandModule module = context.eval(source).as(JsCommandModule.class);
+      return new Execution() {
+        @Override
+        public JsCommandModule getModule() {
+
+          return module;
+        }
+
+        @Override
+        public void close() {
+
+          GraalJsScriptBackend.this.contexts.release(context);
+        }
+      };
+    } catch (PolyglotException | ClassCastException e) {
+      this.contexts.release(context);
+      throw new ScriptException(script.getName() + ": " + e.getMessage());
+    } catch (RuntimeException e) {
+      this.contexts.release(context);
+      throw e;
+    }
+  }
+
+  @Override
+  public void warmUp(int executions) {
+
+    this.contexts.warmUp(executions);
+  }
+
+  /**
+   * @return the number of contexts created so far
+   */
+  public int getContexts() {
+
+    return this.contexts.getCreated();
+  }
+
+  /**
+   * Same source object as long as the script is unchanged, which is what the engine caches compiled code by
+   */
+  private Source getSource(File file) throws IOException {
+
+    long lastModified = file.lastModified();
+    long length = file.length();
+
+    CachedSource cached = this.sources.get(file);
+    if ((cached == null) || (cached.lastModified != lastModified) || (cached.length != length)) {
+      String code = String.format(JsScriptCache.INSTANCE.getTemplate(), FileUtils.readFileToString(file, "UTF-8"));
+      cached = new CachedSource(lastModified, length,
+          Source.newBuilder(LANGUAGE, code, file.getPath()).cached(true).buildLiteral());
+      this.sources.put(file, cached);
+    }
+    return cached.source;
+  }
+
+  /**
+   * Contexts of the shared engine
+   */
+  private class ContextPool extends ScriptPool<Context> {
+
+    ContextPool(int size) {
+      super(size);
+    }
+
+    @Override
+    protected Context create() throws ScriptException {
+
+      try {
+        // full host access and the Nashorn extensions (Java.extend, Java.super) used by the template, as with Nashorn
+        return Context.newBuilder(LANGUAGE).engine(GraalJsScriptBackend.this.engine).allowAllAccess(true)
+            .allowExperimentalOptions(true).option("js.nashorn-compat", "true").build();
+      } catch (PolyglotException | IllegalArgumentException e) {
+        throw new ScriptException(e.getMessage());
+      }
+    }
+
+    @Override
+    protected void prepare(Context context) {
+
+      try {
+        context.eval(Source.newBuilder(LANGUAGE, WARM_UP_SCRIPT, "warm-up.js").buildLiteral());
+      } catch (RuntimeException e) {
+        // only a warm-up, the commands report the problems of the engine
+      }
+    }
+  }
+
+  /**
+   * A script wrapped in the command template
+   */
+  private static class CachedSource {
+
+    private final long lastModified;
+
+    private final long length;
+
+    private final Source source;
+
+    CachedSource(long lastModified, long length, Source source) {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.source = source;
+    }
+  }
+}
@@ -22,13 +22,24 @@ import static com.devonfw.devcon.common.utils.JsonValues.getJsonString;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collection;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.filefilter.IOFileFilter;
-import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -38,19 +49,41 @@ import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.CommandModule;
 import com.devonfw.devcon.common.api.CommandModuleInfo;
 import com.devonfw.devcon.common.exception.InvalidConfigurationStateException;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Collections2;
+import com.devonfw.devcon.common.impl.JsModulesManifest.Entry;
+import com.google.common.base.Optional;
 
 /**
- * The central repository where all {@link CommandModule}s with their respective {@link Command}s are loaded and stored
+ * The central repository where all {@link CommandModule}s with their respective {@link Command}s are loaded and stored.
+ * <br>
+ * Module directories are scanned (and their commands.json parsed) in parallel; parsed modules are recorded in a
+ * {@link JsModulesManifest}, so unchanged commands.json files are not read again on the next start.
  *
  * @author ivanderk
  */
 public class JavaScriptsCmdRegistryImpl extends BaseCommandRegistryImpl {
 
+  /**
+   * Maximum depth (relative to the scripts directory) in which commands.json files are searched
+   */
+  public static final int DEFAULT_MAX_DEPTH = 8;
+
+  private static final String COMMANDS_JSON = "commands.json";
+
   public JavaScriptsCmdRegistryImpl(Path scriptModules) throws ParseException, IOException {
+    this(scriptModules, JsModulesManifest.getDefaultLocation(scriptModules), DEFAULT_MAX_DEPTH);
+  }
+
+  /**
+   * @param scriptModules Path where to find scripts modules
+   * @param manifestFile location of the manifest of parsed modules
+   * @param maxDepth maximum depth in which commands.json files are searched
+   * @throws ParseException when a commands.json is invalid
+   * @throws IOException when a commands.json cannot be read
+   */
+  public JavaScriptsCmdRegistryImpl(Path scriptModules, Path manifestFile, int maxDepth)
+      throws ParseException, IOException {
     super();
-    registerModules(scriptModules);
+    registerModules(scriptModules, manifestFile, maxDepth);
   }
 
   /**
@@ -61,49 +94,144 @@ public class JavaScriptsCmdRegistryImpl extends BaseCommandRegistryImpl {
    * @throws IOException
    * @throws ParseException
    */
-  private void registerModules(Path scriptModules) throws ParseException, IOException {
+  private void registerModules(Path scriptModules, Path manifestFile, int maxDepth)
+      throws ParseException, IOException {
 
-    Collection<File> files = getCommandJsons(scriptModules);
-    for (File commandJson : files) {
-      processCommands(commandJson);
+    JsModulesManifest manifest = JsModulesManifest.load(manifestFile);
+
+    // sorted, so duplicate module names are resolved the same way on each start
+    Map<String, Entry> commandJsons = getCommandJsons(scriptModules, manifest, maxDepth);
+    for (Entry entry : commandJsons.values()) {
+      processCommands(new File(entry.getPath()), entry.getModule());
+    }
+
+    if (manifest.update(commandJsons.values())) {
+      try {
+        manifest.save();
+      } catch (IOException e) {
+        // TODO implement logs
+        System.out.println("[ERROR] at JavaScriptsCmdRegistryImpl#registerModules: " + e.getMessage());
+      }
     }
   }
 
   /**
    *
-   * Get all command.json files within base-path, scanned recursively
+   * Get all command.json files within base-path (parsed, or as recorded in the manifest). Each module directory is
+   * scanned by a separate task
    *
-   * @param JavaScript Modules
-   * @return
+   * @param scriptModules JavaScript Modules
+   * @param manifest parsed modules of the previous scan
+   * @param maxDepth maximum depth in which commands.json files are searched
+   * @return commands.json files by path
+   * @throws IOException
+   * @throws ParseException
    */
-  private Collection<File> getCommandJsons(Path scriptModules) {
+  private Map<String, Entry> getCommandJsons(Path scriptModules, final JsModulesManifest manifest, int maxDepth)
+      throws ParseException, IOException {
 
-    Collection<File> fls = FileUtils.listFilesAndDirs(scriptModules.toFile(), new IOFileFilter() {
+    Map<String, Entry> commandJsons = new TreeMap<>();
+    if (!Files.isDirectory(scriptModules) || (maxDepth < 1)) {
+      return commandJsons;
+    }
 
-      @Override
-      public boolean accept(File file) {
+    List<Callable<List<Entry>>> tasks = new ArrayList<>();
+    // files directly in the scripts directory
+    tasks.add(scanTask(scriptModules, 1, manifest));
+    if (maxDepth > 1) {
+      try (DirectoryStream<Path> dirs = Files.newDirectoryStream(scriptModules)) {
+        for (Path dir : dirs) {
+          if (Files.isDirectory(dir)) {
+            tasks.add(scanTask(dir, maxDepth - 1, manifest));
+          }
+        }
+      }
+    }
 
-        // include commands.json
-        return (file.isFile() && file.getName().equals("commands.json"));
+    // IO bound (scripts may be on network drives), so more threads than processors
+    ForkJoinPool pool = new ForkJoinPool(Math.min(tasks.size(), 2 * Runtime.getRuntime().availableProcessors()));
+    try {
+      for (Future<List<Entry>> result : pool.invokeAll(tasks)) {
+        for (Entry entry : result.get()) {
+          commandJsons.put(entry.getPath(), entry);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ParseException) {
+        throw (ParseException) cause;
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
       }
+      throw new InvalidConfigurationStateException((Exception) cause);
+    } finally {
+      pool.shutdown();
+    }
+    return commandJsons;
+  }
+
+  /**
+   * @param dir directory to scan
+   * @param maxDepth maximum depth of the scan
+   * @param manifest parsed modules of the previous scan
+   * @return task returning all commands.json files found
+   */
+  private Callable<List<Entry>> scanTask(final Path dir, final int maxDepth, final JsModulesManifest manifest) {
 
+    return new Callable<List<Entry>>() {
       @Override
-      public boolean accept(File dir, String name) {
+      public List<Entry> call() throws IOException, ParseException {
 
-        System.out.println("Accept dir: " + dir.getName() + " | name: " + name);
-        return false;
-      }
-    }, TrueFileFilter.TRUE);
+        final List<Path> found = new ArrayList<>();
+        final List<BasicFileAttributes> foundAttrs = new ArrayList<>();
 
-    return Collections2.filter(fls, new Predicate<File>() {
+        Files.walkFileTree(dir, EnumSet.noneOf(FileVisitOption.class), maxDepth, new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
 
-      @Override
-      public boolean apply(File input) {
+            if (attrs.isRegularFile() && file.getFileName().toString().equals(COMMANDS_JSON)) {
+              found.add(file);
+              foundAttrs.add(attrs);
+            }
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFileFailed(Path file, IOException exc) {
+
+            // unreadable directories are skipped
+            return FileVisitResult.CONTINUE;
+          }
+        });
+
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < found.size(); i++) {
+          Path file = found.get(i).toAbsolutePath();
+          long size = foundAttrs.get(i).size();
+          long modified = foundAttrs.get(i).lastModifiedTime().toMillis();
 
-        // only return files
-        return input.isFile();
+          Optional<JSONObject> module = manifest.get(file, size, modified);
+          if (!module.isPresent()) {
+            module = Optional.of(parse(file));
+          }
+          entries.add(new Entry(file.toString(), size, modified, module.get()));
+        }
+        return entries;
       }
-    });
+    };
+  }
+
+  private JSONObject parse(Path commandJson) throws IOException, ParseException {
+
+    JSONParser parser = new JSONParser();
+    return (JSONObject) parser.parse(new String(Files.readAllBytes(commandJson), StandardCharsets.UTF_8));
   }
 
   /**
@@ -111,15 +239,9 @@ public class JavaScriptsCmdRegistryImpl extends BaseCommandRegistryImpl {
    * Process Commands in command.json file
    *
    * @param commandJson
-   * @throws IOException
-   * @throws ParseException
+   * @param root parsed content of commandJson
    */
-  private void processCommands(File commandJson) throws ParseException, IOException {
-
-    JSONParser parser = new JSONParser();
-
-    Object obj = parser.parse(IOUtils.toString(commandJson.toURI(), "utf-8"));
-    JSONObject root = (JSONObject) obj;
+  private void processCommands(File commandJson, JSONObject root) {
 
     // name property is mandatory
     if (!(root.get("name") != null) && !root.get("name").toString().isEmpty()) {
@@ -15,36 +15,15 @@
  ******************************************************************************/
 package com.devonfw.devcon.common.impl;
 
-import static com.devonfw.devcon.common.utils.JsonValues.getJsonBoolean;
-import static com.devonfw.devcon.common.utils.JsonValues.getJsonLong;
-import static com.devonfw.devcon.common.utils.JsonValues.getJsonString;
-import static com.devonfw.devcon.common.utils.JsonValues.getTypedArray;
-import static com.devonfw.devcon.common.utils.JsonValues.getTypedObject;
-
 import java.io.File;
-import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.net.URISyntaxException;
-import java.net.URL;
 import java.util.List;
 
-import javax.script.ScriptContext;
-import javax.script.ScriptEngine;
-
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
 
-import com.devonfw.devcon.Devcon;
 import com.devonfw.devcon.common.api.Command;
-import com.devonfw.devcon.common.api.data.CommandParameter;
 import com.devonfw.devcon.common.api.data.ContextType;
-import com.devonfw.devcon.common.api.data.InputTypeNames;
-import com.devonfw.devcon.common.api.data.ParameterInputType;
-import com.devonfw.devcon.common.api.utils.JsonArrayConverter;
-import com.devonfw.devcon.common.api.utils.JsonObjectConverter;
-import com.devonfw.devcon.common.exception.InvalidConfigurationStateException;
+import com.google.common.base.Optional;
 
 /**
  * Implementation of {@link Command} for JavaScript Devcon Commands
@@ -55,21 +34,7 @@ public class JsCmdImpl extends BaseCmdImpl {
 
   private File script;
 
-  /**
-   * @return Returns Javascript template used to encapsulate Javascript Commands
-   */
-  private String loadSource() {
-
-    String root = (Devcon.IN_EXEC_JAR) ? "resources/" : "";
-    URL commandsJsonUrl = ClassLoader.getSystemClassLoader().getResource(root + "jstemplate.txt");
-
-    try {
-      return IOUtils.toString(commandsJsonUrl.toURI(), "utf-8");
-    } catch (IOException | URISyntaxException e) {
-      e.printStackTrace();
-      return null;
-    }
-  }
+  private ScriptBackend backend;
 
   /**
    *
@@ -102,69 +67,37 @@ public class JsCmdImpl extends BaseCmdImpl {
     patchParameters();
   }
 
-  void addParameters(JSONArray paramsJson) {
-
-    int pos = 0;
-
-    for (Object e : paramsJson) {
-
-      JSONObject obj = (JSONObject) e;
-
-      // name property is mandatory
-      if (!(obj.get("name") != null) && !obj.get("name").toString().isEmpty()) {
-        throw new InvalidConfigurationStateException("missing or invalid 'name' property in command: " + this.name);
-      }
-
-      String _name = obj.get("name").toString();
-      String _description = getJsonString(obj, "description", "");
-      boolean _optional = getJsonBoolean(obj, "optional", false);
-      int _sort = (int) getJsonLong(obj, "sort", -1);
-
-      ParameterInputType _inputType = getTypedObject(obj, "inputType", new ParameterInputType(InputTypeNames.GENERIC),
-          new JsonObjectConverter<ParameterInputType>() {
-            @Override
-            public ParameterInputType convert(JSONObject jsonobj) {
-
-              Object _name = jsonobj.get("name");
-              InputTypeNames name = InputTypeNames.valueOf(_name.toString().toUpperCase());
-              String[] values = getTypedArray(jsonobj, "values", String.class, new JsonArrayConverter<String>() {
-
-                @Override
-                public String convertElement(Object obj) {
-
-                  if (obj == null) {
-                    return "";
-                  } else {
-
-                    return obj.toString();
-                  }
-                }
-              });
-              return new ParameterInputType(name, values);
-            }
-          });
-
-      this.definedParameters.add(new CommandParameter(_name, _description, pos++, _optional, _inputType));
-    }
+  /**
+   * @param backend Javascript implementation to run this command with, instead of the default one (see
+   *        {@link ScriptBackends})
+   */
+  public void setBackend(ScriptBackend backend) {
 
+    this.backend = backend;
   }
 
   @Override
   public Object exec(String... arguments)
       throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
 
-    ScriptEngine engine = Devcon.scriptEngine.get();
-    engine.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
-    try {
+    Optional<ScriptBackend> scripts = (this.backend != null) ? Optional.of(this.backend) : ScriptBackends.getDefault();
+    if (!scripts.isPresent()) {
+      getOutput().showError("No Javascript engine available (Nashorn or GraalJS) to run " + this.name);
+      return null;
+    }
 
-      String fn = FileUtils.readFileToString(this.script, "UTF-8");
+    try (ScriptBackend.Execution execution = scripts.get().load(this.script)) {
 
-      JsCommandModule cm = (JsCommandModule) engine.eval(String.format(loadSource(), fn));
+      JsCommandModule cm = execution.getModule();
       injectEnvIfCommandModule(cm);
       return cm.exec(arguments);
 
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      getOutput().showError("Interrupted while waiting for a script engine");
+      return null;
     } catch (Exception e) {
-      this.output.showError(e.getMessage());
+      getOutput().showError(e.getMessage());
       return null;
     }
   }
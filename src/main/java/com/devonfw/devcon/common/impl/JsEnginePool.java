@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+import com.devonfw.devcon.Devcon;
+import com.google.common.base.Optional;
+
+/**
+ * Script engines for the Javascript commands (see {@link NashornScriptBackend}). An engine which is not thread-safe
+ * (Nashorn) is only used by one thread at a time, see {@link ScriptPool}. A thread-safe engine (THREADING parameter of
+ * its factory) is shared instead. Either way every execution gets its own {@link ScriptContext}, so commands don´t see
+ * each other's globals.
+ */
+public class JsEnginePool extends ScriptPool<ScriptEngine> {
+
+  /**
+   * Evaluated by the warm-up, loads what the command template needs
+   */
+  private static final String WARM_UP_SCRIPT =
+      "Java.extend(Java.type('com.devonfw.devcon.common.impl.JsCommandModule'))";
+
+  private static final Optional<JsEnginePool> DEFAULT = Devcon.scriptEngine.isPresent()
+      ? Optional.of(new JsEnginePool(Devcon.scriptEngine.get(), defaultSize())) : Optional.<JsEnginePool> absent();
+
+  private final ScriptEngine first;
+
+  private final ScriptEngineFactory factory;
+
+  private final boolean shared;
+
+  /**
+   * @param engine the first engine; more are created by its factory
+   * @param size maximum number of engines
+   */
+  public JsEnginePool(ScriptEngine engine, int size) {
+
+    super(size);
+    this.first = engine;
+    this.factory = engine.getFactory();
+    this.shared = (this.factory != null) && (this.factory.getParameter("THREADING") != null);
+    add(engine);
+  }
+
+  /**
+   * @return the pool of the engine of {@link Devcon#scriptEngine}, absent when there is no Javascript engine
+   */
+  public static Optional<JsEnginePool> getDefault() {
+
+    return DEFAULT;
+  }
+
+  @Override
+  public ScriptEngine checkout() throws InterruptedException, ScriptException {
+
+    return this.shared ? this.first : super.checkout();
+  }
+
+  @Override
+  public void release(ScriptEngine engine) {
+
+    if (!this.shared) {
+      super.release(engine);
+    }
+  }
+
+  @Override
+  public void warmUp(int engines) {
+
+    super.warmUp(this.shared ? Math.min(engines, 1) : engines);
+  }
+
+  /**
+   * @param engine an engine obtained from {@link #checkout()}
+   * @return a new context for one execution, writing where the engine writes
+   */
+  public ScriptContext newContext(ScriptEngine engine) {
+
+    ScriptContext defaults = engine.getContext();
+    ScriptContext context = new SimpleScriptContext();
+    context.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+    context.setBindings(defaults.getBindings(ScriptContext.GLOBAL_SCOPE), ScriptContext.GLOBAL_SCOPE);
+    context.setReader(defaults.getReader());
+    context.setWriter(defaults.getWriter());
+    context.setErrorWriter(defaults.getErrorWriter());
+    return context;
+  }
+
+  /**
+   * @return whether all threads share one (thread-safe) engine
+   */
+  public boolean isShared() {
+
+    return this.shared;
+  }
+
+  @Override
+  protected ScriptEngine create() {
+
+    return (this.factory != null) ? this.factory.getScriptEngine() : null;
+  }
+
+  @Override
+  protected void prepare(ScriptEngine engine) {
+
+    try {
+      engine.eval(WARM_UP_SCRIPT, newContext(engine));
+    } catch (ScriptException | RuntimeException e) {
+      // only a warm-up, the commands report the problems of the engine
+    }
+  }
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import static com.devonfw.devcon.common.utils.JsonValues.getJSONArray;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonLong;
+import static com.devonfw.devcon.common.utils.JsonValues.getJsonString;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import com.devonfw.devcon.common.utils.Constants;
+import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.google.common.base.Optional;
+
+/**
+ * On-disk record of the parsed commands.json files of a scripts directory, so that unchanged Javascript modules are
+ * not parsed again on the next start
+ */
+class JsModulesManifest {
+
+  private static final long FORMAT_VERSION = 1L;
+
+  private static final String VERSION = "version";
+
+  private static final String ENTRIES = "entries";
+
+  private static final String PATH = "path";
+
+  private static final String SIZE = "size";
+
+  private static final String MODIFIED = "modified";
+
+  private static final String MODULE = "module";
+
+  private final Path file;
+
+  private final Map<String, Entry> entries;
+
+  private JsModulesManifest(Path file, Map<String, Entry> entries) {
+    this.file = file;
+    this.entries = entries;
+  }
+
+  /**
+   * @param scriptModules scripts directory
+   * @return default manifest location: in the user´s devcon directory, as script directories may be shared
+   */
+  static Path getDefaultLocation(Path scriptModules) {
+
+    String root = scriptModules.toAbsolutePath().normalize().toString();
+    return ContextPathInfo.INSTANCE.getHomeDirectory().resolve(Constants.DEVCON_USER_DIR)
+        .resolve("scripts-" + Integer.toHexString(root.hashCode()) + ".json");
+  }
+
+  /**
+   * Load the manifest; a missing or unreadable manifest results in an empty one
+   *
+   * @param file manifest file
+   * @return manifest
+   */
+  static JsModulesManifest load(Path file) {
+
+    Map<String, Entry> entries = new HashMap<>();
+    if (Files.isRegularFile(file)) {
+      try {
+        JSONObject root =
+            (JSONObject) new JSONParser().parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        if (getJsonLong(root, VERSION, 0) == FORMAT_VERSION) {
+          for (Object e : getJSONArray(root, ENTRIES)) {
+            JSONObject json = (JSONObject) e;
+            Entry entry = new Entry(getJsonString(json, PATH, ""), getJsonLong(json, SIZE, -1),
+                getJsonLong(json, MODIFIED, -1), (JSONObject) json.get(MODULE));
+            entries.put(entry.getPath(), entry);
+          }
+        }
+      } catch (IOException | ParseException | ClassCastException e) {
+        // will be rebuilt
+        entries.clear();
+      }
+    }
+    return new JsModulesManifest(file, entries);
+  }
+
+  /**
+   * @param path commands.json file
+   * @param size current size of the file
+   * @param modified current modification time of the file
+   * @return parsed module, when the file did not change since it was recorded
+   */
+  Optional<JSONObject> get(Path path, long size, long modified) {
+
+    Entry entry = this.entries.get(path.toString());
+    if ((entry != null) && (entry.getModule() != null) && (entry.getSize() == size)
+        && (entry.getModified() == modified)) {
+      return Optional.of(entry.getModule());
+    }
+    return Optional.absent();
+  }
+
+  /**
+   * Replace the recorded entries with the given ones
+   *
+   * @param current entries of the last scan
+   * @return whether the manifest changed
+   */
+  boolean update(Collection<Entry> current) {
+
+    Map<String, Entry> updated = new HashMap<>();
+    boolean changed = false;
+    for (Entry entry : current) {
+      updated.put(entry.getPath(), entry);
+      Entry old = this.entries.get(entry.getPath());
+      changed = changed || (old == null) || (old.getSize() != entry.getSize())
+          || (old.getModified() != entry.getModified());
+    }
+    changed = changed || !updated.keySet().equals(this.entries.keySet());
+
+    this.entries.clear();
+    this.entries.putAll(updated);
+    return changed;
+  }
+
+  /**
+   * Write the manifest (atomically, as several devcon instances may start at once)
+   *
+   * @throws IOException when the manifest cannot be written
+   */
+  @SuppressWarnings("unchecked")
+  void save() throws IOException {
+
+    JSONArray entriesJson = new JSONArray();
+    for (Entry entry : this.entries.values()) {
+      JSONObject json = new JSONObject();
+      json.put(PATH, entry.getPath());
+      json.put(SIZE, entry.getSize());
+      json.put(MODIFIED, entry.getModified());
+      json.put(MODULE, entry.getModule());
+      entriesJson.add(json);
+    }
+
+    JSONObject root = new JSONObject();
+    root.put(VERSION, FORMAT_VERSION);
+    root.put(ENTRIES, entriesJson);
+
+    Files.createDirectories(this.file.getParent());
+    Path tmp = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(), ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+        writer.write(root.toJSONString());
+      }
+      Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  /**
+   * A parsed commands.json with the attributes it was parsed with
+   */
+  static class Entry {
+
+    private final String path;
+
+    private final long size;
+
+    private final long modified;
+
+    private final JSONObject module;
+
+    Entry(String path, long size, long modified, JSONObject module) {
+      this.path = path;
+      this.size = size;
+      this.modified = modified;
+      this.module = module;
+    }
+
+    String getPath() {
+
+      return this.path;
+    }
+
+    long getSize() {
+
+      return this.size;
+    }
+
+    long getModified() {
+
+      return this.modified;
+    }
+
+    JSONObject getModule() {
+
+      return this.module;
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import com.devonfw.devcon.Devcon;
+import com.devonfw.devcon.common.exception.InvalidConfigurationStateException;
+
+/**
+ * Cache of the Javascript commands, wrapped in the command template and compiled (when the engine is
+ * {@link Compilable}). Entries are keyed by engine (see {@link JsEnginePool}) and script file and only recompiled when
+ * the file´s modification time or size changes.
+ */
+public class JsScriptCache {
+
+  /**
+   * Cache shared by all Javascript commands
+   */
+  public static final JsScriptCache INSTANCE = new JsScriptCache();
+
+  private static final String TEMPLATE = "jstemplate.txt";
+
+  private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private volatile String template;
+
+  /**
+   * Evaluate a Javascript command, compiling it only when not cached or changed on disk
+   *
+   * @param script Javascript source file
+   * @param engine engine to evaluate with
+   * @param context (fresh) context of the command
+   * @return result of the evaluation: the {@link JsCommandModule} of the command
+   * @throws IOException if the script cannot be read
+   * @throws ScriptException if the script is invalid
+   */
+  public Object eval(File script, ScriptEngine engine, ScriptContext context) throws IOException, ScriptException {
+
+    File file = script.getAbsoluteFile();
+    long lastModified = file.lastModified();
+    long length = file.length();
+
+    Key key = new Key(engine, file);
+    Entry entry = this.entries.get(key);
+    if ((entry != null) && entry.isValid(lastModified, length)) {
+      this.hits.incrementAndGet();
+    } else {
+      this.misses.incrementAndGet();
+      entry = new Entry(engine, lastModified, length,
+          String.format(getTemplate(), FileUtils.readFileToString(file, "UTF-8")));
+      this.entries.put(key, entry);
+    }
+
+    return entry.eval(engine, context);
+  }
+
+  /**
+   * @return number of evaluations which used a cached script
+   */
+  public long getHits() {
+
+    return this.hits.get();
+  }
+
+  /**
+   * @return number of evaluations for which the script had to be (re)loaded
+   */
+  public long getMisses() {
+
+    return this.misses.get();
+  }
+
+  /**
+   * Remove all cached scripts
+   */
+  public void clear() {
+
+    this.entries.clear();
+  }
+
+  /**
+   * @return Javascript template used to encapsulate Javascript Commands
+   */
+  String getTemplate() throws IOException {
+
+    if (this.template == null) {
+      String root = (Devcon.IN_EXEC_JAR) ? "resources/" : "";
+      URL templateUrl = ClassLoader.getSystemClassLoader().getResource(root + TEMPLATE);
+      if (templateUrl == null) {
+        throw new InvalidConfigurationStateException("Missing resource " + TEMPLATE);
+      }
+      this.template = IOUtils.toString(templateUrl, "utf-8");
+    }
+    return this.template;
+  }
+
+  /**
+   * Script file as compiled by one engine (compiled scripts belong to the engine that compiled them)
+   */
+  private static class Key {
+
+    private final ScriptEngine engine;
+
+    private final File file;
+
+    Key(ScriptEngine engine, File file) {
+      this.engine = engine;
+      this.file = file;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return (this.engine == other.engine) && this.file.equals(other.file);
+    }
+
+    @Override
+    public int hashCode() {
+
+      return (31 * System.identityHashCode(this.engine)) + this.file.hashCode();
+    }
+  }
+
+  /**
+   * A (compiled) command script
+   */
+  private static class Entry {
+
+    private final long lastModified;
+
+    private final long length;
+
+    private final String source;
+
+    private final CompiledScript compiled;
+
+    Entry(ScriptEngine engine, long lastModified, long length, String source) throws ScriptException {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.source = source;
+      this.compiled = (engine instanceof Compilable) ? ((Compilable) engine).compile(source) : null;
+    }
+
+    boolean isValid(long lastModified_, long length_) {
+
+      return (this.lastModified == lastModified_) && (this.length == length_);
+    }
+
+    Object eval(ScriptEngine engine, ScriptContext context) throws ScriptException {
+
+      if (this.compiled != null) {
+        return this.compiled.eval(context);
+      }
+      return engine.eval(this.source, context);
+    }
+  }
+}
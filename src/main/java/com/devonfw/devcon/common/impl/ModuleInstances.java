@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.devonfw.devcon.common.api.annotations.CmdModuleRegistry;
+import com.devonfw.devcon.common.exception.InvalidConfigurationStateException;
+
+/**
+ * Creates the instances of a module class through a precompiled constructor handle. Instances of modules declared
+ * {@link CmdModuleRegistry#stateless() stateless} are reused: an instance is only used by one command execution at a
+ * time and returned afterwards, so commands delegating to other commands don´t create a module per call.
+ */
+final class ModuleInstances {
+
+  private static final int MAX_IDLE = 8;
+
+  private static final ConcurrentMap<Class<?>, ModuleInstances> INSTANCES = new ConcurrentHashMap<>();
+
+  private final MethodHandle constructor;
+
+  private final boolean pooled;
+
+  private final Queue<Object> idle = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger idleCount = new AtomicInteger();
+
+  private ModuleInstances(Class<?> moduleClass) {
+
+    try {
+      this.constructor = MethodHandles.publicLookup().findConstructor(moduleClass, MethodType.methodType(void.class))
+          .asType(MethodType.methodType(Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new InvalidConfigurationStateException(e);
+    }
+    CmdModuleRegistry annotation = moduleClass.getAnnotation(CmdModuleRegistry.class);
+    this.pooled = (annotation != null) && annotation.stateless();
+  }
+
+  /**
+   * @param moduleClass the module class
+   * @return the instances of the module class
+   */
+  static ModuleInstances of(Class<?> moduleClass) {
+
+    ModuleInstances instances = INSTANCES.get(moduleClass);
+    if (instances == null) {
+      ModuleInstances created = new ModuleInstances(moduleClass);
+      instances = INSTANCES.putIfAbsent(moduleClass, created);
+      if (instances == null) {
+        instances = created;
+      }
+    }
+    return instances;
+  }
+
+  /**
+   * @return an idle instance (stateless modules) or a new one
+   * @throws Throwable whatever the constructor throws
+   */
+  Object acquire() throws Throwable {
+
+    if (this.pooled) {
+      Object module = this.idle.poll();
+      if (module != null) {
+        this.idleCount.decrementAndGet();
+        return module;
+      }
+    }
+    return (Object) this.constructor.invokeExact();
+  }
+
+  /**
+   * @param module an instance obtained from {@link #acquire()}, no longer used
+   */
+  void release(Object module) {
+
+    if (!this.pooled) {
+      return;
+    }
+    if (this.idleCount.incrementAndGet() <= MAX_IDLE) {
+      this.idle.offer(module);
+    } else {
+      this.idleCount.decrementAndGet();
+    }
+  }
+}
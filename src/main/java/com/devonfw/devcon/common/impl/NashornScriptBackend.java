@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+/**
+ * {@link ScriptBackend} running the commands with Nashorn (Java 8 to 14), see {@link JsEnginePool} and
+ * {@link JsScriptCache}
+ */
+public class NashornScriptBackend implements ScriptBackend {
+
+  /**
+   * Name of the backend
+   */
+  public static final String NAME = "nashorn";
+
+  private final JsEnginePool pool;
+
+  /**
+   * @param pool engines to run the commands with
+   */
+  public NashornScriptBackend(JsEnginePool pool) {
+
+    this.pool = pool;
+  }
+
+  @Override
+  public String getName() {
+
+    return NAME;
+  }
+
+  @Override
+  public Execution load(File script) throws IOException, ScriptException, InterruptedException {
+
+    // an engine of our own (concurrent commands) and a fresh context, so commands don´t share global state; parsing
+    // and compilation are cached
+    final ScriptEngine engine = this.pool.checkout();
+    try {
+      final JsCommandModule module =
+          (JsCommandModule) JsScriptCache.INSTANCE.eval(script, engine, this.pool.newContext(engine));
+      return new Execution() {
+        @Override
+        public JsCommandModule getModule() {
+
+          return module;
+        }
+
+        @Override
+        public void close() {
+
+          NashornScriptBackend.this.pool.release(engine);
+        }
+      };
+    } catch (IOException | ScriptException | RuntimeException e) {
+      this.pool.release(engine);
+      throw e;
+    }
+  }
+
+  @Override
+  public void warmUp(int executions) {
+
+    this.pool.warmUp(executions);
+  }
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.script.ScriptException;
+
+/**
+ * Javascript implementation running the Javascript commands ({@link JsCmdImpl}): evaluates a command script, wrapped in
+ * the command template (jstemplate.txt), to the {@link JsCommandModule} of the command. See {@link ScriptBackends} for
+ * the available implementations.
+ */
+public interface ScriptBackend {
+
+  /**
+   * @return name of the backend, e.g. {@link NashornScriptBackend#NAME}
+   */
+  String getName();
+
+  /**
+   * @param script Javascript source file of a command
+   * @return the loaded command, to be closed after its execution (commands are executed concurrently)
+   * @throws IOException if the script cannot be read
+   * @throws ScriptException if the script is invalid
+   * @throws InterruptedException if interrupted while waiting for the Javascript engine
+   */
+  Execution load(File script) throws IOException, ScriptException, InterruptedException;
+
+  /**
+   * Prepares the Javascript engine in the background, so the first commands don´t wait for its initialization
+   *
+   * @param executions number of concurrent executions to prepare for
+   */
+  void warmUp(int executions);
+
+  /**
+   * A command loaded for one execution
+   */
+  interface Execution extends AutoCloseable {
+
+    /**
+     * @return the command module created by the script
+     */
+    JsCommandModule getModule();
+
+    /**
+     * Ends the execution, the engine is available for other commands
+     */
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import com.devonfw.devcon.Devcon;
+import com.google.common.base.Optional;
+
+/**
+ * The {@link ScriptBackend}s of this JVM. The Javascript commands run with the backend named by the system property
+ * {@link #PROPERTY}, by default with Nashorn if the JDK has it and with GraalJS otherwise. Backends are created when
+ * first needed, as starting a Javascript engine takes a while.
+ */
+public final class ScriptBackends {
+
+  /**
+   * System property with the name of the backend to use ({@link NashornScriptBackend#NAME},
+   * {@link GraalJsScriptBackend#NAME})
+   */
+  public static final String PROPERTY = "devcon.js.backend";
+
+  private static final String GRAALJS_CLASS = "org.graalvm.polyglot.Engine";
+
+  private static Optional<ScriptBackend> nashorn;
+
+  private static Optional<ScriptBackend> graalJs;
+
+  private ScriptBackends() {
+
+  }
+
+  /**
+   * @return name of the backend the Javascript commands run with, absent if there is no Javascript engine (checked
+   *         without starting one)
+   */
+  public static Optional<String> getDefaultName() {
+
+    String name = System.getProperty(PROPERTY);
+    if (name != null) {
+      return Optional.of(name);
+    }
+    if (Devcon.scriptEngine.isPresent()) {
+      return Optional.of(NashornScriptBackend.NAME);
+    }
+    if (isOnClasspath(GRAALJS_CLASS)) {
+      return Optional.of(GraalJsScriptBackend.NAME);
+    }
+    return Optional.absent();
+  }
+
+  /**
+   * @return the backend the Javascript commands run with, absent if it is not available
+   */
+  public static Optional<ScriptBackend> getDefault() {
+
+    Optional<String> name = getDefaultName();
+    return name.isPresent() ? get(name.get()) : Optional.<ScriptBackend> absent();
+  }
+
+  /**
+   * @param name name of a backend
+   * @return the backend, absent if unknown or not available on this JVM
+   */
+  public static synchronized Optional<ScriptBackend> get(String name) {
+
+    if (NashornScriptBackend.NAME.equals(name)) {
+      if (nashorn == null) {
+        Optional<JsEnginePool> pool = JsEnginePool.getDefault();
+        nashorn = pool.isPresent() ? Optional.<ScriptBackend> of(new NashornScriptBackend(pool.get()))
+            : Optional.<ScriptBackend> absent();
+      }
+      return nashorn;
+    }
+    if (GraalJsScriptBackend.NAME.equals(name)) {
+      if (graalJs == null) {
+        graalJs = isOnClasspath(GRAALJS_CLASS)
+            ? Optional.<ScriptBackend> fromNullable(GraalJsScriptBackend.create(ScriptPool.defaultSize()).orNull())
+            : Optional.<ScriptBackend> absent();
+      }
+      return graalJs;
+    }
+    return Optional.absent();
+  }
+
+  /**
+   * Starts the default backend (if any) in the background, see {@link ScriptBackend#warmUp(int)}
+   *
+   * @param executions number of concurrent executions to prepare for
+   */
+  public static void warmUpDefault(final int executions) {
+
+    if (!getDefaultName().isPresent()) {
+      return;
+    }
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        Optional<ScriptBackend> backend = getDefault();
+        if (backend.isPresent()) {
+          backend.get().warmUp(executions);
+        }
+      }
+    }, "devcon-js-warmup");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+  }
+
+  private static boolean isOnClasspath(String className) {
+
+    try {
+      Class.forName(className, false, ScriptBackends.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
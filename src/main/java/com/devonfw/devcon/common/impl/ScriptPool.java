@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.ScriptException;
+
+/**
+ * Bounded pool of objects which run scripts (script engines, polyglot contexts) and must not be used by more than one
+ * thread at a time: an object is checked out for the execution of a command and returned afterwards, at most
+ * {@code size} objects are created and a thread needing one more waits.
+ * <p>
+ * Commands running other Javascript commands reuse the object their thread has checked out, and the most recently
+ * returned object (which has the scripts compiled already) is handed out first.
+ *
+ * @param <T> type of the pooled objects
+ */
+public abstract class ScriptPool<T> {
+
+  /**
+   * System property with the maximum number of pooled engines or contexts (default: number of processors, at most 4)
+   */
+  public static final String SIZE_PROPERTY = "devcon.js.engines";
+
+  private final int size;
+
+  private final BlockingDeque<T> idle = new LinkedBlockingDeque<>();
+
+  private final AtomicInteger created = new AtomicInteger();
+
+  private final ThreadLocal<Checkout<T>> checkedOut = new ThreadLocal<>();
+
+  /**
+   * @param size maximum number of pooled objects
+   */
+  protected ScriptPool(int size) {
+
+    this.size = Math.max(1, size);
+  }
+
+  /**
+   * @return the size given by {@link #SIZE_PROPERTY}
+   */
+  public static int defaultSize() {
+
+    return Integer.getInteger(SIZE_PROPERTY, Math.min(4, Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * @return a new object for the pool
+   * @throws ScriptException if it cannot be created
+   */
+  protected abstract T create() throws ScriptException;
+
+  /**
+   * Loads what the commands need (warm-up), problems are left for the commands to report
+   *
+   * @param object a new object, not yet used
+   */
+  protected abstract void prepare(T object);
+
+  /**
+   * @param object an object created outside the pool, from now on pooled
+   */
+  protected void add(T object) {
+
+    this.created.incrementAndGet();
+    this.idle.offerFirst(object);
+  }
+
+  /**
+   * @return an object for the exclusive use of this thread until it is returned with {@link #release(Object)}
+   * @throws InterruptedException if interrupted while waiting for an object
+   * @throws ScriptException if a new object cannot be created
+   */
+  public T checkout() throws InterruptedException, ScriptException {
+
+    Checkout<T> current = this.checkedOut.get();
+    if (current != null) {
+      current.depth++;
+      return current.object;
+    }
+
+    T object = this.idle.pollFirst();
+    if ((object == null) && reserve()) {
+      object = createReserved();
+    }
+    if (object == null) {
+      object = this.idle.takeFirst();
+    }
+    this.checkedOut.set(new Checkout<>(object));
+    return object;
+  }
+
+  /**
+   * @param object an object obtained from {@link #checkout()}, no longer used by this thread
+   */
+  public void release(T object) {
+
+    Checkout<T> current = this.checkedOut.get();
+    if ((current == null) || (current.object != object)) {
+      throw new IllegalStateException("Not checked out by this thread");
+    }
+    if (current.depth > 0) {
+      current.depth--;
+    } else {
+      this.checkedOut.remove();
+      this.idle.offerFirst(object);
+    }
+  }
+
+  /**
+   * Prepares objects in the background, so the first commands don´t wait for their initialization
+   *
+   * @param count the number of objects to prepare (at most the size of the pool)
+   */
+  public void warmUp(final int count) {
+
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        int max = Math.min(count, ScriptPool.this.size);
+        for (int i = 0; i < max; i++) {
+          // an object added to the pool first, then new ones
+          T object = (i == 0) ? ScriptPool.this.idle.pollLast() : null;
+          if ((object == null) && reserve()) {
+            try {
+              object = createReserved();
+            } catch (ScriptException e) {
+              return;
+            }
+          }
+          if (object == null) {
+            // all objects created
+            return;
+          }
+          try {
+            prepare(object);
+          } finally {
+            ScriptPool.this.idle.offerLast(object);
+          }
+        }
+      }
+    }, "devcon-js-warmup");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+  }
+
+  /**
+   * @return the maximum number of pooled objects
+   */
+  public int getSize() {
+
+    return this.size;
+  }
+
+  /**
+   * @return the number of objects created so far
+   */
+  public int getCreated() {
+
+    return this.created.get();
+  }
+
+  private boolean reserve() {
+
+    while (true) {
+      int count = this.created.get();
+      if (count >= this.size) {
+        return false;
+      }
+      if (this.created.compareAndSet(count, count + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private T createReserved() throws ScriptException {
+
+    try {
+      T object = create();
+      if (object == null) {
+        throw new ScriptException("Cannot create another script engine");
+      }
+      return object;
+    } catch (ScriptException | RuntimeException e) {
+      this.created.decrementAndGet();
+      throw e;
+    }
+  }
+
+  /**
+   * The object checked out by a thread, and how often it was checked out again by nested commands
+   */
+  private static class Checkout<T> {
+
+    private final T object;
+
+    private int depth;
+
+    Checkout(T object) {
+      this.object = object;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl.index;
+
+import java.io.IOException;
+import java.net.URL;
+
+import org.apache.commons.io.IOUtils;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import com.google.common.base.Optional;
+
+/**
+ * Describes the command index which {@link CommandIndexProcessor} writes at build time and the registry reads at
+ * startup instead of scanning the classpath. The index has the same shape as the commands.json files of Javascript
+ * modules, with two extra attributes: "class" per module and "method"/"arity" per command.
+ */
+public final class CommandIndex {
+
+  /**
+   * Location of the index within the jar (or classes folder)
+   */
+  public static final String RESOURCE = "META-INF/devcon/commands-index.json";
+
+  /**
+   * Version of the index format. An index with another version is ignored
+   */
+  public static final long FORMAT_VERSION = 1;
+
+  public static final String VERSION = "version";
+
+  public static final String MODULES = "modules";
+
+  public static final String CLASS = "class";
+
+  public static final String NAME = "name";
+
+  public static final String DESCRIPTION = "description";
+
+  public static final String SORT = "sort";
+
+  public static final String VISIBLE = "visible";
+
+  public static final String COMMANDS = "commands";
+
+  public static final String CONTEXT = "context";
+
+  public static final String PROXY_PARAMS = "proxyParams";
+
+  public static final String METHOD = "method";
+
+  public static final String ARITY = "arity";
+
+  public static final String PARAMETERS = "parameters";
+
+  public static final String OPTIONAL = "optional";
+
+  public static final String INPUT_TYPE = "inputType";
+
+  public static final String VALUES = "values";
+
+  private CommandIndex() {
+
+  }
+
+  /**
+   * Load the command index from the classpath
+   *
+   * @param loader class loader to search the index with
+   * @return the raw index, or absent when no (usable) index is present, e.g. on a development classpath where the
+   *         annotation processor has not run
+   */
+  public static Optional<JSONObject> load(ClassLoader loader) {
+
+    URL index = loader.getResource(RESOURCE);
+    if (index == null) {
+      return Optional.absent();
+    }
+
+    try {
+      JSONObject root = (JSONObject) new JSONParser().parse(IOUtils.toString(index, "utf-8"));
+      Object version = root.get(VERSION);
+      if ((version == null) || (((Long) version).longValue() != FORMAT_VERSION)) {
+        return Optional.absent();
+      }
+      return Optional.of(root);
+    } catch (IOException | ParseException | ClassCastException e) {
+      // TODO implement logs
+      System.out.println("[ERROR] at CommandIndex#load: " + e.getMessage());
+      return Optional.absent();
+    }
+  }
+}
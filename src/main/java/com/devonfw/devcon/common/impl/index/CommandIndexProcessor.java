@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.impl.index;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import com.devonfw.devcon.common.api.annotations.CmdModuleRegistry;
+import com.devonfw.devcon.common.api.annotations.Command;
+import com.devonfw.devcon.common.api.annotations.InputType;
+import com.devonfw.devcon.common.api.annotations.Parameter;
+import com.devonfw.devcon.common.api.annotations.Parameters;
+
+/**
+ * Annotation processor which writes the {@link CommandIndex} for all classes annotated with {@link CmdModuleRegistry}.
+ * It is run by the maven-compiler-plugin (see pom.xml) and needs to see all modules in a single compilation, so it is
+ * not suited for incremental IDE builds; there the registry falls back to classpath scanning.
+ */
+@SupportedAnnotationTypes("com.devonfw.devcon.common.api.annotations.CmdModuleRegistry")
+public class CommandIndexProcessor extends AbstractProcessor {
+
+  private static final String STRING_TYPE = String.class.getName();
+
+  private static final String REFLECT_CONFIG = "META-INF/native-image/com.devonfw/devcon-commands/reflect-config.json";
+
+  private JSONArray modules = new JSONArray();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+    for (Element element : roundEnv.getElementsAnnotatedWith(CmdModuleRegistry.class)) {
+      if (element.getKind() == ElementKind.CLASS) {
+        this.modules.add(indexModule((TypeElement) element));
+      }
+    }
+
+    if (roundEnv.processingOver()) {
+      writeIndex();
+    }
+    return false;
+  }
+
+  @SuppressWarnings("unchecked")
+  private JSONObject indexModule(TypeElement moduleClass) {
+
+    CmdModuleRegistry moduleAnnotation = moduleClass.getAnnotation(CmdModuleRegistry.class);
+
+    JSONObject module = new JSONObject();
+    module.put(CommandIndex.NAME, moduleAnnotation.name());
+    module.put(CommandIndex.DESCRIPTION, moduleAnnotation.description());
+    module.put(CommandIndex.SORT, moduleAnnotation.sort());
+    module.put(CommandIndex.VISIBLE, moduleAnnotation.visible());
+    module.put(CommandIndex.CLASS, this.processingEnv.getElementUtils().getBinaryName(moduleClass).toString());
+
+    JSONArray commands = new JSONArray();
+    // same set of methods as Class#getMethods(), which is what the classpath scanning looks at
+    for (ExecutableElement method : ElementFilter
+        .methodsIn(this.processingEnv.getElementUtils().getAllMembers(moduleClass))) {
+
+      Command cmd = method.getAnnotation(Command.class);
+      if ((cmd != null) && method.getModifiers().contains(Modifier.PUBLIC)) {
+        commands.add(indexCommand(cmd, method));
+      }
+    }
+    module.put(CommandIndex.COMMANDS, commands);
+
+    return module;
+  }
+
+  @SuppressWarnings("unchecked")
+  private JSONObject indexCommand(Command cmd, ExecutableElement method) {
+
+    // commands are always invoked with String arguments
+    for (VariableElement param : method.getParameters()) {
+      if (!this.processingEnv.getTypeUtils().erasure(param.asType()).toString().equals(STRING_TYPE)) {
+        this.processingEnv.getMessager().printMessage(Kind.ERROR,
+            "Parameters of Devcon command '" + cmd.name() + "' must be of type String", param);
+      }
+    }
+
+    JSONObject command = new JSONObject();
+    command.put(CommandIndex.NAME, cmd.name());
+    command.put(CommandIndex.DESCRIPTION, cmd.description());
+    command.put(CommandIndex.SORT, cmd.sort());
+    command.put(CommandIndex.CONTEXT, cmd.context().name());
+    command.put(CommandIndex.PROXY_PARAMS, cmd.proxyParams());
+    command.put(CommandIndex.METHOD, method.getSimpleName().toString());
+    command.put(CommandIndex.ARITY, method.getParameters().size());
+
+    JSONArray parameters = new JSONArray();
+    Parameters params = method.getAnnotation(Parameters.class);
+    if (params != null) {
+      for (Parameter param : params.values()) {
+        JSONObject parameter = new JSONObject();
+        parameter.put(CommandIndex.NAME, param.name());
+        parameter.put(CommandIndex.DESCRIPTION, param.description());
+        parameter.put(CommandIndex.OPTIONAL, param.optional());
+        parameter.put(CommandIndex.SORT, param.sort());
+        parameter.put(CommandIndex.INPUT_TYPE, indexInputType(param.inputType()));
+        parameters.add(parameter);
+      }
+    }
+    command.put(CommandIndex.PARAMETERS, parameters);
+
+    return command;
+  }
+
+  @SuppressWarnings("unchecked")
+  private JSONObject indexInputType(InputType inputType) {
+
+    JSONArray values = new JSONArray();
+    for (String value : inputType.values()) {
+      values.add(value);
+    }
+
+    JSONObject type = new JSONObject();
+    type.put(CommandIndex.NAME, inputType.name().name());
+    type.put(CommandIndex.VALUES, values);
+    return type;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeIndex() {
+
+    JSONObject root = new JSONObject();
+    root.put(CommandIndex.VERSION, CommandIndex.FORMAT_VERSION);
+    root.put(CommandIndex.MODULES, this.modules);
+
+    try {
+      FileObject index =
+          this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", CommandIndex.RESOURCE);
+      try (Writer writer = index.openWriter()) {
+        writer.write(root.toJSONString());
+      }
+    } catch (IOException e) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Unable to write Devcon command index: " + e.getMessage());
+    }
+
+    writeReflectConfig();
+  }
+
+  /**
+   * Module classes are instantiated and their command methods invoked reflectively, which a native image has to know
+   * about in advance; generated here so it cannot get out of sync with the index.
+   */
+  @SuppressWarnings("unchecked")
+  private void writeReflectConfig() {
+
+    JSONArray config = new JSONArray();
+    for (Object module : this.modules) {
+      JSONObject entry = new JSONObject();
+      entry.put("name", ((JSONObject) module).get(CommandIndex.CLASS));
+      entry.put("allDeclaredConstructors", true);
+      entry.put("allPublicMethods", true);
+      config.add(entry);
+    }
+
+    try {
+      FileObject file =
+          this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", REFLECT_CONFIG);
+      try (Writer writer = file.openWriter()) {
+        writer.write(config.toJSONString());
+      }
+    } catch (IOException e) {
+      this.processingEnv.getMessager().printMessage(Kind.ERROR,
+          "Unable to write native image reflection configuration: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,465 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import com.google.common.base.Optional;
+
+/**
+ * Content-addressed cache for downloaded artifacts (distributions, templates). The content is stored once under its
+ * SHA-256 hash in {@code objects/}; {@code keys/} maps a key (e.g. a TeamForge file id or a URL) to the hash and the
+ * original file name. Files are added through a temporary file and an atomic move, so concurrent devcon processes never
+ * see partial entries. When the cache grows beyond its maximum size the least recently used objects are evicted.
+ * <p>
+ * A second, shared cache directory can be configured (e.g. on a network share for CI fleets); it is only read from.
+ */
+public class ArtifactCache {
+
+  /**
+   * System property overriding the cache directory (default ~/.devcon/cache)
+   */
+  public static final String DIR_PROPERTY = "devcon.cache.dir";
+
+  /**
+   * System property with the maximum size of the cache in MB (default 20480)
+   */
+  public static final String MAX_SIZE_PROPERTY = "devcon.cache.maxMegabytes";
+
+  /**
+   * System property with a shared, read-only cache directory
+   */
+  public static final String SHARED_DIR_PROPERTY = "devcon.cache.shared";
+
+  /**
+   * Environment variable with a shared, read-only cache directory (when the system property is not set)
+   */
+  public static final String SHARED_DIR_ENV = "DEVCON_SHARED_CACHE";
+
+  private static final long DEFAULT_MAX_MEGABYTES = 20 * 1024;
+
+  private static final String OBJECTS = "objects";
+
+  private static final String KEYS = "keys";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Path root;
+
+  private final long maxBytes;
+
+  private final Optional<Path> shared;
+
+  /**
+   * An entry of the cache
+   */
+  public static class Entry {
+
+    private final String key;
+
+    private final String name;
+
+    private final String hash;
+
+    private final File file;
+
+    private final boolean shared;
+
+    Entry(String key, String name, String hash, File file, boolean shared) {
+      this.key = key;
+      this.name = name;
+      this.hash = hash;
+      this.file = file;
+      this.shared = shared;
+    }
+
+    public String getKey() {
+
+      return this.key;
+    }
+
+    /**
+     * @return original file name
+     */
+    public String getName() {
+
+      return this.name;
+    }
+
+    /**
+     * @return SHA-256 of the content
+     */
+    public String getHash() {
+
+      return this.hash;
+    }
+
+    /**
+     * @return the cached content
+     */
+    public File getFile() {
+
+      return this.file;
+    }
+
+    /**
+     * @return whether the entry is from the shared (read-only) cache
+     */
+    public boolean isShared() {
+
+      return this.shared;
+    }
+  }
+
+  /**
+   * @param root cache directory
+   * @param maxBytes maximum size of the content in the cache
+   * @param shared shared, read-only cache directory
+   */
+  public ArtifactCache(Path root, long maxBytes, Optional<Path> shared) {
+    this.root = root;
+    this.maxBytes = maxBytes;
+    this.shared = shared;
+  }
+
+  /**
+   * @return the cache as configured through system properties and environment
+   */
+  public static ArtifactCache getDefault() {
+
+    String dir = System.getProperty(DIR_PROPERTY);
+    Path root = (dir != null) ? Paths.get(dir)
+        : Paths.get(System.getProperty("user.home"), Constants.DEVCON_USER_DIR, "cache");
+
+    long maxMegabytes = DEFAULT_MAX_MEGABYTES;
+    try {
+      maxMegabytes = Long.parseLong(System.getProperty(MAX_SIZE_PROPERTY, String.valueOf(DEFAULT_MAX_MEGABYTES)));
+    } catch (NumberFormatException e) {
+      // TODO implement logs
+      System.out.println("[ERROR] at ArtifactCache#getDefault: invalid " + MAX_SIZE_PROPERTY);
+    }
+
+    String shared = System.getProperty(SHARED_DIR_PROPERTY, System.getenv(SHARED_DIR_ENV));
+    Optional<Path> sharedRoot = (shared != null && !shared.trim().isEmpty())
+        ? Optional.of(Paths.get(shared.trim())) : Optional.<Path> absent();
+
+    return new ArtifactCache(root, maxMegabytes * 1024 * 1024, sharedRoot);
+  }
+
+  public Path getRoot() {
+
+    return this.root;
+  }
+
+  public long getMaxBytes() {
+
+    return this.maxBytes;
+  }
+
+  public Optional<Path> getShared() {
+
+    return this.shared;
+  }
+
+  /**
+   * Looks up a key, first in the local cache, then in the shared one
+   *
+   * @param key the key
+   * @return the entry, if cached
+   */
+  public Optional<Entry> get(String key) {
+
+    Optional<Entry> entry = read(this.root, key, false);
+    if (entry.isPresent()) {
+      // last access time drives the eviction
+      entry.get().getFile().setLastModified(System.currentTimeMillis());
+      return entry;
+    }
+    if (this.shared.isPresent()) {
+      return read(this.shared.get(), key, true);
+    }
+    return Optional.absent();
+  }
+
+  /**
+   * Copies the content cached for a key to a file
+   *
+   * @param key the key
+   * @param target the file to write
+   * @return the entry copied, absent if the key is not cached
+   * @throws IOException if the copy fails
+   */
+  public Optional<Entry> copyTo(String key, File target) throws IOException {
+
+    Optional<Entry> entry = get(key);
+    if (entry.isPresent()) {
+      File parent = target.getAbsoluteFile().getParentFile();
+      if (!parent.exists()) {
+        parent.mkdirs();
+      }
+      Path temp = new File(parent, target.getName() + "." + UUID.randomUUID() + ".tmp").toPath();
+      try {
+        Files.copy(entry.get().getFile().toPath(), temp);
+        Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * Adds a file to the cache (a copy; the file itself is left in place) and evicts what exceeds the maximum size
+   *
+   * @param key the key
+   * @param source the file to cache
+   * @param name file name to remember for the content
+   * @return the new entry
+   * @throws IOException if the file cannot be stored
+   */
+  public Entry put(String key, File source, String name) throws IOException {
+
+    Path objects = this.root.resolve(OBJECTS);
+    Path keys = this.root.resolve(KEYS);
+    Files.createDirectories(objects);
+    Files.createDirectories(keys);
+
+    // copy and hash in one pass
+    Path temp = objects.resolve(UUID.randomUUID() + ".tmp");
+    String hash;
+    try {
+      MessageDigest digest = newDigest();
+      byte[] buffer = new byte[BUFFER_SIZE];
+      try (InputStream in = new FileInputStream(source); OutputStream out = new FileOutputStream(temp.toFile())) {
+        int len;
+        while ((len = in.read(buffer)) > 0) {
+          digest.update(buffer, 0, len);
+          out.write(buffer, 0, len);
+        }
+      }
+      hash = hex(digest.digest());
+
+      Path object = objects.resolve(hash);
+      if (!Files.exists(object)) {
+        Files.move(temp, object, StandardCopyOption.ATOMIC_MOVE);
+      }
+      object.toFile().setLastModified(System.currentTimeMillis());
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+
+    Properties props = new Properties();
+    props.setProperty("key", key);
+    props.setProperty("name", name);
+    props.setProperty("hash", hash);
+    Path keyTemp = keys.resolve(UUID.randomUUID() + ".tmp");
+    try (OutputStream out = new FileOutputStream(keyTemp.toFile())) {
+      props.store(out, "devcon artifact cache");
+    }
+    Files.move(keyTemp, keys.resolve(keyFile(key)), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+
+    // the content just stored stays, even if it alone exceeds the maximum size
+    prune(this.maxBytes, Optional.of(hash));
+    return new Entry(key, name, hash, objects.resolve(hash).toFile(), false);
+  }
+
+  /**
+   * @return all entries, local ones first
+   */
+  public List<Entry> list() {
+
+    List<Entry> entries = list(this.root, false);
+    if (this.shared.isPresent()) {
+      entries.addAll(list(this.shared.get(), true));
+    }
+    return entries;
+  }
+
+  /**
+   * Evicts least recently used content from the local cache until it is not larger than the given size, and removes
+   * keys of evicted content
+   *
+   * @param maxSize maximum size in bytes
+   * @return number of bytes freed
+   */
+  public synchronized long prune(long maxSize) {
+
+    return prune(maxSize, Optional.<String> absent());
+  }
+
+  private long prune(long maxSize, Optional<String> keep) {
+
+    File[] objects = this.root.resolve(OBJECTS).toFile().listFiles();
+    if (objects == null) {
+      return 0;
+    }
+
+    List<File> content = new ArrayList<>();
+    long total = 0;
+    for (File object : objects) {
+      if (!object.getName().endsWith(".tmp")) {
+        content.add(object);
+        total += object.length();
+      }
+    }
+    Collections.sort(content, new Comparator<File>() {
+      @Override
+      public int compare(File a, File b) {
+
+        return Long.compare(a.lastModified(), b.lastModified());
+      }
+    });
+
+    long freed = 0;
+    for (File object : content) {
+      if (total - freed <= maxSize) {
+        break;
+      }
+      if (keep.isPresent() && object.getName().equals(keep.get())) {
+        continue;
+      }
+      long length = object.length();
+      if (object.delete()) {
+        freed += length;
+      }
+    }
+
+    // keys of content which is gone
+    for (Entry entry : list(this.root, false)) {
+      if (!entry.getFile().exists()) {
+        this.root.resolve(KEYS).resolve(keyFile(entry.getKey())).toFile().delete();
+      }
+    }
+    return freed;
+  }
+
+  /**
+   * Checks the content of the local cache against its hashes and removes what does not match
+   *
+   * @return the entries removed
+   * @throws IOException if content cannot be read
+   */
+  public List<Entry> verify() throws IOException {
+
+    List<Entry> corrupt = new ArrayList<>();
+    for (Entry entry : list(this.root, false)) {
+      if (!entry.getFile().exists() || !hash(entry.getFile()).equals(entry.getHash())) {
+        corrupt.add(entry);
+        entry.getFile().delete();
+        this.root.resolve(KEYS).resolve(keyFile(entry.getKey())).toFile().delete();
+      }
+    }
+    return corrupt;
+  }
+
+  private List<Entry> list(Path dir, boolean isShared) {
+
+    List<Entry> entries = new ArrayList<>();
+    File[] keyFiles = dir.resolve(KEYS).toFile().listFiles();
+    if (keyFiles != null) {
+      for (File keyFile : keyFiles) {
+        if (keyFile.getName().endsWith(".properties")) {
+          Optional<Entry> entry = load(dir, keyFile, isShared);
+          if (entry.isPresent()) {
+            entries.add(entry.get());
+          }
+        }
+      }
+    }
+    return entries;
+  }
+
+  private Optional<Entry> read(Path dir, String key, boolean isShared) {
+
+    Optional<Entry> entry = load(dir, dir.resolve(KEYS).resolve(keyFile(key)).toFile(), isShared);
+    return (entry.isPresent() && entry.get().getKey().equals(key) && entry.get().getFile().isFile()) ? entry
+        : Optional.<Entry> absent();
+  }
+
+  private Optional<Entry> load(Path dir, File keyFile, boolean isShared) {
+
+    if (!keyFile.isFile()) {
+      return Optional.absent();
+    }
+    Properties props = new Properties();
+    try (InputStream in = new FileInputStream(keyFile)) {
+      props.load(in);
+    } catch (IOException e) {
+      return Optional.absent();
+    }
+    String hash = props.getProperty("hash", "");
+    if (!hash.matches("[0-9a-f]{64}")) {
+      return Optional.absent();
+    }
+    return Optional.of(new Entry(props.getProperty("key", ""), props.getProperty("name", hash), hash,
+        dir.resolve(OBJECTS).resolve(hash).toFile(), isShared));
+  }
+
+  private static String keyFile(String key) {
+
+    return hex(newDigest().digest(key.getBytes(Charset.forName("UTF-8")))) + ".properties";
+  }
+
+  private static String hash(File file) throws IOException {
+
+    MessageDigest digest = newDigest();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = new FileInputStream(file)) {
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        digest.update(buffer, 0, len);
+      }
+    }
+    return hex(digest.digest());
+  }
+
+  private static MessageDigest newDigest() {
+
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String hex(byte[] bytes) {
+
+    StringBuilder hex = new StringBuilder();
+    for (byte b : bytes) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+}
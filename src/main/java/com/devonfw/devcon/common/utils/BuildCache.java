@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+
+import com.devonfw.devcon.output.Output;
+import com.google.common.base.Optional;
+
+/**
+ * Cache of build outputs shared by checkouts and machines: the outputs of a successful build (see
+ * {@link BuildState#getOutputs()}) are stored as a ZIP file under the project type and the fingerprint of its inputs,
+ * so another build of the same sources restores them instead of building again. The fingerprint covers the content
+ * and the names of the inputs relative to the project folder, so copies of a project in different workspaces share
+ * their entries.
+ * <p>
+ * The entries are kept by a {@link Store}: a folder (local or shared, e.g. on NFS) or a HTTP server (GET and PUT of
+ * {@code <url>/<key>.zip}), configured with {@link #LOCATION_PROPERTY} or {@link #LOCATION_ENV}.
+ */
+public class BuildCache {
+
+  /**
+   * System property with the folder or the http(s) URL of the build cache
+   */
+  public static final String LOCATION_PROPERTY = "devcon.buildCache";
+
+  /**
+   * Environment variable with the folder or the http(s) URL of the build cache (when the system property is not set)
+   */
+  public static final String LOCATION_ENV = "DEVCON_BUILD_CACHE";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Store store;
+
+  /**
+   * Where the entries of the cache are kept
+   */
+  public interface Store {
+
+    /**
+     * @param key key of an entry
+     * @param target file to write the entry to
+     * @return whether the entry exists (if not, nothing is written)
+     * @throws IOException if the store cannot be read
+     */
+    boolean fetch(String key, File target) throws IOException;
+
+    /**
+     * @param key key of the entry
+     * @param entry the content of the entry
+     * @throws IOException if the store cannot be written
+     */
+    void store(String key, File entry) throws IOException;
+
+    /**
+     * @return folder or URL of the store, for messages
+     */
+    String getLocation();
+  }
+
+  /**
+   * Entries as files in a folder; written through a temporary file and an atomic move, so concurrent builds (also on
+   * other machines sharing the folder) never see partial entries
+   */
+  public static class DirectoryStore implements Store {
+
+    private final Path dir;
+
+    /**
+     * @param dir the folder
+     */
+    public DirectoryStore(Path dir) {
+      this.dir = dir;
+    }
+
+    @Override
+    public boolean fetch(String key, File target) throws IOException {
+
+      Path entry = this.dir.resolve(key + ".zip");
+      if (!Files.isRegularFile(entry)) {
+        return false;
+      }
+      Files.copy(entry, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      return true;
+    }
+
+    @Override
+    public void store(String key, File entry) throws IOException {
+
+      Files.createDirectories(this.dir);
+      Path target = this.dir.resolve(key + ".zip");
+      if (Files.exists(target)) {
+        // same inputs, same outputs
+        return;
+      }
+      Path temp = this.dir.resolve(key + "." + UUID.randomUUID() + ".tmp");
+      try {
+        Files.copy(entry.toPath(), temp);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+
+    @Override
+    public String getLocation() {
+
+      return this.dir.toString();
+    }
+  }
+
+  /**
+   * Entries on a HTTP server: GET {@code <url>/<key>.zip} (404 if missing) and PUT to store
+   */
+  public static class HttpStore implements Store {
+
+    private static final int CONNECT_TIMEOUT_MS = 10000;
+
+    private static final int READ_TIMEOUT_MS = 60000;
+
+    private final String url;
+
+    /**
+     * @param url base URL of the entries
+     */
+    public HttpStore(String url) {
+      this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    @Override
+    public boolean fetch(String key, File target) throws IOException {
+
+      HttpURLConnection conn = open(key);
+      try {
+        int status = conn.getResponseCode();
+        if (status == HttpURLConnection.HTTP_NOT_FOUND) {
+          return false;
+        }
+        if (status != HttpURLConnection.HTTP_OK) {
+          throw new IOException("GET " + conn.getURL() + " failed with status " + status);
+        }
+        try (InputStream in = conn.getInputStream(); OutputStream out = new FileOutputStream(target)) {
+          IOUtils.copyLarge(in, out, new byte[BUFFER_SIZE]);
+        }
+        return true;
+      } finally {
+        conn.disconnect();
+      }
+    }
+
+    @Override
+    public void store(String key, File entry) throws IOException {
+
+      HttpURLConnection conn = open(key);
+      try {
+        conn.setRequestMethod("PUT");
+        conn.setDoOutput(true);
+        conn.setRequestProperty("Content-Type", "application/zip");
+        conn.setFixedLengthStreamingMode(entry.length());
+        try (InputStream in = new FileInputStream(entry); OutputStream out = conn.getOutputStream()) {
+          IOUtils.copyLarge(in, out, new byte[BUFFER_SIZE]);
+        }
+        int status = conn.getResponseCode();
+        if ((status / 100) != 2) {
+          throw new IOException("PUT " + conn.getURL() + " failed with status " + status);
+        }
+      } finally {
+        conn.disconnect();
+      }
+    }
+
+    @Override
+    public String getLocation() {
+
+      return this.url;
+    }
+
+    private HttpURLConnection open(String key) throws IOException {
+
+      URLConnection conn = new URL(this.url + "/" + key + ".zip").openConnection();
+      if (!(conn instanceof HttpURLConnection)) {
+        throw new IOException("Not a HTTP(S) location: " + this.url);
+      }
+      conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
+      conn.setReadTimeout(READ_TIMEOUT_MS);
+      return (HttpURLConnection) conn;
+    }
+  }
+
+  /**
+   * @param store where the entries are kept
+   */
+  public BuildCache(Store store) {
+    this.store = store;
+  }
+
+  /**
+   * @return the cache as configured through system property or environment, absent if none is configured
+   */
+  public static Optional<BuildCache> getDefault() {
+
+    String location = System.getProperty(LOCATION_PROPERTY, System.getenv(LOCATION_ENV));
+    if ((location == null) || location.trim().isEmpty()) {
+      return Optional.absent();
+    }
+    location = location.trim();
+    String lower = location.toLowerCase(Locale.ROOT);
+    Store store = (lower.startsWith("http://") || lower.startsWith("https://")) ? new HttpStore(location)
+        : new DirectoryStore(Paths.get(location));
+    return Optional.of(new BuildCache(store));
+  }
+
+  public Store getStore() {
+
+    return this.store;
+  }
+
+  /**
+   * @param state the build state of a project
+   * @param fingerprint the fingerprint of its inputs
+   * @return the key of the outputs of the project for these inputs
+   */
+  public static String key(BuildState state, BuildState.Fingerprint fingerprint) {
+
+    return state.getType().name().toLowerCase(Locale.ROOT) + "-" + fingerprint.getHash();
+  }
+
+  /**
+   * Replaces the outputs of a project with the cached ones, if there are any for its inputs
+   *
+   * @param state the build state of the project
+   * @param fingerprint the fingerprint of its current inputs
+   * @param output to report progress to
+   * @return whether the outputs were restored
+   * @throws IOException if the cache cannot be read or the outputs cannot be written
+   */
+  public boolean restore(BuildState state, BuildState.Fingerprint fingerprint, Output output) throws IOException {
+
+    File temp = tempFile(state);
+    try {
+      if (!this.store.fetch(key(state, fingerprint), temp)) {
+        return false;
+      }
+      for (Path old : state.getOutputs()) {
+        Files.deleteIfExists(old);
+      }
+      Extractor.unZip(temp, state.getProject().toFile(), output);
+      return true;
+    } finally {
+      Files.deleteIfExists(temp.toPath());
+    }
+  }
+
+  /**
+   * Adds the current outputs of a project to the cache
+   *
+   * @param state the build state of the project
+   * @param fingerprint the fingerprint of the inputs the outputs were built from
+   * @return whether there were outputs to add
+   * @throws IOException if the outputs cannot be read or the cache cannot be written
+   */
+  public boolean save(BuildState state, BuildState.Fingerprint fingerprint) throws IOException {
+
+    List<Path> outputs = state.getOutputs();
+    if (outputs.isEmpty()) {
+      return false;
+    }
+    File temp = tempFile(state);
+    try {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(temp))) {
+        for (Path file : outputs) {
+          ZipEntry entry =
+              new ZipEntry(state.getProject().relativize(file).toString().replace(File.separatorChar, '/'));
+          entry.setTime(file.toFile().lastModified());
+          zip.putNextEntry(entry);
+          try (InputStream in = new FileInputStream(file.toFile())) {
+            int len;
+            while ((len = in.read(buffer)) > 0) {
+              zip.write(buffer, 0, len);
+            }
+          }
+          zip.closeEntry();
+        }
+      }
+      this.store.store(key(state, fingerprint), temp);
+      return true;
+    } finally {
+      Files.deleteIfExists(temp.toPath());
+    }
+  }
+
+  private static File tempFile(BuildState state) throws IOException {
+
+    Path dir = state.getStateFile().getParent();
+    Files.createDirectories(dir);
+    return dir.resolve("build-cache." + UUID.randomUUID() + ".tmp").toFile();
+  }
+}
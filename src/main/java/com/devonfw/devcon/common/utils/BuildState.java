@@ -0,0 +1,463 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.devonfw.devcon.common.api.data.ProjectInfo;
+import com.devonfw.devcon.common.api.data.ProjectType;
+import com.google.common.base.Optional;
+
+/**
+ * State of the last successful build of a project, kept in {@code .devcon/build-state} next to its devon.json, to skip
+ * builds when nothing changed. The inputs of a build are all files of the project except build output, dependencies
+ * and hidden folders (target/, dist/, node_modules/, .git/ ...): sources, pom.xml, package.json, lock files. Their
+ * SHA-256 hashes are computed in parallel and combined into the fingerprint of the build; a file with the same size and
+ * modification time as in the last build is not read again.
+ * <p>
+ * A build is up to date when the fingerprint is the one of the last successful build and the outputs of that build
+ * (server: target/*.war and *.jar, client: dist/) are still there, unchanged.
+ */
+public class BuildState {
+
+  /**
+   * Folder of the state, in the project folder
+   */
+  public static final String STATE_DIR = ".devcon";
+
+  /**
+   * File with the state
+   */
+  public static final String STATE_FILE = "build-state";
+
+  /**
+   * System property with the number of threads hashing the inputs (default: number of processors)
+   */
+  public static final String THREADS_PROPERTY = "devcon.build.hashThreads";
+
+  private static final Set<String> EXCLUDED_DIRS = new HashSet<>(Arrays.asList("target", "dist", "node_modules"));
+
+  private static final String FINGERPRINT = "fingerprint";
+
+  private static final String INPUT = "input.";
+
+  private static final String OUTPUT = "output.";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Path project;
+
+  private final ProjectType type;
+
+  private final Path stateFile;
+
+  /**
+   * The inputs of a build and their combined hash
+   */
+  public static class Fingerprint {
+
+    private final String hash;
+
+    private final Map<String, FileState> inputs;
+
+    Fingerprint(String hash, Map<String, FileState> inputs) {
+      this.hash = hash;
+      this.inputs = inputs;
+    }
+
+    /**
+     * @return SHA-256 of the inputs (names and content) and the project type
+     */
+    public String getHash() {
+
+      return this.hash;
+    }
+
+    /**
+     * @return number of input files
+     */
+    public int getInputCount() {
+
+      return this.inputs.size();
+    }
+  }
+
+  /**
+   * Size, modification time and (for inputs) hash of a file
+   */
+  private static class FileState {
+
+    private final long length;
+
+    private final long lastModified;
+
+    private final String hash;
+
+    FileState(long length, long lastModified, String hash) {
+      this.length = length;
+      this.lastModified = lastModified;
+      this.hash = hash;
+    }
+
+    static FileState of(File file, String hash) {
+
+      return new FileState(file.length(), file.lastModified(), hash);
+    }
+
+    static Optional<FileState> parse(String value) {
+
+      String[] parts = value.split(",", 3);
+      try {
+        return Optional.of(
+            new FileState(Long.parseLong(parts[0]), Long.parseLong(parts[1]), (parts.length > 2) ? parts[2] : ""));
+      } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+        return Optional.absent();
+      }
+    }
+
+    boolean isSameFile(File file) {
+
+      return (file.length() == this.length) && (file.lastModified() == this.lastModified);
+    }
+
+    @Override
+    public String toString() {
+
+      return this.length + "," + this.lastModified + "," + this.hash;
+    }
+  }
+
+  /**
+   * @param project project folder
+   * @param type project type, determines the outputs
+   */
+  public BuildState(Path project, ProjectType type) {
+    this.project = project;
+    this.type = type;
+    this.stateFile = project.resolve(STATE_DIR).resolve(STATE_FILE);
+  }
+
+  /**
+   * @param project a project
+   * @return the build state of the project
+   */
+  public static BuildState of(ProjectInfo project) {
+
+    return new BuildState(project.getPath(), project.getProjecType());
+  }
+
+  public Path getProject() {
+
+    return this.project;
+  }
+
+  public ProjectType getType() {
+
+    return this.type;
+  }
+
+  public Path getStateFile() {
+
+    return this.stateFile;
+  }
+
+  /**
+   * @return the fingerprint of the current inputs of the project
+   * @throws IOException if the project cannot be read
+   * @throws InterruptedException if interrupted while hashing
+   */
+  public Fingerprint fingerprint() throws IOException, InterruptedException {
+
+    Properties last = load();
+    final Map<String, FileState> inputs = new TreeMap<>();
+    Map<String, Future<String>> hashing = new LinkedHashMap<>();
+
+    ExecutorService executor = Executors.newFixedThreadPool(getThreads(), new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+
+        Thread thread = new Thread(r, "devcon-build-hash");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    try {
+      for (final Path input : listInputs()) {
+        String name = name(input);
+        Optional<FileState> known = FileState.parse(last.getProperty(INPUT + name, ""));
+        if (known.isPresent() && known.get().isSameFile(input.toFile())) {
+          inputs.put(name, known.get());
+        } else {
+          hashing.put(name, executor.submit(new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+
+              return hash(input.toFile());
+            }
+          }));
+        }
+      }
+      for (Map.Entry<String, Future<String>> entry : hashing.entrySet()) {
+        String hash = entry.getValue().get();
+        inputs.put(entry.getKey(), FileState.of(this.project.resolve(entry.getKey()).toFile(), hash));
+      }
+    } catch (ExecutionException e) {
+      throw (e.getCause() instanceof IOException) ? (IOException) e.getCause() : new IOException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    MessageDigest digest = newDigest();
+    digest.update(this.type.name().getBytes(Charset.forName("UTF-8")));
+    for (Map.Entry<String, FileState> input : inputs.entrySet()) {
+      digest.update(("\n" + input.getKey() + "\t" + input.getValue().hash).getBytes(Charset.forName("UTF-8")));
+    }
+    return new Fingerprint(hex(digest.digest()), inputs);
+  }
+
+  /**
+   * @param fingerprint the fingerprint of the current inputs
+   * @return whether the last successful build had the same inputs and its outputs are unchanged
+   * @throws IOException if the project cannot be read
+   */
+  public boolean isUpToDate(Fingerprint fingerprint) throws IOException {
+
+    Properties last = load();
+    if (!fingerprint.getHash().equals(last.getProperty(FINGERPRINT))) {
+      return false;
+    }
+
+    Set<String> outputs = new HashSet<>();
+    for (Path output : getOutputs()) {
+      outputs.add(name(output));
+    }
+    int recorded = 0;
+    for (String key : last.stringPropertyNames()) {
+      if (key.startsWith(OUTPUT)) {
+        recorded++;
+        String name = key.substring(OUTPUT.length());
+        Optional<FileState> state = FileState.parse(last.getProperty(key));
+        if (!outputs.contains(name) || !state.isPresent()
+            || !state.get().isSameFile(this.project.resolve(name).toFile())) {
+          return false;
+        }
+      }
+    }
+    // no outputs: nothing to skip to
+    return (recorded > 0) && (recorded == outputs.size());
+  }
+
+  /**
+   * Records a successful build with the given inputs and the current outputs
+   *
+   * @param fingerprint the fingerprint of the inputs of the build (taken before building)
+   * @throws IOException if the state cannot be written
+   */
+  public void recordSuccess(Fingerprint fingerprint) throws IOException {
+
+    Properties state = new Properties();
+    state.setProperty(FINGERPRINT, fingerprint.getHash());
+    for (Map.Entry<String, FileState> input : fingerprint.inputs.entrySet()) {
+      state.setProperty(INPUT + input.getKey(), input.getValue().toString());
+    }
+    for (Path output : getOutputs()) {
+      state.setProperty(OUTPUT + name(output), FileState.of(output.toFile(), "").toString());
+    }
+
+    Path dir = this.stateFile.getParent();
+    Files.createDirectories(dir);
+    Path temp = dir.resolve(STATE_FILE + "." + UUID.randomUUID() + ".tmp");
+    try {
+      try (OutputStream out = new FileOutputStream(temp.toFile())) {
+        state.store(out, "devcon build state of " + this.type);
+      }
+      Files.move(temp, this.stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Forgets the last successful build (e.g. after a failed one)
+   *
+   * @throws IOException if the state cannot be deleted
+   */
+  public void clear() throws IOException {
+
+    Files.deleteIfExists(this.stateFile);
+  }
+
+  /**
+   * @return the outputs of a build as they are now: server projects target/*.war and *.jar (of all modules), client
+   *         projects everything in dist/
+   * @throws IOException if the project cannot be read
+   */
+  public List<Path> getOutputs() throws IOException {
+
+    final List<Path> outputs = new ArrayList<>();
+    if (this.type == ProjectType.OASP4JS) {
+      final Path dist = this.project.resolve("dist");
+      if (Files.isDirectory(dist)) {
+        Files.walkFileTree(dist, new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+
+            outputs.add(file);
+            return FileVisitResult.CONTINUE;
+          }
+        });
+      }
+    } else {
+      Files.walkFileTree(this.project, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+
+          String name = dir.getFileName().toString();
+          if ("target".equals(name)) {
+            File[] files = dir.toFile().listFiles();
+            if (files != null) {
+              for (File file : files) {
+                if (file.isFile() && (file.getName().endsWith(".war") || file.getName().endsWith(".jar"))) {
+                  outputs.add(file.toPath());
+                }
+              }
+            }
+            return FileVisitResult.SKIP_SUBTREE;
+          }
+          return (dir.equals(BuildState.this.project) || !isExcluded(name)) ? FileVisitResult.CONTINUE
+              : FileVisitResult.SKIP_SUBTREE;
+        }
+      });
+    }
+    Collections.sort(outputs);
+    return outputs;
+  }
+
+  private List<Path> listInputs() throws IOException {
+
+    final List<Path> inputs = new ArrayList<>();
+    Files.walkFileTree(this.project, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+
+        return (dir.equals(BuildState.this.project) || !isExcluded(dir.getFileName().toString()))
+            ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+
+        if (attrs.isRegularFile() && !file.getFileName().toString().endsWith(".log")) {
+          inputs.add(file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    return inputs;
+  }
+
+  private static boolean isExcluded(String dir) {
+
+    return dir.startsWith(".") || EXCLUDED_DIRS.contains(dir);
+  }
+
+  private String name(Path file) {
+
+    return this.project.relativize(file).toString().replace(File.separatorChar, '/');
+  }
+
+  private Properties load() {
+
+    Properties state = new Properties();
+    if (Files.isRegularFile(this.stateFile)) {
+      try (InputStream in = new FileInputStream(this.stateFile.toFile())) {
+        state.load(in);
+      } catch (IOException e) {
+        // TODO implement logs
+        System.out.println("[ERROR] at BuildState#load: " + e.getMessage());
+        return new Properties();
+      }
+    }
+    return state;
+  }
+
+  private static int getThreads() {
+
+    return Math.max(1, Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+  }
+
+  private static String hash(File file) throws IOException {
+
+    MessageDigest digest = newDigest();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = new FileInputStream(file)) {
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        digest.update(buffer, 0, len);
+      }
+    }
+    return hex(digest.digest());
+  }
+
+  private static MessageDigest newDigest() {
+
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String hex(byte[] bytes) {
+
+    StringBuilder hex = new StringBuilder();
+    for (byte b : bytes) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+}
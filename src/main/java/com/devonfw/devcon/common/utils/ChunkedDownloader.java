@@ -0,0 +1,517 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.devonfw.devcon.output.Progress;
+import com.devonfw.devcon.output.ProgressInputStream;
+import com.google.common.base.Optional;
+
+/**
+ * Downloads a file over HTTP(S) in chunks fetched concurrently with range requests. Chunks are written into a
+ * pre-allocated {@code <target>.part} file; which chunks are complete is kept in {@code <target>.part.state}, so a
+ * download that is interrupted resumes where it stopped (as long as the remote file did not change). Servers without
+ * range support are downloaded with a single request. Connections go through the default {@link java.net.ProxySelector}
+ * and so honor the proxy set by {@link Utils#setProxy(String, String)}.
+ */
+public class ChunkedDownloader {
+
+  /**
+   * Default number of concurrent connections
+   */
+  public static final int DEFAULT_CONNECTIONS = 4;
+
+  /**
+   * Default size of a chunk
+   */
+  public static final long DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  private static final String PART_SUFFIX = ".part";
+
+  private static final String STATE_SUFFIX = ".part.state";
+
+  private static final int ATTEMPTS = 3;
+
+  private static final int CONNECT_TIMEOUT_MS = 30000;
+
+  private static final int READ_TIMEOUT_MS = 60000;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final int connections;
+
+  private final long chunkSize;
+
+  private volatile Progress progress;
+
+  /**
+   * The constructor
+   */
+  public ChunkedDownloader() {
+    this(DEFAULT_CONNECTIONS, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param connections maximum number of concurrent connections
+   * @param chunkSize size of the chunks requested
+   */
+  public ChunkedDownloader(int connections, long chunkSize) {
+    this.connections = connections;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * @return bytes of the current download available locally (including those of a resumed download)
+   */
+  public long getDownloaded() {
+
+    return (this.progress != null) ? this.progress.getDone() : 0;
+  }
+
+  /**
+   * @return size of the current download, -1 when unknown
+   */
+  public long getSize() {
+
+    return (this.progress != null) ? this.progress.getTotal() : -1;
+  }
+
+  /**
+   * Downloads a file
+   *
+   * @param source the location of the file
+   * @param target the file to write
+   * @param sha256 expected SHA-256 checksum (hex) of the file, if known
+   * @throws IOException if the download fails (a later call resumes it) or the checksum does not match
+   */
+  public void download(URL source, File target, Optional<String> sha256) throws IOException {
+
+    download(source, target, sha256, new Progress("Downloading " + target.getName(), -1));
+  }
+
+  /**
+   * Downloads a file
+   *
+   * @param source the location of the file
+   * @param target the file to write
+   * @param sha256 expected SHA-256 checksum (hex) of the file, if known
+   * @param progress receives the size and the bytes downloaded; finished when this method returns
+   * @throws IOException if the download fails (a later call resumes it) or the checksum does not match
+   */
+  public void download(URL source, File target, Optional<String> sha256, Progress progress) throws IOException {
+
+    this.progress = progress;
+    try {
+      transfer(source, target, sha256);
+    } finally {
+      progress.finish();
+    }
+  }
+
+  private void transfer(URL source, File target, Optional<String> sha256) throws IOException {
+
+    File parent = target.getAbsoluteFile().getParentFile();
+    if (!parent.exists()) {
+      parent.mkdirs();
+    }
+    File part = new File(target.getPath() + PART_SUFFIX);
+    File stateFile = new File(target.getPath() + STATE_SUFFIX);
+
+    RemoteFile remote = probe(source);
+    if (remote.length > 0 && remote.ranges) {
+      this.progress.setTotal(remote.length);
+      downloadChunks(source, remote, part, stateFile);
+    } else {
+      Files.deleteIfExists(stateFile.toPath());
+      downloadSingle(source, part);
+    }
+
+    if (sha256.isPresent()) {
+      String actual = sha256(part);
+      if (!actual.equalsIgnoreCase(sha256.get().trim())) {
+        Files.deleteIfExists(part.toPath());
+        Files.deleteIfExists(stateFile.toPath());
+        throw new IOException("Checksum mismatch for " + source + ": expected " + sha256.get() + ", got " + actual);
+      }
+    }
+
+    Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    Files.deleteIfExists(stateFile.toPath());
+  }
+
+  private void downloadChunks(final URL source, RemoteFile remote, File part, final File stateFile)
+      throws IOException {
+
+    final ChunkState state = ChunkState.load(stateFile, source, remote, this.chunkSize, part);
+    if (state.isNew()) {
+      try (FileChannel channel = FileChannel.open(part.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        // pre-allocate, so chunks can be written at their position in any order
+        channel.write(ByteBuffer.allocate(1), remote.length - 1);
+      }
+      state.save(stateFile);
+    }
+    this.progress.set(state.getCompletedBytes());
+
+    final AtomicBoolean aborted = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(this.connections);
+    try (final FileChannel channel = FileChannel.open(part.toPath(), StandardOpenOption.WRITE)) {
+      List<Future<Void>> tasks = new ArrayList<>();
+      for (final int chunk : state.getMissing()) {
+        tasks.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws IOException {
+
+            if (!aborted.get()) {
+              fetchChunk(source, state, chunk, channel, aborted);
+              synchronized (state) {
+                state.complete(chunk);
+                state.save(stateFile);
+              }
+            }
+            return null;
+          }
+        }));
+      }
+      executor.shutdown();
+
+      IOException failure = null;
+      for (Future<Void> task : tasks) {
+        try {
+          task.get();
+        } catch (ExecutionException e) {
+          failure = (e.getCause() instanceof IOException) ? (IOException) e.getCause() : new IOException(e.getCause());
+          break;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          failure = new IOException("Download of " + source + " interrupted");
+          break;
+        }
+      }
+
+      if (failure != null) {
+        // completed chunks are recorded and a later call resumes from there; chunks in flight are given up, but
+        // only return once nothing writes to the part or state file anymore
+        aborted.set(true);
+        try {
+          executor.awaitTermination(READ_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        throw failure;
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void fetchChunk(URL source, ChunkState state, int chunk, FileChannel channel, AtomicBoolean aborted)
+      throws IOException {
+
+    long start = state.getStart(chunk);
+    long end = state.getEnd(chunk);
+
+    IOException last = null;
+    for (int attempt = 0; (attempt < ATTEMPTS) && !aborted.get(); attempt++) {
+      ProgressInputStream in = null;
+      JfrEvents.Event event = JfrEvents.get().download(source, start);
+      try {
+        HttpURLConnection conn = open(source);
+        conn.setRequestProperty("Range", "bytes=" + start + "-" + end);
+        if (conn.getResponseCode() != HttpURLConnection.HTTP_PARTIAL) {
+          conn.disconnect();
+          throw new IOException("Range request for " + source + " answered with " + conn.getResponseCode());
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        in = new ProgressInputStream(conn.getInputStream(), this.progress);
+        try {
+          long position = start;
+          int len;
+          while ((position <= end) && !aborted.get()
+              && (len = in.read(buffer, 0, (int) Math.min(buffer.length, end - position + 1))) > 0) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, len);
+            while (bytes.hasRemaining()) {
+              position += channel.write(bytes, position);
+            }
+          }
+          if (position <= end) {
+            throw new IOException("Connection closed after " + (position - start) + " bytes of chunk " + chunk);
+          }
+        } finally {
+          in.close();
+        }
+        if (aborted.get()) {
+          throw new IOException("Download aborted");
+        }
+        channel.force(false);
+        return;
+      } catch (IOException e) {
+        if (in != null) {
+          // the chunk is fetched again
+          this.progress.add(-in.getCount());
+        }
+        last = e;
+      } finally {
+        event.end(null, (in != null) ? in.getCount() : 0);
+      }
+    }
+    throw (last != null) ? last : new IOException("Download aborted");
+  }
+
+  private void downloadSingle(URL source, File part) throws IOException {
+
+    HttpURLConnection conn = open(source);
+    if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
+      throw new IOException("Download of " + source + " answered with " + conn.getResponseCode());
+    }
+    this.progress.setTotal(conn.getContentLengthLong());
+
+    byte[] buffer = new byte[BUFFER_SIZE];
+    JfrEvents.Event event = JfrEvents.get().download(source, 0);
+    long bytes = 0;
+    try (InputStream in = new ProgressInputStream(conn.getInputStream(), this.progress);
+        OutputStream out = new FileOutputStream(part)) {
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        out.write(buffer, 0, len);
+        bytes += len;
+      }
+    } finally {
+      event.end(null, bytes);
+    }
+  }
+
+  /**
+   * Asks the server which version of a file it currently serves, without downloading it.
+   *
+   * @param source the location of the file
+   * @return the ETag or, failing that, the Last-Modified date of the file; absent if the server tells neither
+   * @throws IOException if the location can not be reached
+   */
+  public Optional<String> getVersion(URL source) throws IOException {
+
+    String validator = probe(source).validator;
+    if (validator.isEmpty() || validator.equals("null")) {
+      return Optional.absent();
+    }
+    return Optional.of(validator);
+  }
+
+  private RemoteFile probe(URL source) throws IOException {
+
+    HttpURLConnection conn = open(source);
+    conn.setRequestMethod("HEAD");
+    try {
+      if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
+        // no HEAD support: plain download
+        return new RemoteFile(-1, false, "");
+      }
+      String validator = conn.getHeaderField("ETag");
+      if (validator == null) {
+        validator = String.valueOf(conn.getHeaderField("Last-Modified"));
+      }
+      return new RemoteFile(conn.getContentLengthLong(), "bytes".equalsIgnoreCase(conn.getHeaderField("Accept-Ranges")),
+          validator);
+    } finally {
+      conn.disconnect();
+    }
+  }
+
+  private HttpURLConnection open(URL source) throws IOException {
+
+    URLConnection conn = source.openConnection();
+    if (!(conn instanceof HttpURLConnection)) {
+      throw new IOException("Not a HTTP(S) location: " + source);
+    }
+    conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
+    conn.setReadTimeout(READ_TIMEOUT_MS);
+    return (HttpURLConnection) conn;
+  }
+
+  private static String sha256(File file) throws IOException {
+
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] buffer = new byte[BUFFER_SIZE];
+      try (InputStream in = new FileInputStream(file)) {
+        int len;
+        while ((len = in.read(buffer)) > 0) {
+          digest.update(buffer, 0, len);
+        }
+      }
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest.digest()) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * What the server tells about the file
+   */
+  private static class RemoteFile {
+
+    private final long length;
+
+    private final boolean ranges;
+
+    private final String validator;
+
+    RemoteFile(long length, boolean ranges, String validator) {
+      this.length = length;
+      this.ranges = ranges;
+      this.validator = validator;
+    }
+  }
+
+  /**
+   * Which chunks of a download are complete, persisted as properties next to the part file
+   */
+  private static class ChunkState {
+
+    private final Properties props;
+
+    private final long length;
+
+    private final long chunkSize;
+
+    private final char[] completed;
+
+    private final boolean isNew;
+
+    private ChunkState(Properties props, long length, long chunkSize, char[] completed, boolean isNew) {
+      this.props = props;
+      this.length = length;
+      this.chunkSize = chunkSize;
+      this.completed = completed;
+      this.isNew = isNew;
+    }
+
+    static ChunkState load(File stateFile, URL source, RemoteFile remote, long chunkSize, File part) {
+
+      int chunks = (int) ((remote.length + chunkSize - 1) / chunkSize);
+
+      Properties props = new Properties();
+      if (stateFile.exists() && part.length() == remote.length) {
+        try (InputStream in = new FileInputStream(stateFile)) {
+          props.load(in);
+          String bitmap = props.getProperty("chunks", "");
+          if (source.toString().equals(props.getProperty("url"))
+              && String.valueOf(remote.length).equals(props.getProperty("length"))
+              && remote.validator.equals(props.getProperty("validator"))
+              && String.valueOf(chunkSize).equals(props.getProperty("chunkSize")) && bitmap.length() == chunks) {
+            return new ChunkState(props, remote.length, chunkSize, bitmap.toCharArray(), false);
+          }
+        } catch (IOException e) {
+          // start over
+        }
+      }
+
+      props = new Properties();
+      props.setProperty("url", source.toString());
+      props.setProperty("length", String.valueOf(remote.length));
+      props.setProperty("validator", remote.validator);
+      props.setProperty("chunkSize", String.valueOf(chunkSize));
+      char[] completed = new char[chunks];
+      Arrays.fill(completed, '0');
+      return new ChunkState(props, remote.length, chunkSize, completed, true);
+    }
+
+    boolean isNew() {
+
+      return this.isNew;
+    }
+
+    long getStart(int chunk) {
+
+      return chunk * this.chunkSize;
+    }
+
+    long getEnd(int chunk) {
+
+      return Math.min(getStart(chunk) + this.chunkSize, this.length) - 1;
+    }
+
+    synchronized List<Integer> getMissing() {
+
+      List<Integer> missing = new ArrayList<>();
+      for (int i = 0; i < this.completed.length; i++) {
+        if (this.completed[i] != '1') {
+          missing.add(i);
+        }
+      }
+      return missing;
+    }
+
+    synchronized long getCompletedBytes() {
+
+      long bytes = 0;
+      for (int i = 0; i < this.completed.length; i++) {
+        if (this.completed[i] == '1') {
+          bytes += getEnd(i) - getStart(i) + 1;
+        }
+      }
+      return bytes;
+    }
+
+    synchronized void complete(int chunk) {
+
+      this.completed[chunk] = '1';
+    }
+
+    synchronized void save(File stateFile) throws IOException {
+
+      this.props.setProperty("chunks", new String(this.completed));
+      Path temp = new File(stateFile.getPath() + ".tmp").toPath();
+      try (OutputStream out = new FileOutputStream(temp.toFile())) {
+        this.props.store(out, "devcon download state");
+      }
+      Files.move(temp, stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+}
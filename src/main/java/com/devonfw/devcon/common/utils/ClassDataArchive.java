@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.devonfw.devcon.common.api.Command;
+import com.devonfw.devcon.common.api.CommandModuleInfo;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.impl.CommandImpl;
+import com.devonfw.devcon.common.impl.CommandManagerImpl;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.input.ConsoleInput;
+import com.devonfw.devcon.input.ConsoleInputManager;
+import com.devonfw.devcon.output.ConsoleOutput;
+
+/**
+ * Creates the AppCDS (Application Class-Data Sharing) archive used by the installed Devcon launchers to cut JVM
+ * startup. The archive is JVM- and classpath-specific, so it is generated on the user's machine by a training run of
+ * this class against the installed jar (see {@link #create(File, Path)}); JVMs without dynamic archive support (before
+ * 13) simply skip it and the launcher options are ignored.
+ */
+public class ClassDataArchive {
+
+  /**
+   * File name of the archive, next to the installed jar
+   */
+  public static final String ARCHIVE_FILE = "devcon.jsa";
+
+  /**
+   * First Java feature release able to write dynamic archives (-XX:ArchiveClassesAtExit)
+   */
+  private static final int MIN_JAVA_VERSION = 13;
+
+  /**
+   * Side-effect free invocations that exercise the CLI start-up path: option parsing, registry, help rendering
+   */
+  private static final String[][] TRAINING_RUNS = { { "help", "overview" }, { "-v" }, { "oasp4j", "create", "-h" },
+  { "oasp4js", "run", "-h" }, { "project", "build", "-h" }, { "dist", "install", "-h" },
+  { "workspace", "create", "-h" } };
+
+  /**
+   * JVM option added by the launchers for short invocations only (see {@link #QUICK_MODULES}): compiling with C1 alone
+   * starts faster, but slows down long-running work like the daemon, batches, installations and builds
+   */
+  public static final String QUICK_START_OPTION = "-XX:TieredStopAtLevel=1";
+
+  /**
+   * Modules whose commands just show information, started with the {@link #QUICK_START_OPTION}
+   */
+  public static final List<String> QUICK_MODULES = Arrays.asList("help", "doc");
+
+  /**
+   * @param archive the archive file
+   * @return JVM options for a launcher; unrecognized options are ignored by older JVMs and a missing or stale archive
+   *         only disables sharing
+   */
+  public static List<String> getLauncherOptions(Path archive) {
+
+    return Arrays.asList("-XX:+IgnoreUnrecognizedVMOptions", "-XX:SharedArchiveFile=" + archive.toString(),
+        "-Xshare:auto");
+  }
+
+  /**
+   * @return whether the running JVM can write dynamic archives
+   */
+  public static boolean isSupported() {
+
+    String version = System.getProperty("java.specification.version", "");
+    if (version.startsWith("1.")) {
+      return false;
+    }
+    try {
+      return Integer.parseInt(version) >= MIN_JAVA_VERSION;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Runs the training run against the given jar with the {@code java} on the $PATH (the one the launchers use) and
+   * writes the archive.
+   *
+   * @param jar the installed devcon jar
+   * @param archive the archive to write
+   * @return true if the archive was written
+   * @throws IOException if the training process could not be started
+   * @throws InterruptedException if interrupted while waiting for it
+   */
+  public static boolean create(File jar, Path archive) throws IOException, InterruptedException {
+
+    if (!isSupported()) {
+      return false;
+    }
+
+    Files.deleteIfExists(archive);
+
+    List<String> cmd = new ArrayList<>();
+    cmd.add("java");
+    cmd.add("-XX:ArchiveClassesAtExit=" + archive.toString());
+    cmd.add("-cp");
+    cmd.add(jar.getAbsolutePath());
+    cmd.add(ClassDataArchive.class.getName());
+
+    Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+    process.getOutputStream().close();
+    try (InputStream in = process.getInputStream()) {
+      byte[] buffer = new byte[8192];
+      while (in.read(buffer) != -1) {
+        // discard the training output
+      }
+    }
+    return process.waitFor() == 0 && Files.isRegularFile(archive);
+  }
+
+  /**
+   * Training run: loads what a typical invocation loads, including every command module class.
+   *
+   * @param args not used
+   */
+  public static void main(String[] args) {
+
+    PrintStream discard = new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+
+      }
+    });
+    System.setOut(discard);
+
+    CommandRegistry registry = new CommandRegistryImpl(Constants.MODULES_LOCATION);
+    for (String[] run : TRAINING_RUNS) {
+      ConsoleInput input = new ConsoleInput(new ByteArrayInputStream(new byte[0]), discard);
+      ConsoleOutput output = new ConsoleOutput(discard);
+      try {
+        new ConsoleInputManager(registry, input, output, new CommandManagerImpl(registry, input, output)).parse(run);
+      } catch (Exception e) {
+        // training must not fail on a single command
+      }
+    }
+
+    for (CommandModuleInfo module : registry.getCommandModules()) {
+      for (Command command : module.getCommands()) {
+        if (command instanceof CommandImpl) {
+          ((CommandImpl) command).getMethod();
+        }
+      }
+    }
+  }
+}
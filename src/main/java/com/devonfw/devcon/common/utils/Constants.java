@@ -38,6 +38,11 @@ public final class Constants {
    */
   public static final String RESOURCES_PATH = "src/main/resources/";
 
+  /**
+   * Devcon´s directory in the user´s home (local scripts, daemon and cache state)
+   */
+  public static final String DEVCON_USER_DIR = ".devcon";
+
   /**
    * The name of the global parameters file
    */
@@ -219,6 +224,16 @@ public final class Constants {
    */
   public static final String CONSOLE_PROMPT_TEXT = "Console output here... ";
 
+  /**
+   * LOG_FILTER_PROMPT_TEXT
+   */
+  public static final String LOG_FILTER_PROMPT_TEXT = "Filter output...";
+
+  /**
+   * SAVE_LOG
+   */
+  public static final String SAVE_LOG = "Save log";
+
   /**
    * BACK
    */
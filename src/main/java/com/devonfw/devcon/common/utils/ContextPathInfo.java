@@ -23,6 +23,7 @@ import java.net.URL;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -39,6 +40,7 @@ import com.devonfw.devcon.common.api.data.DistributionInfo;
 import com.devonfw.devcon.common.api.data.DistributionType;
 import com.devonfw.devcon.common.api.data.ProjectInfo;
 import com.devonfw.devcon.common.api.data.ProjectType;
+import com.devonfw.devcon.common.api.utils.FolderProcessor;
 import com.devonfw.devcon.common.exception.InvalidConfigurationStateException;
 import com.devonfw.devcon.common.impl.DistributionInfoImpl;
 import com.devonfw.devcon.common.impl.ProjectInfoImpl;
@@ -65,6 +67,8 @@ public class ContextPathInfo {
 
   private static final String VERSION = "version";
 
+  private static final String WORKSPACES = "workspaces";
+
   private static final String CONF_SETTINGS_JSON = "conf/settings.json";
 
   private static final String DEVON_JSON = "devon.json";
@@ -75,6 +79,23 @@ public class ContextPathInfo {
 
   private static final String OASP4J = "oasp4j";
 
+  /**
+   * Resolved distributions and projects by folder, shared by all instances
+   */
+  private static final FolderInfoCache<DistributionInfo> DISTRIBUTIONS = new FolderInfoCache<>();
+
+  private static final FolderInfoCache<ProjectInfo> PROJECTS = new FolderInfoCache<>();
+
+  /**
+   * Working directory of the client when running as daemon (the JVM´s own working directory cannot be changed)
+   */
+  private static final InheritableThreadLocal<Path> WORKING_DIRECTORY = new InheritableThreadLocal<>();
+
+  /**
+   * Global options as read from the global parameters file, which does not change while running
+   */
+  private static volatile List<DevconOption> globalOptions;
+
   /**
    *
    * @param path get {@link Path} from Strng
@@ -82,6 +103,10 @@ public class ContextPathInfo {
    */
   private Path getPath(String path) {
 
+    Path workingDirectory = WORKING_DIRECTORY.get();
+    if (workingDirectory != null) {
+      return workingDirectory.resolve(path);
+    }
     return FileSystems.getDefault().getPath(path);
   }
 
@@ -91,10 +116,28 @@ public class ContextPathInfo {
    */
   public Path getCurrentWorkingDirectory() {
 
+    Path workingDirectory = WORKING_DIRECTORY.get();
+    if (workingDirectory != null) {
+      return workingDirectory;
+    }
     File file = new File(".");
     return getPath(file.getAbsolutePath());
   }
 
+  /**
+   * Override the working directory for the current thread (and the threads started by it)
+   *
+   * @param workingDirectory absolute path or <code>null</code> to use the JVM´s working directory again
+   */
+  public static void setWorkingDirectory(Path workingDirectory) {
+
+    if (workingDirectory == null) {
+      WORKING_DIRECTORY.remove();
+    } else {
+      WORKING_DIRECTORY.set(workingDirectory.toAbsolutePath());
+    }
+  }
+
   /**
    *
    * @return User´s HOME directory
@@ -135,22 +178,30 @@ public class ContextPathInfo {
    */
   public Optional<DistributionInfo> getDistributionRoot(Path aPath) {
 
-    DistributionFolderProcessor interceptor = new DistributionFolderProcessor();
+    JfrEvents.Event event = JfrEvents.get().resolution("distribution", aPath);
+    Optional<DistributionInfo> root = Optional.absent();
+    try (Profiler.Span span = Profiler.start("context.distribution", aPath)) {
+      root = findDistributionRoot(aPath);
+      return root;
+    } finally {
+      event.end(root.isPresent() ? root.get().getPath().toString() : "", 0);
+    }
+  }
 
-    try {
-      TreeClimber.climb(aPath, interceptor);
-      if (interceptor.isFound()) {
+  private Optional<DistributionInfo> findDistributionRoot(Path aPath) {
 
-        DistributionInfo info = getDistributionInfo(interceptor.getFoundPath());
-        return Optional.of(info);
-      } else {
-        return Optional.absent();
+    return climb(aPath, DISTRIBUTIONS, new FolderInfoCache.Resolver<DistributionInfo>() {
+      @Override
+      public Optional<DistributionInfo> resolve(Path folder, List<Path> witnesses) throws Exception {
+
+        witnesses.add(folder.resolve(CONF_SETTINGS_JSON));
+        witnesses.add(folder.resolve(WORKSPACES));
+        if (new DistributionFolderProcessor().onFolder(folder)) {
+          return Optional.absent();
+        }
+        return Optional.of(getDistributionInfo(folder));
       }
-    } catch (InvalidConfigurationStateException err) {
-      throw err;
-    } catch (Exception err) {
-      throw new InvalidConfigurationStateException(err);
-    }
+    });
   }
 
   public DistributionInfo getDistributionInfo(Path distPath) throws FileNotFoundException, IOException, ParseException {
@@ -197,28 +248,74 @@ public class ContextPathInfo {
 
   public Optional<ProjectInfo> getProjectRoot(Path currentDir) {
 
-    ProjectFolderProcessor interceptor = new ProjectFolderProcessor();
+    JfrEvents.Event event = JfrEvents.get().resolution("project", currentDir);
+    Optional<ProjectInfo> root = Optional.absent();
+    try (Profiler.Span span = Profiler.start("context.project", currentDir)) {
+      root = findProjectRoot(currentDir);
+      return root;
+    } finally {
+      event.end(root.isPresent() ? root.get().getPath().toString() : "", 0);
+    }
+  }
 
-    try {
-      TreeClimber.climb(currentDir, interceptor);
-      if (interceptor.isFound()) {
+  private Optional<ProjectInfo> findProjectRoot(Path currentDir) {
+
+    return climb(currentDir, PROJECTS, new FolderInfoCache.Resolver<ProjectInfo>() {
+      @Override
+      public Optional<ProjectInfo> resolve(Path folder, List<Path> witnesses) throws Exception {
 
-        ProjectInfo info = getProjectInfo(interceptor.getFoundPath());
-        return Optional.of(info);
-      } else {
-        return Optional.absent();
+        witnesses.add(folder.resolve(DEVON_JSON));
+        if (new ProjectFolderProcessor().onFolder(folder)) {
+          return Optional.absent();
+        }
+        return Optional.of(getProjectInfo(folder, witnesses));
       }
+    });
+  }
+
+  /**
+   * Climb from path to the root, returning the first folder resolved by the (cached) resolver
+   */
+  private <T> Optional<T> climb(Path path, final FolderInfoCache<T> cache, final FolderInfoCache.Resolver<T> resolver) {
+
+    final List<T> found = new ArrayList<>(1);
+    try {
+      TreeClimber.climb(path, new FolderProcessor() {
+        @Override
+        public boolean onFolder(Path folder) {
+
+          Optional<T> info = cache.get(folder, resolver);
+          if (info.isPresent()) {
+            found.add(info.get());
+            // found, cancel further climbing
+            return false;
+          }
+          return true;
+        }
+      });
     } catch (InvalidConfigurationStateException err) {
       throw err;
     } catch (Exception err) {
       throw new InvalidConfigurationStateException(err);
     }
-
+    return found.isEmpty() ? Optional.<T> absent() : Optional.of(found.get(0));
   }
 
   public ProjectInfo getProjectInfo(Path projectPath) throws FileNotFoundException, IOException, ParseException {
 
+    return getProjectInfo(projectPath, new ArrayList<Path>());
+  }
+
+  /**
+   * @param witnesses to be filled with the devon.json files read
+   */
+  private ProjectInfo getProjectInfo(Path projectPath, List<Path> witnesses)
+      throws FileNotFoundException, IOException, ParseException {
+
     Path settingsPath = projectPath.resolve(DEVON_JSON);
+    if (!witnesses.contains(settingsPath)) {
+      witnesses.add(settingsPath);
+    }
     JSONParser parser = new JSONParser();
     Object obj = parser.parse(new FileReader(settingsPath.toFile()));
 
@@ -234,7 +331,7 @@ public class ContextPathInfo {
       JSONArray subJson = (JSONArray) config.get("projects");
       for (Object e : subJson) {
         Path resolved = projectPath.resolve(e.toString());
-        projects.add(getProjectInfo(resolved));
+        projects.add(getProjectInfo(resolved, witnesses));
       }
 
     } else if (projtype.toLowerCase().equals(OASP4J)) {
@@ -281,19 +378,28 @@ public class ContextPathInfo {
     return this.getCombinedProjectRoot(getCurrentWorkingDirectory());
   }
 
+  /**
+   * @return the global options, read once from the global parameters file
+   */
   public List<DevconOption> getGlobalOptions() {
 
-    List<DevconOption> globalOptions = new ArrayList<DevconOption>();
-
-    String root = (Devcon.IN_EXEC_JAR) ? "resources/" : "";
-    URL globalParamsFileURL = ClassLoader.getSystemClassLoader().getResource(root + Constants.GLOBAL_PARAMS_FILE);
+    List<DevconOption> options = globalOptions;
+    if (options == null) {
+      Profiler.Span span = Profiler.start("context.globalOptions");
+      String root = (Devcon.IN_EXEC_JAR) ? "resources/" : "";
+      URL globalParamsFileURL = ClassLoader.getSystemClassLoader().getResource(root + Constants.GLOBAL_PARAMS_FILE);
 
-    try {
-      return getGlobalOptionsFromResource(globalParamsFileURL);
-    } catch (IOException | ParseException e) {
-      // TODO Auto-generated catch block
-      throw new InvalidConfigurationStateException(e);
+      try {
+        options = Collections.unmodifiableList(getGlobalOptionsFromResource(globalParamsFileURL));
+      } catch (IOException | ParseException e) {
+        // TODO Auto-generated catch block
+        throw new InvalidConfigurationStateException(e);
+      } finally {
+        span.end();
+      }
+      globalOptions = options;
     }
+    return options;
   }
 
   private List<DevconOption> getGlobalOptionsFromResource(URL resourceURL)
@@ -314,8 +420,9 @@ public class ContextPathInfo {
         String opt = j.get("opt") != null ? j.get("opt").toString() : " ";
         String longOpt = j.get("longOpt") != null ? j.get("longOpt").toString() : " ";
         String description = j.get("description") != null ? j.get("description").toString() : " ";
+        boolean hasArg = Boolean.TRUE.equals(j.get("hasArg"));
 
-        globalOptions.add(new DevconOption(opt, longOpt, description));
+        globalOptions.add(new DevconOption(opt, longOpt, description, hasArg));
 
       } catch (Exception e) {
         // TODO implement logs
@@ -15,20 +15,21 @@
  ******************************************************************************/
 package com.devonfw.devcon.common.utils;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.RoundingMode;
-import java.net.InetSocketAddress;
-import java.net.Proxy;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.FileAlreadyExistsException;
 import java.rmi.RemoteException;
 import java.text.DecimalFormat;
+import java.util.HashSet;
+import java.util.Set;
 
 import javax.activation.DataHandler;
 
@@ -43,8 +44,8 @@ import com.collabnet.ce.soap60.webservices.frs.IFrsAppSoap;
 import com.devonfw.devcon.Devcon;
 import com.devonfw.devcon.modules.dist.DistConstants;
 import com.devonfw.devcon.output.ConsoleOutput;
-import com.devonfw.devcon.output.DownloadingProgress;
 import com.devonfw.devcon.output.Output;
+import com.devonfw.devcon.output.Progress;
 import com.google.common.base.Optional;
 
 /**
@@ -54,7 +55,9 @@ import com.google.common.base.Optional;
  */
 public class Downloader {
 
-  public static DownloadingProgress progressBar;
+  private static final String TEAMFORGE_CACHE_KEY = "teamforge:";
+
+  private static final String URL_CACHE_KEY = "url:";
 
   /**
    * Downloads a file from Team Forge repository
@@ -69,13 +72,30 @@ public class Downloader {
       throws Exception {
 
     Thread thread = null;
-    // DownloadingProgress progressBar = null;
+    AttachmentTracker tracker = null;
+    Progress progress = null;
     Output out = new ConsoleOutput();
     String fileName = "";
     String tempFilePath = "";
     String userTempDir = System.getProperty("java.io.tmpdir");
 
+    ArtifactCache cache = ArtifactCache.getDefault();
+    String cacheKey = TEAMFORGE_CACHE_KEY + frsFileId;
+    Profiler.Span span = Profiler.start("download.teamforge", frsFileId);
+
     try {
+      Optional<ArtifactCache.Entry> cached = cache.get(cacheKey);
+      if (cached.isPresent()) {
+        fileName = cached.get().getName();
+        File fileInLocal = new File(path + File.separator + fileName);
+        if (fileInLocal.exists())
+          throw new FileAlreadyExistsException(path + File.separator + fileName);
+
+        out.status("Using " + fileName + " from the cache " + cached.get().getFile().getParent());
+        cache.copyTo(cacheKey, fileInLocal);
+        return Optional.of(fileName);
+      }
+
       ICollabNetSoap _sfSoap =
           (ICollabNetSoap) ClientSoapStubFactory.getSoapStub(ICollabNetSoap.class, DistConstants.REPOSITORY_URL);
 
@@ -109,19 +129,22 @@ public class Downloader {
             out.status(
                 "Downloading " + file.getFilename() + " (" + df.format(size) + "MB). It may take a few minutes.");
 
-            // start showing progressBar
-            progressBar = new DownloadingProgress(file.getSize(), userTempDir);
-            thread = new Thread(progressBar);
+            // start showing progress
+            progress = new Progress("Downloading", file.getSize());
+            tracker = new AttachmentTracker(new File(userTempDir), progress);
+            thread = new Thread(tracker);
+            thread.setDaemon(true);
             thread.start();
+            out.showProgress(progress);
 
             // downloading
             DataHandler hdl = _fileStorageAppSoap.downloadFile(sessionId, fileStorageId);
 
-            // end progressBar
-            if (thread != null) {
-              progressBar.terminate();
-              thread.join();
-            }
+            // end progress
+            tracker.terminate();
+            thread.join();
+            progress.set(file.getSize());
+            progress.finish();
 
             // converting the temporal file to a "real" file
             if (hdl != null) {
@@ -132,6 +155,13 @@ public class Downloader {
               IOUtils.closeQuietly(os);
               IOUtils.closeQuietly(is);
               out.statusInNewLine("File downloaded successfully.");
+
+              try {
+                cache.put(cacheKey, new File(path + File.separator + fileName), fileName);
+              } catch (IOException e) {
+                // TODO implement logs
+                System.out.println("[ERROR] at Downloader#downloadFromTeamForge: not cached: " + e.getMessage());
+              }
             }
 
           } else {
@@ -158,6 +188,11 @@ public class Downloader {
       out.showError(e.getMessage());
       return null;
     } finally {
+      span.end();
+      if (tracker != null) {
+        tracker.terminate();
+        progress.finish();
+      }
       File tempFile = new File(tempFilePath);
       if (tempFile.exists()) {
         // TODO implement logs
@@ -180,44 +215,130 @@ public class Downloader {
    */
   public void downloadFile(String source, String path, String tempFileName) throws Exception {
 
-    OutputStream outputStream = null;
-    InputStream inputStream = null;
-
-    try {
+    downloadFile(source, path, tempFileName, Optional.<String> absent());
+  }
 
-      Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress("1.0.5.10", 8080));
+  /**
+   * Downloads a file from a URL and verifies its checksum
+   *
+   * @param source the location of the file
+   * @param path the file destiny in local machine
+   * @param fileName the file name
+   * @param sha256 expected SHA-256 checksum (hex) of the file, if known
+   * @throws IOException if the file can not be downloaded or the checksum does not match
+   */
+  public void downloadFile(String source, String path, String fileName, Optional<String> sha256)
+      throws IOException {
 
-      // File ZIP without authentication [OK]------------------------------------------
+    ArtifactCache cache = ArtifactCache.getDefault();
+    File target = new File(path, fileName);
 
+    try (Profiler.Span span = Profiler.start("download", source)) {
       URL url = new URL(source);
-
-      File folder = new File(path);
-      if (!folder.exists()) {
-        folder.mkdirs();
+      ChunkedDownloader downloader = new ChunkedDownloader();
+      Optional<String> cacheKey = getCacheKey(downloader, url, sha256);
+      if (cacheKey.isPresent() && cache.copyTo(cacheKey.get(), target).isPresent()) {
+        return;
       }
 
-      outputStream =
-          new BufferedOutputStream(new FileOutputStream(new File(path + File.separator + tempFileName /*
-                                                                              * + ".zip"
-                                                                              */)));
-      inputStream = url.openConnection(proxy).getInputStream();
-      final byte[] buffer = new byte[65536];
-      while (true) {
-        final int len = inputStream.read(buffer);
-        if (len < 0) {
-          break;
+      // resumable; proxy as configured through Utils.setProxy
+      downloader.download(url, target, sha256);
+
+      if (cacheKey.isPresent()) {
+        try {
+          cache.put(cacheKey.get(), target, fileName);
+        } catch (IOException e) {
+          // TODO implement logs
+          System.out.println("[ERROR] at Downloader#downloadFile: not cached: " + e.getMessage());
         }
-        outputStream.write(buffer, 0, len);
+      }
+    }
+  }
+
+  /**
+   * The same URL may serve another file tomorrow, so the cache key names the content as well: its expected checksum
+   * or, if that is not known, the version (ETag or Last-Modified) the server announces right now. Without either, the
+   * download is not cached at all.
+   */
+  private static Optional<String> getCacheKey(ChunkedDownloader downloader, URL source, Optional<String> sha256) {
+
+    if (sha256.isPresent()) {
+      return Optional.of(URL_CACHE_KEY + source + "#sha256=" + sha256.get().trim().toLowerCase());
+    }
+    try {
+      Optional<String> version = downloader.getVersion(source);
+      if (version.isPresent()) {
+        return Optional.of(URL_CACHE_KEY + source + "#version=" + version.get());
+      }
+    } catch (IOException e) {
+      // not reachable now; the download itself will report it
+    }
+    return Optional.absent();
+  }
+
+  /**
+   * Follows a TeamForge download. Axis receives the SOAP attachment completely, into a ".att" file in the temp
+   * directory, before {@code downloadFile} returns, so there is no stream of ours to count; instead the attachment file
+   * of this download is looked up once and its size published as the progress.
+   */
+  private static class AttachmentTracker implements Runnable {
+
+    private static final long INTERVAL_MS = 250;
+
+    private final File dir;
 
+    private final Progress progress;
+
+    private final Set<String> existing = new HashSet<>();
+
+    private volatile boolean running = true;
+
+    AttachmentTracker(File dir, Progress progress) {
+      this.dir = dir;
+      this.progress = progress;
+      for (File file : attachments()) {
+        this.existing.add(file.getName());
       }
+    }
 
-    } catch (Exception e) {
-      throw e;
-    } finally {
-      if (outputStream != null)
-        outputStream.close();
+    void terminate() {
+
+      this.running = false;
     }
 
+    @Override
+    public void run() {
+
+      File attachment = null;
+      while (this.running) {
+        if (attachment == null) {
+          for (File file : attachments()) {
+            if (!this.existing.contains(file.getName())) {
+              attachment = file;
+            }
+          }
+        } else {
+          this.progress.set(attachment.length());
+        }
+        try {
+          Thread.sleep(INTERVAL_MS);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    }
+
+    private File[] attachments() {
+
+      File[] files = this.dir.listFiles(new FilenameFilter() {
+        @Override
+        public boolean accept(File d, String name) {
+
+          return name.endsWith(".att");
+        }
+      });
+      return (files != null) ? files : new File[0];
+    }
   }
 
   /**
@@ -229,7 +350,7 @@ public class Downloader {
    */
   public static Optional<String> getDevconConfigProperty(String property) {
 
-    try {
+    try (Profiler.Span span = Profiler.start("download.versionJson", Devcon.VERSION_URL)) {
       String propertyValue = null;
       JSONObject json = null;
 
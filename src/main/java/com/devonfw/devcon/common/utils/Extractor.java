@@ -16,11 +16,32 @@
 package com.devonfw.devcon.common.utils;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
+
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.devonfw.devcon.output.Output;
+import com.devonfw.devcon.output.Progress;
+import com.devonfw.devcon.output.ProgressInputStream;
 
 /**
  * This class includes the extracting functionality for extracting compressed files
@@ -29,6 +50,19 @@ import java.util.zip.ZipInputStream;
  */
 public class Extractor {
 
+  /**
+   * Size of the per-thread copy buffers
+   */
+  private static final int BUFFER_SIZE = 256 * 1024;
+
+  private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<byte[]>() {
+    @Override
+    protected byte[] initialValue() {
+
+      return new byte[BUFFER_SIZE];
+    }
+  };
+
   /**
    * Method that extracts a compressed ZIP file and stores the uncompressed files in a given path
    *
@@ -37,52 +71,153 @@ public class Extractor {
    */
   public static void unZip(String zipFile, String outputFolder) {
 
-    byte[] buffer = new byte[1024];
-
     try {
+      unZip(new File(zipFile), new File(outputFolder), new ConsoleOutput());
+    } catch (IOException ex) {
+      ex.printStackTrace();
+    }
+  }
 
-      File folder = new File(outputFolder);
-      if (!folder.exists()) {
-        folder.mkdir();
-      }
-
-      ZipInputStream zis = new ZipInputStream(new FileInputStream(zipFile));
-      ZipEntry ze = zis.getNextEntry();
-
-      while (ze != null) {
-        if (ze.isDirectory()) {
-          ze = zis.getNextEntry();
-          continue;
+  /**
+   * Extracts a ZIP file. Entries are read through the central directory and decompressed in parallel, one task per
+   * entry; directories are created up front, modification times are preserved and entries that would end up outside
+   * of the output folder ("zip slip") are rejected before anything is written.
+   *
+   * @param zipFile the compressed file
+   * @param outputFolder the folder to extract to
+   * @param output to report progress to
+   * @throws IOException if the file cannot be read, an entry cannot be written or an entry name is not allowed
+   */
+  public static void unZip(File zipFile, File outputFolder, Output output) throws IOException {
+
+    Path root = outputFolder.getCanonicalFile().toPath();
+
+    try (final ZipFile zip = new ZipFile(zipFile)) {
+
+      // first pass: validate names and collect directories (including implicit ones)
+      Map<Path, Long> directories = new TreeMap<>();
+      List<ZipEntry> files = new ArrayList<>();
+      long totalSize = 0;
+
+      Enumeration<? extends ZipEntry> entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        Path target = resolve(root, entry);
+        if (entry.isDirectory()) {
+          if (!target.equals(root)) {
+            directories.put(target, entry.getTime());
+          }
+        } else {
+          files.add(entry);
+          totalSize += Math.max(entry.getSize(), 0);
+          for (Path dir = target.getParent(); !dir.equals(root) && !directories.containsKey(dir); dir = dir.getParent()) {
+            directories.put(dir, -1L);
+          }
         }
+      }
 
-        String fileName = ze.getName();
-        File newFile = new File(outputFolder + File.separator + fileName);
+      Files.createDirectories(root);
+      for (Path dir : directories.keySet()) {
+        Files.createDirectories(dir);
+      }
 
-        System.out.println("file unzip : " + newFile.getAbsoluteFile());
+      // largest entries first, so a big file does not end up as the last task
+      Collections.sort(files, new Comparator<ZipEntry>() {
+        @Override
+        public int compare(ZipEntry a, ZipEntry b) {
 
-        File parent = new File(newFile.getParent());
-        if (!parent.exists()) {
-          parent.mkdirs();
+          return Long.compare(b.getSize(), a.getSize());
         }
+      });
+
+      output.status("Extracting %s (%s files, %s MB)...", zipFile.getName(), String.valueOf(files.size()),
+          String.valueOf(totalSize / (1024 * 1024)));
+
+      final Progress progress = new Progress("Extracting " + zipFile.getName(), totalSize);
+      output.showProgress(progress);
+      final AtomicBoolean failed = new AtomicBoolean();
+      ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+      List<Future<?>> tasks = new ArrayList<>(files.size());
+      long start = System.currentTimeMillis();
+      try {
+        for (final ZipEntry entry : files) {
+          final File target = resolve(root, entry).toFile();
+          tasks.add(executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+
+              if (!failed.get()) {
+                try {
+                  extract(zip, entry, target, progress);
+                } catch (IOException | RuntimeException e) {
+                  failed.set(true);
+                  throw e;
+                }
+              }
+              return null;
+            }
+          }));
+        }
+        executor.shutdown();
 
-        FileOutputStream fos = new FileOutputStream(newFile);
-
-        int len;
-        while ((len = zis.read(buffer)) > 0) {
-          fos.write(buffer, 0, len);
+        for (Future<?> task : tasks) {
+          task.get();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Extraction of " + zipFile + " interrupted");
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
         }
+        throw new IOException(e.getCause());
+      } finally {
+        executor.shutdownNow();
+        progress.finish();
+      }
 
-        fos.close();
-        ze = zis.getNextEntry();
+      // directory times last, as creating their content changes them
+      for (Map.Entry<Path, Long> dir : directories.entrySet()) {
+        if (dir.getValue() > 0) {
+          dir.getKey().toFile().setLastModified(dir.getValue());
+        }
       }
 
-      zis.closeEntry();
-      zis.close();
+      long millis = Math.max(System.currentTimeMillis() - start, 1);
+      output.status("Extracted %s files (%s MB) in %s s", String.valueOf(files.size()),
+          String.valueOf(progress.getDone() / (1024 * 1024)), String.valueOf(millis / 1000));
+    }
+  }
+
+  /**
+   * @return the target of the entry, which must be inside the root folder
+   */
+  private static Path resolve(Path root, ZipEntry entry) throws IOException {
 
-      System.out.println("Done");
+    Path target = root.resolve(entry.getName()).normalize();
+    if (!target.startsWith(root)) {
+      throw new IOException("Illegal entry in zip file (outside of the target folder): " + entry.getName());
+    }
+    return target;
+  }
 
-    } catch (IOException ex) {
-      ex.printStackTrace();
+  private static void extract(ZipFile zip, ZipEntry entry, File target, Progress progress) throws IOException {
+
+    byte[] buffer = BUFFERS.get();
+    JfrEvents.Event event = JfrEvents.get().extract(zip.getName(), entry.getName());
+    long bytes = 0;
+    try (InputStream in = new ProgressInputStream(zip.getInputStream(entry), progress);
+        OutputStream out = new FileOutputStream(target)) {
+      int len;
+      while ((len = in.read(buffer)) > 0) {
+        out.write(buffer, 0, len);
+        bytes += len;
+      }
+    } finally {
+      event.end(null, bytes);
+    }
+    if (entry.getTime() > 0) {
+      target.setLastModified(entry.getTime());
     }
   }
 }
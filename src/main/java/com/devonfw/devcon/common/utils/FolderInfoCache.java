@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.devonfw.devcon.common.exception.InvalidConfigurationStateException;
+import com.google.common.base.Optional;
+
+/**
+ * Cache of per-folder resolution results (as well found as not found). Each result is stored together with the
+ * modification time and size of the files it was derived from ("witnesses") and is resolved again once any of them
+ * changes, appears or disappears
+ *
+ * @param <T> type of the resolved information
+ */
+class FolderInfoCache<T> {
+
+  /**
+   * Resolves the information of a single folder
+   *
+   * @param <T> type of the resolved information
+   */
+  interface Resolver<T> {
+
+    /**
+     * @param folder folder to resolve
+     * @param witnesses to be filled with the files (or folders) the result depends on
+     * @return information, or absent when the folder does not qualify
+     * @throws Exception when the folder´s configuration is invalid
+     */
+    Optional<T> resolve(Path folder, List<Path> witnesses) throws Exception;
+  }
+
+  private final ConcurrentMap<Path, Entry<T>> entries = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * @param folder folder to resolve
+   * @param resolver called when there is no valid cached result
+   * @return (cached) resolution result
+   */
+  Optional<T> get(Path folder, Resolver<T> resolver) {
+
+    Entry<T> entry = this.entries.get(folder);
+    if ((entry != null) && entry.isValid()) {
+      this.hits.incrementAndGet();
+      return entry.info;
+    }
+
+    this.misses.incrementAndGet();
+    List<Path> witnesses = new ArrayList<>();
+    Optional<T> info;
+    try {
+      info = resolver.resolve(folder, witnesses);
+    } catch (InvalidConfigurationStateException err) {
+      throw err;
+    } catch (Exception err) {
+      throw new InvalidConfigurationStateException(err);
+    }
+
+    this.entries.put(folder, new Entry<>(info, witnesses));
+    return info;
+  }
+
+  /**
+   * @return number of resolutions served from the cache
+   */
+  long getHits() {
+
+    return this.hits.get();
+  }
+
+  /**
+   * @return number of resolutions which accessed the folder´s files
+   */
+  long getMisses() {
+
+    return this.misses.get();
+  }
+
+  /**
+   * Remove all cached results
+   */
+  void clear() {
+
+    this.entries.clear();
+  }
+
+  /**
+   * @return modification time and size of the path, or <code>null</code> when it does not exist
+   */
+  private static long[] stamp(Path path) {
+
+    try {
+      BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+      return new long[] { attrs.lastModifiedTime().toMillis(), attrs.size() };
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * A cached result with the stamps of its witnesses
+   */
+  private static class Entry<T> {
+
+    private final Optional<T> info;
+
+    private final Path[] witnesses;
+
+    private final long[][] stamps;
+
+    Entry(Optional<T> info, List<Path> witnesses) {
+      this.info = info;
+      this.witnesses = witnesses.toArray(new Path[witnesses.size()]);
+      this.stamps = new long[this.witnesses.length][];
+      for (int i = 0; i < this.witnesses.length; i++) {
+        this.stamps[i] = stamp(this.witnesses[i]);
+      }
+    }
+
+    boolean isValid() {
+
+      for (int i = 0; i < this.witnesses.length; i++) {
+        long[] current = stamp(this.witnesses[i]);
+        if ((current == null) ? (this.stamps[i] != null)
+            : ((this.stamps[i] == null) || (current[0] != this.stamps[i][0]) || (current[1] != this.stamps[i][1]))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
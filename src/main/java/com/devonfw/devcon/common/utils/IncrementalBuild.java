@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.IOException;
+
+import com.devonfw.devcon.common.api.data.ProjectInfo;
+import com.devonfw.devcon.output.Output;
+import com.google.common.base.Optional;
+
+/**
+ * Build of a project which is avoided when possible: skipped when nothing changed since the last successful build
+ * ({@link BuildState}) and replaced by the outputs of an earlier build of the same inputs if the {@link BuildCache} has
+ * them. Problems of the build cache are reported, but don´t fail the build.
+ *
+ * <pre>
+ * IncrementalBuild build = new IncrementalBuild(project, BuildCache.getDefault(), output);
+ * if (build.isNeeded(force)) {
+ *   build.finished(run the build);
+ * }
+ * </pre>
+ */
+public class IncrementalBuild {
+
+  private final BuildState state;
+
+  private final Optional<BuildCache> cache;
+
+  private final Output output;
+
+  private BuildState.Fingerprint fingerprint;
+
+  /**
+   * @param project the project to build
+   * @param cache the build cache, if any
+   * @param output to report to
+   */
+  public IncrementalBuild(ProjectInfo project, Optional<BuildCache> cache, Output output) {
+    this.state = BuildState.of(project);
+    this.cache = cache;
+    this.output = output;
+  }
+
+  public BuildState getState() {
+
+    return this.state;
+  }
+
+  /**
+   * @param force build in any case
+   * @return whether the project has to be built; if not its outputs are up to date or have been restored
+   * @throws IOException if the project cannot be read or the outputs cannot be restored
+   * @throws InterruptedException if interrupted while fingerprinting the inputs
+   */
+  public boolean isNeeded(boolean force) throws IOException, InterruptedException {
+
+    this.fingerprint = this.state.fingerprint();
+    if (force) {
+      return true;
+    }
+
+    if (this.state.isUpToDate(this.fingerprint)) {
+      this.output.showMessage(
+          "Build skipped, the project has not changed since the last successful build (use --force to build anyway)");
+      return false;
+    }
+
+    if (this.cache.isPresent()) {
+      String location = this.cache.get().getStore().getLocation();
+      try {
+        if (this.cache.get().restore(this.state, this.fingerprint, this.output)) {
+          this.state.recordSuccess(this.fingerprint);
+          this.output.showMessage("Build skipped, outputs of the same sources restored from the build cache %s",
+              location);
+          return false;
+        }
+      } catch (IOException e) {
+        this.output.showMessage("Build cache %s not available: %s", location, String.valueOf(e.getMessage()));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Records the result of the build and adds the outputs of a successful one to the build cache
+   *
+   * @param success whether the build succeeded
+   * @throws IOException if the build state cannot be written
+   */
+  public void finished(boolean success) throws IOException {
+
+    if (!success) {
+      this.state.clear();
+      return;
+    }
+
+    this.state.recordSuccess(this.fingerprint);
+    if (this.cache.isPresent()) {
+      try {
+        this.cache.get().save(this.state, this.fingerprint);
+      } catch (IOException e) {
+        this.output.showMessage("Build outputs not added to the build cache %s: %s",
+            this.cache.get().getStore().getLocation(), String.valueOf(e.getMessage()));
+      }
+    }
+  }
+}
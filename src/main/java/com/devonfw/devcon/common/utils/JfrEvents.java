@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Emits devcon's own Java Flight Recorder events: commands, parameter binding, distribution and project resolution,
+ * processes, downloaded chunks and extracted entries. So a recording (started with --jfr, -XX:StartFlightRecording or
+ * from JMC) shows where a run spent its time next to the JVM's own events.
+ * <p>
+ * The events themselves live in {@code com.devonfw.devcon.common.utils.jfr}, which is only loaded by {@link #install}
+ * on a JVM with a flight recorder (Java 11+, 8u262+). Until then, and on older JVMs, every method here does nothing.
+ */
+public class JfrEvents {
+
+  private static final String FLIGHT_RECORDER = "jdk.jfr.FlightRecorder";
+
+  private static final String IMPLEMENTATION = "com.devonfw.devcon.common.utils.jfr.FlightRecorderEvents";
+
+  private static final JfrEvents NONE = new JfrEvents();
+
+  private static volatile JfrEvents current = NONE;
+
+  /**
+   * Only for the implementation
+   */
+  protected JfrEvents() {
+  }
+
+  /**
+   * @return the events of this run
+   */
+  public static JfrEvents get() {
+
+    return current;
+  }
+
+  /**
+   * @param args the command line
+   * @return the file given with the --jfr option (checked before the command line is parsed, so the startup is
+   *         recorded as well), or {@code null}
+   */
+  public static String requestedFile(String[] args) {
+
+    for (int i = 0; i < args.length - 1; i++) {
+      if ("--".equals(args[i])) {
+        return null;
+      }
+      if ("--jfr".equals(args[i]) || "-jfr".equals(args[i])) {
+        return args[i + 1];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Emits the events from now on, if the JVM has a flight recorder
+   *
+   * @return whether the events are emitted
+   */
+  public static synchronized boolean install() {
+
+    if (current == NONE) {
+      try {
+        current = (JfrEvents) Class.forName(IMPLEMENTATION).newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+        // no jdk.jfr (Java 7, early Java 8): stay silent
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Emits the events from now on, if the flight recorder of the JVM is already running (e.g. started with
+   * -XX:StartFlightRecording). Loading the events otherwise would start the flight recorder, which takes a while.
+   *
+   * @return whether the events are emitted
+   */
+  public static boolean installIfRecording() {
+
+    try {
+      Object initialized = Class.forName(FLIGHT_RECORDER).getMethod("isInitialized").invoke(null);
+      return Boolean.TRUE.equals(initialized) && install();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * Starts a recording of the JVM's default events and devcon's events, which is written to the file when stopped
+   * (see {@link #stopRecording()}) or when the JVM exits
+   *
+   * @param file where to write the recording
+   * @return whether the recording has been started
+   */
+  public static boolean startRecording(File file) {
+
+    if (!install()) {
+      return false;
+    }
+    try {
+      return current.start(file);
+    } catch (Exception e) {
+      // TODO implement logs
+      System.out.println("[ERROR] at JfrEvents#startRecording: " + e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Stops the recording started by {@link #startRecording(File)} (if any) and writes it to its file
+   */
+  public static void stopRecording() {
+
+    current.stop();
+  }
+
+  /**
+   * @param file where to write the recording
+   * @return whether the recording has been started
+   * @throws Exception if the recording cannot be configured or started
+   */
+  protected boolean start(File file) throws Exception {
+
+    return false;
+  }
+
+  /**
+   * Stops the recording (if any)
+   */
+  protected void stop() {
+
+    // nothing recorded
+  }
+
+  /**
+   * @param module the module
+   * @param command the command
+   * @return the event, to be ended with the {@link com.devonfw.devcon.common.CommandResult} as result
+   */
+  public Event command(String module, String command) {
+
+    return Event.NONE;
+  }
+
+  /**
+   * @param module the module
+   * @param command the command
+   * @return the event, to be ended with the {@link com.devonfw.devcon.common.CommandResult} of the binding as result
+   */
+  public Event binding(String module, String command) {
+
+    return Event.NONE;
+  }
+
+  /**
+   * @param kind what is looked for ("distribution" or "project")
+   * @param folder the folder to look from
+   * @return the event, to be ended with the root found (or an empty string) as result
+   */
+  public Event resolution(String kind, Path folder) {
+
+    return Event.NONE;
+  }
+
+  /**
+   * @param command the program and its arguments
+   * @return the event, to be ended (when the process has exited) with its exit code as value
+   */
+  public Event process(List<String> command) {
+
+    return Event.NONE;
+  }
+
+  /**
+   * @param source the URL
+   * @param offset where the chunk starts
+   * @return the event, to be ended with the number of bytes downloaded as value
+   */
+  public Event download(URL source, long offset) {
+
+    return Event.NONE;
+  }
+
+  /**
+   * @param archive the path of the archive
+   * @param entry the entry
+   * @return the event, to be ended with the number of bytes extracted as value
+   */
+  public Event extract(String archive, String entry) {
+
+    return Event.NONE;
+  }
+
+  /**
+   * An event which has begun and is committed when ended; the duration is the time in between
+   */
+  public static class Event {
+
+    /**
+     * The event used when events are not emitted (or not recorded); ending it does nothing
+     */
+    public static final Event NONE = new Event();
+
+    /**
+     * Only for the implementation
+     */
+    protected Event() {
+    }
+
+    /**
+     * @param result the outcome as text (see the method creating the event)
+     * @param value the outcome as number (see the method creating the event)
+     */
+    public void end(String result, long value) {
+
+      // not emitted
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs named tasks (e.g. the sub-projects of a combined project) concurrently, at most {@code parallelism} at a time.
+ * Fails fast by default: as soon as one task fails, the tasks still running are interrupted (which kills their
+ * processes and the processes started by these, see {@link ProcessRunner#run()}) and the ones not yet started are
+ * skipped.
+ */
+public class ParallelTasks {
+
+  private static final long SHUTDOWN_SECONDS = 30;
+
+  private final int parallelism;
+
+  private final boolean failFast;
+
+  private final Map<String, Callable<Boolean>> tasks = new LinkedHashMap<>();
+
+  private final List<String> failed = Collections.synchronizedList(new ArrayList<String>());
+
+  private final List<String> cancelled = Collections.synchronizedList(new ArrayList<String>());
+
+  /**
+   * @param parallelism maximum number of tasks running at the same time; 0 or less runs all tasks at once
+   */
+  public ParallelTasks(int parallelism) {
+    this(parallelism, true);
+  }
+
+  /**
+   * @param parallelism maximum number of tasks running at the same time; 0 or less runs all tasks at once
+   * @param failFast whether the other tasks are stopped as soon as one fails
+   */
+  public ParallelTasks(int parallelism, boolean failFast) {
+    this.parallelism = parallelism;
+    this.failFast = failFast;
+  }
+
+  /**
+   * @param name the name of the task (unique)
+   * @param task returns whether it succeeded; an exception counts as failure
+   */
+  public void add(String name, Callable<Boolean> task) {
+
+    this.tasks.put(name, task);
+  }
+
+  /**
+   * Runs all tasks and waits for them
+   *
+   * @return whether all tasks succeeded
+   * @throws InterruptedException if interrupted while waiting (the tasks are interrupted as well)
+   */
+  public boolean run() throws InterruptedException {
+
+    if (this.tasks.isEmpty()) {
+      return true;
+    }
+
+    int threads = this.parallelism > 0 ? Math.min(this.parallelism, this.tasks.size()) : this.tasks.size();
+    ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable r) {
+
+        return new Thread(r, "devcon-task-" + this.count.incrementAndGet());
+      }
+    });
+
+    CompletionService<Boolean> completion = new ExecutorCompletionService<>(pool);
+    Map<Future<Boolean>, String> futures = new LinkedHashMap<>();
+    for (Map.Entry<String, Callable<Boolean>> task : this.tasks.entrySet()) {
+      futures.put(completion.submit(task.getValue()), task.getKey());
+    }
+
+    try {
+      for (int i = 0; i < futures.size() && (!this.failFast || this.failed.isEmpty()); i++) {
+        Future<Boolean> future = completion.take();
+        boolean ok;
+        try {
+          ok = Boolean.TRUE.equals(future.get());
+        } catch (ExecutionException e) {
+          // TODO implement logs
+          System.out.println("[ERROR] at ParallelTasks#run: " + futures.get(future) + ": " + e.getCause());
+          ok = false;
+        }
+        if (!ok) {
+          this.failed.add(futures.get(future));
+        }
+      }
+    } finally {
+      for (Map.Entry<Future<Boolean>, String> future : futures.entrySet()) {
+        if (!future.getKey().isDone() && future.getKey().cancel(true)) {
+          this.cancelled.add(future.getValue());
+        }
+      }
+      pool.shutdownNow();
+      pool.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+    }
+    return this.failed.isEmpty();
+  }
+
+  /**
+   * @return the names of the tasks that failed
+   */
+  public List<String> getFailed() {
+
+    return new ArrayList<>(this.failed);
+  }
+
+  /**
+   * @return the names of the tasks that were interrupted or skipped because another task failed
+   */
+  public List<String> getCancelled() {
+
+    return new ArrayList<>(this.cancelled);
+  }
+}
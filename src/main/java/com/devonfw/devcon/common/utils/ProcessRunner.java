@@ -0,0 +1,552 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.SystemUtils;
+
+import com.devonfw.devcon.output.Output;
+
+/**
+ * Runs external processes (Maven, npm, distribution scripts). Standard output and standard error are drained
+ * concurrently on a shared pool of daemon threads, so a chatty child never blocks on a full pipe, and each line is handed
+ * to a {@link LineHandler} (typically an {@link Output}). Waiting for a process blocks on its exit instead of polling.
+ */
+public class ProcessRunner {
+
+  /**
+   * Receives the lines written by a process. Called from the pump threads; stdout and stderr lines may arrive
+   * concurrently.
+   */
+  public interface LineHandler {
+
+    /**
+     * @param line the line, without terminator
+     * @param error whether the line was written to standard error
+     */
+    void onLine(String line, boolean error);
+  }
+
+  /**
+   * Exit code and timing of a finished process
+   */
+  public static class Result {
+
+    private final int exitCode;
+
+    private final long durationMillis;
+
+    Result(int exitCode, long durationMillis) {
+      this.exitCode = exitCode;
+      this.durationMillis = durationMillis;
+    }
+
+    public int getExitCode() {
+
+      return this.exitCode;
+    }
+
+    /**
+     * @return the time from start until the process exited and its output was drained
+     */
+    public long getDurationMillis() {
+
+      return this.durationMillis;
+    }
+
+    public boolean isSuccess() {
+
+      return this.exitCode == 0;
+    }
+
+    @Override
+    public String toString() {
+
+      return "exit code " + this.exitCode + " after " + this.durationMillis + " ms";
+    }
+  }
+
+  /**
+   * A started process
+   */
+  public static class Execution {
+
+    private final Process process;
+
+    private final long start;
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private volatile Result result;
+
+    private final Profiler.Span span;
+
+    private final JfrEvents.Event event;
+
+    Execution(Process process, long start, Profiler.Span span, JfrEvents.Event event) {
+      this.process = process;
+      this.start = start;
+      this.span = span;
+      this.event = event;
+    }
+
+    /**
+     * @return the underlying process (e.g. to write to its input)
+     */
+    public Process getProcess() {
+
+      return this.process;
+    }
+
+    /**
+     * @return whether the process has exited and its output has been drained
+     */
+    public boolean isDone() {
+
+      return this.done.getCount() == 0;
+    }
+
+    /**
+     * Waits until the process has exited and all of its output has been handled
+     *
+     * @return the result
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Result waitFor() throws InterruptedException {
+
+      this.done.await();
+      return this.result;
+    }
+
+    /**
+     * @param timeout maximum time to wait
+     * @param unit unit of timeout
+     * @return the result, or {@code null} when the process has not finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Result waitFor(long timeout, TimeUnit unit) throws InterruptedException {
+
+      return this.done.await(timeout, unit) ? this.result : null;
+    }
+
+    /**
+     * Kills the process and the processes started by it
+     */
+    public void destroy() {
+
+      destroyTree(this.process);
+    }
+
+    void complete(int exitCode) {
+
+      this.result = new Result(exitCode, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start));
+      this.span.end();
+      this.event.end(null, exitCode);
+      this.done.countDown();
+    }
+  }
+
+  /**
+   * Seconds to wait for the output of an exited process. A background child started by a script (e.g. Tomcat) may keep
+   * the pipe open long after the script itself is gone; the pumps keep forwarding its output.
+   */
+  private static final long DRAIN_GRACE_SECONDS = 5;
+
+  private static final ExecutorService PUMPS = Executors.newCachedThreadPool(new ThreadFactory() {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable r) {
+
+      Thread thread = new Thread(r, "devcon-process-" + this.count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  /**
+   * Environment of the client when running as daemon (the JVM´s own environment cannot be changed)
+   */
+  private static final InheritableThreadLocal<Map<String, String>> ENVIRONMENT = new InheritableThreadLocal<>();
+
+  private final List<String> command;
+
+  private File directory;
+
+  private boolean redirectErrorStream;
+
+  private LineHandler handler;
+
+  /**
+   * @param command the program and its arguments
+   */
+  public ProcessRunner(String... command) {
+    this(Arrays.asList(command));
+  }
+
+  /**
+   * @param command the program and its arguments
+   */
+  public ProcessRunner(List<String> command) {
+    this.command = new ArrayList<>(command);
+  }
+
+  /**
+   * Runs a command line through the shell of the operating system ({@code cmd /c} on Windows, {@code bash -c}
+   * elsewhere)
+   *
+   * @param commandLine the command line
+   * @return the runner
+   */
+  public static ProcessRunner shell(String commandLine) {
+
+    if (SystemUtils.IS_OS_WINDOWS) {
+      // split like Runtime.exec(String) did
+      List<String> cmd = new ArrayList<>();
+      StringTokenizer tokens = new StringTokenizer(Constants.WINDOWS_CMD_PROMPT + commandLine);
+      while (tokens.hasMoreTokens()) {
+        cmd.add(tokens.nextToken());
+      }
+      return new ProcessRunner(cmd);
+    } else {
+      return new ProcessRunner(Constants.LINUX_BASH, "-c", commandLine);
+    }
+  }
+
+  /**
+   * Override the environment of the processes started by the current thread (and the threads started by it)
+   *
+   * @param environment the environment or <code>null</code> to use the JVM´s environment again
+   */
+  public static void setEnvironment(Map<String, String> environment) {
+
+    if (environment == null) {
+      ENVIRONMENT.remove();
+    } else {
+      ENVIRONMENT.set(environment);
+    }
+  }
+
+  /**
+   * @return the environment the processes of the current thread are started with
+   */
+  public static Map<String, String> getEnvironment() {
+
+    Map<String, String> environment = ENVIRONMENT.get();
+    return (environment != null) ? environment : System.getenv();
+  }
+
+  /**
+   * @param directory the working directory of the process (default: the working directory of the command, see
+   *        {@link ContextPathInfo#getCurrentWorkingDirectory()})
+   * @return this
+   */
+  public ProcessRunner directory(File directory) {
+
+    this.directory = directory;
+    return this;
+  }
+
+  /**
+   * @param redirectErrorStream whether standard error is merged into standard output
+   * @return this
+   */
+  public ProcessRunner redirectErrorStream(boolean redirectErrorStream) {
+
+    this.redirectErrorStream = redirectErrorStream;
+    return this;
+  }
+
+  /**
+   * @param handler receives every line the process writes
+   * @return this
+   */
+  public ProcessRunner handler(LineHandler handler) {
+
+    this.handler = handler;
+    return this;
+  }
+
+  /**
+   * Shows every line the process writes (standard output and standard error) as a message
+   *
+   * @param output the output
+   * @return this
+   */
+  public ProcessRunner output(final Output output) {
+
+    return handler(new LineHandler() {
+      @Override
+      public void onLine(String line, boolean error) {
+
+        output.showMessage("%s", line);
+      }
+    });
+  }
+
+  /**
+   * @return the command
+   */
+  public List<String> getCommand() {
+
+    return Collections.unmodifiableList(this.command);
+  }
+
+  /**
+   * Starts the process and the threads draining its output
+   *
+   * @return the running process
+   * @throws IOException if the process cannot be started
+   */
+  public Execution start() throws IOException {
+
+    ProcessBuilder builder = new ProcessBuilder(this.command).redirectErrorStream(this.redirectErrorStream);
+    builder.directory(
+        (this.directory != null) ? this.directory : new ContextPathInfo().getCurrentWorkingDirectory().toFile());
+    Map<String, String> environment = ENVIRONMENT.get();
+    if (environment != null) {
+      builder.environment().clear();
+      builder.environment().putAll(environment);
+    }
+    // ends when the process has exited and its output is drained, on a pump thread
+    Profiler.Span span = Profiler.startDetached("process", this.command);
+    JfrEvents.Event event = JfrEvents.get().process(this.command);
+    long start = System.nanoTime();
+    final Process process;
+    try {
+      process = builder.start();
+    } catch (IOException e) {
+      span.end();
+      event.end(null, -1);
+      throw e;
+    }
+    final Execution execution = new Execution(process, start, span, event);
+    final CountDownLatch drained = new CountDownLatch(this.redirectErrorStream ? 1 : 2);
+
+    PUMPS.execute(new Pump(process.getInputStream(), false, this.handler, drained));
+    if (!this.redirectErrorStream) {
+      PUMPS.execute(new Pump(process.getErrorStream(), true, this.handler, drained));
+    }
+    PUMPS.execute(new Runnable() {
+      @Override
+      public void run() {
+
+        int exitCode = -1;
+        try {
+          exitCode = process.waitFor();
+          drained.await(DRAIN_GRACE_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          destroyTree(process);
+          Thread.currentThread().interrupt();
+        } finally {
+          execution.complete(exitCode);
+        }
+      }
+    });
+    return execution;
+  }
+
+  /**
+   * Starts the process and waits for it
+   *
+   * @return the result
+   * @throws IOException if the process cannot be started
+   * @throws InterruptedException if interrupted while waiting (the process is killed)
+   */
+  public Result run() throws IOException, InterruptedException {
+
+    Execution execution = start();
+    try {
+      return execution.waitFor();
+    } catch (InterruptedException e) {
+      execution.destroy();
+      throw e;
+    }
+  }
+
+  @Override
+  public String toString() {
+
+    return this.command.toString();
+  }
+
+  /**
+   * Kills a process together with the processes it started. {@link Process#destroy()} only kills the process itself,
+   * so the java started by mvn.cmd (run through cmd /c), the node of ng or the application forked by spring-boot:run
+   * would keep running (and keep their ports).
+   *
+   * @param process the process
+   */
+  static void destroyTree(Process process) {
+
+    List<Object> descendants = getDescendants(process);
+    if (descendants != null) {
+      // Java 9+, any operating system
+      process.destroy();
+      try {
+        // through the interface: the implementing class is not accessible
+        Method destroyForcibly = Class.forName("java.lang.ProcessHandle").getMethod("destroyForcibly");
+        for (Object descendant : descendants) {
+          destroyForcibly.invoke(descendant);
+        }
+      } catch (ReflectiveOperationException e) {
+        // TODO implement logs
+        System.out.println("[ERROR] at ProcessRunner#destroyTree: " + e.getMessage());
+      }
+      return;
+    }
+
+    long pid = getPid(process);
+    if (pid > 0) {
+      try {
+        List<String> kill = new ArrayList<>(Arrays.asList("kill", "-9"));
+        for (long child : getChildPids(pid)) {
+          kill.add(String.valueOf(child));
+        }
+        if (kill.size() > 2) {
+          new ProcessBuilder(kill).start().waitFor();
+        }
+      } catch (IOException e) {
+        // TODO implement logs
+        System.out.println("[ERROR] at ProcessRunner#destroyTree: " + e.getMessage());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    // Java 8 on Windows has no process ids: only the process itself can be killed
+    process.destroy();
+  }
+
+  /**
+   * @param process the process
+   * @return the handles of all descendants (through ProcessHandle, Java 9+), or {@code null} on older JVMs
+   */
+  private static List<Object> getDescendants(Process process) {
+
+    try {
+      Object handle = Process.class.getMethod("toHandle").invoke(process);
+      Class<?> handleClass = Class.forName("java.lang.ProcessHandle");
+      Object stream = handleClass.getMethod("descendants").invoke(handle);
+      Object[] descendants = (Object[]) Class.forName("java.util.stream.Stream").getMethod("toArray").invoke(stream);
+      return Arrays.asList(descendants);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @param process the process
+   * @return its process id on Java 8 for POSIX systems, otherwise 0 (Java 8 on Windows only has a process handle)
+   */
+  private static long getPid(Process process) {
+
+    try {
+      Field pid = process.getClass().getDeclaredField("pid");
+      pid.setAccessible(true);
+      return pid.getInt(process);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * @param pid a process id
+   * @return the ids of the processes started by it and their descendants (POSIX, through pgrep)
+   */
+  private static List<Long> getChildPids(long pid) throws IOException, InterruptedException {
+
+    List<Long> pids = new ArrayList<>();
+    Process pgrep = new ProcessBuilder("pgrep", "-P", String.valueOf(pid)).redirectErrorStream(true).start();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(pgrep.getInputStream()))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.trim().matches("[0-9]+")) {
+          pids.add(Long.valueOf(line.trim()));
+        }
+      }
+    }
+    pgrep.waitFor();
+
+    List<Long> descendants = new ArrayList<>(pids);
+    for (long child : pids) {
+      descendants.addAll(getChildPids(child));
+    }
+    return descendants;
+  }
+
+  /**
+   * Reads a stream of the process line by line until it is closed
+   */
+  private static class Pump implements Runnable {
+
+    private final InputStream in;
+
+    private final boolean error;
+
+    private final LineHandler handler;
+
+    private final CountDownLatch drained;
+
+    Pump(InputStream in, boolean error, LineHandler handler, CountDownLatch drained) {
+      this.in = in;
+      this.error = error;
+      this.handler = handler;
+      this.drained = drained;
+    }
+
+    @Override
+    public void run() {
+
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(this.in))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (this.handler != null) {
+            try {
+              this.handler.onLine(line, this.error);
+            } catch (RuntimeException e) {
+              // a failing handler must not stop draining, or the process would block
+              // TODO implement logs
+              System.out.println("[ERROR] at ProcessRunner#Pump: " + e.getMessage());
+            }
+          }
+        }
+      } catch (IOException e) {
+        // stream closed because the process was destroyed
+      } finally {
+        this.drained.countDown();
+      }
+    }
+  }
+}
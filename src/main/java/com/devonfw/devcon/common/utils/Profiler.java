@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.commons.io.FileUtils;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * Measures how long the stages of a devcon run take (e.g. registry, project detection, downloads, processes). A stage
+ * is a {@link Span}, which nests into the span open on the same thread:
+ *
+ * <pre>
+ * try (Profiler.Span span = Profiler.start("registry")) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * Unless enabled with the --profile option, {@link #start} only reads a flag and returns a shared span that does
+ * nothing, so the spans can stay in the code.
+ */
+public final class Profiler {
+
+  /**
+   * System property with the file to write the spans to, in the trace event format of Chrome (chrome://tracing)
+   */
+  public static final String TRACE_PROPERTY = "devcon.profile.trace";
+
+  private static final Span NONE = new Span(null, null, null, false);
+
+  private static final Queue<Span> SPANS = new ConcurrentLinkedQueue<>();
+
+  private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+  private static volatile boolean enabled;
+
+  private static volatile long origin;
+
+  private Profiler() {
+  }
+
+  /**
+   * @param args the command line
+   * @return whether the command line contains the --profile option (checked before the command line is parsed, so the
+   *         startup is profiled as well)
+   */
+  public static boolean requested(String[] args) {
+
+    for (String arg : args) {
+      if ("--".equals(arg)) {
+        return false;
+      }
+      if ("--profile".equals(arg) || "-profile".equals(arg) || "-pf".equals(arg) || "--pf".equals(arg)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Starts recording spans
+   */
+  public static synchronized void enable() {
+
+    if (!enabled) {
+      origin = System.nanoTime();
+      enabled = true;
+    }
+  }
+
+  /**
+   * Stops recording spans and forgets the ones recorded
+   */
+  public static synchronized void reset() {
+
+    enabled = false;
+    SPANS.clear();
+    CURRENT.remove();
+  }
+
+  /**
+   * @return whether spans are recorded
+   */
+  public static boolean isEnabled() {
+
+    return enabled;
+  }
+
+  /**
+   * @param name the name of the stage
+   * @return the span, to be ended when the stage is done; it is the parent of the spans started on this thread until
+   *         then
+   */
+  public static Span start(String name) {
+
+    return enabled ? open(name, null, true) : NONE;
+  }
+
+  /**
+   * @param name the name of the stage
+   * @param detail what the stage works on (e.g. the command); only converted to a string when enabled
+   * @return the span, to be ended when the stage is done; it is the parent of the spans started on this thread until
+   *         then
+   */
+  public static Span start(String name, Object detail) {
+
+    return enabled ? open(name, detail, true) : NONE;
+  }
+
+  /**
+   * @param name the name of the stage
+   * @param detail what the stage works on (e.g. the module)
+   * @param detail2 more of it (e.g. the command); both are joined by a space when enabled
+   * @return the span, to be ended when the stage is done; it is the parent of the spans started on this thread until
+   *         then
+   */
+  public static Span start(String name, Object detail, Object detail2) {
+
+    return enabled ? open(name, detail + " " + detail2, true) : NONE;
+  }
+
+  /**
+   * @param name the name of the stage
+   * @param detail what the stage works on (e.g. the command); only converted to a string when enabled
+   * @return a span which does not become the parent of other spans, so it can be ended on another thread (e.g. when a
+   *         process exits)
+   */
+  public static Span startDetached(String name, Object detail) {
+
+    return enabled ? open(name, detail, false) : NONE;
+  }
+
+  private static Span open(String name, Object detail, boolean current) {
+
+    Span span = new Span(name, (detail == null) ? null : detail.toString(), CURRENT.get(), current);
+    if (current) {
+      CURRENT.set(span);
+    }
+    return span;
+  }
+
+  /**
+   * Prints the spans ended so far as a tree and writes them to the file given by {@link #TRACE_PROPERTY} (if any)
+   *
+   * @param out where to print the tree
+   */
+  public static void report(PrintStream out) {
+
+    if (!enabled) {
+      return;
+    }
+    out.print(format());
+
+    String trace = System.getProperty(TRACE_PROPERTY);
+    if ((trace != null) && !trace.isEmpty()) {
+      File file = new File(trace);
+      try {
+        writeTrace(file);
+        out.println("Trace written to " + file.getAbsolutePath());
+      } catch (IOException e) {
+        // TODO implement logs
+        System.out.println("[ERROR] at Profiler#report: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @return the spans ended so far as a tree: total and, for spans with children, own time in milliseconds
+   */
+  public static String format() {
+
+    List<Span> spans = ended();
+    Map<Span, List<Span>> children = new HashMap<>();
+    List<Span> roots = new ArrayList<>();
+    Set<Span> known = new HashSet<>(spans);
+    for (Span span : spans) {
+      if ((span.parent != null) && known.contains(span.parent)) {
+        List<Span> siblings = children.get(span.parent);
+        if (siblings == null) {
+          siblings = new ArrayList<>();
+          children.put(span.parent, siblings);
+        }
+        siblings.add(span);
+      } else {
+        roots.add(span);
+      }
+    }
+
+    StringBuilder report = new StringBuilder(String.format("%12s %12s  %s%n", "total (ms)", "self (ms)", "stage"));
+    for (Span root : roots) {
+      format(report, root, children, "", root.threadId != Thread.currentThread().getId());
+    }
+    return report.toString();
+  }
+
+  private static void format(StringBuilder report, Span span, Map<Span, List<Span>> children, String indent,
+      boolean showThread) {
+
+    List<Span> nested = children.get(span);
+    long self = span.getDurationNanos();
+    if (nested != null) {
+      for (Span child : nested) {
+        self -= child.getDurationNanos();
+      }
+    }
+    report.append(String.format("%12.2f %12s  %s%s%s%n", span.getDurationNanos() / 1e6,
+        (nested == null) ? "" : String.format("%.2f", Math.max(0, self) / 1e6), indent, span.getLabel(),
+        showThread ? " [" + span.threadName + "]" : ""));
+    if (nested != null) {
+      for (Span child : nested) {
+        format(report, child, children, indent + "  ", child.threadId != span.threadId);
+      }
+    }
+  }
+
+  /**
+   * Writes the spans ended so far as trace events (complete events with microsecond timestamps), to be loaded into
+   * chrome://tracing or similar tools
+   *
+   * @param file the file to write
+   * @throws IOException if the file cannot be written
+   */
+  @SuppressWarnings("unchecked")
+  public static void writeTrace(File file) throws IOException {
+
+    JSONArray events = new JSONArray();
+    Map<Long, String> threads = new LinkedHashMap<>();
+    for (Span span : ended()) {
+      JSONObject event = new JSONObject();
+      event.put("name", span.name);
+      event.put("cat", "devcon");
+      event.put("ph", "X");
+      event.put("ts", (span.start - origin) / 1000.0);
+      event.put("dur", span.getDurationNanos() / 1000.0);
+      event.put("pid", 1);
+      event.put("tid", span.threadId);
+      if (span.detail != null) {
+        JSONObject args = new JSONObject();
+        args.put("detail", span.detail);
+        event.put("args", args);
+      }
+      events.add(event);
+      threads.put(span.threadId, span.threadName);
+    }
+    for (Map.Entry<Long, String> thread : threads.entrySet()) {
+      JSONObject event = new JSONObject();
+      event.put("name", "thread_name");
+      event.put("ph", "M");
+      event.put("pid", 1);
+      event.put("tid", thread.getKey());
+      JSONObject args = new JSONObject();
+      args.put("name", thread.getValue());
+      event.put("args", args);
+      events.add(event);
+    }
+
+    JSONObject root = new JSONObject();
+    root.put("traceEvents", events);
+    root.put("displayTimeUnit", "ms");
+    FileUtils.writeStringToFile(file, root.toJSONString(), "UTF-8");
+  }
+
+  private static List<Span> ended() {
+
+    List<Span> spans = new ArrayList<>(SPANS);
+    Collections.sort(spans, new Comparator<Span>() {
+      @Override
+      public int compare(Span a, Span b) {
+
+        return Long.compare(a.start, b.start);
+      }
+    });
+    return spans;
+  }
+
+  /**
+   * A stage being measured; ending it more than once has no effect
+   */
+  public static final class Span implements AutoCloseable {
+
+    private final String name;
+
+    private final String detail;
+
+    private final Span parent;
+
+    private final boolean current;
+
+    private final long threadId;
+
+    private final String threadName;
+
+    private final long start;
+
+    private volatile long end;
+
+    Span(String name, String detail, Span parent, boolean current) {
+      this.name = name;
+      this.detail = detail;
+      this.parent = parent;
+      this.current = current;
+      Thread thread = Thread.currentThread();
+      this.threadId = thread.getId();
+      this.threadName = thread.getName();
+      this.start = (name == null) ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Ends the span; the parent becomes the current span of the thread again (also when a nested span has not been
+     * ended, e.g. after an exception)
+     */
+    public void end() {
+
+      if ((this.name == null) || (this.end != 0)) {
+        return;
+      }
+      this.end = System.nanoTime();
+      SPANS.add(this);
+      if (this.current && (Thread.currentThread().getId() == this.threadId)) {
+        if (this.parent == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(this.parent);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+
+      end();
+    }
+
+    /**
+     * @return the name, followed by the detail if any
+     */
+    public String getLabel() {
+
+      return (this.detail == null) ? this.name : this.name + " " + this.detail;
+    }
+
+    /**
+     * @return the duration in nanoseconds (0 while not ended)
+     */
+    public long getDurationNanos() {
+
+      return (this.end == 0) ? 0 : this.end - this.start;
+    }
+  }
+}
@@ -16,11 +16,8 @@
 package com.devonfw.devcon.common.utils;
 
 import java.awt.Desktop;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
@@ -49,8 +46,6 @@ import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.CommandModuleInfo;
 import com.devonfw.devcon.common.api.data.DistributionInfo;
 import com.devonfw.devcon.common.api.data.ProjectType;
-import com.devonfw.devcon.input.ShowCommandHandler;
-import com.devonfw.devcon.output.Output;
 import com.google.common.base.Optional;
 
 /**
@@ -184,7 +179,7 @@ public class Utils {
 
     String gitBinPath = null;
     try {
-      String path = System.getenv("PATH");
+      String path = ProcessRunner.getEnvironment().get("PATH");
       String tokens[] = path.split(";");
       for (String token : tokens) {
         if (token.endsWith("Git\\cmd") || token.endsWith("Git\\bin")) {
@@ -198,38 +193,6 @@ public class Utils {
     return gitBinPath;
   }
 
-  /**
-   * @param isError
-   * @param isOutput
-   */
-  @SuppressWarnings("javadoc")
-  public static Thread processErrorAndOutPut(final InputStream isError, final InputStream isOutput,
-      final Output output) {
-
-    final InputStreamReader isErrReader = new InputStreamReader(isError);
-    final InputStreamReader isOutReader = new InputStreamReader(isOutput);
-
-    Thread newThread = new Thread(new Runnable() {
-      @Override
-      public void run() {
-
-        BufferedReader bre = new BufferedReader(isOutReader);
-        String line;
-        try {
-          while ((line = bre.readLine()) != null) {
-
-            output.showMessage(line);
-          }
-
-        } catch (Exception e) {
-        }
-      }
-    });
-    newThread.start();
-    return newThread;
-
-  }
-
   /**
    * @param pathToApp
    * @param type
@@ -378,13 +341,4 @@ public class Utils {
         : ContextPathInfo.INSTANCE.getHomeDirectory().resolve(LOCAL_SCRIPTS);
 
   }
-
-  public static void processOutput(final InputStream isError, final InputStream isOutput, final Output output) {
-
-    Thread processorThread = processErrorAndOutPut(isError, isOutput, output);
-    while (!processorThread.getState().equals(Thread.State.TERMINATED)) {
-
-    }
-    ShowCommandHandler.start.setDisable(false);
-  }
 }
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A downloaded chunk of a file (or the whole file when the server does not support ranges)
+ */
+@Name("com.devonfw.devcon.Download")
+@Label("Download")
+@Category("Devcon")
+@Description("A downloaded chunk of a file (or the whole file when the server does not support ranges)")
+class DownloadEvent extends Event {
+
+  @Label("Source")
+  String source;
+
+  @Label("Offset")
+  long offset;
+
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+
+}
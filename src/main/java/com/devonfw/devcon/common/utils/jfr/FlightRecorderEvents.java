@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils.jfr;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import com.devonfw.devcon.common.utils.JfrEvents;
+
+/**
+ * The {@link JfrEvents} of a JVM with a flight recorder. An event is only created when it is enabled, i.e. while a
+ * recording including devcon's events is running.
+ */
+public class FlightRecorderEvents extends JfrEvents {
+
+  private Recording recording;
+
+  @Override
+  protected synchronized boolean start(File file) throws Exception {
+
+    if (this.recording != null) {
+      return true;
+    }
+    Recording rec = new Recording(Configuration.getConfiguration("default"));
+    rec.setName("devcon");
+    rec.setToDisk(true);
+    rec.setDestination(file.toPath());
+    rec.start();
+    this.recording = rec;
+
+    // also written when the JVM exits without returning from main (e.g. after the GUI is closed)
+    Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        stop();
+      }
+    }, "devcon-jfr"));
+    return true;
+  }
+
+  @Override
+  protected synchronized void stop() {
+
+    if (this.recording != null) {
+      try {
+        this.recording.stop();
+      } catch (IllegalStateException e) {
+        // already stopped
+      } finally {
+        this.recording.close();
+        this.recording = null;
+      }
+    }
+  }
+
+  @Override
+  public Event command(String module, String command) {
+
+    final CommandEvent event = new CommandEvent();
+    if (!event.isEnabled()) {
+      return Event.NONE;
+    }
+    event.module = module;
+    event.command = command;
+    event.begin();
+    return new Event() {
+      @Override
+      public void end(String result, long value) {
+
+        event.result = result;
+        event.commit();
+      }
+    };
+  }
+
+  @Override
+  public Event binding(String module, String command) {
+
+    final BindingEvent event = new BindingEvent();
+    if (!event.isEnabled()) {
+      return Event.NONE;
+    }
+    event.module = module;
+    event.command = command;
+    event.begin();
+    return new Event() {
+      @Override
+      public void end(String result, long value) {
+
+        event.result = result;
+        event.commit();
+      }
+    };
+  }
+
+  @Override
+  public Event resolution(String kind, Path folder) {
+
+    final ResolutionEvent event = new ResolutionEvent();
+    if (!event.isEnabled()) {
+      return Event.NONE;
+    }
+    event.kind = kind;
+    event.folder = String.valueOf(folder);
+    event.begin();
+    return new Event() {
+      @Override
+      public void end(String result, long value) {
+
+        event.root = result;
+        event.commit();
+      }
+    };
+  }
+
+  @Override
+  public Event process(List<String> command) {
+
+    final ProcessEvent event = new ProcessEvent();
+    if (!event.isEnabled()) {
+      return Event.NONE;
+    }
+    StringBuilder commandLine = new StringBuilder();
+    for (String arg : command) {
+      if (commandLine.length() > 0) {
+        commandLine.append(' ');
+      }
+      commandLine.append(arg);
+    }
+    event.commandLine = commandLine.toString();
+    event.begin();
+    return new Event() {
+      @Override
+      public void end(String result, long value) {
+
+        event.exitCode = (int) value;
+        event.commit();
+      }
+    };
+  }
+
+  @Override
+  public Event download(URL source, long offset) {
+
+    final DownloadEvent event = new DownloadEvent();
+    if (!event.isEnabled()) {
+      return Event.NONE;
+    }
+    event.source = source.toString();
+    event.offset = offset;
+    event.begin();
+    return new Event() {
+      @Override
+      public void end(String result, long value) {
+
+        event.bytes = value;
+        event.commit();
+      }
+    };
+  }
+
+  @Override
+  public Event extract(String archive, String entry) {
+
+    final ExtractEvent event = new ExtractEvent();
+    if (!event.isEnabled()) {
+      return Event.NONE;
+    }
+    event.archive = archive;
+    event.entry = entry;
+    event.begin();
+    return new Event() {
+      @Override
+      public void end(String result, long value) {
+
+        event.bytes = value;
+        event.commit();
+      }
+    };
+  }
+}
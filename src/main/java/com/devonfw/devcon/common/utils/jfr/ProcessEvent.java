@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.common.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A process from being spawned until it has exited and its output is drained
+ */
+@Name("com.devonfw.devcon.Process")
+@Label("Process")
+@Category("Devcon")
+@Description("A process from being spawned until it has exited and its output is drained")
+class ProcessEvent extends Event {
+
+  @Label("Command Line")
+  String commandLine;
+
+  @Label("Exit Code")
+  int exitCode;
+
+}
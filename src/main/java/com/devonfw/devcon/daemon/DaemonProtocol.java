@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.devonfw.devcon.common.utils.Constants;
+
+/**
+ * Wire format between {@link DevconClient} and {@link DevconDaemon}.<br>
+ * The client opens the connection with the daemon token, its working directory, the command line arguments and its
+ * environment variables; from then on both sides exchange frames (type byte, length, payload) until the daemon sends
+ * {@link #EXIT}
+ */
+public final class DaemonProtocol {
+
+  /**
+   * daemon → client: bytes written to the console
+   */
+  public static final byte OUTPUT = 'O';
+
+  /**
+   * daemon → client: a line of user input is needed
+   */
+  public static final byte READ = 'R';
+
+  /**
+   * daemon → client: command finished; payload is the exit code
+   */
+  public static final byte EXIT = 'X';
+
+  /**
+   * client → daemon: a line of user input
+   */
+  public static final byte INPUT = 'I';
+
+  /**
+   * client → daemon: the client´s input is exhausted
+   */
+  public static final byte INPUT_EOF = 'E';
+
+  /**
+   * exit code returned when the command did not succeed
+   */
+  public static final int EXIT_FAILURE = 1;
+
+  /**
+   * exit code returned when the daemon refuses the connection (or the command, which the client then executes itself)
+   */
+  public static final int EXIT_REFUSED = 2;
+
+  /**
+   * name of the properties file containing port and token of the running daemon
+   */
+  public static final String STATE_FILE = "daemon.properties";
+
+  /**
+   * name of the file locked while the daemon runs (one daemon per user)
+   */
+  public static final String LOCK_FILE = "daemon.lock";
+
+  /**
+   * key of the daemon port in {@link #STATE_FILE}
+   */
+  public static final String PORT = "port";
+
+  /**
+   * key of the daemon token in {@link #STATE_FILE}
+   */
+  public static final String TOKEN = "token";
+
+  /**
+   * key of the devcon version of the daemon in {@link #STATE_FILE}
+   */
+  public static final String VERSION = "version";
+
+  /**
+   * options which are always handled by a local Devcon instance (GUI, the daemon itself, batches, which already run in
+   * a single JVM and may read standard input, the instance lock, which is held until the JVM exits, and profiling and
+   * flight recording, which cover the startup of the JVM)
+   */
+  public static final List<String> LOCAL_OPTIONS = Arrays.asList("-g", "--gui", "-d", "--daemon", "-b", "--batch",
+      "-nl", "--no-lock", "-pf", "--pf", "-profile", "--profile", "-jfr", "--jfr");
+
+  /**
+   * commands (module and command name) which are always executed by a local Devcon instance: they start a server and
+   * only return when it is stopped, which would keep the daemon busy
+   */
+  public static final List<String> LOCAL_COMMANDS = Arrays.asList("oasp4j run", "oasp4js run", "project run");
+
+  private DaemonProtocol() {
+
+  }
+
+  /**
+   * @param args command line arguments
+   * @return whether the command line contains one of the {@link #LOCAL_OPTIONS} or {@link #LOCAL_COMMANDS}
+   */
+  public static boolean runsLocally(String[] args) {
+
+    for (int i = 0; i < args.length; i++) {
+      if (LOCAL_OPTIONS.contains(args[i])) {
+        return true;
+      }
+      if ((i + 1 < args.length) && LOCAL_COMMANDS.contains(args[i] + " " + args[i + 1])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return directory containing the daemon state files
+   */
+  public static File getDaemonDir() {
+
+    return new File(System.getProperty("user.home"), Constants.DEVCON_USER_DIR);
+  }
+
+  /**
+   * Write a frame; frames may be written from several threads
+   *
+   * @param out stream to the other side
+   * @param type frame type
+   * @param payload frame content
+   * @throws IOException when the connection is broken
+   */
+  public static void writeFrame(DataOutputStream out, byte type, byte[] payload) throws IOException {
+
+    synchronized (out) {
+      out.writeByte(type);
+      out.writeInt(payload.length);
+      out.write(payload);
+      out.flush();
+    }
+  }
+
+  /**
+   * Read a frame
+   *
+   * @param in stream from the other side
+   * @return frame type and content
+   * @throws IOException when the connection is broken
+   */
+  public static Frame readFrame(DataInputStream in) throws IOException {
+
+    byte type = in.readByte();
+    int length = in.readInt();
+    if (length < 0) {
+      throw new EOFException("Invalid frame length: " + length);
+    }
+    byte[] payload = new byte[length];
+    in.readFully(payload);
+    return new Frame(type, payload);
+  }
+
+  /**
+   * @param code exit code
+   * @return exit code as frame payload
+   */
+  public static byte[] exitCode(int code) {
+
+    return new byte[] { (byte) (code >>> 24), (byte) (code >>> 16), (byte) (code >>> 8), (byte) code };
+  }
+
+  /**
+   * A single frame of the protocol
+   */
+  public static final class Frame {
+
+    private final byte type;
+
+    private final byte[] payload;
+
+    Frame(byte type, byte[] payload) {
+      this.type = type;
+      this.payload = payload;
+    }
+
+    /**
+     * @return type
+     */
+    public byte getType() {
+
+      return this.type;
+    }
+
+    /**
+     * @return payload
+     */
+    public byte[] getPayload() {
+
+      return this.payload;
+    }
+
+    /**
+     * @return payload of an {@link DaemonProtocol#EXIT} frame as exit code
+     */
+    public int getExitCode() {
+
+      return ((this.payload[0] & 0xff) << 24) | ((this.payload[1] & 0xff) << 16) | ((this.payload[2] & 0xff) << 8)
+          | (this.payload[3] & 0xff);
+    }
+  }
+}
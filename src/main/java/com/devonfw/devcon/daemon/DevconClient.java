@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Properties;
+
+import com.devonfw.devcon.Devcon;
+import com.devonfw.devcon.daemon.DaemonProtocol.Frame;
+import com.google.common.base.Optional;
+
+/**
+ * Thin client for the {@link DevconDaemon}: forwards the command line, working directory and environment to the
+ * daemon of the current user and streams the console output (and input) back and forth. {@link Devcon#main(String[])}
+ * (and so the installed devcon launchers) tries the daemon first; when no daemon is running the command is executed
+ * in-process.<br>
+ * Usage: <code>java -cp devcon.jar com.devonfw.devcon.daemon.DevconClient &lt;module&gt; &lt;command&gt; ...</code>
+ */
+public class DevconClient {
+
+  /**
+   * @param args command line arguments
+   */
+  public static void main(String[] args) {
+
+    Devcon.main(args);
+  }
+
+  /**
+   * Execute the command line by the daemon, unless it contains one of the {@link DaemonProtocol#LOCAL_OPTIONS} or
+   * {@link DaemonProtocol#LOCAL_COMMANDS}
+   *
+   * @param args command line arguments
+   * @param consoleIn console input of the client
+   * @param consoleOut console output of the client
+   * @return exit code of the command, or absent when the command has to be executed in-process
+   */
+  public static Optional<Integer> forwardIfRemote(String[] args, InputStream consoleIn, PrintStream consoleOut) {
+
+    if (DaemonProtocol.runsLocally(args)) {
+      return Optional.absent();
+    }
+    return forward(args, consoleIn, consoleOut);
+  }
+
+  private static boolean runsLocally(String[] args) {
+
+    for (String arg : args) {
+      if (DaemonProtocol.LOCAL_OPTIONS.contains(arg)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Execute the command line by the daemon
+   *
+   * @param args command line arguments
+   * @param consoleIn console input of the client
+   * @param consoleOut console output of the client
+   * @return exit code of the command, or absent when no (compatible) daemon could be reached
+   */
+  public static Optional<Integer> forward(String[] args, InputStream consoleIn, PrintStream consoleOut) {
+
+    Optional<Properties> state = readState();
+    if (!state.isPresent() || !Devcon.VERSION.equals(state.get().getProperty(DaemonProtocol.VERSION))) {
+      return Optional.absent();
+    }
+
+    Socket socket;
+    try {
+      int port = Integer.parseInt(state.get().getProperty(DaemonProtocol.PORT, ""));
+      socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    } catch (ConnectException | NumberFormatException e) {
+      // stale state file: daemon was killed
+      return Optional.absent();
+    } catch (IOException e) {
+      return Optional.absent();
+    }
+
+    try (Socket s = socket) {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+      out.writeUTF(state.get().getProperty(DaemonProtocol.TOKEN, ""));
+      out.writeUTF(new File(".").getAbsoluteFile().toPath().normalize().toString());
+      out.writeInt(args.length);
+      for (String arg : args) {
+        out.writeUTF(arg);
+      }
+      Map<String, String> environment = System.getenv();
+      out.writeInt(environment.size());
+      for (Map.Entry<String, String> variable : environment.entrySet()) {
+        out.writeUTF(variable.getKey());
+        out.writeUTF(variable.getValue());
+      }
+      out.flush();
+
+      BufferedReader console = new BufferedReader(new InputStreamReader(consoleIn));
+      while (true) {
+        Frame frame = DaemonProtocol.readFrame(in);
+        switch (frame.getType()) {
+          case DaemonProtocol.OUTPUT:
+            consoleOut.write(frame.getPayload());
+            consoleOut.flush();
+            break;
+          case DaemonProtocol.READ:
+            String line = console.readLine();
+            if (line == null) {
+              DaemonProtocol.writeFrame(out, DaemonProtocol.INPUT_EOF, new byte[0]);
+            } else {
+              DaemonProtocol.writeFrame(out, DaemonProtocol.INPUT, (line + System.lineSeparator()).getBytes());
+            }
+            break;
+          case DaemonProtocol.EXIT:
+            int exitCode = frame.getExitCode();
+            if (exitCode == DaemonProtocol.EXIT_REFUSED) {
+              return Optional.absent();
+            }
+            return Optional.of(exitCode);
+          default:
+            throw new IOException("Unknown frame type: " + frame.getType());
+        }
+      }
+    } catch (IOException e) {
+      // the command may have been (partially) executed already, so don´t run it again
+      consoleOut.println("[ERROR] Connection with the Devcon daemon lost: " + e.getMessage());
+      return Optional.of(DaemonProtocol.EXIT_FAILURE);
+    }
+  }
+
+  private static Optional<Properties> readState() {
+
+    File stateFile = new File(DaemonProtocol.getDaemonDir(), DaemonProtocol.STATE_FILE);
+    if (!stateFile.exists()) {
+      return Optional.absent();
+    }
+
+    Properties state = new Properties();
+    try (InputStream in = new FileInputStream(stateFile)) {
+      state.load(in);
+      return Optional.of(state);
+    } catch (IOException e) {
+      return Optional.absent();
+    }
+  }
+}
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.devonfw.devcon.Devcon;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.impl.CommandManagerImpl;
+import com.devonfw.devcon.common.impl.ScriptBackends;
+import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.devonfw.devcon.common.utils.ProcessRunner;
+import com.devonfw.devcon.input.ConsoleInput;
+import com.devonfw.devcon.input.ConsoleInputManager;
+import com.devonfw.devcon.input.Input;
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.devonfw.devcon.output.Output;
+
+/**
+ * Keeps a warm {@link CommandRegistry} (and script engine) alive and executes the command lines forwarded by
+ * {@link DevconClient}, so commands don´t pay for JVM startup and module discovery.<br>
+ * The daemon listens on a loopback port which is published, together with a random token, in
+ * <code>~/.devcon/daemon.properties</code>; a lock on <code>~/.devcon/daemon.lock</code> guarantees one daemon per user.
+ * Commands share static state (System.out, proxy settings, ..) so they are executed one at a time, each in the working
+ * directory of its client, whose environment is passed to the processes the command starts; while a command runs, the
+ * daemon refuses further ones and their clients execute them in-process. The daemon stops after being idle for
+ * <code>devcon.daemon.idleMinutes</code> (default 30) minutes.
+ */
+public class DevconDaemon {
+
+  /**
+   * System property to configure the idle timeout in minutes
+   */
+  public static final String IDLE_MINUTES_PROPERTY = "devcon.daemon.idleMinutes";
+
+  private static final long DEFAULT_IDLE_MINUTES = 30;
+
+  private static final int TOKEN_LENGTH = 32;
+
+  private final CommandRegistry registry;
+
+  private final Output output;
+
+  private final long idleTimeout;
+
+  private final ReentrantLock executionLock = new ReentrantLock();
+
+  private final AtomicInteger activeConnections = new AtomicInteger();
+
+  private volatile long lastActivity;
+
+  private byte[] token;
+
+  public DevconDaemon(CommandRegistry registry, Output output) {
+    this(registry, output, TimeUnit.MINUTES.toMillis(Long.getLong(IDLE_MINUTES_PROPERTY, DEFAULT_IDLE_MINUTES)));
+  }
+
+  public DevconDaemon(CommandRegistry registry, Output output, long idleTimeout) {
+    this.registry = registry;
+    this.output = output;
+    this.idleTimeout = idleTimeout;
+  }
+
+  /**
+   * Run the daemon until it has been idle for the configured time
+   *
+   * @return <code>false</code> if another daemon is already running for this user
+   * @throws IOException when the daemon socket or state files cannot be created
+   */
+  public boolean run() throws IOException {
+
+    File daemonDir = DaemonProtocol.getDaemonDir();
+    daemonDir.mkdirs();
+
+    try (RandomAccessFile lockFile = new RandomAccessFile(new File(daemonDir, DaemonProtocol.LOCK_FILE), "rw");
+        FileChannel channel = lockFile.getChannel()) {
+
+      FileLock lock = channel.tryLock();
+      if (lock == null) {
+        this.output.showError("A Devcon daemon is already running for this user");
+        return false;
+      }
+
+      File stateFile = new File(daemonDir, DaemonProtocol.STATE_FILE);
+      ExecutorService executor = Executors.newCachedThreadPool();
+      try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+
+        this.token = newToken();
+        writeState(stateFile, server.getLocalPort());
+        this.output.status("Devcon daemon listening on port %s", String.valueOf(server.getLocalPort()));
+        // clients may run script commands concurrently
+        ScriptBackends.warmUpDefault(Integer.MAX_VALUE);
+
+        serve(server, executor);
+
+        this.output.status("Devcon daemon stopped after being idle");
+        return true;
+      } finally {
+        stateFile.delete();
+        executor.shutdownNow();
+        lock.release();
+      }
+    }
+  }
+
+  private void serve(ServerSocket server, ExecutorService executor) throws IOException {
+
+    server.setSoTimeout((int) Math.min(this.idleTimeout, TimeUnit.SECONDS.toMillis(10)));
+    this.lastActivity = System.currentTimeMillis();
+
+    while (true) {
+      try {
+        final Socket socket = server.accept();
+        this.activeConnections.incrementAndGet();
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+
+            try {
+              handle(socket);
+            } finally {
+              DevconDaemon.this.lastActivity = System.currentTimeMillis();
+              DevconDaemon.this.activeConnections.decrementAndGet();
+            }
+          }
+        });
+      } catch (SocketTimeoutException e) {
+        if ((this.activeConnections.get() == 0)
+            && ((System.currentTimeMillis() - this.lastActivity) >= this.idleTimeout)) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void handle(Socket socket) {
+
+    try (Socket s = socket) {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+      byte[] clientToken = in.readUTF().getBytes(StandardCharsets.UTF_8);
+      if (!MessageDigest.isEqual(this.token, clientToken)) {
+        DaemonProtocol.writeFrame(out, DaemonProtocol.EXIT, DaemonProtocol.exitCode(DaemonProtocol.EXIT_REFUSED));
+        return;
+      }
+
+      Path workingDirectory = Paths.get(in.readUTF());
+      String[] args = new String[in.readInt()];
+      for (int i = 0; i < args.length; i++) {
+        args[i] = in.readUTF();
+      }
+      Map<String, String> environment = new HashMap<>();
+      for (int i = in.readInt(); i > 0; i--) {
+        environment.put(in.readUTF(), in.readUTF());
+      }
+
+      int exitCode = execute(workingDirectory, args, environment, in, out);
+      DaemonProtocol.writeFrame(out, DaemonProtocol.EXIT, DaemonProtocol.exitCode(exitCode));
+    } catch (Throwable e) {
+      // the client went away; nothing left to report to
+      this.output.showError("Daemon connection aborted: %s", String.valueOf(e.getMessage()));
+    }
+  }
+
+  private int execute(Path workingDirectory, String[] args, Map<String, String> environment, DataInputStream in,
+      DataOutputStream out) throws IOException {
+
+    // a busy daemon (or a command it must not run) makes the client execute the command itself
+    if (DaemonProtocol.runsLocally(args) || !this.executionLock.tryLock()) {
+      return DaemonProtocol.EXIT_REFUSED;
+    }
+    try {
+      PrintStream console = new PrintStream(new FrameOutputStream(out), true);
+      PrintStream stdout = System.out;
+      PrintStream stderr = System.err;
+
+      System.setOut(console);
+      System.setErr(console);
+      ContextPathInfo.setWorkingDirectory(workingDirectory);
+      ProcessRunner.setEnvironment(environment);
+      Devcon.SHOW_STACK_TRACE = false;
+      try {
+        Output cmdOutput = new ConsoleOutput(console);
+        Input cmdInput = new ConsoleInput(new RemoteInputStream(in, out), console);
+
+        ConsoleInputManager inputManager = new ConsoleInputManager(this.registry, cmdInput, cmdOutput,
+            new CommandManagerImpl(this.registry, cmdInput, cmdOutput));
+        return inputManager.parse(args) ? 0 : DaemonProtocol.EXIT_FAILURE;
+      } finally {
+        console.flush();
+        System.setOut(stdout);
+        System.setErr(stderr);
+        ContextPathInfo.setWorkingDirectory(null);
+        ProcessRunner.setEnvironment(null);
+      }
+    } finally {
+      this.executionLock.unlock();
+    }
+  }
+
+  private byte[] newToken() {
+
+    byte[] random = new byte[TOKEN_LENGTH];
+    new SecureRandom().nextBytes(random);
+
+    StringBuilder hex = new StringBuilder();
+    for (byte b : random) {
+      hex.append(String.format("%02x", b & 0xff));
+    }
+    return hex.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void writeState(File stateFile, int port) throws IOException {
+
+    Properties state = new Properties();
+    state.setProperty(DaemonProtocol.PORT, String.valueOf(port));
+    state.setProperty(DaemonProtocol.TOKEN, new String(this.token, StandardCharsets.UTF_8));
+    state.setProperty(DaemonProtocol.VERSION, Devcon.VERSION);
+
+    // the token grants the right to execute commands as this user: only the owner may read it. The file is written
+    // completely before it is moved in place, so clients never see a partial state
+    Path tmpPath;
+    if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      tmpPath = Files.createTempFile(stateFile.getParentFile().toPath(), DaemonProtocol.STATE_FILE, ".tmp",
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    } else {
+      tmpPath = Files.createTempFile(stateFile.getParentFile().toPath(), DaemonProtocol.STATE_FILE, ".tmp");
+      tmpPath.toFile().setReadable(false, false);
+      tmpPath.toFile().setReadable(true, true);
+    }
+
+    try (OutputStream out = Files.newOutputStream(tmpPath)) {
+      state.store(out, Devcon.DEVCON_VERSION + " daemon");
+    }
+    Files.move(tmpPath, stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
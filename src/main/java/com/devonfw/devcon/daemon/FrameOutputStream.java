@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.daemon;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Sends everything written to it as {@link DaemonProtocol#OUTPUT} frames to the client
+ */
+class FrameOutputStream extends OutputStream {
+
+  private final DataOutputStream out;
+
+  FrameOutputStream(DataOutputStream out) {
+    this.out = out;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+
+    DaemonProtocol.writeFrame(this.out, DaemonProtocol.OUTPUT, new byte[] { (byte) b });
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+
+    if (len > 0) {
+      DaemonProtocol.writeFrame(this.out, DaemonProtocol.OUTPUT, Arrays.copyOfRange(b, off, off + len));
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.devonfw.devcon.daemon.DaemonProtocol.Frame;
+
+/**
+ * Console input of the client: each time the buffered line is consumed a new one is requested with a
+ * {@link DaemonProtocol#READ} frame
+ */
+class RemoteInputStream extends InputStream {
+
+  private final DataInputStream in;
+
+  private final DataOutputStream out;
+
+  private byte[] buffer = new byte[0];
+
+  private int pos;
+
+  private boolean eof;
+
+  RemoteInputStream(DataInputStream in, DataOutputStream out) {
+    this.in = in;
+    this.out = out;
+  }
+
+  @Override
+  public synchronized int read() throws IOException {
+
+    if (!fill()) {
+      return -1;
+    }
+    return this.buffer[this.pos++] & 0xff;
+  }
+
+  @Override
+  public synchronized int read(byte[] b, int off, int len) throws IOException {
+
+    if (len == 0) {
+      return 0;
+    }
+    if (!fill()) {
+      return -1;
+    }
+    int count = Math.min(len, this.buffer.length - this.pos);
+    System.arraycopy(this.buffer, this.pos, b, off, count);
+    this.pos += count;
+    return count;
+  }
+
+  @Override
+  public synchronized int available() {
+
+    return this.buffer.length - this.pos;
+  }
+
+  private boolean fill() throws IOException {
+
+    while (!this.eof && (this.pos >= this.buffer.length)) {
+      DaemonProtocol.writeFrame(this.out, DaemonProtocol.READ, new byte[0]);
+      Frame frame = DaemonProtocol.readFrame(this.in);
+      if (frame.getType() == DaemonProtocol.INPUT) {
+        this.buffer = frame.getPayload();
+        this.pos = 0;
+      } else {
+        this.eof = true;
+      }
+    }
+    return !this.eof;
+  }
+}
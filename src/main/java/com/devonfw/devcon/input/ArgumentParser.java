@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.input;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.cli.MissingArgumentException;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.cli.UnrecognizedOptionException;
+
+import com.devonfw.devcon.common.api.data.DevconOption;
+import com.devonfw.devcon.common.api.data.Sentence;
+
+/**
+ * Parses the arguments of a command line into a {@link Sentence} in a single pass. Global options are given by their
+ * short or long name and are flags unless they take a value; any other option has to be a parameter of some command
+ * and takes the next argument as value, except for a flag parameter (true or false), which is true when given without a
+ * value. Options are looked up in tables which are built once, so parsing does not depend on the number of modules.
+ */
+public class ArgumentParser {
+
+  private final Map<String, String> globalOptions;
+
+  private final Set<String> globalOptionsWithArg;
+
+  private final Set<String> parameterNames;
+
+  private final Set<String> flagParameterNames;
+
+  /**
+   * @param globalOptions the global options
+   * @param parameterNames the names of the parameters of all commands
+   */
+  public ArgumentParser(List<DevconOption> globalOptions, Set<String> parameterNames) {
+
+    this(globalOptions, parameterNames, Collections.<String> emptySet());
+  }
+
+  /**
+   * @param globalOptions the global options
+   * @param parameterNames the names of the parameters of all commands
+   * @param flagParameterNames the names of the parameters which only take true or false
+   */
+  public ArgumentParser(List<DevconOption> globalOptions, Set<String> parameterNames, Set<String> flagParameterNames) {
+
+    this.globalOptions = new HashMap<>();
+    this.globalOptionsWithArg = new HashSet<>();
+    for (DevconOption option : globalOptions) {
+      String opt = option.getOpt().trim();
+      this.globalOptions.put(opt, opt);
+      if (option.hasArg()) {
+        this.globalOptionsWithArg.add(opt);
+      }
+      if (!option.getLongOpt().trim().isEmpty()) {
+        this.globalOptions.put(option.getLongOpt().trim(), opt);
+      }
+    }
+    this.parameterNames = parameterNames;
+    this.flagParameterNames = flagParameterNames;
+  }
+
+  /**
+   * @param args the arguments of the command line
+   * @return the parsed arguments
+   * @throws ParseException when an option is unknown or a parameter has no value
+   */
+  public Arguments parse(String[] args) throws ParseException {
+
+    Sentence sentence = new Sentence();
+    Map<String, String> options = new HashMap<>();
+    List<String> argList = new ArrayList<>();
+
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
+
+      if ("--".equals(arg)) {
+        // everything after -- is an argument, even when starting with -
+        for (i++; i < args.length; i++) {
+          argList.add(args[i]);
+        }
+      } else if (!isOptionLike(arg)) {
+        argList.add(arg);
+      } else {
+        String name = stripHyphens(arg);
+        String global = this.globalOptions.get(name);
+        if ((global != null) && this.globalOptionsWithArg.contains(global)) {
+          options.put(global, value(args, i++, name));
+        } else if (global != null) {
+          options.put(global, null);
+        } else if (this.flagParameterNames.contains(name) && !isBoolean(args, i + 1)) {
+          sentence.addParam(name, "true");
+        } else if (this.parameterNames.contains(name)) {
+          sentence.addParam(name, value(args, i++, name));
+        } else {
+          throw new UnrecognizedOptionException("Unrecognized option: " + arg, arg);
+        }
+      }
+    }
+
+    if (argList.size() > 0) {
+      sentence.setModuleName(argList.get(0));
+    }
+    if (argList.size() > 1) {
+      sentence.setCommandName(argList.get(1));
+    }
+    sentence.setHelpRequested(options.containsKey("h"));
+
+    return new Arguments(sentence, options, argList);
+  }
+
+  private String value(String[] args, int i, String name) throws MissingArgumentException {
+
+    if ((i + 1 == args.length) || isOption(args[i + 1])) {
+      throw new MissingArgumentException("Missing argument for option: " + name);
+    }
+    return stripQuotes(args[i + 1]);
+  }
+
+  private static boolean isBoolean(String[] args, int i) {
+
+    return (i < args.length) && ("true".equalsIgnoreCase(args[i]) || "false".equalsIgnoreCase(args[i]));
+  }
+
+  private boolean isOption(String arg) {
+
+    if (!isOptionLike(arg)) {
+      return false;
+    }
+    String name = stripHyphens(arg);
+    return this.globalOptions.containsKey(name) || this.parameterNames.contains(name);
+  }
+
+  private static boolean isOptionLike(String arg) {
+
+    return arg.startsWith("-") && (arg.length() > 1);
+  }
+
+  private static String stripHyphens(String arg) {
+
+    return arg.startsWith("--") ? arg.substring(2) : arg.substring(1);
+  }
+
+  private static String stripQuotes(String value) {
+
+    if ((value.length() > 1) && value.startsWith("\"") && value.endsWith("\"")) {
+      return value.substring(1, value.length() - 1);
+    }
+    return value;
+  }
+
+  /**
+   * The result of parsing a command line: the sentence, the global options given and the remaining arguments
+   */
+  public static class Arguments {
+
+    private final Sentence sentence;
+
+    private final Map<String, String> options;
+
+    private final List<String> argList;
+
+    Arguments(Sentence sentence, Map<String, String> options, List<String> argList) {
+
+      this.sentence = sentence;
+      this.options = options;
+      this.argList = Collections.unmodifiableList(argList);
+    }
+
+    /**
+     * @return the sentence with module, command and parameters
+     */
+    public Sentence getSentence() {
+
+      return this.sentence;
+    }
+
+    /**
+     * @param opt the short name of a global option
+     * @return whether the global option was given
+     */
+    public boolean hasOption(String opt) {
+
+      return this.options.containsKey(opt);
+    }
+
+    /**
+     * @param opt the short name of a global option which takes a value
+     * @return the value, or {@code null} when the option was not given
+     */
+    public String getOptionValue(String opt) {
+
+      return this.options.get(opt);
+    }
+
+    /**
+     * @return the arguments which are no options, starting with module and command
+     */
+    public List<String> getArgList() {
+
+      return this.argList;
+    }
+  }
+
+}
@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.input;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.cli.ParseException;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import com.devonfw.devcon.common.CommandResult;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.api.data.Sentence;
+import com.devonfw.devcon.common.impl.CommandManagerImpl;
+import com.devonfw.devcon.common.utils.ParallelTasks;
+import com.devonfw.devcon.output.Output;
+import com.devonfw.devcon.output.PrefixedOutput;
+
+/**
+ * Runs a batch of commands in one JVM, so provisioning scripts don´t pay for startup and module discovery for every
+ * command (<code>devcon --batch file</code>, or <code>-</code> for standard input). Each line of the batch is either a
+ * command line (<code>workspace create -workspace ws1</code>, optionally starting with <code>devcon</code>) or a JSON
+ * object (<code>{"module": "workspace", "command": "create", "params": {"workspace": "ws1"}}</code>). Empty lines and
+ * lines starting with <code>#</code> are ignored.
+ * <p>
+ * Consecutive lines marked as independent (starting with <code>&amp;</code>, or <code>"parallel": true</code> in JSON)
+ * are executed at the same time. By default the batch stops at the first failing command; with
+ * <code>--keep-going</code> all commands are executed. A command fails when it does not return normally or when it shows
+ * an error. A summary with the result and duration of every command is shown at the end.
+ */
+public class BatchInputManager {
+
+  private static final String COMMENT = "#";
+
+  private static final String PARALLEL_MARKER = "&";
+
+  private static final String DEVCON = "devcon";
+
+  private final CommandRegistry registry;
+
+  private final Input input;
+
+  private final Output output;
+
+  /**
+   * A command of the batch
+   */
+  private static class Line {
+
+    private final int number;
+
+    private final String text;
+
+    private final boolean parallel;
+
+    private final Sentence sentence;
+
+    private volatile CommandResult result;
+
+    private volatile long millis;
+
+    Line(int number, String text, boolean parallel, Sentence sentence) {
+      this.number = number;
+      this.text = text;
+      this.parallel = parallel;
+      this.sentence = sentence;
+    }
+  }
+
+  /**
+   * @param registry the registry of the commands
+   * @param input the input for the commands
+   * @param output the output for the commands and the summary
+   */
+  public BatchInputManager(CommandRegistry registry, Input input, Output output) {
+    this.registry = registry;
+    this.input = input;
+    this.output = output;
+  }
+
+  /**
+   * Reads all commands of the batch and executes them. When a line is not valid nothing is executed.
+   *
+   * @param reader the batch
+   * @param keepGoing whether the remaining commands are executed after one has failed
+   * @return whether all commands succeeded
+   * @throws IOException when the batch cannot be read
+   */
+  public boolean run(Reader reader, boolean keepGoing) throws IOException {
+
+    List<Line> lines = read(reader);
+    if (lines == null) {
+      return false;
+    }
+
+    long start = System.nanoTime();
+    boolean ok = true;
+    int i = 0;
+    while ((i < lines.size()) && (ok || keepGoing)) {
+
+      // a group of consecutive independent lines, or a single line
+      int end = i + 1;
+      if (lines.get(i).parallel) {
+        while ((end < lines.size()) && lines.get(end).parallel) {
+          end++;
+        }
+      }
+
+      ParallelTasks tasks = new ParallelTasks(0, !keepGoing);
+      for (final Line line : lines.subList(i, end)) {
+        tasks.add(String.valueOf(line.number), new Callable<Boolean>() {
+          @Override
+          public Boolean call() throws Exception {
+
+            return execute(line);
+          }
+        });
+      }
+      try {
+        ok &= tasks.run();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        ok = false;
+        break;
+      }
+      i = end;
+    }
+
+    showSummary(lines, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return ok;
+  }
+
+  private boolean execute(Line line) {
+
+    PrefixedOutput out = new PrefixedOutput(this.output, String.valueOf(line.number));
+    out.showMessage("%s", line.text);
+
+    ConsoleInputManager manager =
+        new ConsoleInputManager(this.registry, this.input, out, new CommandManagerImpl(this.registry, this.input, out));
+    long start = System.nanoTime();
+    CommandResult result;
+    try {
+      result = manager.execute(line.sentence);
+      if ((result == CommandResult.OK) && out.hasErrors()) {
+        result = CommandResult.FAILURE;
+      }
+    } catch (Exception e) {
+      out.showError("An error occurred. Message: %s", String.valueOf(e.getMessage()));
+      result = CommandResult.FAILURE;
+    }
+    line.millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    line.result = result;
+    return (result == CommandResult.OK) || (result == CommandResult.HELP_SHOWN);
+  }
+
+  /**
+   * @return the commands, or <code>null</code> when a line is not valid (the errors are shown)
+   */
+  private List<Line> read(Reader reader) throws IOException {
+
+    ConsoleInputManager parser = new ConsoleInputManager(this.registry, this.input, this.output,
+        new CommandManagerImpl(this.registry, this.input, this.output));
+    List<Line> lines = new ArrayList<>();
+    boolean valid = true;
+
+    BufferedReader in = new BufferedReader(reader);
+    String text;
+    int number = 0;
+    while ((text = in.readLine()) != null) {
+      number++;
+      text = text.trim();
+      if (text.isEmpty() || text.startsWith(COMMENT)) {
+        continue;
+      }
+
+      try {
+        if (text.startsWith("{")) {
+          JSONObject json = (JSONObject) new JSONParser().parse(text);
+          lines.add(new Line(number, text, Boolean.TRUE.equals(json.get("parallel")), toSentence(json)));
+        } else {
+          boolean parallel = text.startsWith(PARALLEL_MARKER);
+          String commandLine = parallel ? text.substring(PARALLEL_MARKER.length()).trim() : text;
+          List<String> args = split(commandLine);
+          if (!args.isEmpty() && args.get(0).equals(DEVCON)) {
+            args.remove(0);
+          }
+          lines.add(new Line(number, commandLine, parallel, parser.toSentence(args.toArray(new String[args.size()]))));
+        }
+      } catch (ParseException | org.json.simple.parser.ParseException | ClassCastException e) {
+        this.output.showError("Line %s of the batch is not valid: %s", String.valueOf(number),
+            String.valueOf(e.getMessage()));
+        valid = false;
+      }
+    }
+
+    if (lines.isEmpty() && valid) {
+      this.output.showError("The batch contains no commands");
+      valid = false;
+    }
+    return valid ? lines : null;
+  }
+
+  private static Sentence toSentence(JSONObject json) {
+
+    Sentence sentence = new Sentence();
+    sentence.setModuleName(json.get("module") != null ? json.get("module").toString() : null);
+    sentence.setCommandName(json.get("command") != null ? json.get("command").toString() : null);
+    sentence.setHelpRequested(Boolean.TRUE.equals(json.get("help")));
+
+    JSONObject params = (JSONObject) json.get("params");
+    if (params != null) {
+      for (Object param : params.entrySet()) {
+        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) param;
+        sentence.addParam(entry.getKey().toString(), String.valueOf(entry.getValue()));
+      }
+    }
+    return sentence;
+  }
+
+  /**
+   * Splits a command line at white space; single or double quotes group words
+   */
+  private static List<String> split(String commandLine) {
+
+    List<String> args = new ArrayList<>();
+    StringBuilder arg = new StringBuilder();
+    boolean inArg = false;
+    char quote = 0;
+
+    for (char c : commandLine.toCharArray()) {
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        } else {
+          arg.append(c);
+        }
+      } else if ((c == '"') || (c == '\'')) {
+        quote = c;
+        inArg = true;
+      } else if (Character.isWhitespace(c)) {
+        if (inArg) {
+          args.add(arg.toString());
+          arg.setLength(0);
+          inArg = false;
+        }
+      } else {
+        arg.append(c);
+        inArg = true;
+      }
+    }
+    if (inArg) {
+      args.add(arg.toString());
+    }
+    return args;
+  }
+
+  private void showSummary(List<Line> lines, long millis) {
+
+    int failed = 0;
+    int skipped = 0;
+
+    this.output.showMessage("%s", "Batch summary:");
+    for (Line line : lines) {
+      String result;
+      if (line.result == null) {
+        result = "SKIPPED";
+        skipped++;
+      } else {
+        result = line.result.toString();
+        if ((line.result != CommandResult.OK) && (line.result != CommandResult.HELP_SHOWN)) {
+          failed++;
+        }
+      }
+      String time = (line.result == null) ? "" : String.format("%.1f s", line.millis / 1000.0);
+      this.output.showMessage("%s", String.format("%5d  %-24s %8s  %s", line.number, result, time, line.text));
+    }
+    this.output.showMessage("%s", String.format("%d commands in %.1f s, %d failed, %d skipped", lines.size(),
+        millis / 1000.0, failed, skipped));
+  }
+}
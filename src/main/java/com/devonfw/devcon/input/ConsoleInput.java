@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.devonfw.devcon.input;
 
+import java.io.Flushable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.Arrays;
@@ -32,6 +34,8 @@ public class ConsoleInput implements Input {
 
   private InputStream in_;
 
+  private Flushable pending_;
+
   public ConsoleInput() {
     this.in_ = System.in;
     this.out_ = System.out;
@@ -43,10 +47,33 @@ public class ConsoleInput implements Input {
     this.out_ = out;
   }
 
+  /**
+   * @param in the stream to read from
+   * @param out the stream to write the prompts to
+   * @param pending output written to the same console, to be flushed before prompting
+   */
+  public ConsoleInput(InputStream in, PrintStream out, Flushable pending) {
+    this(in, out);
+    this.pending_ = pending;
+  }
+
+  private void flushPending() {
+
+    if (this.pending_ != null) {
+      try {
+        this.pending_.flush();
+      } catch (IOException e) {
+        // TODO implement logs
+        System.out.println("[ERROR] at ConsoleInput#flushPending: " + e.getMessage());
+      }
+    }
+  }
+
   @Override
   public String promptUser(String msg, String... args) {
 
     Scanner reader = new Scanner(this.in_);
+    flushPending();
     this.out_.printf(msg, args);
     return reader.nextLine().trim();
   }
@@ -56,6 +83,7 @@ public class ConsoleInput implements Input {
 
     String[] validResponses = { "yes", "y", "no", "n" };
     Scanner reader = new Scanner(this.in_); // new Scanner(System.in);
+    flushPending();
     this.out_.printf(message, args);
     this.out_.println();
     this.out_.println("Y/N");
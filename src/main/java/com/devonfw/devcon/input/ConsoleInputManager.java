@@ -18,18 +18,16 @@ package com.devonfw.devcon.input;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.Flushable;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.io.Reader;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.util.List;
 
-import org.apache.commons.cli.BasicParser;
-import org.apache.commons.cli.CommandLine;
-import org.apache.commons.cli.CommandLineParser;
-import org.apache.commons.cli.Option;
-import org.apache.commons.cli.Options;
-import org.apache.commons.cli.UnrecognizedOptionException;
+import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.tuple.Pair;
 
 import com.devonfw.devcon.Devcon;
@@ -38,10 +36,13 @@ import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.CommandManager;
 import com.devonfw.devcon.common.api.CommandRegistry;
 import com.devonfw.devcon.common.api.data.CommandParameter;
-import com.devonfw.devcon.common.api.data.DevconOption;
+import com.devonfw.devcon.common.api.data.DistributionInfo;
 import com.devonfw.devcon.common.api.data.Sentence;
 import com.devonfw.devcon.common.exception.InvalidEnvironentException;
 import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.devonfw.devcon.common.utils.Profiler;
+import com.devonfw.devcon.daemon.DevconDaemon;
+import com.devonfw.devcon.input.ArgumentParser.Arguments;
 import com.devonfw.devcon.output.Output;
 import com.google.common.base.Optional;
 
@@ -75,11 +76,17 @@ public class ConsoleInputManager {
 
     try {
 
-      CommandLineParser parser = new BasicParser();
-      CommandLine cmd = parser.parse(getOptions(), args);
+      Profiler.Span span = Profiler.start("parse");
+      Arguments cmd;
+      try {
+        cmd = getParser().parse(args);
+      } finally {
+        span.end();
+      }
       ContextPathInfo contextPathInfo = new ContextPathInfo();
-      if (contextPathInfo.getDistributionRoot() != null && contextPathInfo.getDistributionRoot().isPresent()) {
-        path = contextPathInfo.getDistributionRoot().get().getPath().toAbsolutePath() + "\\software\\devcon";
+      Optional<DistributionInfo> distributionRoot = contextPathInfo.getDistributionRoot();
+      if (distributionRoot.isPresent()) {
+        path = distributionRoot.get().getPath().toAbsolutePath() + "\\software\\devcon";
       } else {
         path = contextPathInfo.getCurrentWorkingDirectory().toString();
       }
@@ -114,7 +121,11 @@ public class ConsoleInputManager {
 
       if (cmd.hasOption("v")) {
         this.output.showMessage(Devcon.DEVCON_VERSION);
-        System.exit(0);
+        return true;
+      }
+
+      if (cmd.hasOption("d")) {
+        return new DevconDaemon(this.registry, this.output).run();
       }
 
       if (cmd.hasOption("g")) {
@@ -127,55 +138,40 @@ public class ConsoleInputManager {
 
       if (cmd.hasOption("p") && (cmd.hasOption("h"))) {
         this.output.showError("Cannot specifiy -h and -p at the same time");
-        System.exit(0);
+        return false;
       }
 
       if (cmd.hasOption("s")) {
         Devcon.SHOW_STACK_TRACE = true;
       }
 
+      if (cmd.hasOption("b")) {
+        return runBatch(cmd);
+      }
+
       if (cmd.hasOption("p")) {
         // obtain user input from interactively displaying all params screen and gettng data from user
         sentence = prompUserForParams(cmd);
+        if (sentence == null) {
+          return false;
+        }
       } else {
         // from command line
-        sentence = getParamsFromCmdLine(cmd);
+        sentence = cmd.getSentence();
       }
 
-      if ((sentence.getModuleName() == null) && (sentence.getCommandName() == null)) {
-        this.commandManager.showMainHelp();
-        return true;
-      }
-
-      Pair<CommandResult, Object> result = this.commandManager.execCmdLine(sentence);
-
-      if (result.getLeft() == CommandResult.FAILURE) {
-
-        Object ex = result.getRight();
-        if ((ex != null) && (ex instanceof Throwable)) {
-
-          Throwable err = (Throwable) ex;
-          this.output.showError("An error occurred. Message: %s", err.getMessage());
-          if (Devcon.SHOW_STACK_TRACE) {
-            this.output.showError("Stacktrace:");
-            err.printStackTrace();
-          }
-        } else {
-          this.output.showError("Unexpected Error without error information");
-        }
-        return false;
-      }
-
-      return ((result.getLeft() == CommandResult.OK) || (result.getLeft() == CommandResult.HELP_SHOWN));
+      CommandResult result = execute(sentence);
+      return (result == CommandResult.OK) || (result == CommandResult.HELP_SHOWN);
 
     } catch (InvalidEnvironentException ie) {
       this.output.showError("Devcon instance already running");
       return false;
-    } catch (UnrecognizedOptionException e) {
+    } catch (ParseException e) {
 
       this.output.showError(e.getMessage());
       return false;
     } catch (Throwable e) {
+      flushOutput();
       e.printStackTrace();
       this.output.showError("An unexcpected error occurred");
       if (Devcon.SHOW_STACK_TRACE) {
@@ -186,23 +182,116 @@ public class ConsoleInputManager {
     }
   }
 
+  /**
+   * Parses a command line (without global options like -g or -d) into a sentence
+   *
+   * @param args the arguments of the command line
+   * @return the sentence
+   * @throws ParseException when the command line contains unknown options
+   */
+  public Sentence toSentence(String[] args) throws ParseException {
+
+    return getParser().parse(args).getSentence();
+  }
+
+  /**
+   * Executes a sentence, shows the main help when it has neither module nor command and reports failures
+   *
+   * @param sentence the sentence
+   * @return the result of the command
+   * @throws Exception when the main help cannot be shown
+   */
+  public CommandResult execute(Sentence sentence) throws Exception {
+
+    if ((sentence.getModuleName() == null) && (sentence.getCommandName() == null)) {
+      this.commandManager.showMainHelp();
+      flushOutput();
+      return CommandResult.HELP_SHOWN;
+    }
+
+    Pair<CommandResult, Object> result = this.commandManager.execCmdLine(sentence);
+
+    if (result.getLeft() == CommandResult.FAILURE) {
+
+      Object ex = result.getRight();
+      if ((ex != null) && (ex instanceof Throwable)) {
+
+        Throwable err = (Throwable) ex;
+        this.output.showError("An error occurred. Message: %s", err.getMessage());
+        if (Devcon.SHOW_STACK_TRACE) {
+          this.output.showError("Stacktrace:");
+          flushOutput();
+          err.printStackTrace();
+        }
+      } else {
+        this.output.showError("Unexpected Error without error information");
+      }
+    }
+
+    flushOutput();
+    return result.getLeft();
+  }
+
+  /**
+   * Waits until the output written so far has reached the console (for an asynchronous output), so it is not mixed
+   * up with what comes next, e.g. a stack trace or the output of the next command
+   */
+  private void flushOutput() {
+
+    if (this.output instanceof Flushable) {
+      try {
+        ((Flushable) this.output).flush();
+      } catch (IOException e) {
+        // TODO implement logs
+        System.out.println("[ERROR] at ConsoleInputManager#flushOutput: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Runs the command lines of the file given as first argument (- for standard input)
+   */
+  private boolean runBatch(Arguments cmd) throws IOException {
+
+    List<String> argList = cmd.getArgList();
+    if (argList.isEmpty()) {
+      this.output.showError("No batch file given (use - for standard input)");
+      return false;
+    }
+    if (cmd.hasOption("ff") && cmd.hasOption("kg")) {
+      this.output.showError("Cannot specifiy --fail-fast and --keep-going at the same time");
+      return false;
+    }
+
+    BatchInputManager batch = new BatchInputManager(this.registry, this.input, this.output);
+    String source = argList.get(0);
+    if ("-".equals(source)) {
+      return batch.run(new InputStreamReader(System.in), cmd.hasOption("kg"));
+    }
+
+    File file = new ContextPathInfo().getCurrentWorkingDirectory().resolve(source).toFile();
+    try (Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8")) {
+      return batch.run(reader, cmd.hasOption("kg"));
+    }
+  }
+
   /**
    * @param cmd
-   * @return
+   * @return sentence or <code>null</code> when module and/or command are not valid
    */
-  private Sentence prompUserForParams(CommandLine cmd) {
+  private Sentence prompUserForParams(Arguments cmd) {
 
     Sentence sentence = new Sentence();
 
-    List<?> argList = cmd.getArgList();
-    if ((argList.size() > 0) && (argList.get(0) != null)) {
-      sentence.setModuleName(argList.get(0).toString());
+    List<String> argList = cmd.getArgList();
+    if (argList.size() > 0) {
+      sentence.setModuleName(argList.get(0));
     } else {
       sentence.setModuleName(this.input.promptUser("Give module: "));
     }
 
-    if ((argList.size() > 1) && (argList.get(1) != null)) {
-      sentence.setCommandName(argList.get(1).toString());
+    if (argList.size() > 1) {
+      sentence.setCommandName(argList.get(1));
     } else {
       sentence.setCommandName(this.input.promptUser("Give command: "));
     }
@@ -210,7 +299,7 @@ public class ConsoleInputManager {
     Optional<Command> command = this.registry.getCommand(sentence.getModuleName(), sentence.getCommandName());
     if (!command.isPresent()) {
       this.output.showError("Module and/or command not valid");
-      System.exit(0);
+      return null;
     }
 
     Command command_ = command.get();
@@ -220,8 +309,9 @@ public class ConsoleInputManager {
     for (CommandParameter p : command_.getDefinedParameters()) {
 
       boolean given = false;
-      for (Option parsedParam : cmd.getOptions()) {
-        if (parsedParam.getLongOpt().equals(p.getName())) {
+      for (Pair<String, String> parsedParam : cmd.getSentence().getParams()) {
+        if (parsedParam.getKey().equals(p.getName())) {
+          sentence.addParam(p.getName(), parsedParam.getValue());
           given = true;
         }
       }
@@ -236,45 +326,12 @@ public class ConsoleInputManager {
   }
 
   /**
-   * @returns sentence
-   * @param cmd
+   * @return parser for global options and the parameters of the commands in the registry; both tables are cached
    */
-  private Sentence getParamsFromCmdLine(CommandLine cmd) {
-
-    Sentence sentence = new Sentence();
-    for (Option parsedParam : cmd.getOptions()) {
-      if (cmd.getOptionValue(parsedParam.getOpt()) != null)
-        sentence.addParam(parsedParam.getOpt(), parsedParam.getValue());
-    }
-
-    List<?> argList = cmd.getArgList();
-
-    if (argList.size() == 1) {
-      sentence.setModuleName(argList.get(0).toString());
-    } else if (argList.size() > 1) {
-      sentence.setModuleName(argList.get(0).toString());
-      sentence.setCommandName(argList.get(1).toString());
-    }
-
-    sentence.setHelpRequested(cmd.hasOption("h"));
-
-    return sentence;
-  }
-
-  private Options getOptions() {
-
-    List<DevconOption> devconOptions = new ContextPathInfo().getGlobalOptions();
-    Options options = new Options();
-
-    for (DevconOption gOpt : devconOptions) {
-      options.addOption(new Option(gOpt.getOpt(), gOpt.getLongOpt(), false, gOpt.getDescription()));
-    }
-
-    for (String name : this.commandManager.getParameterNames()) {
-      options.addOption(name, true, null);
-    }
+  private ArgumentParser getParser() {
 
-    return options;
+    return new ArgumentParser(new ContextPathInfo().getGlobalOptions(), this.registry.getParameterNames(),
+        this.registry.getFlagParameterNames());
   }
 
   private static boolean lockInstance(final String lockFile) {
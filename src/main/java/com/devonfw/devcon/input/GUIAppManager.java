@@ -24,6 +24,7 @@ import com.devonfw.devcon.common.api.Command;
 import com.devonfw.devcon.common.api.CommandManager;
 import com.devonfw.devcon.common.api.CommandModuleInfo;
 import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.impl.ScriptBackends;
 import com.devonfw.devcon.common.utils.Constants;
 import com.devonfw.devcon.common.utils.Utils;
 import com.google.common.base.Optional;
@@ -67,6 +68,8 @@ public class GUIAppManager extends Application {
 
     GUIAppManager.registry = registry;
     GUIAppManager.cmdManager = commandManager;
+    // script commands may be started while others are still running
+    ScriptBackends.warmUpDefault(Integer.MAX_VALUE);
 
     main(args);
   }
@@ -16,6 +16,7 @@
 package com.devonfw.devcon.input;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -27,9 +28,12 @@ import com.devonfw.devcon.common.api.data.CommandParameter;
 import com.devonfw.devcon.common.api.data.InputTypeNames;
 import com.devonfw.devcon.common.api.data.ParameterInputType;
 import com.devonfw.devcon.common.utils.Constants;
-import com.devonfw.devcon.output.DownloadingProgress;
 import com.devonfw.devcon.output.GUIOutput;
+import com.devonfw.devcon.output.Progress;
+import com.google.common.base.Optional;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -42,13 +46,13 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextArea;
-import javafx.scene.control.TextAreaBuilder;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
 import javafx.scene.input.MouseEvent;
@@ -61,6 +65,7 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 /**
@@ -81,7 +86,7 @@ public class ShowCommandHandler implements EventHandler<ActionEvent> {
 
   private CommandManager cmdManager;
 
-  private TextArea console;
+  private ListView<String> console;
 
   private List<String> mandatoryParamList = new ArrayList<>();
 
@@ -371,42 +376,73 @@ public class ShowCommandHandler implements EventHandler<ActionEvent> {
     }
 
     this.p2.setPrefWidth(575);
+    // only follow progress started after this form was shown
+    final Optional<Progress> previous = Progress.current();
     Thread progressBarUpdate = new Thread(new Runnable() {
       @Override
       public void run() {
 
-        while ((DownloadingProgress.downloadProgress / 100) != 1) {
+        boolean finished = false;
+        while (!finished) {
 
-          ShowCommandHandler.this.p2.progressProperty().setValue((DownloadingProgress.downloadProgress) / 100);
+          Optional<Progress> progress = Progress.current();
+          if (progress.equals(previous)) {
+            progress = Optional.absent();
+          }
+          double fraction = progress.isPresent() ? Math.max(progress.get().getFraction(), 0) : 0;
+          finished = progress.isPresent() && progress.get().isFinished();
+
+          ShowCommandHandler.this.p2.progressProperty().setValue(fraction);
 
           pi.setVisible(true);
-          pi.setProgress((DownloadingProgress.downloadProgress) / 100);
+          pi.setProgress(fraction);
 
           try {
-            Thread.sleep(2000);
+            Thread.sleep(200);
           } catch (InterruptedException e) {
 
             e.printStackTrace();
           }
         }
-
-        if ((DownloadingProgress.downloadProgress / 100) == 1) {
-          pi.setProgress((DownloadingProgress.downloadProgress) / 100);
-        }
       }
     });
+    progressBarUpdate.setDaemon(true);
     progressBarUpdate.start();
 
     // int rowNum = grid.getChildren().size();
 
-    this.console = TextAreaBuilder.create().prefWidth(600).prefHeight(300).wrapText(true).build();
-    this.guiOutput = new GUIOutput(this.console);
-    this.console.setEditable(false);
+    this.console = new ListView<>();
+    this.console.setPrefSize(600, 300);
     this.console.setId("console");
-    this.console.setPromptText(Constants.CONSOLE_PROMPT_TEXT);
+    this.console.setPlaceholder(new Label(Constants.CONSOLE_PROMPT_TEXT));
+    this.guiOutput = new GUIOutput(this.console);
 
     // this.console.setStyle("-fx-background-color: #b5c9c9;");
     grid.add(this.console, 0, rowNum + 5, 2, 2);
+
+    // filter and save the console output
+    HBox logTools = new HBox(5);
+    final TextField logFilter = new TextField();
+    logFilter.setPromptText(Constants.LOG_FILTER_PROMPT_TEXT);
+    logFilter.textProperty().addListener(new ChangeListener<String>() {
+      @Override
+      public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+
+        ShowCommandHandler.this.guiOutput.filter(newValue);
+      }
+    });
+    Button saveLog = new Button(Constants.SAVE_LOG);
+    saveLog.setOnAction(new EventHandler<ActionEvent>() {
+      @Override
+      public void handle(ActionEvent t) {
+
+        saveLog(ShowCommandHandler.this.screenController);
+      }
+    });
+    logTools.getChildren().add(logFilter);
+    logTools.getChildren().add(saveLog);
+    grid.add(logTools, 0, rowNum + 4, 2, 1);
+
     ExecuteCommandHandler cmdHandler = new ExecuteCommandHandler(popParentScene(), this.command, this.cmdManager,
         this.screenController, grid, this.mandatoryParamList, this.guiOutput);
 
@@ -439,6 +475,21 @@ public class ShowCommandHandler implements EventHandler<ActionEvent> {
     grid.add(hbox, 1, rowNum + 1);
   }
 
+  private void saveLog(Stage primaryStage) {
+
+    FileChooser fileChooser = new FileChooser();
+    fileChooser.setInitialDirectory(this.cmdManager.getContextPathInfo().getCurrentWorkingDirectory().toFile());
+    fileChooser.setInitialFileName("devcon.log");
+    File selectedFile = fileChooser.showSaveDialog(primaryStage);
+    if (selectedFile != null) {
+      try {
+        this.guiOutput.saveLog(selectedFile);
+      } catch (IOException e) {
+        this.guiOutput.showError("The log could not be saved to %s: %s", selectedFile.toString(), e.getMessage());
+      }
+    }
+  }
+
   private void chooseDirectory(Stage primaryStage, TextField filePath) {
 
     DirectoryChooser directoryChooser = new DirectoryChooser();
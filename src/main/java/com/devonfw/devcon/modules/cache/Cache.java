@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.modules.cache;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.devonfw.devcon.common.api.annotations.CmdModuleRegistry;
+import com.devonfw.devcon.common.api.annotations.Command;
+import com.devonfw.devcon.common.api.annotations.Parameter;
+import com.devonfw.devcon.common.api.annotations.Parameters;
+import com.devonfw.devcon.common.impl.AbstractCommandModule;
+import com.devonfw.devcon.common.utils.ArtifactCache;
+import com.devonfw.devcon.output.Output;
+
+/**
+ * Commands to manage the cache of downloaded artifacts (see {@link ArtifactCache})
+ */
+@CmdModuleRegistry(name = "cache", description = "Manage the local cache of downloaded distributions and templates")
+public class Cache extends AbstractCommandModule {
+
+  private static final long MB = 1024 * 1024;
+
+  private ArtifactCache cache;
+
+  /**
+   * The constructor.
+   */
+  public Cache() {
+
+    this(ArtifactCache.getDefault());
+  }
+
+  /**
+   * @param cache the cache to manage
+   */
+  public Cache(ArtifactCache cache) {
+
+    super();
+    this.cache = cache;
+  }
+
+  @SuppressWarnings("javadoc")
+  @Command(name = "list", description = "Lists the cached artifacts")
+  public void list() {
+
+    Output out = getOutput();
+    List<ArtifactCache.Entry> entries = this.cache.list();
+
+    long total = 0;
+    for (ArtifactCache.Entry entry : entries) {
+      long size = entry.getFile().length();
+      if (!entry.isShared()) {
+        total += size;
+      }
+      out.showMessage("%s %8s MB  %s  (%s)%s", entry.getHash().substring(0, 12), String.valueOf(size / MB),
+          entry.getName(), entry.getKey(), entry.isShared() ? " [shared]" : "");
+    }
+
+    out.showMessage("%s artifacts, %s of %s MB used in %s", String.valueOf(entries.size()), String.valueOf(total / MB),
+        String.valueOf(this.cache.getMaxBytes() / MB), this.cache.getRoot().toString());
+    if (this.cache.getShared().isPresent()) {
+      out.showMessage("Shared (read-only) cache: %s", this.cache.getShared().get().toString());
+    }
+  }
+
+  @SuppressWarnings("javadoc")
+  @Command(name = "prune", description = "Removes the least recently used artifacts until the cache fits the given size")
+  @Parameters(values = {
+  @Parameter(name = "size", description = "maximum size in MB (by default the configured maximum; 0 empties the cache)", optional = true) })
+  public void prune(String size) {
+
+    long maxBytes;
+    try {
+      maxBytes = size.trim().isEmpty() ? this.cache.getMaxBytes() : Long.parseLong(size.trim()) * MB;
+    } catch (NumberFormatException e) {
+      getOutput().showError("The size must be a number of MB: %s", size);
+      return;
+    }
+
+    long freed = this.cache.prune(maxBytes);
+    getOutput().showMessage("%s MB freed", String.valueOf(freed / MB));
+  }
+
+  @SuppressWarnings("javadoc")
+  @Command(name = "verify", description = "Checks the cached artifacts against their hashes and removes corrupt ones")
+  public void verify() {
+
+    try {
+      List<ArtifactCache.Entry> corrupt = this.cache.verify();
+      for (ArtifactCache.Entry entry : corrupt) {
+        getOutput().showMessage("Removed corrupt artifact %s (%s)", entry.getName(), entry.getKey());
+      }
+      getOutput().showMessage("Cache verified, %s corrupt artifacts removed", String.valueOf(corrupt.size()));
+    } catch (IOException e) {
+      getOutput().showError("while verifying the cache: %s", e.getMessage());
+    }
+  }
+}
@@ -16,7 +16,6 @@
 package com.devonfw.devcon.modules.dist;
 
 import java.io.File;
-import java.io.InputStream;
 import java.nio.file.Path;
 
 import org.apache.commons.lang3.SystemUtils;
@@ -35,7 +34,7 @@ import com.devonfw.devcon.common.impl.AbstractCommandModule;
 import com.devonfw.devcon.common.utils.Constants;
 import com.devonfw.devcon.common.utils.Downloader;
 import com.devonfw.devcon.common.utils.Extractor;
-import com.devonfw.devcon.common.utils.Utils;
+import com.devonfw.devcon.common.utils.ProcessRunner;
 import com.google.common.base.Optional;
 
 /**
@@ -92,7 +91,7 @@ public class Dist extends AbstractCommandModule {
       Optional<String> fileDownloaded = Downloader.downloadFromTeamForge(path, user, password, teamforgeFileId.get());
 
       if (fileDownloaded.isPresent()) {
-        Extractor.unZip(path + File.separator + fileDownloaded.get().toString(), path);
+        Extractor.unZip(new File(path, fileDownloaded.get()), new File(path), getOutput());
 
         this.output
             .showMessage("Distribution successfully installed. You can now follow the manual steps as described\n"
@@ -144,14 +143,7 @@ public class Dist extends AbstractCommandModule {
     try {
 
       // Run file update-all-workspaces.bat which initializes the distro on first run
-      ProcessBuilder processBuilder = new ProcessBuilder(updatebat.getAbsolutePath());
-      processBuilder.directory(path_.toFile());
-      Process process = processBuilder.start();
-
-      final InputStream isError = process.getErrorStream();
-      final InputStream isOutput = process.getInputStream();
-
-      Utils.processOutput(isError, isOutput, this.output);
+      new ProcessRunner(updatebat.getAbsolutePath()).directory(path_.toFile()).output(this.output).run();
 
       this.output.showMessage("Distribution initialized.");
 
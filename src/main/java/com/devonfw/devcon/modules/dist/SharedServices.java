@@ -16,11 +16,9 @@
 package com.devonfw.devcon.modules.dist;
 
 import java.io.File;
-import java.io.InputStream;
-import java.lang.ProcessBuilder.Redirect;
 import java.nio.file.Path;
 
-import com.devonfw.devcon.common.utils.Utils;
+import com.devonfw.devcon.common.utils.ProcessRunner;
 import com.devonfw.devcon.output.Output;
 
 /**
@@ -43,20 +41,8 @@ public class SharedServices {
     try {
 
       File batchFile = new File(distPath.toString() + File.separator + DistConstants.INIT_SCRIPT);
-      ProcessBuilder processBuilder =
-          new ProcessBuilder(batchFile.getAbsolutePath(), artUser, artEncPass, engagementName, ciaas);
-      processBuilder.redirectErrorStream(true);
-      processBuilder.redirectOutput(Redirect.PIPE);
-
-      processBuilder.directory(new File(distPath.toString()));
-      Process process = processBuilder.start();
-
-      final InputStream isError = process.getErrorStream();
-      final InputStream isOutput = process.getInputStream();
-
-      Utils.processErrorAndOutPut(isError, isOutput, this.out);
-
-      int exitStatus = process.waitFor();
+      int exitStatus = new ProcessRunner(batchFile.getAbsolutePath(), artUser, artEncPass, engagementName, ciaas)
+          .directory(new File(distPath.toString())).redirectErrorStream(true).output(this.out).run().getExitCode();
       System.out.println("s2-init.bat exit status: " + exitStatus);
       return exitStatus;
     } catch (Exception e) {
@@ -69,20 +55,8 @@ public class SharedServices {
     try {
 
       File batchFile = new File(distPath.toString() + File.separator + DistConstants.CREATE_SCRIPT);
-      ProcessBuilder processBuilder =
-          new ProcessBuilder(batchFile.getAbsolutePath(), projectName, svnUrl, svnUser, svnPass);
-      processBuilder.redirectErrorStream(true);
-      processBuilder.redirectOutput(Redirect.PIPE);
-
-      processBuilder.directory(new File(distPath.toString()));
-      Process process = processBuilder.start();
-
-      final InputStream isError = process.getErrorStream();
-      final InputStream isOutput = process.getInputStream();
-
-      Utils.processErrorAndOutPut(isError, isOutput, this.out);
-
-      int exitStatus = process.waitFor();
+      int exitStatus = new ProcessRunner(batchFile.getAbsolutePath(), projectName, svnUrl, svnUser, svnPass)
+          .directory(new File(distPath.toString())).redirectErrorStream(true).output(this.out).run().getExitCode();
       return exitStatus;
     } catch (Exception e) {
       throw e;
@@ -97,21 +71,9 @@ public int initPL(Path distPath, String plUrl, String plUser, String plEncPass,
 	  try {
 	  
 	  File batchFile = new File(distPath.toString() + File.separator + DistConstants.INIT_PL_SCRIPT);
-      ProcessBuilder processBuilder =
-          new ProcessBuilder(batchFile.getAbsolutePath(), plUser, plEncPass, plJenkinsConnectionName, 
-        		  plSonarQubeConnectionName, plGerritConnectionName);
-      processBuilder.redirectErrorStream(true);
-      processBuilder.redirectOutput(Redirect.PIPE);
-
-      processBuilder.directory(new File(distPath.toString()));
-      Process process = processBuilder.start();
-
-      final InputStream isError = process.getErrorStream();
-      final InputStream isOutput = process.getInputStream();
-
-      Utils.processErrorAndOutPut(isError, isOutput, this.out);
-
-      int exitStatus = process.waitFor();
+      int exitStatus = new ProcessRunner(batchFile.getAbsolutePath(), plUser, plEncPass, plJenkinsConnectionName,
+          plSonarQubeConnectionName, plGerritConnectionName)
+          .directory(new File(distPath.toString())).redirectErrorStream(true).output(this.out).run().getExitCode();
       System.out.println("s2-pl-init.bat exit status: " + exitStatus);
       return exitStatus;
     } catch (Exception e) {
@@ -26,7 +26,8 @@ import com.devonfw.devcon.common.utils.Utils;
  * @author ivanderk
  */
 
-@CmdModuleRegistry(name = "doc", description = "Module with tasks related with obtaining specific documentation")
+@CmdModuleRegistry(name = "doc", description = "Module with tasks related with obtaining specific documentation",
+    stateless = true)
 public class Doc extends AbstractCommandModule {
 
   /**
@@ -31,7 +31,7 @@ import com.google.common.base.Optional;
  * @author pparrado
  */
 
-@CmdModuleRegistry(name = "foo", description = "This is only a test module.", visible = false)
+@CmdModuleRegistry(name = "foo", description = "This is only a test module.", visible = false, stateless = true)
 public class Foo extends AbstractCommandModule {
 
   /**
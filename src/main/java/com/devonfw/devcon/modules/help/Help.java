@@ -30,7 +30,7 @@ import com.google.common.base.Optional;
  *
  * @author pparrado
  */
-@CmdModuleRegistry(name = "help", description = "This module shows help info about devcon")
+@CmdModuleRegistry(name = "help", description = "This module shows help info about devcon", stateless = true)
 public class Help extends AbstractCommandModule {
 
   @SuppressWarnings("javadoc")
@@ -19,7 +19,6 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Iterator;
@@ -52,8 +51,11 @@ import com.devonfw.devcon.common.api.data.InputTypeNames;
 import com.devonfw.devcon.common.api.data.ProjectInfo;
 import com.devonfw.devcon.common.api.data.ProjectType;
 import com.devonfw.devcon.common.impl.AbstractCommandModule;
+import com.devonfw.devcon.common.utils.BuildCache;
 import com.devonfw.devcon.common.utils.Constants;
 import com.devonfw.devcon.common.utils.Downloader;
+import com.devonfw.devcon.common.utils.IncrementalBuild;
+import com.devonfw.devcon.common.utils.ProcessRunner;
 import com.devonfw.devcon.common.utils.Utils;
 import com.google.common.base.Optional;
 
@@ -62,7 +64,7 @@ import com.google.common.base.Optional;
  *
  * @author ssarmoka
  */
-@CmdModuleRegistry(name = "oasp4j", description = "Oasp4j(server project) related commands", sort = 3)
+@CmdModuleRegistry(name = "oasp4j", description = "Oasp4j(server project) related commands", sort = 3, stateless = true)
 public class Oasp4j extends AbstractCommandModule {
 
   /**
@@ -118,25 +120,11 @@ public class Oasp4j extends AbstractCommandModule {
 
     if (!project.exists()) {
 
-      Runtime rt = Runtime.getRuntime();
-      Process process = null;
-
       try {
 
-        if (SystemUtils.IS_OS_WINDOWS) {
-          process = Runtime.getRuntime().exec(Constants.WINDOWS_CMD_PROMPT + baseCommand, null, new File(serverpath));
-
-        } else if (SystemUtils.IS_OS_LINUX) {
-          String args[] = new String[] { Constants.LINUX_BASH, "-c", baseCommand };
-          process = Runtime.getRuntime().exec(args, null, new File(serverpath));
-        }
-        final InputStream isError = process.getErrorStream();
-        final InputStream isOutput = process.getInputStream();
-
-        Utils.processErrorAndOutPut(isError, isOutput, this.output);
-
-        int result = process.waitFor();
-        if (result == 0) {
+        ProcessRunner.Result result =
+            ProcessRunner.shell(baseCommand).directory(new File(serverpath)).output(this.output).run();
+        if (result.isSuccess()) {
           getOutput().showMessage("Adding devon.json file...");
           Utils.addDevonJsonFile(project.toPath(), ProjectType.OASP4J);
 
@@ -176,7 +164,6 @@ public class Oasp4j extends AbstractCommandModule {
   @Parameter(name = "port", description = "Port to start Spring boot app (port 8081 by default)", optional = true) })
   public void run(String port) {
 
-    Process process = null;
     if (!this.projectInfo.isPresent()) {
       getOutput().showError("Not in a project or -path param not pointing to a project");
       return;
@@ -190,24 +177,18 @@ public class Oasp4j extends AbstractCommandModule {
       String port_ = (port.isEmpty()) ? info.getProperty("port", "8081").toString() : port.trim();
       String path_ = info.getPath().toString() + File.separator + "server";
 
+      String baseCommand;
       if (SystemUtils.IS_OS_WINDOWS) {
-
-        String baseCommand = "mvn spring-boot:run -Drun.jvmArguments=\"-Dserver.port=" + port_ + "\"";
-
-        process = Runtime.getRuntime().exec(Constants.WINDOWS_CMD_PROMPT + baseCommand, null, new File(path_));
-      } else if (SystemUtils.IS_OS_LINUX) {
-        String baseCommand = "mvn spring-boot:run -Drun.jvmArguments='-Dserver.port=" + port_ + "'";
-
-        String args[] = new String[] { Constants.LINUX_BASH, "-c", baseCommand };
-        process = Runtime.getRuntime().exec(args, null, new File(path_));
-
+        baseCommand = "mvn spring-boot:run -Drun.jvmArguments=\"-Dserver.port=" + port_ + "\"";
+      } else {
+        baseCommand = "mvn spring-boot:run -Drun.jvmArguments='-Dserver.port=" + port_ + "'";
       }
 
-      String line;
-      final InputStream isError = process.getErrorStream();
-      final InputStream isOutput = process.getInputStream();
-
-      Utils.processOutput(isError, isOutput, this.output);
+      ProcessRunner.Result result =
+          ProcessRunner.shell(baseCommand).directory(new File(path_)).output(this.output).run();
+      if (!result.isSuccess()) {
+        getOutput().showError("Server stopped with exit code %s", String.valueOf(result.getExitCode()));
+      }
 
     } catch (Exception e) {
 
@@ -216,10 +197,13 @@ public class Oasp4j extends AbstractCommandModule {
   }
 
   /**
-   * @param path path to server project
+   * @param force build even if nothing changed since the last successful build
    */
-  @Command(name = "build", description = "This command will build the server project", context = ContextType.PROJECT)
-  public void build() {
+  @Command(name = "build", description = "This command will build the server project (skipped if nothing changed since the last build or restored from the build cache)", context = ContextType.PROJECT)
+  @Parameters(values = {
+  @Parameter(name = "force", description = "build even if nothing changed since the last build", optional = true, inputType = @InputType(name = InputTypeNames.LIST, values = {
+  "true", "false" })) })
+  public void build(String force) {
 
     // Check projectInfo loaded. If not, abort
     if (!this.projectInfo.isPresent()) {
@@ -227,22 +211,19 @@ public class Oasp4j extends AbstractCommandModule {
       return;
     }
 
-    Process p = null;
     try {
 
-      String baseCommand = "mvn clean install";
-      if (SystemUtils.IS_OS_WINDOWS) {
-        p = Runtime.getRuntime().exec(Constants.WINDOWS_CMD_PROMPT + baseCommand, null,
-            this.projectInfo.get().getPath().toFile());
-      } else if (SystemUtils.IS_OS_LINUX) {
-        String args[] = new String[] { Constants.LINUX_BASH, "-c", baseCommand };
-        p = Runtime.getRuntime().exec(args, null, this.projectInfo.get().getPath().toFile());
+      IncrementalBuild build = new IncrementalBuild(this.projectInfo.get(), BuildCache.getDefault(), getOutput());
+      if (!build.isNeeded(Boolean.parseBoolean(force))) {
+        return;
       }
 
-      final InputStream isError = p.getErrorStream();
-      final InputStream isOutput = p.getInputStream();
-
-      Utils.processOutput(isError, isOutput, this.output);
+      ProcessRunner.Result result = ProcessRunner.shell("mvn clean install")
+          .directory(this.projectInfo.get().getPath().toFile()).output(this.output).run();
+      build.finished(result.isSuccess());
+      if (!result.isSuccess()) {
+        getOutput().showError("Build failed with exit code %s", String.valueOf(result.getExitCode()));
+      }
 
     } catch (Exception e) {
       getOutput().showError("An error occured during executing oasp4j Cmd" + e.getMessage());
@@ -316,31 +297,22 @@ public class Oasp4j extends AbstractCommandModule {
                 + "maven" + File.separator + "bin" + File.separator + "mvn.cmd");
           }
 
-          ProcessBuilder processBuilder = null;
+          ProcessRunner packageRunner = null;
           File startTomcatBat = null;
           if (mvnBat.exists()) {
 
             if (SystemUtils.IS_OS_WINDOWS) {
               startTomcatBat = new File(newTomcat4app + File.separator + "bin" + File.separator + "startup.bat");
 
-              processBuilder = new ProcessBuilder(mvnBat.getAbsolutePath(), "package");
+              packageRunner = new ProcessRunner(mvnBat.getAbsolutePath(), "package");
 
             } else if (SystemUtils.IS_OS_LINUX) {
               startTomcatBat = new File(newTomcat4app + File.separator + "bin" + File.separator + "startup.sh");
 
-              String args[] = new String[] { Constants.LINUX_BASH, "-c", mvnBat.getAbsolutePath(), "package" };
-              processBuilder = new ProcessBuilder(args);
+              packageRunner = new ProcessRunner(Constants.LINUX_BASH, "-c", mvnBat.getAbsolutePath(), "package");
 
             }
-            processBuilder.directory(project);
-            Process process = processBuilder.start();
-
-            final InputStream isError = process.getErrorStream();
-            final InputStream isOutput = process.getInputStream();
-
-            Utils.processErrorAndOutPut(isError, isOutput, getOutput());
-
-            process.waitFor();
+            packageRunner.directory(project).output(getOutput()).run();
 
             // ADDING THE .WAR TO THE tomcat/webapps DIRECTORY
             File server = new File(path + File.separator + "server");
@@ -355,28 +327,19 @@ public class Oasp4j extends AbstractCommandModule {
 
                   // LAUNCHING TOMCAT
 
-                  ProcessBuilder tomcatProcessBuilder = null;
+                  ProcessRunner tomcatRunner = null;
                   if (startTomcatBat.exists()) {
 
                     if (SystemUtils.IS_OS_WINDOWS) {
-                      tomcatProcessBuilder = new ProcessBuilder(startTomcatBat.getAbsolutePath());
-                      tomcatProcessBuilder.directory(new File(newTomcat4app + File.separator + "bin"));
+                      tomcatRunner = new ProcessRunner(startTomcatBat.getAbsolutePath());
                     } else if (SystemUtils.IS_OS_LINUX) {
-                      String args1[] = new String[] { Constants.LINUX_BASH, "-c", "sh catalina.sh start" };
-                      tomcatProcessBuilder = new ProcessBuilder(args1);
-                      tomcatProcessBuilder.directory(new File(newTomcat4app + File.separator + "bin"));
+                      tomcatRunner = new ProcessRunner(Constants.LINUX_BASH, "-c", "sh catalina.sh start");
                     }
 
-                    Process tomcatProcess = tomcatProcessBuilder.start();
-
-                    final InputStream isTomcatError = tomcatProcess.getErrorStream();
-                    final InputStream isTomcatOutput = tomcatProcess.getInputStream();
-
-                    Utils.processErrorAndOutPut(isTomcatError, isTomcatOutput, getOutput());
-
-                    int tomcatResult = tomcatProcess.waitFor();
+                    ProcessRunner.Result tomcatResult = tomcatRunner
+                        .directory(new File(newTomcat4app + File.separator + "bin")).output(getOutput()).run();
 
-                    if (tomcatResult == 0) {
+                    if (tomcatResult.isSuccess()) {
                       getOutput()
                           .showMessage("##########################################################################");
                       getOutput()
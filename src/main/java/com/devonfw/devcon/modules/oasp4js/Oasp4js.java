@@ -15,11 +15,7 @@
  ******************************************************************************/
 package com.devonfw.devcon.modules.oasp4js;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.InputStreamReader;
-
-import org.apache.commons.lang3.SystemUtils;
 
 import com.devonfw.devcon.common.api.annotations.CmdModuleRegistry;
 import com.devonfw.devcon.common.api.annotations.Command;
@@ -31,7 +27,9 @@ import com.devonfw.devcon.common.api.data.DistributionInfo;
 import com.devonfw.devcon.common.api.data.InputTypeNames;
 import com.devonfw.devcon.common.api.data.ProjectType;
 import com.devonfw.devcon.common.impl.AbstractCommandModule;
-import com.devonfw.devcon.common.utils.Constants;
+import com.devonfw.devcon.common.utils.BuildCache;
+import com.devonfw.devcon.common.utils.IncrementalBuild;
+import com.devonfw.devcon.common.utils.ProcessRunner;
 import com.devonfw.devcon.common.utils.Utils;
 import com.google.common.base.Optional;
 
@@ -41,7 +39,7 @@ import com.google.common.base.Optional;
  * @author pparrado
  */
 
-@CmdModuleRegistry(name = "oasp4js", description = "Module to automate tasks related to oasp4js")
+@CmdModuleRegistry(name = "oasp4js", description = "Module to automate tasks related to oasp4js", stateless = true)
 public class Oasp4js extends AbstractCommandModule {
 
   private static String[] STATE = { "successfully", "failed" };
@@ -73,33 +71,14 @@ public class Oasp4js extends AbstractCommandModule {
           getOutput()
               .showError("The project " + projectPath + " already exists. Please delete it or choose other location.");
         } else {
-          Process process = null;
-
-          if (SystemUtils.IS_OS_WINDOWS) {
-
-            process = Runtime.getRuntime().exec(Constants.WINDOWS_CMD_PROMPT + NG_NEW + clientname, null,
-                new File(clientpath));
-
-          } else if (SystemUtils.IS_OS_LINUX) {
-
-            String args[] = new String[] { Constants.LINUX_BASH, "-c", NG_NEW + clientname };
-            process = Runtime.getRuntime().exec(args, null, new File(clientpath));
-
-          }
-
-          String line;
-          BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
-          while ((line = in.readLine()) != null) {
-            getOutput().showMessage(line);
-          }
-          in.close();
-          int result = process.waitFor();
-          if (result == 0) {
+          ProcessRunner.Result result =
+              ProcessRunner.shell(NG_NEW + clientname).directory(new File(clientpath)).output(getOutput()).run();
+          if (result.isSuccess()) {
             getOutput().showMessage("Adding devon.json file...");
             Utils.addDevonJsonFile(projectFile.toPath(), ProjectType.OASP4JS);
           }
 
-          getOutput().showMessage("Project create " + STATE[result]);
+          getOutput().showMessage("Project create " + STATE[result.isSuccess() ? 0 : 1]);
 
         }
       } else {
@@ -111,8 +90,11 @@ public class Oasp4js extends AbstractCommandModule {
     }
   }
 
-  @Command(name = "build", description = "This command will build the oasp4js project.", context = ContextType.PROJECT)
-  public void build() {
+  @Command(name = "build", description = "This command will build the oasp4js project (skipped if nothing changed since the last build or restored from the build cache).", context = ContextType.PROJECT)
+  @Parameters(values = {
+  @Parameter(name = "force", description = "build even if nothing changed since the last build", optional = true, inputType = @InputType(name = InputTypeNames.LIST, values = {
+  "true", "false" })) })
+  public void build(String force) {
 
     try {
 
@@ -121,31 +103,23 @@ public class Oasp4js extends AbstractCommandModule {
         return;
       }
 
-      Process p;
       if (this.projectInfo.get().getProjecType().equals(ProjectType.OASP4JS)) {
 
-        Process process = null;
-
-        if (SystemUtils.IS_OS_WINDOWS) {
-          process = Runtime.getRuntime().exec(Constants.WINDOWS_CMD_PROMPT + NG_BUILD, null,
-              this.projectInfo.get().getPath().toFile());
-
-        } else if (SystemUtils.IS_OS_LINUX) {
-          String args[] = new String[] { Constants.LINUX_BASH, "-c", "ng build --progress false" };
-          process = Runtime.getRuntime().exec(args, null, this.projectInfo.get().getPath().toFile());
+        IncrementalBuild build = new IncrementalBuild(this.projectInfo.get(), BuildCache.getDefault(), getOutput());
+        if (!build.isNeeded(Boolean.parseBoolean(force))) {
+          return;
         }
 
         getOutput().showMessage("Building project...");
-        String line;
-        BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
-        while ((line = in.readLine()) != null) {
-          System.out.println(line);
-          getOutput().showMessage(line);
-        }
-        in.close();
-        int result = process.waitFor();
+        ProcessRunner.Result result = ProcessRunner.shell(NG_BUILD).directory(this.projectInfo.get().getPath().toFile())
+            .output(getOutput()).run();
 
-        getOutput().showMessage("Project build " + STATE[result]);
+        build.finished(result.isSuccess());
+        if (result.isSuccess()) {
+          getOutput().showMessage("Project build " + STATE[0]);
+        } else {
+          getOutput().showError("Project build " + STATE[1]);
+        }
 
       } else {
         getOutput()
@@ -169,28 +143,13 @@ public class Oasp4js extends AbstractCommandModule {
       if (this.projectInfo.isPresent()) {
         if (this.projectInfo.get().getProjecType().equals(ProjectType.OASP4JS)) {
 
-          Process process = null;
-
-          if (SystemUtils.IS_OS_WINDOWS) {
-            process = Runtime.getRuntime().exec(Constants.WINDOWS_CMD_PROMPT + NG_SERVE, null,
-                this.projectInfo.get().getPath().toFile());
-
-          } else if (SystemUtils.IS_OS_LINUX) {
-            String args[] = new String[] { Constants.LINUX_BASH, "-c", "ng serve --progress false" };
-            process = Runtime.getRuntime().exec(args, null, this.projectInfo.get().getPath().toFile());
-          }
-
           getOutput().showMessage("Project starting...");
-          String line;
-          BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
-          while ((line = in.readLine()) != null) {
-            System.out.println(line);
-            getOutput().showMessage(line);
-          }
-          in.close();
-          int result = process.waitFor();
-          if (result == 0) {
+          ProcessRunner.Result result = ProcessRunner.shell(NG_SERVE)
+              .directory(this.projectInfo.get().getPath().toFile()).output(getOutput()).run();
+          if (result.isSuccess()) {
             getOutput().showMessage("Starting application");
+          } else {
+            getOutput().showError("Application stopped with exit code %s", String.valueOf(result.getExitCode()));
           }
 
         } else {
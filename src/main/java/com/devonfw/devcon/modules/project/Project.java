@@ -16,6 +16,7 @@
 package com.devonfw.devcon.modules.project;
 
 import java.io.File;
+import java.util.concurrent.Callable;
 
 import com.devonfw.devcon.common.api.annotations.CmdModuleRegistry;
 import com.devonfw.devcon.common.api.annotations.Command;
@@ -28,7 +29,9 @@ import com.devonfw.devcon.common.api.data.ProjectInfo;
 import com.devonfw.devcon.common.api.data.ProjectType;
 import com.devonfw.devcon.common.impl.AbstractCommandModule;
 import com.devonfw.devcon.common.utils.Constants;
+import com.devonfw.devcon.common.utils.ParallelTasks;
 import com.devonfw.devcon.common.utils.Utils;
+import com.devonfw.devcon.output.PrefixedOutput;
 import com.google.common.base.Optional;
 
 /**
@@ -36,7 +39,7 @@ import com.google.common.base.Optional;
  *
  * @author pparrado
  */
-@CmdModuleRegistry(name = "project", description = "Module to automate tasks related to the devon projects (server + client)", visible = true)
+@CmdModuleRegistry(name = "project", description = "Module to automate tasks related to the devon projects (server + client)", visible = true, stateless = true)
 public class Project extends AbstractCommandModule {
 
   private final String OASP4J = "oasp4j";
@@ -51,11 +54,16 @@ public class Project extends AbstractCommandModule {
 
   private final String POM_XML = "pom.xml";
 
+  /**
+   * System property with the maximum number of sub-projects built at the same time (default: all)
+   */
+  public static final String PARALLELISM_PROPERTY = "devcon.project.parallelism";
+
   @Command(name = "build", description = "This command will build the server & client project (unified server and client build)", context = ContextType.COMBINEDPROJECT)
-  // @Parameters(values = {
-  // @Parameter(name = "clientpath", description = "path to client directory", optional = true, inputType =
-  // @InputType(name = InputTypeNames.PATH)) })
-  public void build() {
+  @Parameters(values = {
+  @Parameter(name = "force", description = "build even if nothing changed since the last build", optional = true, inputType = @InputType(name = InputTypeNames.LIST, values = {
+  "true", "false" })) })
+  public void build(String force) {
 
     if (!this.projectInfo.isPresent()) {
       getOutput().showError("Not in a project or -path param not pointing to a project");
@@ -63,20 +71,17 @@ public class Project extends AbstractCommandModule {
     }
     try {
 
-      int size = this.projectInfo.get().getSubProjects().size();
-
-      for (int i = 0; i < size; i++) {
-        ProjectInfo p = this.projectInfo.get().getSubProjects().get(i);
+      ParallelTasks tasks = new ParallelTasks(getParallelism());
+      for (ProjectInfo p : this.projectInfo.get().getSubProjects()) {
 
         if (p.getProjecType() == ProjectType.OASP4J) {
-          Optional<com.devonfw.devcon.common.api.Command> oasp4j = getCommand("oasp4j", "build", p);
-          oasp4j.get().exec();
+          addSubProjectCommand(tasks, p, this.OASP4J, Constants.BUILD, force);
         }
         if (p.getProjecType() == ProjectType.OASP4JS) {
-          Optional<com.devonfw.devcon.common.api.Command> oasp4js_cmd = getCommand("oasp4js", "build", p);
-          oasp4js_cmd.get().exec();
+          addSubProjectCommand(tasks, p, this.OASP4JS, Constants.BUILD, force);
         }
       }
+      runSubProjects(tasks, "build");
 
     } catch (Exception e) {
       getOutput().showError("An error occured during executing Project Cmd");
@@ -155,24 +160,71 @@ public class Project extends AbstractCommandModule {
 
     try {
 
-      int size = this.projectInfo.get().getSubProjects().size();
-
-      for (int i = 0; i < size; i++) {
-        ProjectInfo p = this.projectInfo.get().getSubProjects().get(i);
+      // the sub-projects keep running until stopped, so they always have to be started together
+      ParallelTasks tasks = new ParallelTasks(0);
+      for (ProjectInfo p : this.projectInfo.get().getSubProjects()) {
 
         if (p.getProjecType() == ProjectType.OASP4J) {
-          Optional<com.devonfw.devcon.common.api.Command> cmd = getCommand(Constants.OASP4J, Constants.RUN, p);
-          cmd.get().exec(serverport);
+          addSubProjectCommand(tasks, p, Constants.OASP4J, Constants.RUN, serverport);
         } else {
-          String clienttype = Constants.OASP4JS;
-          Optional<com.devonfw.devcon.common.api.Command> oasp4js_cmd = getCommand(Constants.OASP4JS, Constants.RUN, p);
-          oasp4js_cmd.get().exec();
+          addSubProjectCommand(tasks, p, Constants.OASP4JS, Constants.RUN);
         }
       }
+      runSubProjects(tasks, "run");
 
     } catch (Exception e) {
       getOutput().showError("An error occured during executing Project Cmd");
     }
   }
 
+  /**
+   * @return the maximum number of sub-projects built at the same time (0: all)
+   */
+  private int getParallelism() {
+
+    try {
+      return Integer.parseInt(System.getProperty(PARALLELISM_PROPERTY, "0"));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Adds a command of a sub-project to the tasks. Its messages are prefixed with the name of the sub-project; it fails
+   * when it throws or shows an error.
+   */
+  private void addSubProjectCommand(ParallelTasks tasks, final ProjectInfo p, final String module,
+      final String command, final String... args) {
+
+    final String name = p.getPath().getFileName().toString();
+    final PrefixedOutput out = new PrefixedOutput(getOutput(), name);
+
+    tasks.add(name, new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+
+        Optional<com.devonfw.devcon.common.api.Command> cmd = getRegistry().getCommand(module, command);
+        if (!cmd.isPresent()) {
+          out.showError("No command %s found for %s module.", command, module);
+          return false;
+        }
+
+        cmd.get().injectEnvironment(getRegistry(), getInput(), out, getContextPathInfo(), Optional.of(p));
+        cmd.get().exec(args);
+        return !out.hasErrors();
+      }
+    });
+  }
+
+  private void runSubProjects(ParallelTasks tasks, String command) throws InterruptedException {
+
+    if (tasks.run()) {
+      return;
+    }
+    getOutput().showError("Project %s failed in %s", command, tasks.getFailed().toString());
+    if (!tasks.getCancelled().isEmpty()) {
+      getOutput().showMessage("Stopped %s", tasks.getCancelled().toString());
+    }
+  }
+
 }
@@ -16,24 +16,24 @@
 package com.devonfw.devcon.modules.system;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStreamWriter;
 import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
-import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import com.devonfw.devcon.Devcon;
+import com.devonfw.devcon.common.api.CommandModuleInfo;
 import com.devonfw.devcon.common.api.annotations.CmdModuleRegistry;
 import com.devonfw.devcon.common.api.annotations.Command;
 import com.devonfw.devcon.common.api.annotations.InputType;
@@ -42,9 +42,13 @@ import com.devonfw.devcon.common.api.annotations.Parameters;
 import com.devonfw.devcon.common.api.data.DistributionInfo;
 import com.devonfw.devcon.common.api.data.InputTypeNames;
 import com.devonfw.devcon.common.impl.AbstractCommandModule;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
 import com.devonfw.devcon.common.impl.utils.WindowsReqistry;
+import com.devonfw.devcon.common.utils.ClassDataArchive;
 import com.devonfw.devcon.common.utils.Constants;
+import com.devonfw.devcon.common.utils.Downloader;
 import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.devonfw.devcon.common.utils.Profiler;
 import com.devonfw.devcon.common.utils.Utils;
 import com.devonfw.devcon.output.Output;
 import com.github.zafarkhaja.semver.Version;
@@ -71,6 +75,16 @@ public class SystemCommands extends AbstractCommandModule {
    */
   private static final String DOT_DEVCON_DIR = ".devcon";
 
+  /**
+   * File name (without extension) of the optional native image of devcon's CLI
+   */
+  private static final String NATIVE_IMAGE_FILE = "devcon-cli";
+
+  /**
+   * Key of the SHA-256 checksum of the devcon jar in the versions configuration file
+   */
+  private static final String SHA256_KEY = "sha256";
+
   /**
    *
    */
@@ -107,16 +121,7 @@ public class SystemCommands extends AbstractCommandModule {
               updatePath(devconDir.toString());
             }
 
-            OutputStreamWriter devconCmd =
-                new OutputStreamWriter(new FileOutputStream(devconPath.resolve("devcon.cmd").toFile()));
-            OutputStreamWriter devonCmd =
-                new OutputStreamWriter(new FileOutputStream(devconPath.resolve("devon.cmd").toFile()));
-
-            String source = String.format("@echo off\n" + "java -jar %s %%*\n", devconFile.toString());
-            devconCmd.write(source);
-            devconCmd.close();
-            devonCmd.write(source);
-            devonCmd.close();
+            writeLaunchers(devconPath, devconFile, "cmd");
           } else if (SystemUtils.IS_OS_LINUX) {
             if (addPath) {
 
@@ -134,17 +139,16 @@ public class SystemCommands extends AbstractCommandModule {
 
             }
 
-            OutputStreamWriter devconCmd =
-                new OutputStreamWriter(new FileOutputStream(devconPath.resolve("devcon.sh").toFile()));
-            OutputStreamWriter devonCmd =
-                new OutputStreamWriter(new FileOutputStream(devconPath.resolve("devon.sh").toFile()));
-
-            String source = String.format("@echo off\n" + "java -jar %s $*\n", devconFile.toString());
+            writeLaunchers(devconPath, devconFile, "sh");
+          }
 
-            devconCmd.write(source);
-            devconCmd.close();
-            devonCmd.write(source);
-            devonCmd.close();
+          getOutput().showMessage("Optimizing start-up...");
+          try {
+            if (!ClassDataArchive.create(devconFile, devconPath.resolve(ClassDataArchive.ARCHIVE_FILE))) {
+              out.showMessage("Class-data sharing is not available on this JVM; Devcon will start without it.");
+            }
+          } catch (IOException | InterruptedException e) {
+            out.showMessage("Class-data sharing archive could not be created: %s", e.getMessage());
           }
 
           out.showMessage("Installation  successful!");
@@ -211,12 +215,27 @@ public class SystemCommands extends AbstractCommandModule {
         // Utils.setProxy("devcon", proxyHost, proxyPort);
         // }
 
-        Pair<Version, String> downloadInfo = getDownloadData(Devcon.VERSION_URL);
+        Triple<Version, String, Optional<String>> downloadInfo = getDownloadData(Devcon.VERSION_URL);
         if (downloadInfo.getLeft().compareTo(Devcon.VERSION_) > 0) {
 
-          update(downloadInfo.getRight(), devconFile);
+          // ClassDataArchive is resolved before the jar it is loaded from gets overwritten
+          boolean cds = ClassDataArchive.isSupported();
+
+          update(downloadInfo.getMiddle(), downloadInfo.getRight(), devconFile);
           out.showMessage("Update successful!");
 
+          // The class-data sharing archive belongs to the old jar
+          Path archive = devconPath.resolve(ClassDataArchive.ARCHIVE_FILE);
+          if (cds) {
+            try {
+              ClassDataArchive.create(devconFile, archive);
+            } catch (InterruptedException e) {
+              Files.deleteIfExists(archive);
+            }
+          } else {
+            Files.deleteIfExists(archive);
+          }
+
           // The apps own jar file has been overwritten by the updating method
           // The result is that the return code-path generates errors.
           // So an System.exit is required
@@ -240,6 +259,129 @@ public class SystemCommands extends AbstractCommandModule {
 
   }
 
+  /**
+   * Writes the 'devcon' and 'devon' launchers. These start a native image of Devcon when one has been installed next
+   * to the jar and the command line is for one of its modules, otherwise the jar with the class-data sharing archive
+   * created at install time.
+   *
+   * @param devconPath installation directory
+   * @param devconFile installed jar
+   * @param extension "cmd" (Windows) or "sh"
+   * @throws IOException when the launchers cannot be written
+   */
+  private void writeLaunchers(Path devconPath, File devconFile, String extension) throws IOException {
+
+    File nativeImage = devconPath.resolve(SystemUtils.IS_OS_WINDOWS ? NATIVE_IMAGE_FILE + ".exe" : NATIVE_IMAGE_FILE)
+        .toFile();
+    // a native image shipped alongside the jar being installed
+    File source = new File(Utils.getApplicationPath().getParentFile(), nativeImage.getName());
+    if (source.isFile() && !source.equals(nativeImage)) {
+      FileUtils.copyFile(source, nativeImage);
+      nativeImage.setExecutable(true);
+    }
+
+    StringBuilder jvmOptions = new StringBuilder();
+    for (String option : ClassDataArchive.getLauncherOptions(devconPath.resolve(ClassDataArchive.ARCHIVE_FILE))) {
+      jvmOptions.append('"').append(option).append("\" ");
+    }
+
+    // the native image has the Java command modules, but neither the GUI nor the Javascript commands: these (and
+    // command lines without a module) are left to the jar
+    StringBuilder nativeModules = new StringBuilder();
+    for (CommandModuleInfo module : new CommandRegistryImpl(Constants.MODULES_LOCATION).getCommandModules()) {
+      nativeModules.append(module.getName()).append(' ');
+    }
+    // the quick start option only for the short invocations: no module (version, main help), -h or an information
+    // module, but never for the GUI, the daemon or batches
+    String quickModules = StringUtils.join(ClassDataArchive.QUICK_MODULES, extension.equals("cmd") ? " " : "|");
+
+    String[] lines;
+    String separator;
+    if (extension.equals("cmd")) {
+      lines = new String[] {
+          "@echo off",
+          "setlocal",
+          "set gui=",
+          "set help=",
+          "set long=",
+          "for %%%%a in (%%*) do (",
+          "  if /i \"%%%%~a\"==\"-g\" set gui=1",
+          "  if /i \"%%%%~a\"==\"--gui\" set gui=1",
+          "  if /i \"%%%%~a\"==\"-h\" set help=1",
+          "  if /i \"%%%%~a\"==\"--help\" set help=1",
+          "  if /i \"%%%%~a\"==\"-d\" set long=1",
+          "  if /i \"%%%%~a\"==\"--daemon\" set long=1",
+          "  if /i \"%%%%~a\"==\"-b\" set long=1",
+          "  if /i \"%%%%~a\"==\"--batch\" set long=1",
+          ")",
+          "set module=",
+          ":module",
+          "if \"%%~1\"==\"\" goto launch",
+          "set \"arg=%%~1\"",
+          "if \"%%arg:~0,1%%\"==\"-\" (",
+          "  shift",
+          "  goto module",
+          ")",
+          "set \"module=%%~1\"",
+          ":launch",
+          "if defined gui goto java",
+          "if not defined module goto java",
+          "if not exist \"%1$s\" goto java",
+          "for %%%%m in (%4$s) do if /i \"%%module%%\"==\"%%%%m\" goto native",
+          "goto java",
+          ":native",
+          "\"%1$s\" %%*",
+          "exit /b %%ERRORLEVEL%%",
+          ":java",
+          "set quick=%6$s",
+          "if defined module set quick=",
+          "for %%%%m in (%5$s) do if /i \"%%module%%\"==\"%%%%m\" set quick=%6$s",
+          "if defined help set quick=%6$s",
+          "if defined long set quick=",
+          "if defined gui set quick=",
+          "java %2$s%%quick%% -jar \"%3$s\" %%*" };
+      separator = "\r\n";
+    } else {
+      lines = new String[] {
+          "#!/bin/sh",
+          "gui=false",
+          "help=false",
+          "long=false",
+          "module=",
+          "for arg in \"$@\"; do",
+          "  case \"$arg\" in",
+          "    -g|--gui) gui=true ;;",
+          "    -h|--help) help=true ;;",
+          "    -d|--daemon|-b|--batch) long=true ;;",
+          "    -*) ;;",
+          "    *) [ -z \"$module\" ] && module=\"$arg\" ;;",
+          "  esac",
+          "done",
+          "if [ -n \"$module\" ] && [ \"$gui\" = false ] && [ -x \"%1$s\" ]; then",
+          "  case \" %4$s \" in",
+          "    *\" $module \"*) exec \"%1$s\" \"$@\" ;;",
+          "  esac",
+          "fi",
+          "quick=",
+          "if [ \"$long\" = false ] && [ \"$gui\" = false ]; then",
+          "  case \"$module\" in",
+          "    \"\"|%5$s) quick=%6$s ;;",
+          "  esac",
+          "  [ \"$help\" = true ] && quick=%6$s",
+          "fi",
+          "exec java %2$s$quick -jar \"%3$s\" \"$@\"" };
+      separator = "\n";
+    }
+    String script = String.format(StringUtils.join(lines, separator) + separator, nativeImage.toString(), jvmOptions,
+        devconFile.toString(), nativeModules.toString().trim(), quickModules, ClassDataArchive.QUICK_START_OPTION);
+
+    for (String name : new String[] { "devcon", "devon" }) {
+      File launcher = devconPath.resolve(name + "." + extension).toFile();
+      FileUtils.writeStringToFile(launcher, script, Charset.defaultCharset());
+      launcher.setExecutable(true);
+    }
+  }
+
   /**
    * @param devconDir
    */
@@ -252,38 +394,29 @@ public class SystemCommands extends AbstractCommandModule {
     }
   }
 
-  private Pair<Version, String> getDownloadData(String url) throws JSONException, MalformedURLException, IOException {
+  private Triple<Version, String, Optional<String>> getDownloadData(String url)
+      throws JSONException, MalformedURLException, IOException {
 
     Version version = null;
     String url_ = null;
     JSONObject json = null;
 
-    json = new JSONObject(IOUtils.toString(new URL(Devcon.VERSION_URL), Charset.forName("UTF-8")));
+    try (Profiler.Span span = Profiler.start("download.versionJson", Devcon.VERSION_URL)) {
+      json = new JSONObject(IOUtils.toString(new URL(Devcon.VERSION_URL), Charset.forName("UTF-8")));
+    }
 
     version = Version.valueOf((String) json.get("version"));
     url_ = (String) json.get("url");
+    // checksum of the jar, verified if published
+    Optional<String> sha256 = Optional.fromNullable(json.optString(SHA256_KEY, null));
 
-    return Pair.of(version, url_);
+    return Triple.of(version, url_, sha256);
   }
 
-  private void update(String url, File devconFile) throws IOException {
-
-    InputStream in_ = new URL(url).openStream();
-    FileOutputStream outFile = new FileOutputStream(devconFile);
-
-    byte[] buffer = new byte[4069];
-    int read;
-    int offset = 0;
-    try {
-      while ((read = in_.read(buffer, 0, buffer.length)) > -1) {
-        outFile.write(buffer, 0, read);
-        offset += read;
-      }
-    } finally {
-      outFile.close();
-    }
+  private void update(String url, Optional<String> sha256, File devconFile) throws IOException {
 
-    outFile.close();
+    // the jar is only replaced when it has been downloaded completely (and verified)
+    new Downloader().downloadFile(url, devconFile.getParent(), devconFile.getName(), sha256);
   }
 
 }
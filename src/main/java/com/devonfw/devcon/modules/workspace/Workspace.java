@@ -16,7 +16,6 @@
 package com.devonfw.devcon.modules.workspace;
 
 import java.io.File;
-import java.io.InputStream;
 import java.nio.file.Path;
 
 import org.apache.commons.lang3.SystemUtils;
@@ -30,7 +29,7 @@ import com.devonfw.devcon.common.api.data.DistributionInfo;
 import com.devonfw.devcon.common.api.data.InputTypeNames;
 import com.devonfw.devcon.common.impl.AbstractCommandModule;
 import com.devonfw.devcon.common.utils.Constants;
-import com.devonfw.devcon.common.utils.Utils;
+import com.devonfw.devcon.common.utils.ProcessRunner;
 import com.google.common.base.Optional;
 
 /**
@@ -72,29 +71,19 @@ public class Workspace extends AbstractCommandModule {
       Path distPath = distInfo.get().getPath();
 
       File w = new File(distPath + File.separator + Constants.WORKSPACES + File.separator + workspace);
-      ProcessBuilder processBuilder = null;
       if (!w.exists()) {
         w.mkdirs();
         String noPause = "noPause";
+        ProcessRunner runner;
         if (SystemUtils.IS_OS_WINDOWS) {
-          processBuilder = new ProcessBuilder(
+          runner = new ProcessRunner(
               distPath.toFile().getAbsolutePath() + File.separator + Constants.UPDATE_ALL_WORKSPACES_BAT, noPause);
-          processBuilder.directory(distPath.toFile());
-
-        } else if (SystemUtils.IS_OS_LINUX) {
-          String args[] = new String[] { Constants.LINUX_BASH, "-c",
-          ". " + distPath.toFile().getAbsolutePath() + File.separator + Constants.UPDATE_ALL_WORKSPACES_SH, noPause };
-          processBuilder = new ProcessBuilder(args);
-          processBuilder.directory(distPath.toFile());
-
+        } else {
+          runner = new ProcessRunner(Constants.LINUX_BASH, "-c",
+              ". " + distPath.toFile().getAbsolutePath() + File.separator + Constants.UPDATE_ALL_WORKSPACES_SH, noPause);
         }
 
-        Process process = processBuilder.start();
-
-        final InputStream isError = process.getErrorStream();
-        final InputStream isOutput = process.getInputStream();
-
-        Utils.processOutput(isError, isOutput, getOutput());
+        runner.directory(distPath.toFile()).output(getOutput()).run();
 
       } else {
         getOutput().showError("This workspace already exists!");
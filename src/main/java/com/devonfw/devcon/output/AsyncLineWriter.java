@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.output;
+
+import java.io.Flushable;
+import java.io.PrintStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes text to a {@link PrintStream} on a background thread. Any number of threads queue their text on a lock-free
+ * queue; the writer thread drains it in batches, so a burst of lines costs one write and one flush of the stream. When
+ * the queue holds its capacity the producers wait for the writer (backpressure), so a slow console cannot make the
+ * queue grow without bounds.
+ */
+class AsyncLineWriter implements Flushable {
+
+  private static final int BATCH_SIZE = 512;
+
+  private static final int FLUSH_TIMEOUT_SECONDS = 10;
+
+  private final PrintStream out;
+
+  private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+
+  private final Semaphore free;
+
+  private final AtomicBoolean parked = new AtomicBoolean();
+
+  private final Thread writer;
+
+  /**
+   * @param out the stream to write to
+   * @param capacity number of texts which can be queued before the producers have to wait
+   */
+  AsyncLineWriter(PrintStream out, int capacity) {
+    this.out = out;
+    this.free = new Semaphore(Math.max(capacity, 1));
+    this.writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        drain();
+      }
+    }, "devcon-output");
+    this.writer.setDaemon(true);
+    this.writer.start();
+
+    // whatever is still queued when the JVM exits (e.g. by System.exit) is written out
+    Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        flush();
+      }
+    }, "devcon-output-flush"));
+  }
+
+  /**
+   * Queues a text, waiting as long as the queue is full
+   *
+   * @param text the text, including its line terminator (if any)
+   */
+  void write(String text) {
+
+    this.free.acquireUninterruptibly();
+    this.queue.offer(text);
+    wake();
+  }
+
+  /**
+   * Waits until everything queued so far has been written and the stream has been flushed
+   */
+  @Override
+  public void flush() {
+
+    if (Thread.currentThread() == this.writer) {
+      return;
+    }
+
+    // the marker takes no permit, so a flush never waits for free space
+    CountDownLatch written = new CountDownLatch(1);
+    this.queue.offer(written);
+    wake();
+    try {
+      written.await(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void wake() {
+
+    if (this.parked.compareAndSet(true, false)) {
+      LockSupport.unpark(this.writer);
+    }
+  }
+
+  private void drain() {
+
+    StringBuilder batch = new StringBuilder();
+    int permits = 0;
+    while (true) {
+      Object record = this.queue.poll();
+
+      if (record instanceof String) {
+        batch.append((String) record);
+        permits++;
+        if (permits < BATCH_SIZE) {
+          continue;
+        }
+      }
+
+      if (permits > 0) {
+        this.out.print(batch);
+        this.out.flush();
+        batch.setLength(0);
+        this.free.release(permits);
+        permits = 0;
+      }
+
+      if (record instanceof CountDownLatch) {
+        this.out.flush();
+        ((CountDownLatch) record).countDown();
+      } else if (record == null) {
+        // announce the parking before checking the queue once more, so that no wake-up gets lost
+        this.parked.set(true);
+        if (this.queue.isEmpty()) {
+          LockSupport.park(this);
+        }
+        this.parked.set(false);
+      }
+    }
+  }
+}
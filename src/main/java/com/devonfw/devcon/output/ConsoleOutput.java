@@ -15,8 +15,10 @@
  ******************************************************************************/
 package com.devonfw.devcon.output;
 
+import java.io.Flushable;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -32,14 +34,26 @@ import com.devonfw.devcon.common.api.data.DevconOption;
 import com.devonfw.devcon.common.api.data.Info;
 
 /**
- * Implementation of {@link Output} based on the Console
+ * Implementation of {@link Output} based on the Console. The messages are either written right away or, for an
+ * asynchronous output, queued and written by a background thread; {@link #flush()} waits until they have been written.
  *
  * @author pparrado
  */
-public class ConsoleOutput implements Output {
+public class ConsoleOutput implements Output, Flushable {
+
+  /**
+   * System property with the number of lines an asynchronous output queues before the callers have to wait
+   */
+  public static final String QUEUE_SIZE_PROPERTY = "devcon.output.queueSize";
+
+  private static final int DEFAULT_QUEUE_SIZE = 8192;
+
+  private static final String NEWLINE = System.lineSeparator();
 
   private PrintStream out_;
 
+  private AsyncLineWriter writer;
+
   public ConsoleOutput() {
     this.out_ = System.out;
   }
@@ -49,15 +63,76 @@ public class ConsoleOutput implements Output {
     this.out_ = out;
   }
 
+  /**
+   * @param out the stream to write to
+   * @param async whether to write on a background thread, so the callers (e.g. a thread passing on the output of a
+   *        build) don´t wait for the console
+   */
+  public ConsoleOutput(PrintStream out, boolean async) {
+    this(out);
+    if (async) {
+      this.writer = new AsyncLineWriter(out, Integer.getInteger(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE));
+    }
+  }
+
+  /**
+   * Waits until all messages have been written. To be called at the end of a command and before anything is written to
+   * the console other than through this output.
+   */
+  @Override
+  public void flush() {
+
+    if (this.writer != null) {
+      this.writer.flush();
+    } else {
+      this.out_.flush();
+    }
+  }
+
   @Override
   public void showMessage(String message, String... args) {
 
-    this.out_.println(String.format(message, args));
+    println(format(message, args));
+  }
+
+  /**
+   * Formats a message, without going through {@link String#format} when there is nothing to format (e.g. the lines of
+   * an external process passed on as "%s")
+   */
+  private static String format(String message, String... args) {
+
+    if (args.length == 0) {
+      return (message.indexOf('%') < 0) ? message : String.format(message);
+    }
+    if ((args.length == 1) && "%s".equals(message)) {
+      return String.valueOf(args[0]);
+    }
+    return String.format(message, (Object[]) args);
+  }
+
+  private void println(String line) {
+
+    if (this.writer != null) {
+      this.writer.write(line + NEWLINE);
+    } else {
+      this.out_.println(line);
+    }
+  }
+
+  private void print(String text) {
+
+    if (this.writer != null) {
+      this.writer.write(text);
+    } else {
+      this.out_.print(text);
+      this.out_.flush();
+    }
   }
 
   @Override
   public void showCommandHelp(Command command) {
 
+    StringWriter buffer = new StringWriter();
     Options options = new Options();
     for (CommandParameter commandParam : command.getDefinedParameters()) {
       options.addOption(commandParam.getName(), false, commandParam.getDescription());
@@ -67,19 +142,20 @@ public class ConsoleOutput implements Output {
 
     String helpText = command.getHelpText();
 
-    formatter.printHelp(new PrintWriter(this.out_, true), 120, command.getModuleName() + " " + command.getName(),
+    formatter.printHelp(new PrintWriter(buffer, true), 120, command.getModuleName() + " " + command.getName(),
         command.getDescription(), options, 1, 2, null, true);
 
     // Only print out help text when actually present
     if (!helpText.isEmpty()) {
-      this.out_.println();
-      this.out_.println(helpText);
+      buffer.append(NEWLINE).append(helpText).append(NEWLINE);
     }
+    print(buffer.toString());
   }
 
   @Override
   public void showModuleHelp(CommandModuleInfo module) {
 
+    StringWriter buffer = new StringWriter();
     StringBuilder footer = new StringBuilder();
     footer.append("Available commands for module: " + module.getName() + "\n");
 
@@ -92,8 +168,9 @@ public class ConsoleOutput implements Output {
     String usage = module.getName() + " <<command>> [parameters...]";
     HelpFormatter formatter = new HelpFormatter();
 
-    formatter.printHelp(new PrintWriter(this.out_, true), 120, usage, module.getDescription(), options, 1, 2,
+    formatter.printHelp(new PrintWriter(buffer, true), 120, usage, module.getDescription(), options, 1, 2,
         footer.toString(), true);
+    print(buffer.toString());
   }
 
   /**
@@ -111,10 +188,11 @@ public class ConsoleOutput implements Output {
   public void showGeneralHelp(String header, String usage, List<DevconOption> options,
       List<CommandModuleInfo> modules) {
 
+    StringWriter buffer = new StringWriter();
     Options options_ = new Options();
 
     for (DevconOption opt : options) {
-      options_.addOption(opt.getOpt(), opt.getLongOpt(), false, opt.getDescription());
+      options_.addOption(opt.getOpt(), opt.getLongOpt(), opt.hasArg(), opt.getDescription());
     }
 
     StringBuilder footer = new StringBuilder();
@@ -127,7 +205,8 @@ public class ConsoleOutput implements Output {
     }
 
     HelpFormatter formatter = new HelpFormatter();
-    formatter.printHelp(new PrintWriter(this.out_, true), 120, usage, header, options_, 1, 2, footer.toString(), true);
+    formatter.printHelp(new PrintWriter(buffer, true), 120, usage, header, options_, 1, 2, footer.toString(), true);
+    print(buffer.toString());
   }
 
   /**
@@ -143,25 +222,52 @@ public class ConsoleOutput implements Output {
   @Override
   public void showError(String message, String... args) {
 
-    this.out_.println("[ERROR] " + String.format(message, args));
+    println("[ERROR] " + format(message, args));
   }
 
   @Override
   public void status(String message, String... args) {
 
-    this.out_.println("\r[INFO] " + String.format(message, args));
+    println("\r[INFO] " + format(message, args));
   }
 
   @Override
   public void statusInNewLine(String message, String... args) {
 
-    this.out_.println("\n[INFO] " + String.format(message, args));
+    println("\n[INFO] " + format(message, args));
+  }
+
+  @Override
+  public void showProgress(Progress progress) {
+
+    ProgressSampler.sample(progress, new ProgressSampler.Renderer() {
+      @Override
+      public void render(Progress p, boolean last) {
+
+        String line = "\r[INFO] " + p.getLabel() + " " + bar(p.getFraction()) + " " + p.toString();
+        if (last) {
+          println(line);
+        } else {
+          print(line);
+        }
+      }
+    });
+  }
+
+  private static String bar(double fraction) {
+
+    int filled = (fraction < 0) ? 0 : (int) (fraction * 20);
+    StringBuilder bar = new StringBuilder("[");
+    for (int i = 0; i < 20; i++) {
+      bar.append((i < filled) ? '=' : ' ');
+    }
+    return bar.append(']').toString();
   }
 
   @Override
   public void success(String command) {
 
-    this.out_.println("[INFO] The command " + command.toUpperCase() + " has finished successfully");
+    println("[INFO] The command " + command.toUpperCase() + " has finished successfully");
   }
 
 }
@@ -15,9 +15,12 @@
  ******************************************************************************/
 package com.devonfw.devcon.output;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -32,51 +35,96 @@ import com.devonfw.devcon.common.api.data.DevconOption;
 import com.devonfw.devcon.common.api.data.Info;
 
 import javafx.application.Platform;
-import javafx.scene.control.TextArea;
+import javafx.scene.control.ListView;
 
 /**
- * This class implements Output interface.This is implementation for GUI.
+ * This class implements Output interface.This is implementation for GUI. The output is kept in a bounded
+ * {@link LogBuffer} and shown in a (virtualized) ListView; lines written between two FX pulses are shown with a
+ * single update.
  *
  * @author ssarmoka
  */
 public class GUIOutput implements Output {
 
-  private TextArea out_;
+  private ListView<String> out_;
 
-  private StringBuffer consoleOutput = new StringBuffer();
+  private final LogBuffer log = new LogBuffer();
+
+  private LogListModel model;
+
+  private final Runnable flush = new Runnable() {
+    @Override
+    public void run() {
+
+      if (GUIOutput.this.model.flush()) {
+        GUIOutput.this.out_.scrollTo(GUIOutput.this.model.size() - 1);
+      }
+    }
+  };
 
   /**
    * The constructor.
    */
   public GUIOutput() {
-    this.out_ = new TextArea();
+    this(new ListView<String>());
   }
 
   /**
    * The constructor.
    *
-   * @param out - Textarea in which output should be set
+   * @param out - ListView in which output should be shown
    */
-  public GUIOutput(TextArea out) {
-    this();
+  public GUIOutput(ListView<String> out) {
     this.out_ = out;
+    this.model = new LogListModel(this.log, "");
+    this.out_.setItems(this.model);
+  }
+
+  /**
+   * Shows only the lines containing the given text
+   *
+   * @param text the text (case insensitive); empty to show all lines
+   */
+  public void filter(String text) {
+
+    this.model = new LogListModel(this.log, (text == null) ? "" : text.trim());
+    this.out_.setItems(this.model);
+  }
+
+  /**
+   * Saves the whole log, including the lines no longer shown, to a file
+   *
+   * @param file the file
+   * @throws IOException if the file cannot be written
+   */
+  public void saveLog(File file) throws IOException {
+
+    this.log.saveTo(file);
+  }
+
+  private void append(String text) {
+
+    boolean schedule = false;
+    for (String line : text.split("\n", -1)) {
+      schedule |= this.log.append(line.replace("\r", ""));
+    }
+    if (schedule) {
+      Platform.runLater(this.flush);
+    }
+  }
+
+  private void replace(String text) {
+
+    if (this.log.replace(Arrays.asList(text.replace("\r", "").split("\n")))) {
+      Platform.runLater(this.flush);
+    }
   }
 
   @SuppressWarnings("javadoc")
   @Override
   public void showMessage(String message, String... args) {
 
-    this.consoleOutput.append(String.format(message, args)).append("\n");
-    Platform.runLater(new Runnable() {
-      @Override
-      public void run() {
-
-        GUIOutput.this.out_.setText(GUIOutput.this.consoleOutput.toString());
-        GUIOutput.this.out_.selectPositionCaret(GUIOutput.this.out_.getLength());
-        GUIOutput.this.out_.deselect();
-      }
-    });
-
+    append(String.format(message, args));
   }
 
   /**
@@ -103,7 +151,7 @@ public class GUIOutput implements Output {
       buffer.append("\n");
       buffer.append(helpText);
     }
-    this.out_.setText(buffer.toString());
+    replace(buffer.toString());
   }
 
   /**
@@ -129,7 +177,7 @@ public class GUIOutput implements Output {
     formatter.printHelp(new PrintWriter(buffer), 120, usage, module.getDescription(), options, 1, 2, footer.toString(),
         true);
 
-    this.out_.setText(buffer.toString());
+    replace(buffer.toString());
   }
 
   /**
@@ -155,7 +203,7 @@ public class GUIOutput implements Output {
     Options options_ = new Options();
 
     for (DevconOption opt : options) {
-      options_.addOption(opt.getOpt(), opt.getLongOpt(), false, opt.getDescription());
+      options_.addOption(opt.getOpt(), opt.getLongOpt(), opt.hasArg(), opt.getDescription());
     }
 
     StringBuilder footer = new StringBuilder();
@@ -169,7 +217,7 @@ public class GUIOutput implements Output {
 
     HelpFormatter formatter = new HelpFormatter();
     formatter.printHelp(new PrintWriter(buffer), 120, usage, header, options_, 1, 2, footer.toString(), true);
-    this.out_.setText(buffer.toString());
+    replace(buffer.toString());
   }
 
   /**
@@ -188,8 +236,7 @@ public class GUIOutput implements Output {
   @Override
   public void showError(String message, String... args) {
 
-    this.consoleOutput.append("[ERROR] " + String.format(message, args));
-    this.out_.setText(this.consoleOutput.toString());
+    append("[ERROR] " + String.format(message, args));
   }
 
   /**
@@ -198,8 +245,25 @@ public class GUIOutput implements Output {
   @Override
   public void status(String message, String... args) {
 
-    this.consoleOutput.append("\r[INFO] " + String.format(message, args));
-    this.out_.setText(this.consoleOutput.toString());
+    append("[INFO] " + String.format(message, args));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void showProgress(Progress progress) {
+
+    ProgressSampler.sample(progress, new ProgressSampler.Renderer() {
+      @Override
+      public void render(Progress p, boolean last) {
+
+        // only the final frame is logged, the intermediate ones would just fill the buffer
+        if (last) {
+          append("[INFO] " + p.getLabel() + " " + p.toString());
+        }
+      }
+    });
   }
 
   /**
@@ -208,8 +272,7 @@ public class GUIOutput implements Output {
   @Override
   public void statusInNewLine(String message, String... args) {
 
-    this.consoleOutput.append("\n[INFO] " + String.format(message, args));
-    this.out_.setText(this.consoleOutput.toString());
+    append("[INFO] " + String.format(message, args));
   }
 
   /**
@@ -218,8 +281,7 @@ public class GUIOutput implements Output {
   @Override
   public void success(String command) {
 
-    this.consoleOutput.append("[INFO] The command " + command.toUpperCase() + " has finished successfully");
-    this.out_.setText(this.consoleOutput.toString());
+    append("[INFO] The command " + command.toUpperCase() + " has finished successfully");
   }
 
 }
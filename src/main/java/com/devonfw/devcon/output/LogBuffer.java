@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.output;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded log of output lines, shown by the GUI. Lines are appended by any thread and become visible when the consumer
+ * (the FX thread) calls {@link #flush()}, so many lines are taken over at once. The most recent lines are kept in a ring
+ * buffer; older lines are spooled to a temporary file, so {@link #saveTo(File)} still writes the complete log.
+ */
+public class LogBuffer {
+
+  /**
+   * System property with the number of lines kept in memory (default 10000)
+   */
+  public static final String CAPACITY_PROPERTY = "devcon.gui.logLines";
+
+  private static final int DEFAULT_CAPACITY = 10000;
+
+  /**
+   * Lines taken over by a {@link LogBuffer#flush()}
+   */
+  public static class Change {
+
+    private final List<String> removed;
+
+    private final int added;
+
+    Change(List<String> removed, int added) {
+      this.removed = removed;
+      this.added = added;
+    }
+
+    /**
+     * @return the lines removed from the start of the buffer (evicted, or all when it was reset)
+     */
+    public List<String> getRemoved() {
+
+      return this.removed;
+    }
+
+    /**
+     * @return the number of lines added at the end of the buffer
+     */
+    public int getAdded() {
+
+      return this.added;
+    }
+
+    /**
+     * @return whether nothing changed
+     */
+    public boolean isEmpty() {
+
+      return this.removed.isEmpty() && (this.added == 0);
+    }
+  }
+
+  private final String[] ring;
+
+  private int head;
+
+  private int size;
+
+  private List<String> pending = new ArrayList<>();
+
+  private boolean reset;
+
+  private File spool;
+
+  private Writer spoolWriter;
+
+  /**
+   * Buffer with the capacity configured by {@link #CAPACITY_PROPERTY}
+   */
+  public LogBuffer() {
+    this(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+  }
+
+  /**
+   * @param capacity number of lines kept in memory
+   */
+  public LogBuffer(int capacity) {
+    this.ring = new String[Math.max(capacity, 1)];
+  }
+
+  /**
+   * Appends a line; it becomes visible with the next {@link #flush()}
+   *
+   * @param line the line
+   * @return whether this is the first line since the last flush (i.e. a flush has to be scheduled)
+   */
+  public synchronized boolean append(String line) {
+
+    this.pending.add(line);
+    return (this.pending.size() == 1) && !this.reset;
+  }
+
+  /**
+   * Replaces the whole content (e.g. by a help text) with the next {@link #flush()}; the spooled lines are discarded
+   *
+   * @param lines the new content
+   * @return whether a flush has to be scheduled
+   */
+  public synchronized boolean replace(List<String> lines) {
+
+    boolean schedule = this.pending.isEmpty() && !this.reset;
+    this.pending = new ArrayList<>(lines);
+    this.reset = true;
+    return schedule;
+  }
+
+  /**
+   * Takes over the appended lines. Only to be called by the consumer, the only one reading the lines.
+   *
+   * @return the lines removed and added
+   */
+  public synchronized Change flush() {
+
+    List<String> removed = new ArrayList<>();
+    if (this.reset) {
+      for (int i = 0; i < this.size; i++) {
+        removed.add(get(i));
+      }
+      this.head = 0;
+      this.size = 0;
+      Arrays.fill(this.ring, null);
+      discardSpool();
+      this.reset = false;
+    }
+
+    List<String> added = this.pending;
+    this.pending = new ArrayList<>();
+
+    // lines which don´t fit at all are spooled right away
+    int skip = Math.max(added.size() - this.ring.length, 0);
+    for (int i = 0; i < skip; i++) {
+      spool(added.get(i));
+    }
+
+    // as at most a full ring is added, only lines of earlier flushes are evicted
+    for (int i = skip; i < added.size(); i++) {
+      if (this.size == this.ring.length) {
+        String oldest = this.ring[this.head];
+        spool(oldest);
+        removed.add(oldest);
+        this.ring[this.head] = added.get(i);
+        this.head = (this.head + 1) % this.ring.length;
+      } else {
+        this.ring[(this.head + this.size) % this.ring.length] = added.get(i);
+        this.size++;
+      }
+    }
+    return new Change(removed, added.size() - skip);
+  }
+
+  /**
+   * @return number of lines in memory (taken over by {@link #flush()})
+   */
+  public synchronized int size() {
+
+    return this.size;
+  }
+
+  /**
+   * @param index index of the line, 0 is the oldest line in memory
+   * @return the line
+   */
+  public synchronized String get(int index) {
+
+    if ((index < 0) || (index >= this.size)) {
+      throw new IndexOutOfBoundsException(index + " of " + this.size);
+    }
+    return this.ring[(this.head + index) % this.ring.length];
+  }
+
+  /**
+   * Searches the lines in memory without copying them
+   *
+   * @param text the text to search for (case insensitive)
+   * @return the indexes of the matching lines
+   */
+  public synchronized List<Integer> search(String text) {
+
+    List<Integer> matches = new ArrayList<>();
+    String query = text.toLowerCase();
+    for (int i = 0; i < this.size; i++) {
+      if (matches(get(i), query)) {
+        matches.add(i);
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * @param line a line
+   * @param query the lower case text to search for
+   * @return whether the line contains the text (case insensitive)
+   */
+  static boolean matches(String line, String query) {
+
+    return query.isEmpty() || line.toLowerCase().contains(query);
+  }
+
+  /**
+   * Writes the complete log: the spooled lines, the lines in memory and the ones not yet flushed
+   *
+   * @param file the file to write to
+   * @throws IOException if the file cannot be written
+   */
+  public synchronized void saveTo(File file) throws IOException {
+
+    try (FileOutputStream stream = new FileOutputStream(file);
+        Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+      if (this.spool != null && !this.reset) {
+        this.spoolWriter.flush();
+        // spooled with the same encoding and line separator, so copied as is instead of read into memory
+        Files.copy(this.spool.toPath(), stream);
+      }
+      if (!this.reset) {
+        for (int i = 0; i < this.size; i++) {
+          out.write(get(i));
+          out.write(System.lineSeparator());
+        }
+      }
+      for (String line : this.pending) {
+        out.write(line);
+        out.write(System.lineSeparator());
+      }
+    }
+  }
+
+  private void spool(String line) {
+
+    try {
+      if (this.spoolWriter == null) {
+        this.spool = File.createTempFile("devcon-log", ".txt");
+        this.spool.deleteOnExit();
+        this.spoolWriter =
+            new BufferedWriter(new OutputStreamWriter(new FileOutputStream(this.spool), StandardCharsets.UTF_8));
+      }
+      this.spoolWriter.write(line);
+      this.spoolWriter.write(System.lineSeparator());
+    } catch (IOException e) {
+      // the line is lost for "save log" only
+      // TODO implement logs
+      System.out.println("[ERROR] at LogBuffer#spool: " + e.getMessage());
+    }
+  }
+
+  private void discardSpool() {
+
+    if (this.spoolWriter != null) {
+      try {
+        this.spoolWriter.close();
+      } catch (IOException e) {
+        // nothing to save anymore
+      }
+      this.spool.delete();
+      this.spoolWriter = null;
+      this.spool = null;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.output;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * The lines of a {@link LogBuffer} as an observable list for a (virtualized) ListView, optionally only the lines
+ * containing a text. The list reads the lines from the buffer instead of copying them; a filtered list only keeps the
+ * indexes of the matching lines. Only to be used on the FX thread.
+ */
+class LogListModel extends ObservableListBase<String> {
+
+  private final LogBuffer log;
+
+  private final String query;
+
+  private List<Integer> matches;
+
+  /**
+   * @param log the buffer
+   * @param filter show only the lines containing this text (case insensitive); empty for all lines
+   */
+  LogListModel(LogBuffer log, String filter) {
+    this.log = log;
+    this.query = filter.toLowerCase();
+    this.matches = this.query.isEmpty() ? null : log.search(this.query);
+  }
+
+  @Override
+  public String get(int index) {
+
+    return this.log.get((this.matches == null) ? index : this.matches.get(index));
+  }
+
+  @Override
+  public int size() {
+
+    return (this.matches == null) ? this.log.size() : this.matches.size();
+  }
+
+  /**
+   * Takes over the lines appended to the buffer and notifies the listeners (i.e. the ListView)
+   *
+   * @return whether lines were added
+   */
+  boolean flush() {
+
+    LogBuffer.Change change = this.log.flush();
+    if (change.isEmpty()) {
+      return false;
+    }
+
+    List<String> removed;
+    int added;
+    if (this.matches == null) {
+      removed = change.getRemoved();
+      added = change.getAdded();
+    } else {
+      // matches of evicted lines go, the others move up; then the matching new lines are added
+      int evicted = change.getRemoved().size();
+      removed = new ArrayList<>();
+      List<Integer> remaining = new ArrayList<>();
+      for (Integer index : this.matches) {
+        if (index < evicted) {
+          removed.add(change.getRemoved().get(index));
+        } else {
+          remaining.add(index - evicted);
+        }
+      }
+      int before = remaining.size();
+      for (int i = this.log.size() - change.getAdded(); i < this.log.size(); i++) {
+        if (LogBuffer.matches(this.log.get(i), this.query)) {
+          remaining.add(i);
+        }
+      }
+      added = remaining.size() - before;
+      this.matches = remaining;
+    }
+
+    beginChange();
+    if (!removed.isEmpty()) {
+      nextRemove(0, removed);
+    }
+    if (added > 0) {
+      nextAdd(size() - added, size());
+    }
+    endChange();
+    return added > 0;
+  }
+}
@@ -42,6 +42,13 @@ public interface Output {
 
   void statusInNewLine(String message, String... args);
 
+  /**
+   * Shows the progress, sampled at a fixed frame rate, until it is finished
+   *
+   * @param progress the progress to show
+   */
+  void showProgress(Progress progress);
+
   void success(String command);
 
 }
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.output;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+
+import com.devonfw.devcon.common.api.Command;
+import com.devonfw.devcon.common.api.CommandModuleInfo;
+import com.devonfw.devcon.common.api.data.DevconOption;
+
+/**
+ * Prefixes every message with a name before passing it on to another {@link Output}, so that the output of commands
+ * running at the same time (e.g. the sub-projects of a combined project) can be told apart. Remembers whether an error
+ * has been shown.
+ */
+public class PrefixedOutput implements Output, Flushable {
+
+  private final Output delegate;
+
+  private final String prefix;
+
+  private volatile boolean errors;
+
+  /**
+   * @param delegate the output to write to
+   * @param name the name shown in front of every message
+   */
+  public PrefixedOutput(Output delegate, String name) {
+    this.delegate = delegate;
+    this.prefix = "[" + name + "] ";
+  }
+
+  /**
+   * @return whether {@link #showError} has been called
+   */
+  public boolean hasErrors() {
+
+    return this.errors;
+  }
+
+  @Override
+  public void flush() throws IOException {
+
+    if (this.delegate instanceof Flushable) {
+      ((Flushable) this.delegate).flush();
+    }
+  }
+
+  @Override
+  public void showMessage(String message, String... args) {
+
+    this.delegate.showMessage("%s", this.prefix + String.format(message, (Object[]) args));
+  }
+
+  @Override
+  public void showError(String message, String... args) {
+
+    this.errors = true;
+    this.delegate.showError("%s", this.prefix + String.format(message, (Object[]) args));
+  }
+
+  @Override
+  public void showGeneralHelp(String header, String usage, List<DevconOption> options, List<CommandModuleInfo> modules) {
+
+    this.delegate.showGeneralHelp(header, usage, options, modules);
+  }
+
+  @Override
+  public void showCommandHelp(Command command) {
+
+    this.delegate.showCommandHelp(command);
+  }
+
+  @Override
+  public void showModuleHelp(CommandModuleInfo module) {
+
+    this.delegate.showModuleHelp(module);
+  }
+
+  @Override
+  public void status(String message, String... args) {
+
+    this.delegate.status("%s", this.prefix + String.format(message, (Object[]) args));
+  }
+
+  @Override
+  public void statusInNewLine(String message, String... args) {
+
+    this.delegate.statusInNewLine("%s", this.prefix + String.format(message, (Object[]) args));
+  }
+
+  @Override
+  public void showProgress(Progress progress) {
+
+    this.delegate.showProgress(progress);
+  }
+
+  @Override
+  public void success(String command) {
+
+    this.delegate.success(command);
+  }
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.output;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Optional;
+
+/**
+ * Progress of a transfer (download, extraction, ...) in bytes. Updated lock-free by the threads doing the work (see
+ * {@link ProgressInputStream}) and sampled at a fixed frame rate by the {@link Output} showing it.
+ */
+public class Progress {
+
+  private static volatile Progress current;
+
+  private final String label;
+
+  private final AtomicLong done = new AtomicLong();
+
+  private volatile long total;
+
+  private final long started = System.nanoTime();
+
+  private volatile boolean finished;
+
+  private volatile boolean sampled;
+
+  private final CountDownLatch shown = new CountDownLatch(1);
+
+  /**
+   * @param label what is in progress
+   * @param total number of bytes expected, -1 when unknown
+   */
+  public Progress(String label, long total) {
+    this.label = label;
+    this.total = total;
+    current = this;
+  }
+
+  /**
+   * @return the last progress created, e.g. for a progress bar not connected to the {@link Output}
+   */
+  public static Optional<Progress> current() {
+
+    return Optional.fromNullable(current);
+  }
+
+  /**
+   * @param bytes number of bytes done since the last update (negative to take back a failed attempt)
+   */
+  public void add(long bytes) {
+
+    this.done.addAndGet(bytes);
+  }
+
+  /**
+   * @param bytes number of bytes done in total
+   */
+  public void set(long bytes) {
+
+    this.done.set(bytes);
+  }
+
+  /**
+   * @param total number of bytes expected, -1 when unknown
+   */
+  public void setTotal(long total) {
+
+    this.total = total;
+  }
+
+  /**
+   * Marks the work as done (successful or not). When shown by an {@link Output}, returns after the final frame was
+   * drawn, so it does not get mixed up with what is written next.
+   */
+  public void finish() {
+
+    this.finished = true;
+    if (this.sampled) {
+      try {
+        this.shown.await(1, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  void setSampled() {
+
+    this.sampled = true;
+  }
+
+  void setShown() {
+
+    this.shown.countDown();
+  }
+
+  public String getLabel() {
+
+    return this.label;
+  }
+
+  public long getDone() {
+
+    return this.done.get();
+  }
+
+  public long getTotal() {
+
+    return this.total;
+  }
+
+  public boolean isFinished() {
+
+    return this.finished;
+  }
+
+  /**
+   * @return fraction done (0..1), -1 when the total is unknown
+   */
+  public double getFraction() {
+
+    long t = this.total;
+    return (t > 0) ? Math.min(1.0, (double) this.done.get() / t) : -1;
+  }
+
+  /**
+   * @return average rate since start in bytes per second
+   */
+  public long getRate() {
+
+    long nanos = Math.max(System.nanoTime() - this.started, 1);
+    return (long) (this.done.get() * 1e9 / nanos);
+  }
+
+  /**
+   * @return estimated seconds remaining, -1 when unknown
+   */
+  public long getEta() {
+
+    long rate = getRate();
+    long t = this.total;
+    return (rate > 0 && t > 0) ? Math.max(t - this.done.get(), 0) / rate : -1;
+  }
+
+  /**
+   * @return e.g. "45% 112.0/250.0 MB 12.1 MB/s ETA 0:11"
+   */
+  @Override
+  public String toString() {
+
+    StringBuilder text = new StringBuilder();
+    double fraction = getFraction();
+    if (fraction >= 0) {
+      text.append((int) (fraction * 100)).append("% ").append(megabytes(getDone())).append('/')
+          .append(megabytes(this.total)).append(" MB");
+    } else {
+      text.append(megabytes(getDone())).append(" MB");
+    }
+    text.append(' ').append(megabytes(getRate())).append(" MB/s");
+    long eta = getEta();
+    if (eta >= 0 && !this.finished) {
+      text.append(String.format(" ETA %d:%02d", eta / 60, eta % 60));
+    }
+    return text.toString();
+  }
+
+  private static String megabytes(long bytes) {
+
+    return String.format("%.1f", bytes / (1024.0 * 1024.0));
+  }
+}
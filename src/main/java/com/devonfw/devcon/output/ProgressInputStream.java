@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.output;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read through it into a {@link Progress}
+ */
+public class ProgressInputStream extends FilterInputStream {
+
+  private final Progress progress;
+
+  private long count;
+
+  /**
+   * @param in the stream to count
+   * @param progress to add the bytes read to
+   */
+  public ProgressInputStream(InputStream in, Progress progress) {
+    super(in);
+    this.progress = progress;
+  }
+
+  /**
+   * @return bytes read through this stream
+   */
+  public long getCount() {
+
+    return this.count;
+  }
+
+  @Override
+  public int read() throws IOException {
+
+    int b = super.read();
+    if (b != -1) {
+      counted(1);
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+
+    int n = super.read(b, off, len);
+    if (n > 0) {
+      counted(n);
+    }
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+
+    long skipped = super.skip(n);
+    counted(skipped);
+    return skipped;
+  }
+
+  private void counted(long n) {
+
+    this.count += n;
+    this.progress.add(n);
+  }
+}
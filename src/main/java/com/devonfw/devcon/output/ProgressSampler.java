@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.output;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples a {@link Progress} at a fixed frame rate for an {@link Output}, independent of how often it is updated
+ */
+class ProgressSampler implements Runnable {
+
+  /**
+   * Milliseconds between frames
+   */
+  static final long FRAME_MS = 200;
+
+  private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable r) {
+
+      Thread thread = new Thread(r, "devcon-progress");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  /**
+   * Draws a frame
+   */
+  interface Renderer {
+
+    /**
+     * @param progress the progress
+     * @param last whether this is the final frame (the progress is finished)
+     */
+    void render(Progress progress, boolean last);
+  }
+
+  private final Progress progress;
+
+  private final Renderer renderer;
+
+  private volatile ScheduledFuture<?> future;
+
+  private ProgressSampler(Progress progress, Renderer renderer) {
+    this.progress = progress;
+    this.renderer = renderer;
+  }
+
+  /**
+   * Renders frames of the progress until it is finished
+   *
+   * @param progress the progress
+   * @param renderer draws the frames
+   */
+  static void sample(Progress progress, Renderer renderer) {
+
+    progress.setSampled();
+    ProgressSampler sampler = new ProgressSampler(progress, renderer);
+    synchronized (sampler) {
+      sampler.future = TIMER.scheduleAtFixedRate(sampler, 0, FRAME_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void run() {
+
+    boolean last = this.progress.isFinished();
+    this.renderer.render(this.progress, last);
+    if (last) {
+      synchronized (this) {
+        this.future.cancel(false);
+      }
+      this.progress.setShown();
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.cli.MissingArgumentException;
+import org.apache.commons.cli.UnrecognizedOptionException;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.api.data.Sentence;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.devonfw.devcon.input.ArgumentParser;
+import com.devonfw.devcon.input.ArgumentParser.Arguments;
+
+/**
+ * Tests {@link ArgumentParser}
+ */
+public class ArgumentParserTest {
+
+  private final ArgumentParser parser = new ArgumentParser(new ContextPathInfo().getGlobalOptions(),
+      new HashSet<>(Arrays.asList("name", "surname", "port")));
+
+  @Test
+  public void flagParameterNeedsNoValue() throws Exception {
+
+    ArgumentParser flags = new ArgumentParser(new ContextPathInfo().getGlobalOptions(),
+        new HashSet<>(Arrays.asList("force", "path")), new HashSet<>(Arrays.asList("force")));
+
+    assertEquals(Arrays.asList(Pair.of("force", "true"), Pair.of("path", "server")),
+        flags.parse(new String[] { "oasp4j", "build", "--force", "--path", "server" }).getSentence().getParams());
+    assertEquals(Arrays.asList(Pair.of("force", "false")),
+        flags.parse(new String[] { "oasp4j", "build", "--force", "false" }).getSentence().getParams());
+    assertEquals(Arrays.asList(Pair.of("force", "true")),
+        flags.parse(new String[] { "--force", "oasp4j", "build" }).getSentence().getParams());
+    assertEquals("build", flags.parse(new String[] { "--force", "oasp4j", "build" }).getSentence().getCommandName());
+  }
+
+  @Test
+  public void parsesModuleCommandAndParameters() throws Exception {
+
+    Sentence sentence = this.parser.parse(new String[] { "foo", "customFarewell", "-name", "\"Jason\"", "--surname",
+        "Lytle" }).getSentence();
+
+    assertEquals("foo", sentence.getModuleName());
+    assertEquals("customFarewell", sentence.getCommandName());
+    assertEquals(Arrays.asList(Pair.of("name", "Jason"), Pair.of("surname", "Lytle")), sentence.getParams());
+    assertFalse(sentence.isHelpRequested());
+  }
+
+  @Test
+  public void parsesGlobalOptionsByShortAndLongName() throws Exception {
+
+    Arguments args = this.parser.parse(new String[] { "--help", "-s", "--no-lock", "foo" });
+
+    assertTrue(args.hasOption("h"));
+    assertTrue(args.hasOption("s"));
+    assertTrue(args.hasOption("nl"));
+    assertFalse(args.hasOption("p"));
+    assertTrue(args.getSentence().isHelpRequested());
+    assertEquals("foo", args.getSentence().getModuleName());
+    assertNull(args.getSentence().getCommandName());
+  }
+
+  @Test
+  public void takesValueOfGlobalOption() throws Exception {
+
+    Arguments args = this.parser.parse(new String[] { "--jfr", "run.jfr", "foo", "greeting" });
+
+    assertTrue(args.hasOption("jfr"));
+    assertEquals("run.jfr", args.getOptionValue("jfr"));
+    assertEquals(Arrays.asList("foo", "greeting"), args.getArgList());
+  }
+
+  @Test
+  public void takesValuesStartingWithHyphen() throws Exception {
+
+    Arguments args = this.parser.parse(new String[] { "-port", "-1", "--", "-name", "x" });
+
+    assertEquals(Arrays.asList(Pair.of("port", "-1")), args.getSentence().getParams());
+    assertEquals(Arrays.asList("-name", "x"), args.getArgList());
+  }
+
+  @Test(expected = UnrecognizedOptionException.class)
+  public void rejectsUnknownOptions() throws Exception {
+
+    this.parser.parse(new String[] { "foo", "greeting", "-age", "40" });
+  }
+
+  @Test(expected = MissingArgumentException.class)
+  public void rejectsParameterWithoutValue() throws Exception {
+
+    this.parser.parse(new String[] { "foo", "customFarewell", "-name", "-h" });
+  }
+
+  @Test
+  public void cachesParameterNamesOfRegistry() {
+
+    CommandRegistryImpl registry = new CommandRegistryImpl("com.devonfw.devcon.modules.*");
+
+    Set<String> names = registry.getParameterNames();
+    assertTrue(names.contains("name"));
+    assertTrue(names.contains("surname"));
+    assertSame(names, registry.getParameterNames());
+
+    registry.add(new CommandRegistryImpl("com.devonfw.devcon.modules.*"));
+    assertEquals(names, registry.getParameterNames());
+  }
+
+}
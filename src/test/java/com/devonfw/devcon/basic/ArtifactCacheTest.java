@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.utils.ArtifactCache;
+import com.google.common.base.Optional;
+
+/**
+ * Tests the content-addressed {@link ArtifactCache}
+ */
+public class ArtifactCacheTest {
+
+  private Path testRoot;
+
+  private ArtifactCache cache;
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() throws IOException {
+
+    this.testRoot = Files.createTempDirectory("devconArtifactCacheTest");
+    this.cache = new ArtifactCache(this.testRoot.resolve("cache"), 1000, Optional.<Path> absent());
+  }
+
+  @After
+  public void end() throws IOException {
+
+    FileUtils.forceDeleteOnExit(this.testRoot.toFile());
+  }
+
+  @Test
+  public void putAndCopy() throws IOException {
+
+    File source = file("dist.zip", "distribution");
+    ArtifactCache.Entry entry = this.cache.put("teamforge:frs1", source, "dist.zip");
+    assertTrue(source.exists());
+
+    File target = this.testRoot.resolve("install/dist.zip").toFile();
+    Optional<ArtifactCache.Entry> copied = this.cache.copyTo("teamforge:frs1", target);
+    assertTrue(copied.isPresent());
+    assertEquals("dist.zip", copied.get().getName());
+    assertEquals(entry.getHash(), copied.get().getHash());
+    assertEquals("distribution", FileUtils.readFileToString(target, "UTF-8"));
+
+    assertFalse(this.cache.get("teamforge:frs2").isPresent());
+  }
+
+  @Test
+  public void sameContentStoredOnce() throws IOException {
+
+    this.cache.put("url:a", file("a", "same"), "a");
+    this.cache.put("url:b", file("b", "same"), "b");
+
+    assertEquals(2, this.cache.list().size());
+    assertEquals(1, this.testRoot.resolve("cache/objects").toFile().list().length);
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() throws IOException {
+
+    ArtifactCache.Entry a = this.cache.put("a", file("a", repeat('a', 400)), "a");
+    ArtifactCache.Entry b = this.cache.put("b", file("b", repeat('b', 400)), "b");
+    a.getFile().setLastModified(System.currentTimeMillis() - 60000);
+    b.getFile().setLastModified(System.currentTimeMillis() - 30000);
+
+    // using 'a' makes 'b' the least recently used one
+    assertTrue(this.cache.get("a").isPresent());
+    this.cache.put("c", file("c", repeat('c', 400)), "c");
+
+    assertTrue(this.cache.get("a").isPresent());
+    assertFalse(this.cache.get("b").isPresent());
+    assertTrue(this.cache.get("c").isPresent());
+  }
+
+  @Test
+  public void keepsEntryLargerThanMaximum() throws IOException {
+
+    this.cache.put("a", file("a", repeat('a', 400)), "a");
+    ArtifactCache.Entry big = this.cache.put("big", file("big", repeat('b', 1500)), "big");
+
+    assertTrue(big.getFile().exists());
+    assertTrue(this.cache.get("big").isPresent());
+    assertFalse(this.cache.get("a").isPresent());
+  }
+
+  @Test
+  public void readsSharedCache() throws IOException {
+
+    ArtifactCache fleet = new ArtifactCache(this.testRoot.resolve("shared"), 1000, Optional.<Path> absent());
+    fleet.put("teamforge:frs1", file("dist.zip", "shared distribution"), "dist.zip");
+
+    ArtifactCache local = new ArtifactCache(this.testRoot.resolve("cache"), 1000,
+        Optional.of(this.testRoot.resolve("shared")));
+    Optional<ArtifactCache.Entry> entry = local.get("teamforge:frs1");
+    assertTrue(entry.isPresent());
+    assertTrue(entry.get().isShared());
+
+    // pruning and verifying never touch the shared cache
+    local.prune(0);
+    local.verify();
+    assertTrue(local.get("teamforge:frs1").isPresent());
+  }
+
+  @Test
+  public void verifyRemovesCorruptContent() throws IOException {
+
+    ArtifactCache.Entry entry = this.cache.put("url:x", file("x", "original"), "x");
+    FileUtils.writeStringToFile(entry.getFile(), "tampered", "UTF-8");
+
+    List<ArtifactCache.Entry> corrupt = this.cache.verify();
+    assertEquals(1, corrupt.size());
+    assertFalse(this.cache.get("url:x").isPresent());
+  }
+
+  private File file(String name, String content) throws IOException {
+
+    File file = this.testRoot.resolve("src").resolve(name).toFile();
+    FileUtils.writeStringToFile(file, content, "UTF-8");
+    return file;
+  }
+
+  private static String repeat(char c, int count) {
+
+    return new String(new char[count]).replace('\0', c);
+  }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.input.BatchInputManager;
+import com.devonfw.devcon.input.ConsoleInput;
+import com.devonfw.devcon.output.ConsoleOutput;
+
+/**
+ * Tests {@link BatchInputManager}
+ */
+public class BatchInputManagerTest {
+
+  private ByteArrayOutputStream bytes;
+
+  private BatchInputManager batch;
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() {
+
+    CommandRegistry registry = new CommandRegistryImpl("com.devonfw.devcon.modules.*");
+    this.bytes = new ByteArrayOutputStream();
+    this.batch = new BatchInputManager(registry, new ConsoleInput(), new ConsoleOutput(new PrintStream(this.bytes)));
+  }
+
+  @Test
+  public void runsCommandLines() throws IOException {
+
+    String lines = "# greet everybody\n" //
+        + "foo greeting\n" //
+        + "\n" //
+        + "devcon foo customFarewell -name \"John Doe\"\n" //
+        + "{\"module\": \"foo\", \"command\": \"largeCustomFarewell\", \"params\": {\"name\": \"Jane\", \"surname\": \"Roe\"}}\n";
+
+    assertTrue(this.batch.run(new StringReader(lines), false));
+
+    String out = this.bytes.toString();
+    assertTrue(out.contains("[2] Hello"));
+    assertTrue(out.contains("[4] Bye John Doe"));
+    assertTrue(out.contains("[5] Bye Jane Roe"));
+    assertTrue(out.contains("3 commands in"));
+    assertTrue(out.contains("0 failed, 0 skipped"));
+  }
+
+  @Test
+  public void runsIndependentLinesTogether() throws IOException {
+
+    String lines = "& foo greeting\n" //
+        + "& foo farewell\n" //
+        + "{\"module\": \"foo\", \"command\": \"customFarewell\", \"params\": {\"name\": \"all\"}, \"parallel\": true}\n" //
+        + "foo greeting\n";
+
+    assertTrue(this.batch.run(new StringReader(lines), false));
+
+    String out = this.bytes.toString();
+    assertTrue(out.contains("[1] Hello"));
+    assertTrue(out.contains("[2] Bye"));
+    assertTrue(out.contains("[3] Bye all"));
+    assertTrue(out.contains("[4] Hello"));
+  }
+
+  @Test
+  public void stopsAtFirstFailure() throws IOException {
+
+    String lines = "foo greeting\n" //
+        + "foo generateError\n" //
+        + "foo farewell\n";
+
+    assertFalse(this.batch.run(new StringReader(lines), false));
+
+    String out = this.bytes.toString();
+    assertFalse(out.contains("[3] Bye"));
+    assertTrue(out.contains("SKIPPED"));
+    assertTrue(out.contains("1 failed, 1 skipped"));
+  }
+
+  @Test
+  public void keepsGoing() throws IOException {
+
+    String lines = "foo generateError\n" //
+        + "foo unknownCommand\n" //
+        + "foo farewell\n";
+
+    assertFalse(this.batch.run(new StringReader(lines), true));
+
+    String out = this.bytes.toString();
+    assertTrue(out.contains("[3] Bye"));
+    assertTrue(out.contains("UNKNOWN_COMMAND"));
+    assertTrue(out.contains("2 failed, 0 skipped"));
+  }
+
+  @Test
+  public void rejectsInvalidBatch() throws IOException {
+
+    String lines = "foo greeting\n" //
+        + "{\"module\": \"foo\"\n";
+
+    assertFalse(this.batch.run(new StringReader(lines), false));
+
+    String out = this.bytes.toString();
+    assertTrue(out.contains("Line 2 of the batch is not valid"));
+    assertFalse(out.contains("Hello"));
+  }
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.CommandResult;
+import com.devonfw.devcon.common.api.data.BindingPlan;
+import com.devonfw.devcon.common.api.data.CommandParameter;
+import com.devonfw.devcon.common.api.data.ContextType;
+import com.devonfw.devcon.common.api.data.InputTypeNames;
+import com.devonfw.devcon.common.api.data.ParameterInputType;
+import com.devonfw.devcon.common.api.data.ProjectInfo;
+import com.devonfw.devcon.common.api.data.ProjectType;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.common.impl.ProjectInfoImpl;
+import com.github.zafarkhaja.semver.Version;
+import com.google.common.base.Optional;
+
+/**
+ * Tests {@link BindingPlan}
+ */
+public class BindingPlanTest {
+
+  private final CommandRegistryImpl registry = new CommandRegistryImpl("com.devonfw.devcon.modules.*");
+
+  @Test
+  public void bindsCaseInsensitive() {
+
+    BindingPlan plan = plan("largeCustomFarewell");
+    BindingPlan.Binding binding = plan.bind(params("NAME", "Jason", "Surname", "Lytle"));
+
+    assertSame(CommandResult.OK, binding.getResult());
+    Optional<ProjectInfo> none = Optional.absent();
+    assertArrayEquals(new String[] { "Jason", "Lytle" }, binding.getArguments(none));
+  }
+
+  @Test
+  public void reportsMissingAndUnknownParameters() {
+
+    BindingPlan plan = plan("largeCustomFarewell");
+
+    BindingPlan.Binding missing = plan.bind(params("name", "Jason", "age", "40"));
+    assertSame(CommandResult.MANDATORY_PARAMS_MISSING, missing.getResult());
+    assertEquals("surname", missing.getMessage());
+
+    BindingPlan.Binding unknown = plan.bind(params("name", "Jason", "surname", "Lytle", "Age", "40"));
+    assertSame(CommandResult.UNKNOWN_PARAMS, unknown.getResult());
+    assertEquals("Unknown parameters : [age]", unknown.getMessage());
+  }
+
+  @Test
+  public void separatesTheImplicitParameters() {
+
+    // saySomething has a project context, so --path is added
+    BindingPlan plan = plan("saySomething");
+    assertEquals(Arrays.asList("message", "signature", "path"), plan.getNames());
+    assertEquals(2, plan.getArity());
+
+    BindingPlan.Binding binding = plan.bind(params("message", "hi", "path", "/tmp/project"));
+    assertEquals("/tmp/project", binding.getPath());
+    assertEquals("", binding.getProxyHost());
+
+    // missing values are taken from devon.json, or empty
+    JSONObject config = new JSONObject();
+    config.put("signature", "devcon");
+    Optional<ProjectInfo> project = Optional
+        .<ProjectInfo> of(new ProjectInfoImpl(Paths.get("/tmp/project"), ProjectType.OASP4J, Version.valueOf("2.4.0"),
+            config));
+    assertArrayEquals(new String[] { "hi", "devcon" }, binding.getArguments(project));
+    Optional<ProjectInfo> none = Optional.absent();
+    assertArrayEquals(new String[] { "hi", "" }, binding.getArguments(none));
+  }
+
+  @Test
+  public void separatesTheProxyParameters() {
+
+    List<CommandParameter> defined = Arrays.asList(new CommandParameter("url", "the url", 0, false),
+        new CommandParameter("proxyHost", "proxy host", 1, true),
+        new CommandParameter("proxyPort", "proxy port", 2, true));
+    BindingPlan plan = new BindingPlan(defined, ContextType.NONE, true);
+    assertEquals(1, plan.getArity());
+
+    BindingPlan.Binding binding =
+        plan.bind(params("url", "http://devonfw.com", "proxyhost", "proxy", "PROXYPORT", "8080"));
+    assertEquals("proxy", binding.getProxyHost());
+    assertEquals("8080", binding.getProxyPort());
+    Optional<ProjectInfo> none = Optional.absent();
+    assertArrayEquals(new String[] { "http://devonfw.com" }, binding.getArguments(none));
+  }
+
+  @Test
+  public void resolvesRelativePaths() {
+
+    List<CommandParameter> defined = Arrays.asList(
+        new CommandParameter("serverpath", "the server", 0, true, new ParameterInputType(InputTypeNames.PATH)),
+        new CommandParameter("name", "the name", 1, true));
+    BindingPlan plan = new BindingPlan(defined, ContextType.NONE, false);
+    Optional<ProjectInfo> none = Optional.absent();
+    Path workingDirectory = Paths.get("/tmp/client").toAbsolutePath();
+
+    BindingPlan.Binding relative = plan.bind(params("serverpath", "server", "name", "server"));
+    assertArrayEquals(new String[] { workingDirectory.resolve("server").toString(), "server" },
+        relative.getArguments(none, workingDirectory));
+    assertArrayEquals(new String[] { "server", "server" }, relative.getArguments(none));
+
+    String absolute = Paths.get("/tmp/server").toAbsolutePath().toString();
+    BindingPlan.Binding given = plan.bind(params("serverpath", absolute));
+    assertArrayEquals(new String[] { absolute, "" }, given.getArguments(none, workingDirectory));
+  }
+
+  private BindingPlan plan(String command) {
+
+    return this.registry.getCommand("foo", command).get().getBindingPlan();
+  }
+
+  private static List<Pair<String, String>> params(String... namesAndValues) {
+
+    List<Pair<String, String>> params = new ArrayList<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      params.add(Pair.of(namesAndValues[i], namesAndValues[i + 1]));
+    }
+    return params;
+  }
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.api.data.ProjectType;
+import com.devonfw.devcon.common.utils.BuildCache;
+import com.devonfw.devcon.common.utils.BuildState;
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests {@link BuildCache} with a folder and with a local HTTP server as store
+ */
+public class BuildCacheTest {
+
+  private Path testRoot;
+
+  private HttpServer server;
+
+  private final Map<String, byte[]> served = new ConcurrentHashMap<>();
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() throws IOException {
+
+    this.testRoot = Files.createTempDirectory("devconBuildCacheTest");
+
+    // stand-in of a HTTP build cache: GET and PUT of whole entries
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    this.server.createContext("/cache/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+
+        String path = exchange.getRequestURI().getPath();
+        if ("PUT".equals(exchange.getRequestMethod())) {
+          ByteArrayOutputStream body = new ByteArrayOutputStream();
+          try (InputStream in = exchange.getRequestBody()) {
+            IOUtils.copy(in, body);
+          }
+          BuildCacheTest.this.served.put(path, body.toByteArray());
+          exchange.sendResponseHeaders(201, -1);
+        } else if (BuildCacheTest.this.served.containsKey(path)) {
+          byte[] content = BuildCacheTest.this.served.get(path);
+          exchange.sendResponseHeaders(200, content.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+          }
+        } else {
+          exchange.sendResponseHeaders(404, -1);
+        }
+        exchange.close();
+      }
+    });
+    this.server.createContext("/broken/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+
+        exchange.sendResponseHeaders(500, -1);
+        exchange.close();
+      }
+    });
+    this.server.start();
+  }
+
+  @After
+  public void end() throws IOException {
+
+    this.server.stop(0);
+    FileUtils.forceDeleteOnExit(this.testRoot.toFile());
+  }
+
+  @Test
+  public void restoresServerOutputsFromFolder() throws Exception {
+
+    BuildCache cache = new BuildCache(new BuildCache.DirectoryStore(this.testRoot.resolve("shared")));
+    restoresOutputsInOtherCheckout(cache, ProjectType.OASP4J, "core/target/core.jar", "server/target/server.war");
+    assertEquals(1, this.testRoot.resolve("shared").toFile().list().length);
+  }
+
+  @Test
+  public void restoresClientOutputsOverHttp() throws Exception {
+
+    BuildCache cache = new BuildCache(
+        new BuildCache.HttpStore("http://localhost:" + this.server.getAddress().getPort() + "/cache/"));
+    restoresOutputsInOtherCheckout(cache, ProjectType.OASP4JS, "dist/index.html", "dist/assets/main.js");
+    assertEquals(1, this.served.size());
+  }
+
+  @Test
+  public void missingEntryAndServerErrorOverHttp() throws Exception {
+
+    String base = "http://localhost:" + this.server.getAddress().getPort();
+    BuildState state = new BuildState(checkout("a"), ProjectType.OASP4JS);
+
+    assertFalse(new BuildCache(new BuildCache.HttpStore(base + "/cache")).restore(state, state.fingerprint(),
+        new ConsoleOutput()));
+    try {
+      new BuildCache(new BuildCache.HttpStore(base + "/broken")).restore(state, state.fingerprint(),
+          new ConsoleOutput());
+      fail("server error should fail");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("500"));
+    }
+  }
+
+  private void restoresOutputsInOtherCheckout(BuildCache cache, ProjectType type, String... outputs)
+      throws Exception {
+
+    // built in one checkout
+    BuildState built = new BuildState(checkout("a"), type);
+    BuildState.Fingerprint fingerprint = built.fingerprint();
+    for (String output : outputs) {
+      write(built.getProject(), output, "built " + output);
+    }
+    assertTrue(cache.save(built, fingerprint));
+
+    // same sources elsewhere: restored, including the removal of outdated outputs
+    BuildState other = new BuildState(checkout("b"), type);
+    assertEquals(fingerprint.getHash(), other.fingerprint().getHash());
+    File stale = write(other.getProject(), outputs[0].replaceAll("[^/]+$", "stale.jar"), "stale");
+    assertTrue(cache.restore(other, other.fingerprint(), new ConsoleOutput()));
+    for (String output : outputs) {
+      assertEquals("built " + output,
+          FileUtils.readFileToString(other.getProject().resolve(output).toFile(), "UTF-8"));
+    }
+    assertFalse(stale.exists());
+
+    // changed sources: no entry
+    write(other.getProject(), "src/main.ts", "changed");
+    assertFalse(cache.restore(other, other.fingerprint(), new ConsoleOutput()));
+  }
+
+  private Path checkout(String name) throws IOException {
+
+    Path project = this.testRoot.resolve(name);
+    write(project, "devon.json", "{\"version\": \"2.0.0\"}");
+    write(project, "pom.xml", "<project/>");
+    write(project, "package.json", "{}");
+    write(project, "src/main.ts", "main");
+    return project;
+  }
+
+  private static File write(Path project, String name, String content) throws IOException {
+
+    File file = project.resolve(name).toFile();
+    FileUtils.writeStringToFile(file, content, "UTF-8");
+    return file;
+  }
+}
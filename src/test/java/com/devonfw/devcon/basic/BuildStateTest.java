@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.api.data.ProjectType;
+import com.devonfw.devcon.common.utils.BuildState;
+
+/**
+ * Tests the fingerprints of {@link BuildState}
+ */
+public class BuildStateTest {
+
+  private Path project;
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() throws IOException {
+
+    this.project = Files.createTempDirectory("devconBuildStateTest");
+    file("devon.json", "{\"version\": \"2.0.0\", \"type\":\"oasp4j\"}");
+    file("pom.xml", "<project/>");
+    file("core/pom.xml", "<project/>");
+    file("core/src/main/java/App.java", "class App {}");
+  }
+
+  @After
+  public void end() throws IOException {
+
+    FileUtils.forceDeleteOnExit(this.project.toFile());
+  }
+
+  @Test
+  public void upToDateUntilInputChanges() throws Exception {
+
+    BuildState state = new BuildState(this.project, ProjectType.OASP4J);
+    BuildState.Fingerprint before = state.fingerprint();
+    assertEquals(4, before.getInputCount());
+    assertFalse("never built", state.isUpToDate(before));
+
+    File war = file("server/target/server.war", "war");
+    state.recordSuccess(before);
+    assertTrue(state.getStateFile().toFile().isFile());
+    assertTrue(state.isUpToDate(state.fingerprint()));
+
+    // build output, dependencies and the state itself are no inputs
+    file("core/target/classes/App.class", "compiled");
+    file("node_modules/x/index.js", "x");
+    assertEquals(before.getHash(), state.fingerprint().getHash());
+
+    file("core/src/main/java/App.java", "class App { int changed; }");
+    BuildState.Fingerprint after = state.fingerprint();
+    assertFalse(before.getHash().equals(after.getHash()));
+    assertFalse(state.isUpToDate(after));
+
+    // unchanged inputs, but the output is gone
+    state.recordSuccess(after);
+    assertTrue(state.isUpToDate(state.fingerprint()));
+    assertTrue(war.delete());
+    assertFalse(state.isUpToDate(state.fingerprint()));
+  }
+
+  @Test
+  public void sameInputsSameFingerprint() throws Exception {
+
+    String hash = new BuildState(this.project, ProjectType.OASP4J).fingerprint().getHash();
+
+    // another checkout of the same sources
+    Path copy = Files.createTempDirectory("devconBuildStateTest");
+    try {
+      FileUtils.copyDirectory(this.project.toFile(), copy.toFile());
+      assertEquals(hash, new BuildState(copy, ProjectType.OASP4J).fingerprint().getHash());
+      assertFalse(hash.equals(new BuildState(copy, ProjectType.OASP4JS).fingerprint().getHash()));
+    } finally {
+      FileUtils.deleteDirectory(copy.toFile());
+    }
+  }
+
+  @Test
+  public void clientOutputIsDist() throws Exception {
+
+    file("package.json", "{}");
+    file("dist/index.html", "<html/>");
+    BuildState state = new BuildState(this.project, ProjectType.OASP4JS);
+    assertEquals(Arrays.asList(this.project.resolve("dist/index.html")), state.getOutputs());
+
+    state.recordSuccess(state.fingerprint());
+    assertTrue(state.isUpToDate(state.fingerprint()));
+
+    file("dist/index.html", "<html>modified</html>");
+    assertFalse(state.isUpToDate(state.fingerprint()));
+
+    state.clear();
+    assertFalse(state.getStateFile().toFile().exists());
+  }
+
+  private File file(String name, String content) throws IOException {
+
+    File file = this.project.resolve(name).toFile();
+    FileUtils.writeStringToFile(file, content, "UTF-8");
+    return file;
+  }
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.utils.ArtifactCache;
+import com.devonfw.devcon.common.utils.ChunkedDownloader;
+import com.devonfw.devcon.common.utils.Downloader;
+import com.google.common.base.Optional;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests {@link ChunkedDownloader} against a local HTTP server
+ */
+public class ChunkedDownloaderTest {
+
+  private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+  private static final int CHUNK = 64 * 1024;
+
+  private Path testRoot;
+
+  private HttpServer server;
+
+  private byte[] content;
+
+  private volatile boolean ranges = true;
+
+  private volatile String etag = "\"v1\"";
+
+  /** range requests starting at this offset fail */
+  private volatile long failAt = -1;
+
+  private final AtomicInteger rangeRequests = new AtomicInteger();
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() throws IOException {
+
+    this.testRoot = Files.createTempDirectory("devconDownloaderTest");
+    this.content = new byte[10 * CHUNK + 123];
+    new Random(42).nextBytes(this.content);
+
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    this.server.createContext("/dist.zip", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+
+        serve(exchange);
+      }
+    });
+    this.server.start();
+  }
+
+  @After
+  public void end() throws IOException {
+
+    this.server.stop(0);
+    FileUtils.forceDeleteOnExit(this.testRoot.toFile());
+  }
+
+  @Test
+  public void downloadsInChunks() throws Exception {
+
+    File target = this.testRoot.resolve("dist.zip").toFile();
+    new ChunkedDownloader(3, CHUNK).download(url(), target, Optional.of(sha256(this.content)));
+
+    assertArrayEquals(this.content, FileUtils.readFileToByteArray(target));
+    assertEquals(11, this.rangeRequests.get());
+    assertFalse(new File(target.getPath() + ".part.state").exists());
+  }
+
+  @Test
+  public void resumesInterruptedDownload() throws Exception {
+
+    File target = this.testRoot.resolve("dist.zip").toFile();
+    this.failAt = 7 * CHUNK;
+    try {
+      new ChunkedDownloader(1, CHUNK).download(url(), target, Optional.<String> absent());
+      fail("download should have failed");
+    } catch (IOException e) {
+      assertFalse(target.exists());
+    }
+
+    this.failAt = -1;
+    int before = this.rangeRequests.get();
+    ChunkedDownloader downloader = new ChunkedDownloader(2, CHUNK);
+    downloader.download(url(), target, Optional.of(sha256(this.content)));
+
+    assertArrayEquals(this.content, FileUtils.readFileToByteArray(target));
+    // chunks 0-6 were kept, only 7-10 fetched again
+    assertEquals(4, this.rangeRequests.get() - before);
+    assertEquals(this.content.length, downloader.getDownloaded());
+  }
+
+  @Test
+  public void downloadsWithoutRangeSupport() throws Exception {
+
+    this.ranges = false;
+    File target = this.testRoot.resolve("dist.zip").toFile();
+    new ChunkedDownloader(3, CHUNK).download(url(), target, Optional.<String> absent());
+
+    assertArrayEquals(this.content, FileUtils.readFileToByteArray(target));
+    assertEquals(0, this.rangeRequests.get());
+  }
+
+  @Test
+  public void rejectsChecksumMismatch() throws Exception {
+
+    File target = this.testRoot.resolve("dist.zip").toFile();
+    try {
+      new ChunkedDownloader(3, CHUNK).download(url(), target, Optional.of(sha256(new byte[1])));
+      fail("checksum mismatch accepted");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().startsWith("Checksum mismatch"));
+    }
+    assertFalse(target.exists());
+    assertFalse(new File(target.getPath() + ".part").exists());
+  }
+
+  @Test
+  public void downloaderVerifiesChecksum() throws Exception {
+
+    System.setProperty(ArtifactCache.DIR_PROPERTY, this.testRoot.resolve("cache").toString());
+    try {
+      String path = this.testRoot.resolve("devcon").toString();
+      try {
+        new Downloader().downloadFile(url().toString(), path, "dist.zip", Optional.of(sha256(new byte[1])));
+        fail("checksum mismatch accepted");
+      } catch (IOException e) {
+        assertTrue(e.getMessage().startsWith("Checksum mismatch"));
+      }
+      assertFalse(new File(path, "dist.zip").exists());
+
+      new Downloader().downloadFile(url().toString(), path, "dist.zip", Optional.of(sha256(this.content)));
+      assertArrayEquals(this.content, FileUtils.readFileToByteArray(new File(path, "dist.zip")));
+    } finally {
+      System.clearProperty(ArtifactCache.DIR_PROPERTY);
+    }
+  }
+
+  @Test
+  public void downloaderCachesPerVersion() throws Exception {
+
+    System.setProperty(ArtifactCache.DIR_PROPERTY, this.testRoot.resolve("cache").toString());
+    try {
+      byte[] original = this.content.clone();
+      new Downloader().downloadFile(url().toString(), this.testRoot.resolve("1").toString(), "dist.zip");
+
+      // same version announced: served from the cache
+      this.content[0]++;
+      new Downloader().downloadFile(url().toString(), this.testRoot.resolve("2").toString(), "dist.zip");
+      assertArrayEquals(original, FileUtils.readFileToByteArray(this.testRoot.resolve("2/dist.zip").toFile()));
+
+      // new version: downloaded again
+      this.etag = "\"v2\"";
+      new Downloader().downloadFile(url().toString(), this.testRoot.resolve("3").toString(), "dist.zip");
+      assertArrayEquals(this.content, FileUtils.readFileToByteArray(this.testRoot.resolve("3/dist.zip").toFile()));
+    } finally {
+      System.clearProperty(ArtifactCache.DIR_PROPERTY);
+    }
+  }
+
+  private URL url() throws IOException {
+
+    return new URL("http://127.0.0.1:" + this.server.getAddress().getPort() + "/dist.zip");
+  }
+
+  private void serve(HttpExchange exchange) throws IOException {
+
+    if (this.ranges) {
+      exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+    }
+    exchange.getResponseHeaders().add("ETag", this.etag);
+
+    if (exchange.getRequestMethod().equals("HEAD")) {
+      exchange.getResponseHeaders().add("Content-Length", String.valueOf(this.content.length));
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+      return;
+    }
+
+    String range = exchange.getRequestHeaders().getFirst("Range");
+    Matcher m = (range != null && this.ranges) ? RANGE.matcher(range) : null;
+    if (m != null && m.matches()) {
+      this.rangeRequests.incrementAndGet();
+      int start = Integer.parseInt(m.group(1));
+      int end = Integer.parseInt(m.group(2));
+      if (start == this.failAt) {
+        exchange.sendResponseHeaders(500, -1);
+        exchange.close();
+        return;
+      }
+      exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + this.content.length);
+      exchange.sendResponseHeaders(206, end - start + 1);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(this.content, start, end - start + 1);
+      }
+    } else {
+      exchange.sendResponseHeaders(200, this.content.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(this.content);
+      }
+    }
+  }
+
+  private static String sha256(byte[] data) throws Exception {
+
+    StringBuilder hex = new StringBuilder();
+    for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+}
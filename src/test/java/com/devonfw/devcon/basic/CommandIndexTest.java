@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.api.Command;
+import com.devonfw.devcon.common.api.CommandModuleInfo;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.api.data.CommandParameter;
+import com.devonfw.devcon.common.api.data.InputTypeNames;
+import com.devonfw.devcon.common.impl.CommandImpl;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.common.impl.index.CommandIndex;
+import com.google.common.base.Optional;
+
+/**
+ * Tests that the registry loaded from the command index (generated at compile time) describes exactly the same modules
+ * and commands as the registry obtained by scanning the classpath
+ */
+public class CommandIndexTest {
+
+  private static final String PACKAGE = "com.devonfw.devcon.modules.*";
+
+  CommandRegistry indexed;
+
+  CommandRegistry scanned;
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() {
+
+    // otherwise both registries would be scanned
+    assertTrue("command index not found", CommandIndex.load(CommandRegistryImpl.class.getClassLoader()).isPresent());
+
+    this.indexed = new CommandRegistryImpl(PACKAGE);
+    this.scanned = new CommandRegistryImpl(PACKAGE) {
+      @Override
+      public boolean registerIndexedModules(String pkgName) {
+
+        return false;
+      }
+    };
+  }
+
+  @Test
+  public void testSameModules() {
+
+    assertEquals(this.scanned.getCommandModules().size(), this.indexed.getCommandModules().size());
+
+    for (CommandModuleInfo module : this.scanned.getCommandModules()) {
+      Optional<CommandModuleInfo> other = this.indexed.getCommandModule(module.getName());
+      assertTrue(module.getName(), other.isPresent());
+      assertEquals(module.getDescription(), other.get().getDescription());
+      assertEquals(module.getSortValue(), other.get().getSortValue());
+      assertEquals(module.isVisible(), other.get().isVisible());
+      assertEquals(module.getCommands().size(), other.get().getCommands().size());
+    }
+  }
+
+  @Test
+  public void testSameCommands() {
+
+    for (CommandModuleInfo module : this.scanned.getCommandModules()) {
+      for (Command command : module.getCommands()) {
+        Optional<Command> other = this.indexed.getCommand(module.getName(), command.getName());
+        assertTrue(module.getName() + " " + command.getName(), other.isPresent());
+
+        assertEquals(command.getDescription(), other.get().getDescription());
+        assertEquals(command.getSortValue(), other.get().getSortValue());
+        assertEquals(command.getContext(), other.get().getContext());
+        assertEquals(command.getProxyParams(), other.get().getProxyParams());
+        assertEquals(((CommandImpl) command).getMethod(), ((CommandImpl) other.get()).getMethod());
+
+        List<CommandParameter> params = command.getDefinedParameters();
+        List<CommandParameter> otherParams = other.get().getDefinedParameters();
+        assertEquals(params.size(), otherParams.size());
+        for (int i = 0; i < params.size(); i++) {
+          assertEquals(params.get(i).getName(), otherParams.get(i).getName());
+          assertEquals(params.get(i).getDescription(), otherParams.get(i).getDescription());
+          assertEquals(params.get(i).isOptional(), otherParams.get(i).isOptional());
+          assertEquals(inputTypeName(params.get(i)), inputTypeName(otherParams.get(i)));
+        }
+      }
+    }
+  }
+
+  // proxy parameters are defined without input type
+  private InputTypeNames inputTypeName(CommandParameter param) {
+
+    return (param.getInputType() == null) ? null : param.getInputType().getName();
+  }
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.CommandResult;
+import com.devonfw.devcon.common.api.Command;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.api.data.ProjectInfo;
+import com.devonfw.devcon.common.api.data.Sentence;
+import com.devonfw.devcon.common.impl.CommandManagerImpl;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.devonfw.devcon.input.ConsoleInput;
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.google.common.base.Optional;
+
+/**
+ * Tests the invocation of Java commands through their compiled method handles
+ */
+public class CommandInvocationTest {
+
+  private CommandRegistry registry;
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() {
+
+    this.registry = new CommandRegistryImpl("com.devonfw.devcon.modules.*");
+  }
+
+  @Test
+  public void throwsTheOriginalException() throws Exception {
+
+    Command command = command("generateError", new ConsoleOutput(new PrintStream(new ByteArrayOutputStream())));
+    try {
+      command.exec();
+      fail("no error thrown");
+    } catch (Error e) {
+      assertEquals("BOOM!!!", e.getMessage());
+    }
+  }
+
+  @Test
+  public void reportsTheOriginalException() {
+
+    ConsoleOutput output = new ConsoleOutput(new PrintStream(new ByteArrayOutputStream()));
+    Sentence sentence = new Sentence();
+    sentence.setModuleName("foo");
+    sentence.setCommandName("generateError");
+
+    Pair<CommandResult, Object> result =
+        new CommandManagerImpl(this.registry, new ConsoleInput(), output).execCmdLine(sentence);
+    assertSame(CommandResult.FAILURE, result.getLeft());
+    assertTrue(result.getRight() instanceof Error);
+    assertEquals("BOOM!!!", ((Error) result.getRight()).getMessage());
+  }
+
+  @Test
+  public void delegatesToOtherCommands() throws Exception {
+
+    Command command = command("delegateCommand", new ConsoleOutput(new PrintStream(new ByteArrayOutputStream())));
+    assertEquals("oneBigthreefour", command.exec("one", "two", "three", "four"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsWrongNumberOfArguments() throws Exception {
+
+    command("customFarewell", new ConsoleOutput(new PrintStream(new ByteArrayOutputStream()))).exec("a", "b");
+  }
+
+  @Test
+  public void doesNotShareModuleInstancesBetweenThreads() throws Exception {
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> outputs = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        final String name = "thread" + t;
+        outputs.add(pool.submit(new Callable<String>() {
+          @Override
+          public String call() throws Exception {
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Command command = command("customFarewell", new ConsoleOutput(new PrintStream(bytes, true)));
+            for (int i = 0; i < 200; i++) {
+              command.exec(name);
+            }
+            return bytes.toString();
+          }
+        }));
+      }
+
+      for (int t = 0; t < 8; t++) {
+        String[] lines = outputs.get(t).get().split("\\r?\\n");
+        assertEquals(200, lines.length);
+        for (String line : lines) {
+          assertEquals("Bye thread" + t, line);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private Command command(String name, ConsoleOutput output) {
+
+    Command command = this.registry.getCommand("foo", name).get();
+    Optional<ProjectInfo> none = Optional.absent();
+    command.injectEnvironment(this.registry, new ConsoleInput(), output, new ContextPathInfo(), none);
+    return command;
+  }
+}
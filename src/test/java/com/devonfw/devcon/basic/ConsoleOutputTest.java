@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.devonfw.devcon.output.ConsoleOutput;
+
+/**
+ * Tests {@link ConsoleOutput}, in particular the asynchronous one
+ */
+public class ConsoleOutputTest {
+
+  @Test
+  public void formatsOnlyWhenNeeded() throws Exception {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ConsoleOutput output = new ConsoleOutput(new PrintStream(bytes, true, "UTF-8"));
+
+    output.showMessage("plain");
+    output.showMessage("100%% done");
+    output.showMessage("%s", "50% of 10%s");
+    output.showMessage("%s and %s", "one", "two");
+
+    assertEquals(Arrays.asList("plain", "100% done", "50% of 10%s", "one and two"), lines(bytes));
+  }
+
+  @Test
+  public void keepsTheOrderOfEveryThread() throws Exception {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final ConsoleOutput output = new ConsoleOutput(new PrintStream(bytes, true, "UTF-8"), true);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      final String name = "t" + t;
+      threads.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+
+          for (int i = 0; i < 1000; i++) {
+            output.showMessage("%s %s", name, Integer.toString(i));
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    output.showError("done");
+    output.flush();
+
+    List<String> lines = lines(bytes);
+    assertEquals(4001, lines.size());
+    assertEquals("[ERROR] done", lines.get(4000));
+    int[] next = new int[4];
+    for (String line : lines.subList(0, 4000)) {
+      String[] parts = line.split(" ");
+      int t = Integer.parseInt(parts[0].substring(1));
+      assertEquals(next[t]++, Integer.parseInt(parts[1]));
+    }
+  }
+
+  @Test
+  public void blocksWhenTheQueueIsFull() throws Exception {
+
+    final CountDownLatch console = new CountDownLatch(1);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputStream slow = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+
+        write(new byte[] { (byte) b }, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+
+        try {
+          console.await();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        bytes.write(b, off, len);
+      }
+    };
+
+    System.setProperty(ConsoleOutput.QUEUE_SIZE_PROPERTY, "4");
+    final ConsoleOutput output;
+    try {
+      output = new ConsoleOutput(new PrintStream(slow, true, "UTF-8"), true);
+    } finally {
+      System.clearProperty(ConsoleOutput.QUEUE_SIZE_PROPERTY);
+    }
+
+    final CountDownLatch written = new CountDownLatch(1);
+    Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        for (int i = 0; i < 100; i++) {
+          output.showMessage("line %s", Integer.toString(i));
+        }
+        written.countDown();
+      }
+    });
+    producer.start();
+
+    assertFalse(written.await(300, TimeUnit.MILLISECONDS));
+    console.countDown();
+    assertTrue(written.await(5, TimeUnit.SECONDS));
+    output.flush();
+
+    List<String> lines = lines(bytes);
+    assertEquals(100, lines.size());
+    assertEquals("line 99", lines.get(99));
+  }
+
+  private static List<String> lines(ByteArrayOutputStream bytes) throws Exception {
+
+    String text = bytes.toString("UTF-8");
+    return Arrays.asList(text.split("\\r?\\n"));
+  }
+}
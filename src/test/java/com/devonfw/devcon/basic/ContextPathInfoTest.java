@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.api.data.DistributionInfo;
+import com.devonfw.devcon.common.api.data.ProjectInfo;
+import com.devonfw.devcon.common.api.data.ProjectType;
+import com.devonfw.devcon.common.utils.ContextPathInfo;
+import com.google.common.base.Optional;
+
+/**
+ * Tests the (cached) resolution of distributions and projects by {@link ContextPathInfo}
+ */
+public class ContextPathInfoTest {
+
+  private Path testRoot;
+
+  private Path testDist;
+
+  private Path workspace;
+
+  private ContextPathInfo contextPathInfo;
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() throws IOException {
+
+    // Creating a "mock" distribution
+    this.testRoot = Files.createTempDirectory("devconContextPathInfoTest");
+    this.testDist = this.testRoot.resolve("test-devon-dist");
+
+    Path conf = this.testDist.resolve("conf");
+    Files.createDirectories(conf);
+    String content = "{\n\"version\": \"2.0.0\",\n\"type\": \"devon-dist\"\n}";
+    FileUtils.writeStringToFile(conf.resolve("settings.json").toFile(), content, "UTF-8");
+
+    this.workspace = this.testDist.resolve("workspaces/main");
+    Files.createDirectories(this.workspace);
+
+    this.contextPathInfo = new ContextPathInfo();
+  }
+
+  @After
+  public void end() throws IOException {
+
+    FileUtils.forceDeleteOnExit(this.testRoot.toFile());
+  }
+
+  @Test
+  public void distributionCached() {
+
+    Optional<DistributionInfo> info = this.contextPathInfo.getDistributionRoot(this.workspace);
+    assertTrue(info.isPresent());
+    assertEquals(this.testDist, info.get().getPath());
+
+    // same (cached) result, also for other instances
+    assertSame(info.get(), new ContextPathInfo().getDistributionRoot(this.workspace).get());
+
+    // not a distribution anymore
+    FileUtils.deleteQuietly(this.testDist.resolve("conf/settings.json").toFile());
+    assertFalse(this.contextPathInfo.getDistributionRoot(this.workspace).isPresent());
+  }
+
+  @Test
+  public void projectInvalidated() throws IOException {
+
+    Path project = this.workspace.resolve("project");
+    Path sub = project.resolve("server");
+    Files.createDirectories(sub);
+
+    // no project yet
+    assertFalse(this.contextPathInfo.getProjectRoot(sub).isPresent());
+
+    writeDevonJson(sub, "{\"version\": \"2.0.0\", \"type\": \"oasp4j\"}");
+    writeDevonJson(project, "{\"version\": \"2.0.0\", \"type\": \"combined\", \"projects\": [\"server\"]}");
+
+    Optional<ProjectInfo> info = this.contextPathInfo.getCombinedProjectRoot(sub);
+    assertTrue(info.isPresent());
+    assertEquals(ProjectType.COMBINED, info.get().getProjecType());
+    assertSame(info.get(), this.contextPathInfo.getCombinedProjectRoot(sub).get());
+
+    // a changed sub-project invalidates the combined project as well
+    writeDevonJson(sub, "{\"version\": \"2.1.0\", \"type\": \"oasp4j\"}");
+    info = this.contextPathInfo.getProjectRoot(project);
+    assertEquals("2.1.0", info.get().getSubProjects().get(0).getVersion().toString());
+  }
+
+  private void writeDevonJson(Path dir, String content) throws IOException {
+
+    File devonJson = dir.resolve("devon.json").toFile();
+    long previous = devonJson.lastModified();
+    FileUtils.writeStringToFile(devonJson, content, "UTF-8");
+    // make sure the modification is noticed on file systems with a coarse timestamp resolution
+    devonJson.setLastModified(Math.max(devonJson.lastModified(), previous + 2000));
+  }
+}
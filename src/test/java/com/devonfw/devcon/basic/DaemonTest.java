@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.Devcon;
+import com.devonfw.devcon.common.api.CommandRegistry;
+import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.daemon.DaemonProtocol;
+import com.devonfw.devcon.daemon.DevconClient;
+import com.devonfw.devcon.daemon.DevconDaemon;
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.google.common.base.Optional;
+
+/**
+ * Tests the execution of commands by the Devcon daemon
+ */
+public class DaemonTest {
+
+  private String userHome;
+
+  private Path testHome;
+
+  private Thread daemon;
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() throws Exception {
+
+    // state files are written to the (temporary) user home
+    this.userHome = System.getProperty("user.home");
+    this.testHome = Files.createTempDirectory("devcon-daemon");
+    System.setProperty("user.home", this.testHome.toString());
+
+    final CommandRegistry registry = new CommandRegistryImpl("com.devonfw.devcon.modules.*");
+    this.daemon = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        try {
+          new DevconDaemon(registry, new ConsoleOutput(), 1000).run();
+        } catch (IOException e) {
+          e.printStackTrace();
+        }
+      }
+    });
+    this.daemon.start();
+
+    File stateFile = getStateFile();
+    for (int i = 0; (i < 100) && !stateFile.exists(); i++) {
+      Thread.sleep(50);
+    }
+    assertTrue(stateFile.exists());
+  }
+
+  @SuppressWarnings("javadoc")
+  @After
+  public void teardown() throws Exception {
+
+    this.daemon.join(10000);
+    System.setProperty("user.home", this.userHome);
+    FileUtils.deleteQuietly(this.testHome.toFile());
+  }
+
+  /**
+   * Checks that the command is executed by the daemon and its output is sent to the client
+   */
+  @Test
+  public void commandExecuted() {
+
+    ByteArrayOutputStream console = new ByteArrayOutputStream();
+    Optional<Integer> exitCode = forward(console, "foo", "customFarewell", "-name", "Jason");
+
+    assertTrue(exitCode.isPresent());
+    assertEquals(0, exitCode.get().intValue());
+    assertTrue(console.toString().contains("Bye Jason"));
+  }
+
+  /**
+   * Checks that the main entry point (used by the devcon launchers) hands the command to the daemon
+   */
+  @Test
+  public void commandExecutedThroughMain() {
+
+    ByteArrayOutputStream console = new ByteArrayOutputStream();
+    PrintStream stdout = System.out;
+    System.setOut(new PrintStream(console, true));
+    try {
+      Devcon.main(new String[] { "foo", "customFarewell", "-name", "Jason" });
+    } finally {
+      System.setOut(stdout);
+    }
+
+    assertTrue(console.toString().contains("Bye Jason"));
+    // the banner is only shown by an in-process execution
+    assertFalse(console.toString().contains(Devcon.DEVCON_BANNER));
+  }
+
+  /**
+   * Checks that the options and commands only a local instance can handle are not sent to the daemon
+   */
+  @Test
+  public void localCommandLinesNotForwarded() {
+
+    String[][] commandLines = { { "-nl", "foo", "farewell" }, { "-pf", "foo", "farewell" },
+    { "--jfr", "devcon.jfr", "foo", "farewell" }, { "oasp4j", "run" } };
+    for (String[] args : commandLines) {
+      ByteArrayOutputStream console = new ByteArrayOutputStream();
+      Optional<Integer> exitCode = DevconClient.forwardIfRemote(args, new ByteArrayInputStream(new byte[0]),
+          new PrintStream(console, true));
+
+      assertFalse(args[0], exitCode.isPresent());
+      assertEquals(0, console.size());
+    }
+  }
+
+  /**
+   * Checks that the user is prompted through the client
+   */
+  @Test
+  public void commandPrompted() {
+
+    ByteArrayOutputStream console = new ByteArrayOutputStream();
+    Optional<Integer> exitCode = DevconClient.forward(new String[] { "-p", "foo", "customFarewell" },
+        new ByteArrayInputStream("Jason\n".getBytes()), new PrintStream(console, true));
+
+    assertTrue(exitCode.isPresent());
+    assertEquals(0, exitCode.get().intValue());
+    assertTrue(console.toString().contains("Parameter: name"));
+    assertTrue(console.toString().contains("Bye Jason"));
+  }
+
+  /**
+   * Checks that the daemon refuses commands while it is busy, so the client executes them itself
+   */
+  @Test
+  public void busyDaemonRefuses() throws Exception {
+
+    // prompts for the name, which is not given until the second command has been refused
+    final PipedOutputStream name = new PipedOutputStream();
+    final PipedInputStream consoleIn = new PipedInputStream(name);
+    final ByteArrayOutputStream console = new ByteArrayOutputStream();
+    Thread prompted = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        DevconClient.forward(new String[] { "-p", "foo", "customFarewell" }, consoleIn, new PrintStream(console, true));
+      }
+    });
+    prompted.start();
+    for (int i = 0; (i < 100) && !console.toString().contains("Parameter: name"); i++) {
+      Thread.sleep(50);
+    }
+
+    assertFalse(forward(new ByteArrayOutputStream(), "foo", "farewell").isPresent());
+
+    name.write("Jason\n".getBytes());
+    name.close();
+    prompted.join(10000);
+    assertTrue(console.toString().contains("Bye Jason"));
+  }
+
+  /**
+   * Checks that failing commands are reported by the exit code
+   */
+  @Test
+  public void commandFailed() {
+
+    Optional<Integer> exitCode = forward(new ByteArrayOutputStream(), "foo", "fakeCommand");
+
+    assertTrue(exitCode.isPresent());
+    assertEquals(DaemonProtocol.EXIT_FAILURE, exitCode.get().intValue());
+  }
+
+  /**
+   * Checks that the daemon stops (and removes its state) when idle
+   */
+  @Test
+  public void idleShutdown() throws Exception {
+
+    this.daemon.join(10000);
+    assertFalse(this.daemon.isAlive());
+    assertFalse(getStateFile().exists());
+
+    // without daemon the client has to execute the command itself
+    assertFalse(forward(new ByteArrayOutputStream(), "foo", "farewell").isPresent());
+  }
+
+  private Optional<Integer> forward(ByteArrayOutputStream console, String... args) {
+
+    return DevconClient.forward(args, new ByteArrayInputStream(new byte[0]), new PrintStream(console, true));
+  }
+
+  private File getStateFile() {
+
+    return new File(DaemonProtocol.getDaemonDir(), DaemonProtocol.STATE_FILE);
+  }
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.utils.Extractor;
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.devonfw.devcon.output.Output;
+
+/**
+ * Tests the parallel ZIP extraction of {@link Extractor}
+ */
+public class ExtractorTest {
+
+  private static final long TIME = 1262304000000L; // 2010-01-01
+
+  private Path testRoot;
+
+  private Output output;
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() throws IOException {
+
+    this.testRoot = Files.createTempDirectory("devconExtractorTest");
+    this.output = new ConsoleOutput(new PrintStream(new ByteArrayOutputStream()));
+  }
+
+  @After
+  public void end() throws IOException {
+
+    FileUtils.forceDeleteOnExit(this.testRoot.toFile());
+  }
+
+  @Test
+  public void extractsAllEntries() throws IOException {
+
+    File zip = this.testRoot.resolve("dist.zip").toFile();
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+      addDirectory(out, "devon/");
+      for (int i = 0; i < 200; i++) {
+        // implicit directories, no entry of their own
+        addFile(out, "devon/software/tool" + (i % 7) + "/file" + i + ".txt", "content " + i);
+      }
+      addFile(out, "devon/large.bin", new String(new char[1024 * 1024]).replace('\0', 'x'));
+    }
+
+    File target = this.testRoot.resolve("out").toFile();
+    Extractor.unZip(zip, target, this.output);
+
+    for (int i = 0; i < 200; i++) {
+      File file = new File(target, "devon/software/tool" + (i % 7) + "/file" + i + ".txt");
+      assertEquals("content " + i, FileUtils.readFileToString(file, "UTF-8"));
+      assertEquals(TIME, file.lastModified());
+    }
+    assertEquals(1024 * 1024, new File(target, "devon/large.bin").length());
+    assertEquals(TIME, new File(target, "devon").lastModified());
+  }
+
+  @Test
+  public void rejectsZipSlip() throws IOException {
+
+    File zip = this.testRoot.resolve("evil.zip").toFile();
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+      addFile(out, "good.txt", "good");
+      addFile(out, "../evil.txt", "evil");
+    }
+
+    File target = this.testRoot.resolve("out").toFile();
+    try {
+      Extractor.unZip(zip, target, this.output);
+      fail("entry outside of the target folder accepted");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("../evil.txt"));
+    }
+    assertFalse(this.testRoot.resolve("evil.txt").toFile().exists());
+    // nothing is written when an entry is rejected
+    assertFalse(new File(target, "good.txt").exists());
+  }
+
+  private void addDirectory(ZipOutputStream out, String name) throws IOException {
+
+    ZipEntry entry = new ZipEntry(name);
+    entry.setTime(TIME);
+    out.putNextEntry(entry);
+    out.closeEntry();
+  }
+
+  private void addFile(ZipOutputStream out, String name, String content) throws IOException {
+
+    ZipEntry entry = new ZipEntry(name);
+    entry.setTime(TIME);
+    out.putNextEntry(entry);
+    out.write(content.getBytes("UTF-8"));
+    out.closeEntry();
+  }
+}
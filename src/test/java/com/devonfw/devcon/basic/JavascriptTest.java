@@ -17,6 +17,7 @@ package com.devonfw.devcon.basic;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -43,7 +44,13 @@ import com.devonfw.devcon.common.api.data.InputTypeNames;
 import com.devonfw.devcon.common.api.data.ParameterInputType;
 import com.devonfw.devcon.common.api.data.ProjectInfo;
 import com.devonfw.devcon.common.impl.CommandRegistryImpl;
+import com.devonfw.devcon.common.impl.GraalJsScriptBackend;
 import com.devonfw.devcon.common.impl.JavaScriptsCmdRegistryImpl;
+import com.devonfw.devcon.common.impl.JsCmdImpl;
+import com.devonfw.devcon.common.impl.JsScriptCache;
+import com.devonfw.devcon.common.impl.NashornScriptBackend;
+import com.devonfw.devcon.common.impl.ScriptBackend;
+import com.devonfw.devcon.common.impl.ScriptBackends;
 import com.devonfw.devcon.common.utils.ContextPathInfo;
 import com.devonfw.devcon.input.ConsoleInput;
 import com.devonfw.devcon.output.ConsoleOutput;
@@ -104,7 +111,8 @@ public class JavascriptTest {
     FileUtils.writeStringToFile(initJsFile, JsTxt, "UTF-8");
 
     this.registry = new CommandRegistryImpl("com.devonfw.devcon.modules.*");
-    this.jsregistry = new JavaScriptsCmdRegistryImpl(this.testRoot.resolve("test-javascript/st/"));
+    this.jsregistry = new JavaScriptsCmdRegistryImpl(this.testRoot.resolve("test-javascript/st/"),
+        this.testRoot.resolve("manifest.json"), JavaScriptsCmdRegistryImpl.DEFAULT_MAX_DEPTH);
   }
 
   @SuppressWarnings("javadoc")
@@ -155,6 +163,34 @@ public class JavascriptTest {
 
   }
 
+  @Test
+  public void testManifest() throws ParseException, IOException {
+
+    Path manifest = this.testRoot.resolve("manifest.json");
+    assertTrue("manifest written", manifest.toFile().exists());
+
+    // same size and modification time: the module is taken from the manifest
+    File commandsJson = this.testRoot.resolve("test-javascript/st/commands.json").toFile();
+    long modified = commandsJson.lastModified();
+    String json = FileUtils.readFileToString(commandsJson, "UTF-8");
+    FileUtils.writeStringToFile(commandsJson, json.replace("Devonfw St", "Devonfw Xx"), "UTF-8");
+    commandsJson.setLastModified(modified);
+
+    CommandRegistry registry = new JavaScriptsCmdRegistryImpl(this.testRoot.resolve("test-javascript"), manifest,
+        JavaScriptsCmdRegistryImpl.DEFAULT_MAX_DEPTH);
+    assertTrue(registry.getCommandModule("st").get().getDescription().contains("Devonfw St"));
+
+    // changed: parsed again
+    commandsJson.setLastModified(modified + 2000);
+    registry = new JavaScriptsCmdRegistryImpl(this.testRoot.resolve("test-javascript"), manifest,
+        JavaScriptsCmdRegistryImpl.DEFAULT_MAX_DEPTH);
+    assertTrue(registry.getCommandModule("st").get().getDescription().contains("Devonfw Xx"));
+
+    // beyond the maximum depth nothing is found
+    registry = new JavaScriptsCmdRegistryImpl(this.testRoot, manifest, 2);
+    assertFalse(registry.getCommandModule("st").isPresent());
+  }
+
   @Test
   public void testNashorn() {
 
@@ -188,4 +224,67 @@ public class JavascriptTest {
     Object rs2 = cmd.exec();
     assertEquals(null, rs2);
   }
+
+  @Test
+  public void testExecCached()
+      throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
+      IOException {
+
+    if (!Devcon.scriptEngine.isPresent()) {
+      return;
+    }
+
+    Optional<Command> _cmd = this.jsregistry.getCommand("st", "init");
+    Command cmd = _cmd.get();
+    Optional<ProjectInfo> none = Optional.absent();
+    cmd.injectEnvironment(this.jsregistry, new ConsoleInput(), new ConsoleOutput(), new ContextPathInfo(), none);
+
+    long hits = JsScriptCache.INSTANCE.getHits();
+    long misses = JsScriptCache.INSTANCE.getMisses();
+
+    // first execution compiles, second one is served from the cache
+    assertEquals("ARGUMENT1ARGUMENT2", cmd.exec("ARGUMENT1", "ARGUMENT2").toString());
+    assertEquals("ARGUMENT3ARGUMENT4", cmd.exec("ARGUMENT3", "ARGUMENT4").toString());
+    assertEquals(misses + 1, JsScriptCache.INSTANCE.getMisses());
+    assertEquals(hits + 1, JsScriptCache.INSTANCE.getHits());
+
+    // a modified script is compiled again
+    File initJs = this.testRoot.resolve("test-javascript/st/init.js").toFile();
+    String source = FileUtils.readFileToString(initJs, "UTF-8");
+    FileUtils.writeStringToFile(initJs, source.replace("arg1 + arg2", "arg2 + arg1"), "UTF-8");
+    initJs.setLastModified(initJs.lastModified() + 2000);
+
+    assertEquals("ARGUMENT2ARGUMENT1", cmd.exec("ARGUMENT1", "ARGUMENT2").toString());
+    assertEquals(misses + 2, JsScriptCache.INSTANCE.getMisses());
+  }
+
+  @Test
+  public void testBackends() {
+
+    assertFalse(ScriptBackends.get("rhino").isPresent());
+    if (Devcon.scriptEngine.isPresent() && (System.getProperty(ScriptBackends.PROPERTY) == null)) {
+      assertEquals(NashornScriptBackend.NAME, ScriptBackends.getDefaultName().get());
+      assertEquals(NashornScriptBackend.NAME, ScriptBackends.getDefault().get().getName());
+    }
+  }
+
+  @Test
+  public void testExecGraalJs()
+      throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+
+    Optional<ScriptBackend> graalJs = ScriptBackends.get(GraalJsScriptBackend.NAME);
+    if (!graalJs.isPresent()) {
+      return;
+    }
+
+    // same command template as with Nashorn
+    JsCmdImpl cmd = (JsCmdImpl) this.jsregistry.getCommand("st", "init").get();
+    cmd.setBackend(graalJs.get());
+    Optional<ProjectInfo> none = Optional.absent();
+    cmd.injectEnvironment(this.jsregistry, new ConsoleInput(), new ConsoleOutput(), new ContextPathInfo(), none);
+
+    assertEquals("ARGUMENT1ARGUMENT2", cmd.exec("ARGUMENT1", "ARGUMENT2").toString());
+    assertEquals("ARGUMENT3ARGUMENT4", cmd.exec("ARGUMENT3", "ARGUMENT4").toString());
+    assertEquals(null, cmd.exec());
+  }
 }
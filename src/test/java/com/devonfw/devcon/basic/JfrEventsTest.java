@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+import com.devonfw.devcon.common.utils.JfrEvents;
+import com.devonfw.devcon.common.utils.ProcessRunner;
+
+/**
+ * Tests {@link JfrEvents}
+ */
+public class JfrEventsTest {
+
+  @Test
+  public void findsRequestedFile() {
+
+    assertEquals("run.jfr", JfrEvents.requestedFile(new String[] { "--jfr", "run.jfr", "foo", "greeting" }));
+    assertEquals("run.jfr", JfrEvents.requestedFile(new String[] { "foo", "greeting", "-jfr", "run.jfr" }));
+    assertNull(JfrEvents.requestedFile(new String[] { "foo", "greeting", "--jfr" }));
+    assertNull(JfrEvents.requestedFile(new String[] { "--", "--jfr", "run.jfr" }));
+  }
+
+  @Test
+  public void recordsEvents() throws Exception {
+
+    File file = File.createTempFile("devconRecording", ".jfr");
+    try {
+      assumeTrue(JfrEvents.startRecording(file));
+
+      JfrEvents.get().command("foo", "greeting").end("OK", 0);
+      JfrEvents.get().download(new URL("http://localhost/dist.zip"), 1024).end(null, 2048);
+      String java = new File(System.getProperty("java.home"), "bin/java").getPath();
+      assertTrue(new ProcessRunner(java, "-version").run().isSuccess());
+      JfrEvents.stopRecording();
+
+      Map<String, RecordedEvent> events = new HashMap<>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+        if (event.getEventType().getName().startsWith("com.devonfw.devcon.")) {
+          events.put(event.getEventType().getName(), event);
+        }
+      }
+
+      RecordedEvent command = events.get("com.devonfw.devcon.Command");
+      assertArrayEquals(new String[] { "foo", "greeting", "OK" }, new String[] { command.getString("module"),
+          command.getString("command"), command.getString("result") });
+      RecordedEvent download = events.get("com.devonfw.devcon.Download");
+      assertEquals(1024, download.getLong("offset"));
+      assertEquals(2048, download.getLong("bytes"));
+      RecordedEvent process = events.get("com.devonfw.devcon.Process");
+      assertEquals(java + " -version", process.getString("commandLine"));
+      assertEquals(0, process.getInt("exitCode"));
+    } finally {
+      JfrEvents.stopRecording();
+      file.delete();
+    }
+  }
+
+}
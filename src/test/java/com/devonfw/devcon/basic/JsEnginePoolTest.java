@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.SimpleBindings;
+
+import org.junit.Test;
+
+import com.devonfw.devcon.common.impl.JsEnginePool;
+
+/**
+ * Tests {@link JsEnginePool} (with a trivial engine, as Nashorn is not available on every JVM)
+ */
+public class JsEnginePoolTest {
+
+  @Test
+  public void reusesReturnedEngine() throws Exception {
+
+    JsEnginePool pool = new JsEnginePool(new Engine(new Factory(null)), 2);
+
+    ScriptEngine first = pool.checkout();
+    pool.release(first);
+    assertSame(first, pool.checkout());
+    pool.release(first);
+    assertEquals(1, pool.getCreated());
+  }
+
+  @Test
+  public void nestedCheckoutUsesSameEngine() throws Exception {
+
+    JsEnginePool pool = new JsEnginePool(new Engine(new Factory(null)), 1);
+
+    ScriptEngine outer = pool.checkout();
+    // e.g. a script command running another one; would wait forever for the only engine otherwise
+    ScriptEngine inner = pool.checkout();
+    assertSame(outer, inner);
+    pool.release(inner);
+    pool.release(outer);
+    assertSame(outer, pool.checkout());
+  }
+
+  @Test
+  public void threadsWaitForEngineWhenAllAreInUse() throws Exception {
+
+    final JsEnginePool pool = new JsEnginePool(new Engine(new Factory(null)), 2);
+    ScriptEngine first = pool.checkout();
+
+    final AtomicReference<ScriptEngine> second = new AtomicReference<>();
+    final AtomicReference<ScriptEngine> third = new AtomicReference<>();
+    final CountDownLatch secondTaken = new CountDownLatch(1);
+    final CountDownLatch thirdTaken = new CountDownLatch(1);
+    Thread other = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        try {
+          second.set(pool.checkout());
+          secondTaken.countDown();
+        } catch (Exception e) {
+          // fails the test below
+        }
+      }
+    });
+    Thread another = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        try {
+          secondTaken.await();
+          third.set(pool.checkout());
+          thirdTaken.countDown();
+        } catch (Exception e) {
+          // fails the test below
+        }
+      }
+    });
+    other.start();
+    another.start();
+
+    assertTrue(secondTaken.await(5, TimeUnit.SECONDS));
+    assertNotSame(first, second.get());
+    assertEquals(2, pool.getCreated());
+    assertFalse(thirdTaken.await(200, TimeUnit.MILLISECONDS));
+
+    pool.release(first);
+    assertTrue(thirdTaken.await(5, TimeUnit.SECONDS));
+    assertSame(first, third.get());
+  }
+
+  @Test
+  public void sharesThreadSafeEngine() throws Exception {
+
+    JsEnginePool pool = new JsEnginePool(new Engine(new Factory("MULTITHREADED")), 4);
+    assertTrue(pool.isShared());
+
+    ScriptEngine first = pool.checkout();
+    ScriptEngine second = pool.checkout();
+    assertSame(first, second);
+    pool.release(second);
+    pool.release(first);
+    assertEquals(1, pool.getCreated());
+  }
+
+  @Test
+  public void newContextHasOwnEngineScope() throws Exception {
+
+    JsEnginePool pool = new JsEnginePool(new Engine(new Factory(null)), 1);
+    ScriptEngine engine = pool.checkout();
+
+    ScriptContext a = pool.newContext(engine);
+    ScriptContext b = pool.newContext(engine);
+    assertNotSame(a.getBindings(ScriptContext.ENGINE_SCOPE), b.getBindings(ScriptContext.ENGINE_SCOPE));
+    assertSame(engine.getContext().getWriter(), a.getWriter());
+    pool.release(engine);
+  }
+
+  @Test
+  public void warmsUpInBackground() throws Exception {
+
+    Factory factory = new Factory(null);
+    JsEnginePool pool = new JsEnginePool(new Engine(factory), 3);
+
+    pool.warmUp(Integer.MAX_VALUE);
+    assertTrue(factory.evaluated.await(5, TimeUnit.SECONDS));
+    assertEquals(3, pool.getCreated());
+  }
+
+  /**
+   * Engine which evaluates every script to null
+   */
+  private static class Engine extends AbstractScriptEngine {
+
+    private final Factory factory;
+
+    Engine(Factory factory) {
+      this.factory = factory;
+    }
+
+    @Override
+    public Object eval(String script, ScriptContext context) {
+
+      this.factory.evaluated.countDown();
+      return null;
+    }
+
+    @Override
+    public Object eval(Reader reader, ScriptContext context) {
+
+      return eval("", context);
+    }
+
+    @Override
+    public Bindings createBindings() {
+
+      return new SimpleBindings();
+    }
+
+    @Override
+    public ScriptEngineFactory getFactory() {
+
+      return this.factory;
+    }
+  }
+
+  private static class Factory implements ScriptEngineFactory {
+
+    private final String threading;
+
+    private final CountDownLatch evaluated = new CountDownLatch(3);
+
+    Factory(String threading) {
+      this.threading = threading;
+    }
+
+    @Override
+    public Object getParameter(String key) {
+
+      return "THREADING".equals(key) ? this.threading : null;
+    }
+
+    @Override
+    public ScriptEngine getScriptEngine() {
+
+      return new Engine(this);
+    }
+
+    @Override
+    public String getEngineName() {
+
+      return "test";
+    }
+
+    @Override
+    public String getEngineVersion() {
+
+      return "1";
+    }
+
+    @Override
+    public List<String> getExtensions() {
+
+      return Arrays.asList("test");
+    }
+
+    @Override
+    public List<String> getMimeTypes() {
+
+      return Arrays.asList("text/test");
+    }
+
+    @Override
+    public List<String> getNames() {
+
+      return Arrays.asList("test");
+    }
+
+    @Override
+    public String getLanguageName() {
+
+      return "test";
+    }
+
+    @Override
+    public String getLanguageVersion() {
+
+      return "1";
+    }
+
+    @Override
+    public String getMethodCallSyntax(String obj, String m, String... args) {
+
+      return obj + "." + m;
+    }
+
+    @Override
+    public String getOutputStatement(String toDisplay) {
+
+      return toDisplay;
+    }
+
+    @Override
+    public String getProgram(String... statements) {
+
+      return Arrays.toString(statements);
+    }
+  }
+}
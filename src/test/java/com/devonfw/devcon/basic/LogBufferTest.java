@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.devonfw.devcon.output.LogBuffer;
+
+/**
+ * Tests {@link LogBuffer}, the bounded buffer behind the GUI console
+ */
+public class LogBufferTest {
+
+  @Test
+  public void schedulesOneFlushPerBatch() {
+
+    LogBuffer log = new LogBuffer(10);
+    assertTrue(log.append("one"));
+    assertFalse(log.append("two"));
+    assertEquals(0, log.size());
+
+    LogBuffer.Change change = log.flush();
+    assertEquals(2, change.getAdded());
+    assertTrue(change.getRemoved().isEmpty());
+    assertEquals(2, log.size());
+    assertEquals("two", log.get(1));
+
+    assertTrue(log.flush().isEmpty());
+    assertTrue(log.append("three"));
+  }
+
+  @Test
+  public void keepsOnlyTheLastLines() {
+
+    LogBuffer log = new LogBuffer(3);
+    for (int i = 0; i < 5; i++) {
+      log.append("line " + i);
+    }
+    LogBuffer.Change change = log.flush();
+    assertEquals(3, change.getAdded());
+    assertEquals(3, log.size());
+    assertEquals("line 2", log.get(0));
+
+    log.append("line 5");
+    change = log.flush();
+    assertEquals(Arrays.asList("line 2"), change.getRemoved());
+    assertEquals(1, change.getAdded());
+    assertEquals("line 3", log.get(0));
+    assertEquals("line 5", log.get(2));
+  }
+
+  @Test
+  public void savesTheEvictedLines() throws Exception {
+
+    LogBuffer log = new LogBuffer(2);
+    for (int i = 0; i < 4; i++) {
+      log.append("line " + i);
+      log.flush();
+    }
+    log.append("line 4");
+
+    File file = File.createTempFile("devcon-log-test", ".txt");
+    try {
+      log.saveTo(file);
+      List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+      assertEquals(Arrays.asList("line 0", "line 1", "line 2", "line 3", "line 4"), lines);
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void searchesCaseInsensitive() {
+
+    LogBuffer log = new LogBuffer(10);
+    log.append("[INFO] building");
+    log.append("[ERROR] build failed");
+    log.append("[INFO] Error report written");
+    log.flush();
+
+    assertEquals(Arrays.asList(1, 2), log.search("error"));
+    assertEquals(Arrays.asList(0, 1, 2), log.search(""));
+  }
+
+  @Test
+  public void replacesTheContent() throws Exception {
+
+    LogBuffer log = new LogBuffer(2);
+    log.append("old 1");
+    log.append("old 2");
+    log.append("old 3");
+    log.flush();
+
+    assertTrue(log.replace(Arrays.asList("help")));
+    LogBuffer.Change change = log.flush();
+    assertEquals(Arrays.asList("old 2", "old 3"), change.getRemoved());
+    assertEquals(1, log.size());
+    assertEquals("help", log.get(0));
+
+    File file = File.createTempFile("devcon-log-test", ".txt");
+    try {
+      log.saveTo(file);
+      assertEquals(Arrays.asList("help"), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+    } finally {
+      file.delete();
+    }
+  }
+}
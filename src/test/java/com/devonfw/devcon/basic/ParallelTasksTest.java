@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.utils.ParallelTasks;
+import com.devonfw.devcon.common.utils.ProcessRunner;
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.devonfw.devcon.output.PrefixedOutput;
+
+/**
+ * Tests {@link ParallelTasks} and {@link PrefixedOutput}, used to run the sub-projects of a combined project
+ */
+public class ParallelTasksTest {
+
+  @Test
+  public void runsTasksConcurrently() throws Exception {
+
+    ParallelTasks tasks = new ParallelTasks(0);
+    tasks.add("server", sleep(300, true));
+    tasks.add("client", sleep(300, true));
+
+    long start = System.nanoTime();
+    assertTrue(tasks.run());
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertTrue("took " + millis + " ms", millis < 550);
+  }
+
+  @Test
+  public void limitsParallelism() throws Exception {
+
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    ParallelTasks tasks = new ParallelTasks(2);
+    for (int i = 0; i < 6; i++) {
+      tasks.add("task" + i, new Callable<Boolean>() {
+        @Override
+        public Boolean call() throws Exception {
+
+          int now = running.incrementAndGet();
+          synchronized (maxRunning) {
+            maxRunning.set(Math.max(maxRunning.get(), now));
+          }
+          Thread.sleep(50);
+          running.decrementAndGet();
+          return true;
+        }
+      });
+    }
+
+    assertTrue(tasks.run());
+    assertEquals(2, maxRunning.get());
+  }
+
+  @Test
+  public void failsFast() throws Exception {
+
+    ParallelTasks tasks = new ParallelTasks(0);
+    tasks.add("server", sleep(10000, true));
+    tasks.add("client", sleep(100, false));
+
+    long start = System.nanoTime();
+    assertFalse(tasks.run());
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertTrue("took " + millis + " ms", millis < 5000);
+    assertEquals(Collections.singletonList("client"), tasks.getFailed());
+    assertEquals(Collections.singletonList("server"), tasks.getCancelled());
+  }
+
+  @Test
+  public void failsOnException() throws Exception {
+
+    ParallelTasks tasks = new ParallelTasks(1);
+    tasks.add("server", new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+
+        throw new IllegalStateException("no pom.xml");
+      }
+    });
+    tasks.add("client", sleep(10, true));
+
+    assertFalse(tasks.run());
+    assertEquals(Arrays.asList("server"), tasks.getFailed());
+  }
+
+  @Test
+  public void killsProcessesOfCancelledTasks() throws Exception {
+
+    if (SystemUtils.IS_OS_WINDOWS) {
+      return;
+    }
+
+    final ProcessRunner.Execution[] server = new ProcessRunner.Execution[1];
+    ParallelTasks tasks = new ParallelTasks(0);
+    tasks.add("server", new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+
+        ProcessRunner runner = new ProcessRunner("sleep", "30");
+        server[0] = runner.start();
+        try {
+          return server[0].waitFor().isSuccess();
+        } catch (InterruptedException e) {
+          server[0].destroy();
+          throw e;
+        }
+      }
+    });
+    tasks.add("client", sleep(200, false));
+
+    assertFalse(tasks.run());
+    assertTrue(server[0].waitFor(5, TimeUnit.SECONDS) != null);
+  }
+
+  @Test
+  public void prefixesMessages() {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrefixedOutput output = new PrefixedOutput(new ConsoleOutput(new PrintStream(bytes)), "server");
+
+    output.showMessage("Building %s", "50% done");
+    assertFalse(output.hasErrors());
+    output.showError("Build failed");
+    assertTrue(output.hasErrors());
+
+    String[] lines = bytes.toString().trim().split("\\r?\\n");
+    assertEquals("[server] Building 50% done", lines[0]);
+    assertEquals("[ERROR] [server] Build failed", lines[1]);
+  }
+
+  private static Callable<Boolean> sleep(final long millis, final boolean result) {
+
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+
+        Thread.sleep(millis);
+        return result;
+      }
+    };
+  }
+}
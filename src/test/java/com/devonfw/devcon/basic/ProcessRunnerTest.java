@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.utils.ProcessRunner;
+import com.devonfw.devcon.output.ConsoleOutput;
+
+/**
+ * Tests {@link ProcessRunner}
+ */
+public class ProcessRunnerTest {
+
+  @SuppressWarnings("javadoc")
+  @Before
+  public void setup() {
+
+    Assume.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+  }
+
+  @Test
+  public void reportsExitCodeAndTiming() throws Exception {
+
+    ProcessRunner.Result result = ProcessRunner.shell("sleep 0.2; exit 3").run();
+
+    assertEquals(3, result.getExitCode());
+    assertFalse(result.isSuccess());
+    assertTrue(result.getDurationMillis() >= 200);
+  }
+
+  @Test
+  public void drainsStdoutAndStderrConcurrently() throws Exception {
+
+    final AtomicInteger out = new AtomicInteger();
+    final AtomicInteger err = new AtomicInteger();
+
+    // far more stderr than a pipe buffer holds: the child blocks unless stderr is read as well
+    ProcessRunner.Result result = ProcessRunner
+        .shell("for i in $(seq 1 20000); do echo \"error line $i\" >&2; done; echo out1; echo out2")
+        .handler(new ProcessRunner.LineHandler() {
+          @Override
+          public void onLine(String line, boolean error) {
+
+            if (error) {
+              err.incrementAndGet();
+            } else {
+              out.incrementAndGet();
+            }
+          }
+        }).run();
+
+    assertTrue(result.isSuccess());
+    assertEquals(2, out.get());
+    assertEquals(20000, err.get());
+  }
+
+  @Test
+  public void mergesErrorStream() throws Exception {
+
+    final List<String> lines = Collections.synchronizedList(new ArrayList<String>());
+    final AtomicInteger err = new AtomicInteger();
+
+    ProcessRunner.shell("echo one; echo two >&2; echo three").redirectErrorStream(true)
+        .handler(new ProcessRunner.LineHandler() {
+          @Override
+          public void onLine(String line, boolean error) {
+
+            lines.add(line);
+            if (error) {
+              err.incrementAndGet();
+            }
+          }
+        }).run();
+
+    assertEquals(3, lines.size());
+    assertEquals(0, err.get());
+  }
+
+  @Test
+  public void showsLinesAsMessages() throws Exception {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    // '%' must not be taken as a format specifier
+    ProcessRunner.shell("echo '100% done'").output(new ConsoleOutput(new PrintStream(bytes))).run();
+
+    assertEquals("100% done", bytes.toString().trim());
+  }
+
+  @Test
+  public void usesOverriddenEnvironment() throws Exception {
+
+    Map<String, String> environment = new HashMap<>(System.getenv());
+    environment.put("DEVCON_CLIENT", "client");
+    final StringBuilder lines = new StringBuilder();
+    ProcessRunner.setEnvironment(environment);
+    try {
+      ProcessRunner.shell("echo $DEVCON_CLIENT").handler(new ProcessRunner.LineHandler() {
+        @Override
+        public void onLine(String line, boolean error) {
+
+          lines.append(line);
+        }
+      }).run();
+    } finally {
+      ProcessRunner.setEnvironment(null);
+    }
+
+    assertEquals("client", lines.toString());
+  }
+
+  @Test
+  public void destroyKillsStartedProcesses() throws Exception {
+
+    final List<String> lines = Collections.synchronizedList(new ArrayList<String>());
+    ProcessRunner.Execution execution = ProcessRunner.shell("sleep 30 & echo $!; wait")
+        .handler(new ProcessRunner.LineHandler() {
+          @Override
+          public void onLine(String line, boolean error) {
+
+            lines.add(line);
+          }
+        }).start();
+    for (int i = 0; (i < 100) && lines.isEmpty(); i++) {
+      Thread.sleep(50);
+    }
+    String sleepPid = lines.get(0);
+
+    execution.destroy();
+    execution.waitFor(10, TimeUnit.SECONDS);
+
+    // the background sleep (a grandchild of devcon) has been killed as well
+    boolean alive = true;
+    for (int i = 0; (i < 100) && alive; i++) {
+      alive = new ProcessRunner("kill", "-0", sleepPid).run().isSuccess();
+      Thread.sleep(50);
+    }
+    assertFalse(alive);
+  }
+
+  @Test
+  public void waitsWithTimeout() throws Exception {
+
+    ProcessRunner.Execution execution = new ProcessRunner("sleep", "10").start();
+
+    assertNull(execution.waitFor(100, TimeUnit.MILLISECONDS));
+    assertFalse(execution.isDone());
+
+    execution.destroy();
+    ProcessRunner.Result result = execution.waitFor(10, TimeUnit.SECONDS);
+    assertFalse(result.isSuccess());
+    assertTrue(execution.isDone());
+  }
+}
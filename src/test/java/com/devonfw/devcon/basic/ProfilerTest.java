@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.After;
+import org.junit.Test;
+
+import com.devonfw.devcon.common.utils.Profiler;
+
+/**
+ * Tests {@link Profiler}
+ */
+public class ProfilerTest {
+
+  @After
+  public void reset() {
+
+    Profiler.reset();
+  }
+
+  @Test
+  public void recordsNothingWhenDisabled() {
+
+    Profiler.Span a = Profiler.start("a");
+    Profiler.Span b = Profiler.start("b", "detail");
+    assertSame(a, b);
+    b.end();
+    a.end();
+
+    assertFalse(Profiler.isEnabled());
+    assertFalse(Profiler.format().contains(" a"));
+  }
+
+  @Test
+  public void nestsSpansOfTheSameThread() throws Exception {
+
+    Profiler.enable();
+    try (Profiler.Span main = Profiler.start("main")) {
+      try (Profiler.Span registry = Profiler.start("registry")) {
+        Thread.sleep(2);
+      }
+      try (Profiler.Span command = Profiler.start("command", "foo", "greeting")) {
+        Profiler.start("command.bind").end();
+      }
+    }
+
+    String[] lines = Profiler.format().split("\\r?\\n");
+    assertEquals(5, lines.length);
+    assertTrue(lines[1].endsWith("  main"));
+    assertTrue(lines[2].endsWith("    registry"));
+    assertTrue(lines[3].endsWith("    command foo greeting"));
+    assertTrue(lines[4].endsWith("      command.bind"));
+  }
+
+  @Test
+  public void detachedSpanEndsOnOtherThread() throws Exception {
+
+    Profiler.enable();
+    Profiler.Span main = Profiler.start("main");
+    final Profiler.Span process = Profiler.startDetached("process", "[git, status]");
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+
+        process.end();
+      }
+    });
+    thread.start();
+    thread.join();
+    // the detached span did not become the parent
+    Profiler.start("after").end();
+    main.end();
+
+    String report = Profiler.format();
+    assertTrue(report.contains("    process [git, status]"));
+    assertTrue(report.contains("    after"));
+  }
+
+  @Test
+  public void writesTraceEvents() throws Exception {
+
+    Profiler.enable();
+    try (Profiler.Span main = Profiler.start("main")) {
+      Profiler.start("registry.index", "com.devonfw.devcon.modules.*").end();
+    }
+
+    File file = File.createTempFile("devconTrace", ".json");
+    JSONObject trace;
+    try {
+      Profiler.writeTrace(file);
+      trace = (JSONObject) new JSONParser().parse(FileUtils.readFileToString(file, "UTF-8"));
+    } finally {
+      file.delete();
+    }
+    JSONArray events = (JSONArray) trace.get("traceEvents");
+    assertEquals(3, events.size());
+    JSONObject main = (JSONObject) events.get(0);
+    JSONObject index = (JSONObject) events.get(1);
+    assertEquals("main", main.get("name"));
+    assertEquals("X", main.get("ph"));
+    assertEquals("registry.index", index.get("name"));
+    assertEquals("com.devonfw.devcon.modules.*", ((JSONObject) index.get("args")).get("detail"));
+    assertTrue(((Number) index.get("ts")).doubleValue() >= ((Number) main.get("ts")).doubleValue());
+    assertEquals("M", ((JSONObject) events.get(2)).get("ph"));
+  }
+
+}
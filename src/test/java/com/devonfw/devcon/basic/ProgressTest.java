@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import com.devonfw.devcon.output.ConsoleOutput;
+import com.devonfw.devcon.output.Progress;
+import com.devonfw.devcon.output.ProgressInputStream;
+
+/**
+ * Tests {@link Progress} and its display
+ */
+public class ProgressTest {
+
+  @Test
+  public void countsBytesRead() throws IOException {
+
+    Progress progress = new Progress("Reading", 1000);
+    assertSame(progress, Progress.current().get());
+
+    try (InputStream in = new ProgressInputStream(new ByteArrayInputStream(new byte[400]), progress)) {
+      IOUtils.toByteArray(in);
+    }
+    assertEquals(400, progress.getDone());
+    assertEquals(0.4, progress.getFraction(), 0.001);
+    assertTrue(progress.toString().startsWith("40% "));
+  }
+
+  @Test
+  public void unknownTotal() {
+
+    Progress progress = new Progress("Reading", -1);
+    progress.add(2 * 1024 * 1024);
+    assertEquals(-1, progress.getFraction(), 0.001);
+    assertEquals(-1, progress.getEta());
+    assertTrue(progress.toString().startsWith("2.0 MB "));
+  }
+
+  @Test
+  public void consoleShowsFinalFrame() {
+
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    ConsoleOutput output = new ConsoleOutput(new PrintStream(buffer, true));
+
+    Progress progress = new Progress("Copying", 100);
+    output.showProgress(progress);
+    progress.set(100);
+    progress.finish();
+    output.showMessage("done");
+
+    // the final frame is complete and written before what comes next
+    String text = buffer.toString();
+    assertTrue(text, text.contains("[INFO] Copying [====================] 100% "));
+    assertTrue(text, text.endsWith("\ndone" + System.lineSeparator()) || text.endsWith("done\n"));
+  }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2015-2018 Capgemini SE.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ ******************************************************************************/
+package com.devonfw.devcon.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.devonfw.devcon.common.utils.ClassDataArchive;
+
+/**
+ * Measures time-to-first-output and time-to-completion of {@code devcon help overview} started the plain way
+ * ({@code java -jar}) and the way the installed launchers start it (class-data sharing archive, C1 only). Not a unit
+ * test; run it by hand against a packaged jar:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes com.devonfw.devcon.benchmark.StartupBenchmark target/devcon.jar [runs]
+ * </pre>
+ */
+public class StartupBenchmark {
+
+  private static final List<String> COMMAND = Arrays.asList("help", "overview");
+
+  /**
+   * @param args path to devcon jar, optionally the number of runs per variant (default 10)
+   * @throws Exception on any error
+   */
+  public static void main(String[] args) throws Exception {
+
+    if (args.length == 0) {
+      System.out.println("Usage: StartupBenchmark <devcon.jar> [runs]");
+      return;
+    }
+
+    File jar = new File(args[0]).getAbsoluteFile();
+    int runs = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+
+    Path archive = Files.createTempDirectory("devcon-cds").resolve(ClassDataArchive.ARCHIVE_FILE);
+    if (!ClassDataArchive.create(jar, archive)) {
+      System.out.println("No class-data sharing on this JVM, only the JVM options are compared");
+    }
+
+    List<String> plain = new ArrayList<>();
+    List<String> optimized = new ArrayList<>(ClassDataArchive.getLauncherOptions(archive));
+    // as the launchers start the help
+    optimized.add(ClassDataArchive.QUICK_START_OPTION);
+
+    // warm up the OS file cache
+    time(jar, plain);
+    time(jar, optimized);
+
+    report("java -jar", jar, plain, runs);
+    report("launcher", jar, optimized, runs);
+
+    Files.deleteIfExists(archive);
+    Files.deleteIfExists(archive.getParent());
+  }
+
+  private static void report(String name, File jar, List<String> jvmOptions, int runs)
+      throws IOException, InterruptedException {
+
+    List<Long> first = new ArrayList<>();
+    List<Long> done = new ArrayList<>();
+    for (int i = 0; i < runs; i++) {
+      long[] times = time(jar, jvmOptions);
+      first.add(times[0]);
+      done.add(times[1]);
+    }
+    Collections.sort(first);
+    Collections.sort(done);
+    System.out.println(String.format("%-10s first output: median %5d ms (min %5d)  completed: median %5d ms (min %5d)",
+        name, first.get(first.size() / 2), first.get(0), done.get(done.size() / 2), done.get(0)));
+  }
+
+  /**
+   * @return milliseconds from process start until the first byte written to stdout, and until the process ended
+   */
+  private static long[] time(File jar, List<String> jvmOptions) throws IOException, InterruptedException {
+
+    List<String> cmd = new ArrayList<>();
+    cmd.add("java");
+    cmd.addAll(jvmOptions);
+    cmd.add("-jar");
+    cmd.add(jar.getPath());
+    cmd.addAll(COMMAND);
+
+    long start = System.nanoTime();
+    Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+    long first = -1;
+    try (InputStream in = process.getInputStream()) {
+      if (in.read() != -1) {
+        first = (System.nanoTime() - start) / 1000000;
+      }
+      byte[] buffer = new byte[8192];
+      while (in.read(buffer) != -1) {
+        // drain
+      }
+    }
+    process.waitFor();
+    return new long[] { first, (System.nanoTime() - start) / 1000000 };
+  }
+}